@@ -34,10 +34,13 @@ import dev.doddle.core.services.TaskService;
 import dev.doddle.core.support.EnqueueInWizard;
 import dev.doddle.core.support.EnqueueWizard;
 import dev.doddle.core.support.ScheduleWizard;
+import dev.doddle.storage.common.Storage;
 import dev.doddle.storage.common.domain.CronJob;
 import dev.doddle.storage.common.domain.Job;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
@@ -50,6 +53,7 @@ public class DoddleClient {
     private final PollingManager    polling;
     private final JobService        jobService;
     private final SchedulingManager scheduling;
+    private final Storage           storage;
 
     /**
      * Create a new doddle client
@@ -59,13 +63,23 @@ public class DoddleClient {
                         @NotNull final QueueService queueService,
                         @NotNull final TaskService taskService,
                         @NotNull final PollingManager polling,
-                        @NotNull final SchedulingManager scheduling) {
+                        @NotNull final SchedulingManager scheduling,
+                        @NotNull final Storage storage) {
         this.jobService = requireNonNull(jobService, "jobService cannot be null");
         this.cronJobService = requireNonNull(cronJobService, "cronJobService cannot be null");
         this.queueService = requireNonNull(queueService, "queueService cannot be null");
         this.taskService = requireNonNull(taskService, "taskService cannot be null");
         this.polling = requireNonNull(polling, "polling cannot be null");
         this.scheduling = requireNonNull(scheduling, "scheduling cannot be null");
+        this.storage = requireNonNull(storage, "storage cannot be null");
+    }
+
+    /**
+     * Write the jobs that are waiting to be written by the write-behind buffer
+     * The buffer no longer accepts jobs once closed
+     */
+    public void close() {
+        this.jobService.close();
     }
 
     public CronJobService crons() {
@@ -76,6 +90,26 @@ public class DoddleClient {
         return this.jobService.enqueue(wizard);
     }
 
+    /**
+     * Enqueue a job without waiting for it to be written
+     *
+     * @param wizard the job to enqueue
+     * @return a future that is completed once the job has been written
+     */
+    public CompletableFuture<Job> enqueueAsync(@NotNull final Function<EnqueueWizard, EnqueueWizard> wizard) {
+        return this.jobService.enqueueAsync(wizard);
+    }
+
+    /**
+     * Enqueue many jobs at once
+     *
+     * @param wizards the jobs to enqueue
+     * @return the number of jobs enqueued
+     */
+    public int enqueueAll(@NotNull final Iterable<Function<EnqueueWizard, EnqueueWizard>> wizards) {
+        return this.jobService.enqueueAll(wizards);
+    }
+
     public Job enqueueIn(@NotNull final Function<EnqueueInWizard, EnqueueInWizard> wizard) {
         return this.jobService.enqueueIn(wizard);
     }
@@ -117,6 +151,27 @@ public class DoddleClient {
         return this.scheduling;
     }
 
+    /**
+     * Stop the scheduler, shutdown the poller with a given timeout, write the jobs waiting in the write-behind
+     * buffer and release the resources held by the storage
+     *
+     * @param timeout the time to wait for the executing jobs to finish
+     * @return if the poller shutdown before the timeout or not
+     */
+    public boolean shutdown(@NotNull final Duration timeout) {
+        requireNonNull(timeout, "timeout cannot be null");
+        this.scheduling.stop();
+        try {
+            return this.polling.shutdown(timeout);
+        } finally {
+            try {
+                this.close();
+            } finally {
+                this.storage.close();
+            }
+        }
+    }
+
     /**
      * Get a list of all tasks (handlers)
      *
@@ -49,6 +49,9 @@ public class DoddleClientFactory {
         if (isNull(configuration.getBasePackages())) {
             throw new RuntimeException("Base packages must be set");
         }
+        if (configuration.isMigrate()) {
+            configuration.getStorage().migrate();
+        }
         final ObjectProviderModule module = new ObjectProviderModule(configuration);
         final ObjectProviderService provider = new ObjectProviderService(module);
         return provider.getInstance(DoddleClient.class);
@@ -26,8 +26,11 @@ package dev.doddle.core;
 import dev.doddle.core.engine.JobEnvironment;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreakerConfiguration;
 import dev.doddle.core.engine.crypto.EncryptionConfiguration;
+import dev.doddle.core.engine.enqueue.WriteBehindConfiguration;
 import dev.doddle.core.engine.logger.JobLoggerConfiguration;
+import dev.doddle.core.engine.mapper.PayloadFormat;
 import dev.doddle.core.engine.middleware.MiddlewareConfiguration;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
 import dev.doddle.core.engine.polling.PollingConfiguration;
 import dev.doddle.core.engine.retry.Retryer;
 import dev.doddle.core.engine.scheduling.SchedulingConfiguration;
@@ -59,6 +62,10 @@ public class DoddleConfiguration {
     private List<TelemetrySubscriber>   telemetrySubscribers;
     private MiddlewareConfiguration     middlewareConfiguration;
     private String                      deletionPeriod;
+    private WriteBehindConfiguration    writeBehindConfiguration;
+    private PayloadFormat               payloadFormat;
+    private PayloadConfiguration        payloadConfiguration;
+    private boolean                     migrate;
 
     public String getBasePackages() {
         return basePackages;
@@ -180,6 +187,22 @@ public class DoddleConfiguration {
         this.threadNamingStrategy = threadNamingStrategy;
     }
 
+    public PayloadConfiguration getPayloadConfiguration() {
+        return payloadConfiguration;
+    }
+
+    public void setPayloadConfiguration(PayloadConfiguration payloadConfiguration) {
+        this.payloadConfiguration = payloadConfiguration;
+    }
+
+    public PayloadFormat getPayloadFormat() {
+        return payloadFormat;
+    }
+
+    public void setPayloadFormat(PayloadFormat payloadFormat) {
+        this.payloadFormat = payloadFormat;
+    }
+
     public TickerStrategy getTickerStrategy() {
         return tickerStrategy;
     }
@@ -188,6 +211,22 @@ public class DoddleConfiguration {
         this.tickerStrategy = milliTimesStrategy;
     }
 
+    public WriteBehindConfiguration getWriteBehindConfiguration() {
+        return writeBehindConfiguration;
+    }
+
+    public void setWriteBehindConfiguration(WriteBehindConfiguration writeBehindConfiguration) {
+        this.writeBehindConfiguration = writeBehindConfiguration;
+    }
+
+    public boolean isMigrate() {
+        return migrate;
+    }
+
+    public void setMigrate(boolean migrate) {
+        this.migrate = migrate;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -207,6 +246,10 @@ public class DoddleConfiguration {
             .append("encryptionConfiguration", encryptionConfiguration)
             .append("middleware", middlewareConfiguration)
             .append("deletionPeriod", deletionPeriod)
+            .append("writeBehindConfiguration", writeBehindConfiguration)
+            .append("payloadFormat", payloadFormat)
+            .append("payloadConfiguration", payloadConfiguration)
+            .append("migrate", migrate)
             .toString();
     }
 }
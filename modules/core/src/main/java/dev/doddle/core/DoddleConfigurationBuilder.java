@@ -27,9 +27,12 @@ import dev.doddle.common.support.NotNull;
 import dev.doddle.core.engine.JobEnvironment;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreakerConfiguration;
 import dev.doddle.core.engine.crypto.EncryptionConfiguration;
+import dev.doddle.core.engine.enqueue.WriteBehindConfiguration;
 import dev.doddle.core.engine.logger.JobLoggerConfiguration;
+import dev.doddle.core.engine.mapper.PayloadFormat;
 import dev.doddle.core.engine.middleware.Middleware;
 import dev.doddle.core.engine.middleware.MiddlewareConfiguration;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
 import dev.doddle.core.engine.polling.PollingConfiguration;
 import dev.doddle.core.engine.retry.RetryStrategy;
 import dev.doddle.core.engine.retry.Retryer;
@@ -79,6 +82,10 @@ public class DoddleConfigurationBuilder {
     private       List<TelemetrySubscriber>   telemetrySubscribers;
     private       EncryptionConfiguration     encryptionConfiguration;
     private       String                      deletionPeriod;
+    private       WriteBehindConfiguration    writeBehindConfiguration;
+    private       PayloadFormat               payloadFormat;
+    private       PayloadConfiguration        payloadConfiguration;
+    private       boolean                     migrate;
 
     /**
      * Create a new client factory
@@ -109,6 +116,10 @@ public class DoddleConfigurationBuilder {
         this.middlewareConfiguration = new MiddlewareConfiguration();
         this.encryptionConfiguration = new EncryptionConfiguration(false);
         this.deletionPeriod = null;
+        this.writeBehindConfiguration = null;
+        this.payloadFormat = PayloadFormat.JSON;
+        this.payloadConfiguration = new PayloadConfiguration();
+        this.migrate = false;
     }
 
     /**
@@ -134,6 +145,10 @@ public class DoddleConfigurationBuilder {
         configuration.setEncryptionConfiguration(encryptionConfiguration);
         configuration.setMiddlewareConfiguration(middlewareConfiguration);
         configuration.setDeletionPeriod(deletionPeriod);
+        configuration.setWriteBehindConfiguration(writeBehindConfiguration);
+        configuration.setPayloadFormat(payloadFormat);
+        configuration.setPayloadConfiguration(payloadConfiguration);
+        configuration.setMigrate(migrate);
         return configuration;
     }
 
@@ -213,6 +228,19 @@ public class DoddleConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Apply the pending schema migrations of the storage when the client is created. Disabled by default, in which
+     * case the schema must be created and upgraded before the client starts, for example by calling
+     * {@code migrate()} on the storage provider from a deployment step
+     *
+     * @param migrate whether to migrate the schema on startup
+     * @return this
+     */
+    public DoddleConfigurationBuilder migrate(final boolean migrate) {
+        this.migrate = migrate;
+        return this;
+    }
+
     /**
      * Set the path to the packages where the tasks are defined
      *
@@ -236,6 +264,30 @@ public class DoddleConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Configure how large arguments are compressed and stored
+     *
+     * @param configuration the payload configuration
+     * @return this
+     */
+    public DoddleConfigurationBuilder payload(@NotNull Function<PayloadConfiguration, PayloadConfiguration> configuration) {
+        requireNonNull(configuration, "payload configuration cannot be null");
+        this.payloadConfiguration = configuration.apply(new PayloadConfiguration());
+        return this;
+    }
+
+    /**
+     * Set the format used to store job payloads
+     * Payloads already stored in another format can still be read
+     *
+     * @param format the payload format
+     * @return this
+     */
+    public DoddleConfigurationBuilder payloadFormat(@NotNull PayloadFormat format) {
+        this.payloadFormat = requireNonNull(format, "format cannot be null");
+        return this;
+    }
+
     /**
      * Register a retry strategy
      *
@@ -354,6 +406,18 @@ public class DoddleConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Buffer the jobs enqueued asynchronously and write them in batches
+     *
+     * @param configuration the write-behind configuration
+     * @return this
+     */
+    public DoddleConfigurationBuilder writeBehind(@NotNull Function<WriteBehindConfiguration, WriteBehindConfiguration> configuration) {
+        requireNonNull(configuration, "configuration cannot be null");
+        this.writeBehindConfiguration = configuration.apply(new WriteBehindConfiguration());
+        return this;
+    }
+
     /**
      * Returns the number of processors available to the Java virtual machine.
      *
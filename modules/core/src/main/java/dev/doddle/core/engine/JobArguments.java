@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.payload.ArgumentCompressor;
+import dev.doddle.core.support.Argument;
+
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static dev.doddle.core.support.Argument.argument;
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The arguments of a job, indexed by name.
+ * <p>
+ * Values are held in their serialised form and are only fetched, decrypted and decompressed the first time a task
+ * asks for them. The decoded argument is cached, so subsequent lookups of the same name are a plain map access.
+ */
+public class JobArguments {
+
+    private static final JobArguments EMPTY = new JobArguments(Collections.emptyMap(), null);
+
+    private final Map<String, Entry> entries;
+    private final Decoder            decoder;
+
+    private JobArguments(final Map<String, Entry> entries, @Nullable final Decoder decoder) {
+        this.entries = entries;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Get an argument by name
+     *
+     * @param name the name of the argument
+     * @return the argument, which will be empty if no argument exists with the given name
+     */
+    public JobArgument get(@NotNull final String name) {
+        final Entry entry = entries.get(requireNonNull(name, "name cannot be null"));
+        if (entry == null) {
+            return new JobArgument();
+        }
+        return entry.resolve(decoder);
+    }
+
+    public boolean has(@NotNull final String name) {
+        return entries.containsKey(requireNonNull(name, "name cannot be null"));
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove the values that were moved out of the payload
+     *
+     * @return the number of values removed
+     */
+    public int delete() {
+        int deleted = 0;
+        for (final Entry entry : entries.values()) {
+            if (entry.reference != null) {
+                requireNonNull(decoder, "decoder cannot be null").delete(entry.reference);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    public static JobArguments empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create the arguments from already decoded job data
+     *
+     * @param data the job data
+     * @return the arguments
+     */
+    public static JobArguments of(@Nullable final JobData data) {
+        if (data == null) {
+            return EMPTY;
+        }
+        final Builder builder = builder();
+        for (final Argument argument : data.getArguments()) {
+            builder.argument(argument.getName(), argument.getValue(), false);
+        }
+        return builder.build(null);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Turns the serialised value of an argument back into bytes
+     */
+    public interface Decoder {
+
+        /**
+         * Fetch an argument that was moved out of the payload
+         *
+         * @param reference the reference kept in the payload
+         * @return the stored value
+         */
+        byte[] fetch(String reference);
+
+        /**
+         * Remove an argument that was moved out of the payload
+         *
+         * @param reference the reference kept in the payload
+         */
+        void delete(String reference);
+
+        /**
+         * Decrypt the value of an encrypted argument
+         *
+         * @param value the encrypted value
+         * @return the decrypted value
+         */
+        byte[] decrypt(byte[] value);
+    }
+
+    public static class Builder {
+
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+        private Builder() {
+
+        }
+
+        /**
+         * Add a raw argument. If an argument with the same name already exists, the first one wins.
+         *
+         * @param name      the name of the argument
+         * @param value     the serialised value
+         * @param encrypted whether the value is encrypted
+         * @return the builder
+         */
+        public Builder argument(@NotNull final String name, @NotNull final String value, final boolean encrypted) {
+            return argument(name, value, encrypted, false);
+        }
+
+        /**
+         * Add a raw argument whose value is text. Encrypted or compressed values are base64 encoded.
+         *
+         * @param name       the name of the argument
+         * @param value      the serialised value
+         * @param encrypted  whether the value is encrypted
+         * @param compressed whether the value is compressed
+         * @return the builder
+         */
+        public Builder argument(@NotNull final String name,
+                                @NotNull final String value,
+                                final boolean encrypted,
+                                final boolean compressed) {
+            return add(new Entry(name, requireNonNull(value, "value cannot be null"), null, null, encrypted, compressed));
+        }
+
+        /**
+         * Add a raw argument whose value was stored as bytes
+         *
+         * @param name       the name of the argument
+         * @param value      the serialised value
+         * @param encrypted  whether the value is encrypted
+         * @param compressed whether the value is compressed
+         * @return the builder
+         */
+        public Builder argument(@NotNull final String name,
+                                @NotNull final byte[] value,
+                                final boolean encrypted,
+                                final boolean compressed) {
+            return add(new Entry(name, null, requireNonNull(value, "value cannot be null"), null, encrypted, compressed));
+        }
+
+        /**
+         * Add an argument whose value was moved out of the payload
+         *
+         * @param name       the name of the argument
+         * @param reference  the reference to the stored value
+         * @param encrypted  whether the stored value is encrypted
+         * @param compressed whether the stored value is compressed
+         * @return the builder
+         */
+        public Builder reference(@NotNull final String name,
+                                 @NotNull final String reference,
+                                 final boolean encrypted,
+                                 final boolean compressed) {
+            return add(new Entry(name, null, null, requireNonNull(reference, "reference cannot be null"), encrypted, compressed));
+        }
+
+        public JobArguments build(@Nullable final Decoder decoder) {
+            if (entries.isEmpty()) {
+                return EMPTY;
+            }
+            return new JobArguments(entries, decoder);
+        }
+
+        private Builder add(final Entry entry) {
+            entries.putIfAbsent(requireNonNull(entry.name, "name cannot be null"), entry);
+            return this;
+        }
+    }
+
+    private static final class Entry {
+
+        private final    String      name;
+        private final    String      value;
+        private final    byte[]      bytes;
+        private final    String      reference;
+        private final    boolean     encrypted;
+        private final    boolean     compressed;
+        private volatile JobArgument resolved;
+
+        private Entry(final String name,
+                      final String value,
+                      final byte[] bytes,
+                      final String reference,
+                      final boolean encrypted,
+                      final boolean compressed) {
+            this.name = name;
+            this.value = value;
+            this.bytes = bytes;
+            this.reference = reference;
+            this.encrypted = encrypted;
+            this.compressed = compressed;
+        }
+
+        private JobArgument resolve(final Decoder decoder) {
+            JobArgument argument = resolved;
+            if (argument == null) {
+                // decoding is idempotent, so a race between two threads only costs a duplicate decode
+                final boolean plain = !encrypted && !compressed && reference == null;
+                final String decoded = plain ? value : decode(requireNonNull(decoder, "decoder cannot be null"));
+                argument = new JobArgument(argument(name, decoded, encrypted));
+                resolved = argument;
+            }
+            return argument;
+        }
+
+        private String decode(final Decoder decoder) {
+            byte[] data;
+            if (reference != null) {
+                data = decoder.fetch(reference);
+            } else if (bytes != null) {
+                data = bytes;
+            } else {
+                data = Base64.getDecoder().decode(value);
+            }
+            if (encrypted) {
+                data = decoder.decrypt(data);
+            }
+            if (compressed) {
+                data = ArgumentCompressor.decompress(data);
+            }
+            return new String(data, UTF_8);
+        }
+    }
+}
@@ -65,4 +65,94 @@ public class JobDataMapper {
         return adapter.convertToObject(data);
     }
 
+    /**
+     * Converts the payload into name-indexed arguments, which are decrypted lazily
+     *
+     * @param data the payload to convert
+     * @return the arguments
+     * @throws MapperException thrown if there was an error during conversion
+     */
+    public JobArguments convertToArguments(@Nullable final String data) throws MapperException {
+        if (data == null) {
+            return JobArguments.empty();
+        }
+        return adapter.convertToArguments(data);
+    }
+
+    /**
+     * Whether payloads should be stored as bytes rather than text
+     *
+     * @return true if the adapter writes a binary format
+     */
+    public boolean isBinary() {
+        return adapter.isBinary();
+    }
+
+    /**
+     * Whether large arguments are moved out of the payload to an argument store
+     *
+     * @return true if an argument store is configured
+     */
+    public boolean isStoringArguments() {
+        return adapter.isStoringArguments();
+    }
+
+    /**
+     * Removes the arguments of a payload that were moved to the argument store
+     *
+     * @param data   the payload stored as text, or null
+     * @param binary the payload stored as bytes, or null
+     * @return the number of arguments removed
+     * @throws MapperException thrown if the payload could not be read
+     */
+    public int deleteArguments(@Nullable final String data, @Nullable final byte[] binary) throws MapperException {
+        if (!adapter.isStoringArguments()) {
+            return 0;
+        }
+        return (binary != null ? convertToArguments(binary) : convertToArguments(data)).delete();
+    }
+
+    /**
+     * Converts the payload object into bytes
+     *
+     * @param data the payload object to convert
+     * @return the serialised payload
+     * @throws MapperException thrown if there was an error during conversion
+     */
+    public byte[] convertToBytes(@Nullable final JobData data) throws MapperException {
+        if (data == null) {
+            return null;
+        }
+        return adapter.convertToBytes(data);
+    }
+
+    /**
+     * Converts a payload stored as bytes into the payload object
+     * Binary adapters also read the payloads written as text before the format was changed
+     *
+     * @param data the payload to convert
+     * @return the payload object
+     * @throws MapperException thrown if there was an error during conversion
+     */
+    public JobData convertToObject(@Nullable final byte[] data) throws MapperException {
+        if (data == null) {
+            return null;
+        }
+        return adapter.convertToObject(data);
+    }
+
+    /**
+     * Converts a payload stored as bytes into name-indexed arguments, which are decrypted lazily
+     *
+     * @param data the payload to convert
+     * @return the arguments
+     * @throws MapperException thrown if there was an error during conversion
+     */
+    public JobArguments convertToArguments(@Nullable final byte[] data) throws MapperException {
+        if (data == null) {
+            return JobArguments.empty();
+        }
+        return adapter.convertToArguments(data);
+    }
+
 }
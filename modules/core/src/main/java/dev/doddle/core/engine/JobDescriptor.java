@@ -34,6 +34,7 @@ public class JobDescriptor {
     private final String        identifier;
     private final String        name;
     private final String        data;
+    private final byte[]        binaryData;
     private final LocalDateTime scheduledAt;
     private final List<String>  tags;
     private final Long          timeout;
@@ -49,11 +50,26 @@ public class JobDescriptor {
                          final List<String> tags,
                          final Long timeout,
                          final Integer maxRetries
+    ) {
+        this(queue, identifier, name, handler, data, null, scheduledAt, tags, timeout, maxRetries);
+    }
+
+    public JobDescriptor(final Queue queue,
+                         final String identifier,
+                         final String name,
+                         final String handler,
+                         final String data,
+                         final byte[] binaryData,
+                         final LocalDateTime scheduledAt,
+                         final List<String> tags,
+                         final Long timeout,
+                         final Integer maxRetries
     ) {
         this.queue = queue;
         this.identifier = identifier;
         this.name = name;
         this.data = data;
+        this.binaryData = binaryData;
         this.scheduledAt = scheduledAt;
         this.tags = tags;
         this.timeout = timeout;
@@ -65,6 +81,10 @@ public class JobDescriptor {
         return data;
     }
 
+    public byte[] getBinaryData() {
+        return binaryData;
+    }
+
     public String getHandler() {
         return handler;
     }
@@ -23,23 +23,39 @@
  */
 package dev.doddle.core.engine;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.doddle.common.support.NotNull;
 
-import java.security.SecureRandom;
-
 import static dev.doddle.core.support.Objects.requireNonNull;
 import static java.util.Arrays.copyOf;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JobEncryption {
-    @JsonProperty(value = "salt", required = true)
-    @NotNull
+
+    /**
+     * Each payload derives its key from its own salt, with the initialisation vector shared by its arguments
+     */
+    public static final int FORMAT_SALTED = 1;
+
+    /**
+     * The key of each credential version is derived once from the salt of the credential and cached, and each
+     * argument carries its own initialisation vector in front of its value
+     */
+    public static final int FORMAT_CACHED_KEY = 2;
+
+    @JsonProperty(value = "salt")
     private byte[] salt;
 
-    @JsonProperty(value = "iv", required = true)
-    @NotNull
+    @JsonProperty(value = "iv")
     private byte[] iv;
 
+    @JsonProperty(value = "format")
+    private Integer format;
+
+    @JsonProperty(value = "algorithm")
+    private String algorithm;
+
     @JsonProperty(value = "version", required = true)
     @NotNull
     private String version;
@@ -53,19 +69,34 @@ public class JobEncryption {
         this.iv = requireNonNull(iv, "iv cannot be null");
         this.salt = requireNonNull(salt, "salt cannot be null");
         this.version = requireNonNull(version, "version cannot be null");
+        this.format = FORMAT_SALTED;
     }
 
-    public JobEncryption(@NotNull final String version) {
-        this.iv = createRandomBytes(16);
-        this.salt = createRandomBytes(16);
-        this.version = version;
+    /**
+     * Create the encryption parameters for a new payload with the salt of the credential
+     *
+     * @param version   the credential version
+     * @param algorithm the cipher transformation the payload is encrypted with
+     * @param salt      the salt the key of the credential is derived from
+     */
+    public JobEncryption(@NotNull final String version, @NotNull final String algorithm, @NotNull final byte[] salt) {
+        this.version = requireNonNull(version, "version cannot be null");
+        this.algorithm = requireNonNull(algorithm, "algorithm cannot be null");
+        this.format = FORMAT_CACHED_KEY;
+        this.salt = copyOf(requireNonNull(salt, "salt cannot be null"), salt.length);
+    }
+
+    /**
+     * Get the cipher transformation the payload is encrypted with
+     *
+     * @return the transformation, or null for payloads written before it was recorded, which use AES/CBC
+     */
+    public String getAlgorithm() {
+        return algorithm;
     }
 
-    private byte[] createRandomBytes(final int count) {
-        final SecureRandom random = new SecureRandom();
-        final byte[] bytes = new byte[count];
-        random.nextBytes(bytes);
-        return bytes;
+    public void setAlgorithm(final String algorithm) {
+        this.algorithm = algorithm;
     }
 
     @NotNull
@@ -78,20 +109,38 @@ public class JobEncryption {
     }
 
 
+    /**
+     * Get the format of the encrypted payload
+     * Payloads written before the format was recorded use the salted format
+     *
+     * @return the format
+     */
+    public int getFormat() {
+        return format == null ? FORMAT_SALTED : format;
+    }
+
+    public void setFormat(final Integer format) {
+        this.format = format;
+    }
+
+    public boolean isFormat(final int format) {
+        return getFormat() == format;
+    }
+
     public byte[] getIv() {
-        return copyOf(iv, iv.length);
+        return iv == null ? null : copyOf(iv, iv.length);
     }
 
     public void setIv(final byte[] iv) {
-        this.iv = copyOf(iv, iv.length);
+        this.iv = iv == null ? null : copyOf(iv, iv.length);
     }
 
     public byte[] getSalt() {
-        return copyOf(this.salt, this.salt.length);
+        return salt == null ? null : copyOf(this.salt, this.salt.length);
     }
 
     public void setSalt(final byte[] salt) {
-        this.salt = copyOf(salt, salt.length);
+        this.salt = salt == null ? null : copyOf(salt, salt.length);
     }
 
 }
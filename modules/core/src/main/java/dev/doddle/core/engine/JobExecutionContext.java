@@ -28,7 +28,6 @@ import dev.doddle.core.engine.progress.JobProgress;
 import dev.doddle.core.exceptions.DoddleValidationException;
 import dev.doddle.core.exceptions.MapperException;
 import dev.doddle.core.exceptions.TaskExecutionException;
-import dev.doddle.core.support.Argument;
 import dev.doddle.storage.common.domain.Job;
 import dev.doddle.storage.common.domain.JobState;
 import dev.doddle.storage.common.domain.Queue;
@@ -43,22 +42,25 @@ public class JobExecutionContext {
 
     private final ImmutableJob              job;
     private final JobExecutionContextFacade facade;
-    private final List<Argument> arguments;
+    private final JobArguments              arguments;
 
     public JobExecutionContext(
         final JobExecutionContextFacade facade
     ) {
         this.facade = facade;
         this.job = toImmutableJob();
-        this.arguments = arguments();
+        this.arguments = readArguments();
     }
 
 
-    private List<Argument> arguments() {
+    private JobArguments readArguments() {
         try {
             final JobDataMapper mapper = facade.getMapper();
-            final JobData data = mapper.convertToObject(job.getData());
-            return data.getArguments();
+            final byte[] binaryData = facade.getJob().getBinaryData();
+            if (binaryData != null) {
+                return mapper.convertToArguments(binaryData);
+            }
+            return mapper.convertToArguments(job.getData());
         } catch (MapperException exception) {
             throw new TaskExecutionException(exception);
         }
@@ -68,12 +70,16 @@ public class JobExecutionContext {
         if (name == null) {
             throw new DoddleValidationException("argument name cannot be null");
         }
-        return this.arguments
-            .stream()
-            .filter(argument -> argument.getName().equals(name))
-            .findAny()
-            .map(JobArgument::new)
-            .orElse(new JobArgument());
+        return this.arguments.get(name);
+    }
+
+    /**
+     * Get all of the job arguments
+     *
+     * @return the arguments
+     */
+    public JobArguments arguments() {
+        return this.arguments;
     }
 
     /**
@@ -142,6 +148,13 @@ public class JobExecutionContext {
         }
     }
 
+    /**
+     * Wait until the messages logged by the job have been written
+     */
+    void flush() {
+        this.facade.flush();
+    }
+
     private ImmutableJob toImmutableJob() {
         final Job job = facade.getJob();
         return new ImmutableJob(
@@ -151,6 +164,7 @@ public class JobExecutionContext {
             job.getQueue(),
             job.getHandler(),
             job.getData(),
+            job.getBinaryData(),
             job.getState(),
             job.getCreatedAt(),
             job.getCompletedAt(),
@@ -175,6 +189,7 @@ public class JobExecutionContext {
         private final Queue         queue;
         private final String        handler;
         private final String        data;
+        private final byte[]        binaryData;
         private final JobState      state;
         private final LocalDateTime createdAt;
         private final LocalDateTime completedAt;
@@ -195,6 +210,7 @@ public class JobExecutionContext {
                              Queue queue,
                              String handler,
                              String data,
+                             byte[] binaryData,
                              JobState state,
                              LocalDateTime createdAt,
                              LocalDateTime completedAt,
@@ -212,6 +228,7 @@ public class JobExecutionContext {
             this.queue = queue;
             this.handler = handler;
             this.data = data;
+            this.binaryData = binaryData;
             this.state = state;
             this.createdAt = createdAt;
             this.completedAt = completedAt;
@@ -237,6 +254,10 @@ public class JobExecutionContext {
             return data;
         }
 
+        public byte[] getBinaryData() {
+            return binaryData == null ? null : binaryData.clone();
+        }
+
         public LocalDateTime getDiscardedAt() {
             return discardedAt;
         }
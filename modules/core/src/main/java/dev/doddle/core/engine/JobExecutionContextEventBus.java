@@ -24,6 +24,8 @@
 package dev.doddle.core.engine;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.logger.JobLoggerBuffer;
 import dev.doddle.core.engine.logger.JobLoggerMessageEvent;
 import dev.doddle.core.engine.progress.JobProgressEvent;
 import dev.doddle.storage.common.Storage;
@@ -36,6 +38,8 @@ import dev.doddle.storage.common.domain.JobProgress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+
 import static dev.doddle.core.support.Objects.requireNonNull;
 
 /**
@@ -43,8 +47,9 @@ import static dev.doddle.core.support.Objects.requireNonNull;
  */
 public class JobExecutionContextEventBus {
 
-    private static final Logger  logger = LoggerFactory.getLogger(JobExecutionContextEventBus.class);
-    private final        Storage storage;
+    private static final Logger          logger = LoggerFactory.getLogger(JobExecutionContextEventBus.class);
+    private final        Storage         storage;
+    private final        JobLoggerBuffer buffer;
 
     /**
      * Create a new job execution context event bus
@@ -52,7 +57,36 @@ public class JobExecutionContextEventBus {
      * @param storage the storage
      */
     public JobExecutionContextEventBus(final Storage storage) {
+        this(storage, null);
+    }
+
+    /**
+     * Create a new job execution context event bus
+     *
+     * @param storage the storage
+     * @param buffer  the buffer for writing messages asynchronously, or null to write each message as it is logged
+     */
+    public JobExecutionContextEventBus(final Storage storage, @Nullable final JobLoggerBuffer buffer) {
         this.storage = requireNonNull(storage, "storage cannot be null");
+        this.buffer = buffer;
+    }
+
+    /**
+     * Stop accepting messages and write the messages that are still waiting
+     */
+    public void close() {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    /**
+     * Wait until the messages logged so far have been written
+     */
+    public void flush() {
+        if (buffer != null) {
+            buffer.flush();
+        }
     }
 
     /**
@@ -82,7 +116,11 @@ public class JobExecutionContextEventBus {
         try {
             logger.debug("Processing job ({}) logger event: {}", job, event);
             final JobMessage message = this.toJobMessage(event);
-            this.storage.createMessageForJob(job, message);
+            if (buffer == null) {
+                this.storage.createMessageForJob(job, message);
+            } else {
+                buffer.submit(job, message);
+            }
         } catch (StorageException exception) {
             logger.error("Error persisting job message event to storage: {}", exception.getMessage());
         }
@@ -92,6 +130,7 @@ public class JobExecutionContextEventBus {
         final JobMessageBuilder builder = JobMessageBuilder.newBuilder();
         builder.message(event.getMessage());
         builder.level(event.getLevel());
+        builder.createdAt(LocalDateTime.now());
         return builder.build();
     }
 
@@ -43,6 +43,7 @@ public class JobExecutionContextFacade {
     private final JobDataMapper               mapper;
     private       JobLogger                   logger;
     private       JobProgress                 progress;
+    private volatile boolean                   logged;
 
     public JobExecutionContextFacade(final Job job,
                                      final JobExecutionContextEventBus bus,
@@ -67,7 +68,10 @@ public class JobExecutionContextFacade {
 
     public JobLogger getLogger() {
         if (logger == null) {
-            this.logger = new JobLogger(loggerConfiguration.level(), (event) -> this.bus.emit(job, event));
+            this.logger = new JobLogger(loggerConfiguration.level(), (event) -> {
+                this.logged = true;
+                this.bus.emit(job, event);
+            });
         }
         return logger;
     }
@@ -89,4 +93,13 @@ public class JobExecutionContextFacade {
     public JobProgress getProgress() {
         return progress;
     }
+
+    /**
+     * Wait until the messages logged by the job have been written
+     */
+    public void flush() {
+        if (logged) {
+            this.bus.flush();
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.StorageException;
+import dev.doddle.storage.common.domain.JobLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Renews this node's lease on the jobs it is executing
+ * <p>
+ * A single statement renews every job the node owns, so the cost of a heartbeat does not grow with the number
+ * of jobs in flight. If the node stops, or cannot reach the storage for longer than the lease, its jobs are
+ * reclaimed by the janitor and any result the node later reports for them is rejected.
+ */
+public class JobHeartbeat {
+
+    private static final Logger   logger = LoggerFactory.getLogger(JobHeartbeat.class);
+    private final        Storage  storage;
+    private final        JobLease lease;
+    private final        long     interval;
+    private              ScheduledExecutorService executor;
+
+    /**
+     * Create a new job heartbeat
+     *
+     * @param storage  the storage
+     * @param lease    the lease to renew
+     * @param interval how often to renew the lease
+     */
+    public JobHeartbeat(@NotNull final Storage storage,
+                        @NotNull final JobLease lease,
+                        @NotNull final Duration interval) {
+        this.storage = requireNonNull(storage, "storage cannot be null");
+        this.lease = requireNonNull(lease, "lease cannot be null");
+        this.interval = requireNonNull(interval, "interval cannot be null").toMillis();
+        if (this.interval >= lease.getDurationMillis()) {
+            logger.warn("The heartbeat interval of {}ms is not shorter than the lease of {}ms, jobs may be reclaimed while executing",
+                this.interval, lease.getDurationMillis());
+        }
+    }
+
+    /**
+     * Get the lease renewed by this heartbeat
+     *
+     * @return the lease
+     */
+    public JobLease getLease() {
+        return lease;
+    }
+
+    /**
+     * Renew the lease on the jobs owned by this node
+     */
+    public void renew() {
+        try {
+            final int renewed = storage.renewLeases(lease);
+            logger.trace("Renewed the lease on {} jobs", renewed);
+        } catch (StorageException exception) {
+            logger.error("Error renewing the lease on the executing jobs: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Start renewing the lease
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "doddle-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::renew, interval, interval, MILLISECONDS);
+        logger.debug("Renewing the lease for {} every {}ms", lease.getOwner(), interval);
+    }
+
+    /**
+     * Stop renewing the lease
+     */
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+}
@@ -26,16 +26,22 @@ package dev.doddle.core.engine;
 import dev.doddle.common.support.NotNull;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreaker;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreakerResultCallback;
+import dev.doddle.core.engine.telemetry.events.JobEnqueuedEvent;
 import dev.doddle.core.engine.telemetry.events. JobSelectedEvent;
 import dev.doddle.core.engine.time.Clock;
 import dev.doddle.core.engine.time.Stopwatch;
 import dev.doddle.core.services.TelemetryService;
 import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.StorageException;
 import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.JobLease;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -46,27 +52,40 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class JobPicker {
 
-    private static final Logger           logger = LoggerFactory.getLogger(JobPicker.class);
-    private final        Storage          storage;
-    private final        Clock            clock;
-    private final        TelemetryService telemetry;
-    private final        CircuitBreaker   circuitBreaker;
+    private static final Logger            logger     = LoggerFactory.getLogger(JobPicker.class);
+    private final        Storage           storage;
+    private final        Clock             clock;
+    private final        TelemetryService  telemetry;
+    private final        CircuitBreaker    circuitBreaker;
+    private final        JobPrefetchBuffer buffer;
+    private final        JobQueueScheduler scheduler;
+    private final        JobLease          lease;
+    private final        boolean           directPick;
+    private final        Lock              refillLock = new ReentrantLock();
 
     /**
      * Create a new job picker
      *
-     * @param storage   the storage
-     * @param clock     the ticker
-     * @param telemetry the telemetry service
+     * @param storage        the storage
+     * @param clock          the ticker
+     * @param telemetry      the telemetry service
+     * @param circuitBreaker the circuit breaker
+     * @param configuration  the buffer, scheduler and lease to claim the jobs with
      */
     public JobPicker(@NotNull final Storage storage,
                      @NotNull final Clock clock,
                      @NotNull final TelemetryService telemetry,
-                     @NotNull final CircuitBreaker circuitBreaker) {
+                     @NotNull final CircuitBreaker circuitBreaker,
+                     @NotNull final JobPickerConfiguration configuration) {
+        requireNonNull(configuration, "configuration cannot be null");
         this.storage = requireNonNull(storage, "storage cannot be null");
         this.clock = requireNonNull(clock, "clock cannot be null");
         this.telemetry = requireNonNull(telemetry, "telemetry cannot be null");
         this.circuitBreaker = requireNonNull(circuitBreaker, "circuitBreaker cannot be null");
+        this.buffer = configuration.buffer();
+        this.scheduler = configuration.scheduler();
+        this.lease = configuration.lease();
+        this.directPick = storage.isDirectPick();
     }
 
     /**
@@ -75,12 +94,47 @@ public class JobPicker {
      * @param callback the callback
      */
     public void pick(Consumer<Optional<Job>> callback) {
+        if (buffer == null) {
+            pickOne(callback);
+        } else {
+            pickBuffered(callback);
+        }
+    }
+
+    /**
+     * Take a job from the prefetch buffer, refilling it first if it has dropped to the low water mark
+     *
+     * @param callback the callback
+     */
+    private void pickBuffered(Consumer<Optional<Job>> callback) {
+        final Stopwatch stopwatch = createStopwatch(clock);
+        release(buffer.expire());
+        if (buffer.claimSize() > 0) {
+            refill();
+        }
+        final Optional<Job> job = buffer.poll();
+        job.ifPresent(value -> {
+            long elapsed = stopwatch.elapsed(MILLISECONDS);
+            telemetry.dispatch(new JobSelectedEvent(value, elapsed));
+        });
+        callback.accept(job);
+    }
+
+    private void pickOne(Consumer<Optional<Job>> callback) {
         final Stopwatch stopwatch = createStopwatch(clock);
-        final Supplier<Optional<Job>> supplier = storage::pickJob;
+        final Supplier<Optional<Job>> supplier;
+        if (scheduler != null) {
+            supplier = () -> scheduler.claim(1).stream().findFirst();
+        } else if (lease != null) {
+            supplier = () -> storage.pickJob(lease);
+        } else {
+            supplier = storage::pickJob;
+        }
         this.circuitBreaker.apply(supplier, new CircuitBreakerResultCallback<>() {
             @Override
             public void onError(Throwable throwable) {
                 logger.error(throwable.getMessage());
+                callback.accept(empty());
             }
 
             @Override
@@ -90,14 +144,95 @@ public class JobPicker {
                     return;
                 }
                 job.ifPresent(value -> {
+                    dispatchEnqueued(value);
                     long elapsed = stopwatch.elapsed(MILLISECONDS);
                     telemetry.dispatch(new JobSelectedEvent(value, elapsed));
                 });
                 callback.accept(job);
             }
         });
+    }
 
+    /**
+     * Claim a batch of jobs and add them to the prefetch buffer
+     * Only one thread refills the buffer at a time. If the buffer still holds jobs then other threads
+     * will carry on draining it rather than waiting for the refill to complete
+     */
+    private void refill() {
+        if (buffer.isEmpty()) {
+            refillLock.lock();
+        } else if (!refillLock.tryLock()) {
+            return;
+        }
+        try {
+            final int max = buffer.claimSize();
+            if (max == 0) {
+                return;
+            }
+            final Supplier<List<Job>> supplier;
+            if (scheduler != null) {
+                supplier = () -> scheduler.claim(max);
+            } else if (lease != null) {
+                supplier = () -> storage.pickJobs(lease, max);
+            } else {
+                supplier = () -> storage.pickJobs(max);
+            }
+            this.circuitBreaker.apply(supplier, new CircuitBreakerResultCallback<>() {
+                @Override
+                public void onError(Throwable throwable) {
+                    logger.error(throwable.getMessage());
+                }
 
+                @Override
+                public void onSuccess(final List<Job> jobs) {
+                    logger.debug("Claimed {} jobs for the prefetch buffer", jobs.size());
+                    jobs.forEach(JobPicker.this::dispatchEnqueued);
+                    release(buffer.addAll(jobs));
+                }
+            });
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Release claimed jobs that will not be executed by this node, so they can be picked again
+     *
+     * @param jobs the claimed jobs
+     */
+    public void release(@NotNull final List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        try {
+            final int released = storage.releaseJobs(jobs);
+            logger.debug("Released {} claimed jobs", released);
+        } catch (StorageException exception) {
+            // the jobs are reclaimed once their lease expires
+            logger.error("Could not release {} claimed jobs: {}", jobs.size(), exception.getMessage());
+        }
+    }
+
+    /**
+     * Release the jobs still held in the prefetch buffer
+     * This should be called once the polling threads have stopped
+     */
+    public void stop() {
+        if (buffer != null) {
+            release(buffer.drain());
+        }
+    }
+
+    /**
+     * Dispatch the enqueued event for a claimed job when the due jobs are picked directly
+     * The job was made available by the same claim that picked it, so no enqueue command has dispatched the event
+     *
+     * @param job the claimed job
+     */
+    private void dispatchEnqueued(final Job job) {
+        if (directPick) {
+            telemetry.dispatch(new JobEnqueuedEvent(job));
+        }
     }
 
 }
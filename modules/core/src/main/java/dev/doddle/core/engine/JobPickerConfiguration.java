@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.common.support.Nullable;
+import dev.doddle.storage.common.domain.JobLease;
+
+public class JobPickerConfiguration {
+
+    private JobPrefetchBuffer buffer;
+    private JobQueueScheduler scheduler;
+    private JobLease          lease;
+
+    public JobPickerConfiguration() {
+        this.buffer = null;
+        this.scheduler = null;
+        this.lease = null;
+    }
+
+    /**
+     * The buffer to hold claimed jobs
+     * Without a buffer the jobs are claimed a single job at a time
+     *
+     * @param buffer the buffer, or null
+     * @return this
+     */
+    public JobPickerConfiguration buffer(@Nullable final JobPrefetchBuffer buffer) {
+        this.buffer = buffer;
+        return this;
+    }
+
+    public JobPrefetchBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * The lease to take on the claimed jobs
+     * Without a lease the claims expire after the jobs' timeouts
+     *
+     * @param lease the lease, or null
+     * @return this
+     */
+    public JobPickerConfiguration lease(@Nullable final JobLease lease) {
+        this.lease = lease;
+        return this;
+    }
+
+    public JobLease lease() {
+        return lease;
+    }
+
+    /**
+     * The scheduler to share the claims between the queues
+     * Without a scheduler the oldest jobs are claimed first
+     *
+     * @param scheduler the scheduler, or null
+     * @return this
+     */
+    public JobPickerConfiguration scheduler(@Nullable final JobQueueScheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    public JobQueueScheduler scheduler() {
+        return scheduler;
+    }
+
+}
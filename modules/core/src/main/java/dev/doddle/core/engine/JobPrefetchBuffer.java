@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.time.Clock;
+import dev.doddle.storage.common.domain.Job;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * A bounded, in-memory buffer of jobs that have already been claimed from the storage
+ * The buffer is capped by the number of jobs and by the size of their payloads so that
+ * a single node cannot hoard a queue. The jobs are marked as executing from the moment they are claimed,
+ * so a job that waits in the buffer for longer than the maximum age is expired and should be released
+ */
+public class JobPrefetchBuffer {
+
+    private final Deque<Entry> entries;
+    private final int          capacity;
+    private final int          lowWaterMark;
+    private final long         maxBytes;
+    private final long         maxAgeMillis;
+    private final Clock        clock;
+    private       long         bytes;
+    private       long         observedJobs;
+    private       long         observedBytes;
+
+    /**
+     * Create a new prefetch buffer that holds the jobs for as long as it takes to execute them
+     *
+     * @param capacity     the maximum number of jobs to hold
+     * @param lowWaterMark the buffer should be refilled when the number of jobs drops to this value
+     * @param maxBytes     the maximum size of the payloads to hold
+     */
+    public JobPrefetchBuffer(final int capacity, final int lowWaterMark, final long maxBytes) {
+        this(capacity, lowWaterMark, maxBytes, null, new Clock());
+    }
+
+    /**
+     * Create a new prefetch buffer
+     *
+     * @param capacity     the maximum number of jobs to hold
+     * @param lowWaterMark the buffer should be refilled when the number of jobs drops to this value
+     * @param maxBytes     the maximum size of the payloads to hold
+     * @param maxAge       how long a job can wait in the buffer, or null to wait for as long as it takes
+     * @param clock        the clock
+     */
+    public JobPrefetchBuffer(final int capacity,
+                             final int lowWaterMark,
+                             final long maxBytes,
+                             @Nullable final Duration maxAge,
+                             @NotNull final Clock clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+        if (lowWaterMark < 0 || lowWaterMark >= capacity) {
+            throw new IllegalArgumentException("lowWaterMark must be between zero and the capacity");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be greater than zero");
+        }
+        if (maxAge != null && (maxAge.isNegative() || maxAge.isZero())) {
+            throw new IllegalArgumentException("maxAge must be greater than zero");
+        }
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAge == null ? Long.MAX_VALUE : maxAge.toMillis();
+        this.clock = requireNonNull(clock, "clock cannot be null");
+        this.entries = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Get the size of a job's payload in bytes
+     * The textual payload is measured as UTF-8 without encoding it
+     *
+     * @param job the job
+     * @return the size of the payload
+     */
+    public static long sizeOf(@NotNull final Job job) {
+        final String data = job.getData();
+        final byte[] binaryData = job.getBinaryData();
+        return utf8Length(data) + (binaryData == null ? 0 : binaryData.length);
+    }
+
+    private static long utf8Length(@Nullable final String value) {
+        if (value == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                // each half of a surrogate pair accounts for half of the four byte sequence
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Add claimed jobs to the buffer
+     * The jobs that do not fit within the capacity or the payload budget are not added and should be released.
+     * An empty buffer always accepts a job, so a payload larger than the budget cannot stall the picker
+     *
+     * @param claimed the jobs that have been claimed
+     * @return the jobs that were not added
+     */
+    public synchronized List<Job> addAll(@NotNull final List<Job> claimed) {
+        final List<Job> rejected = new ArrayList<>();
+        final long now = clock.millis();
+        for (final Job job : requireNonNull(claimed, "claimed cannot be null")) {
+            final long size = sizeOf(job);
+            this.observedJobs++;
+            this.observedBytes += size;
+            if (!entries.isEmpty() && (entries.size() >= capacity || bytes + size > maxBytes)) {
+                rejected.add(job);
+                continue;
+            }
+            this.entries.addLast(new Entry(job, size, now));
+            this.bytes += size;
+        }
+        return rejected;
+    }
+
+    /**
+     * Get the total size of the payloads currently held
+     *
+     * @return the size of the payloads
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the maximum number of jobs that can be held
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Calculate how many jobs should be claimed to refill the buffer
+     * The number of jobs is bounded by the remaining capacity and by the remaining payload budget,
+     * using the average payload size observed so far
+     *
+     * @return the number of jobs to claim, or zero if the buffer should not be refilled
+     */
+    public synchronized int claimSize() {
+        if (entries.size() > lowWaterMark || bytes >= maxBytes) {
+            return 0;
+        }
+        final int available = capacity - entries.size();
+        if (observedBytes == 0) {
+            return available;
+        }
+        final long average = Math.max(1, observedBytes / observedJobs);
+        final long affordable = Math.max(1, (maxBytes - bytes) / average);
+        return (int) Math.min(available, affordable);
+    }
+
+    /**
+     * Remove every job from the buffer
+     *
+     * @return the jobs that were held
+     */
+    public synchronized List<Job> drain() {
+        final List<Job> drained = new ArrayList<>(entries.size());
+        for (final Entry entry : entries) {
+            drained.add(entry.job);
+        }
+        this.entries.clear();
+        this.bytes = 0;
+        return drained;
+    }
+
+    /**
+     * Remove the jobs that have waited in the buffer for longer than the maximum age
+     *
+     * @return the expired jobs
+     */
+    public synchronized List<Job> expire() {
+        final List<Job> expired = new ArrayList<>();
+        final long now = clock.millis();
+        // the jobs are held in the order they were claimed, so the oldest are at the head
+        while (!entries.isEmpty() && now - entries.peekFirst().claimedAt >= maxAgeMillis) {
+            final Entry entry = entries.pollFirst();
+            this.bytes -= entry.size;
+            expired.add(entry.job);
+        }
+        return expired;
+    }
+
+    /**
+     * Is the buffer empty?
+     *
+     * @return true if empty, otherwise false
+     */
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Take the next job from the buffer
+     *
+     * @return the next job if one is available
+     */
+    public synchronized Optional<Job> poll() {
+        final Entry entry = entries.pollFirst();
+        if (entry == null) {
+            return Optional.empty();
+        }
+        this.bytes -= entry.size;
+        return Optional.of(entry.job);
+    }
+
+    /**
+     * Get the number of jobs currently held
+     *
+     * @return the number of jobs
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+
+        private final Job  job;
+        private final long size;
+        private final long claimedAt;
+
+        private Entry(final Job job, final long size, final long claimedAt) {
+            this.job = job;
+            this.size = size;
+            this.claimedAt = claimedAt;
+        }
+    }
+}
@@ -37,9 +37,13 @@ import dev.doddle.core.engine.telemetry.events.JobFailedEvent;
 import dev.doddle.core.exceptions.TaskExecutionException;
 import dev.doddle.core.services.TaskService;
 import dev.doddle.core.services.TelemetryService;
+import dev.doddle.storage.common.JobLeaseLostException;
 import dev.doddle.storage.common.Storage;
 import dev.doddle.storage.common.domain.Job;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.function.Consumer;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
@@ -47,13 +51,14 @@ import static java.lang.String.format;
 
 public class JobProcessor {
 
-    private final TelemetryService           telemetryService;
+    private static final Logger                     logger = LoggerFactory.getLogger(JobProcessor.class);
+    private final        TelemetryService           telemetryService;
     // TODO Remove - not needed
-    private final Storage                    storage;
-    private final TaskService                taskService;
-    private final JobResultProcessor         resultProcessor;
-    private final JobExecutionContextFactory executionContextFactory;
-    private       MiddlewarePipeline         middleware;
+    private final        Storage                    storage;
+    private final        TaskService                taskService;
+    private final        JobResultProcessor         resultProcessor;
+    private final        JobExecutionContextFactory executionContextFactory;
+    private              MiddlewarePipeline         middleware;
 
     /**
      * Create a new job processor
@@ -94,24 +99,33 @@ public class JobProcessor {
             ));
         } else {
             final JobExecutionContext context = executionContextFactory.create(job);
-            final Consumer<TaskState> callback = createCallback(job, task);
+            final Consumer<TaskState> callback = createCallback(job, task, context);
             middleware.beforeExecution(context);
             taskService.execute(task, timeout, context, callback);
         }
     }
 
     private Consumer<TaskState> createCallback(@NotNull final Job job,
-                                               @NotNull final TaskDescriptor task) {
+                                               @NotNull final TaskDescriptor task,
+                                               @NotNull final JobExecutionContext context) {
         return (state) -> {
-            if (state instanceof ExecutingTaskState) {
-                this.telemetryService.dispatch(new JobExecutingEvent(job));
-            } else if (state instanceof SuccessfulTaskState) {
-                resultProcessor.handleSuccessful(job);
-                telemetryService.dispatch(new JobCompletedEvent(job));
-            } else if (state instanceof FailedTaskState) {
-                resultProcessor.handleFailed(job, ((FailedTaskState) state).getException(), task.getRetryer().getStrategy());
-                telemetryService.dispatch(new JobFailedEvent(job));
-                telemetryService.dispatch(new JobExceptionEvent(job, ((FailedTaskState) state).getException()));
+            try {
+                if (state instanceof ExecutingTaskState) {
+                    this.telemetryService.dispatch(new JobExecutingEvent(job));
+                } else if (state instanceof SuccessfulTaskState) {
+                    // the messages of a finished job must be written before its result
+                    context.flush();
+                    resultProcessor.handleSuccessful(job);
+                    telemetryService.dispatch(new JobCompletedEvent(job));
+                } else if (state instanceof FailedTaskState) {
+                    context.flush();
+                    resultProcessor.handleFailed(job, ((FailedTaskState) state).getException(), task.getRetryer().getStrategy());
+                    telemetryService.dispatch(new JobFailedEvent(job));
+                    telemetryService.dispatch(new JobExceptionEvent(job, ((FailedTaskState) state).getException()));
+                }
+            } catch (JobLeaseLostException exception) {
+                // the job was reclaimed while it was executing, the result belongs to the new claim
+                logger.warn(exception.getMessage());
             }
         };
     }
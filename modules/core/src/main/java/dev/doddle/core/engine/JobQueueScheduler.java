@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.time.Clock;
+import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.JobLease;
+import dev.doddle.storage.common.domain.Queue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Claims jobs across the queues by weighted fair share, using deficit round-robin
+ * <p>
+ * Each time a queue's turn comes round its deficit grows by its weight, and it may claim up to its deficit
+ * before the turn passes to the next queue. A queue that has no jobs, or is at its concurrency limit, forfeits
+ * the rest of its deficit. Over time each busy queue receives a share of the claims proportional to its weight,
+ * so a queue with a large backlog cannot starve the others. The concurrency limits are enforced by the storage
+ * when the jobs are claimed.
+ */
+public class JobQueueScheduler {
+
+    private final Storage              storage;
+    private final Clock                clock;
+    private final long                 refreshInterval;
+    private final Map<String, Integer> deficits;
+    private final JobLease             lease;
+    private       List<Queue>          queues;
+    private       long                 refreshedAt;
+    private       int                  cursor;
+    private       boolean              turnStarted;
+
+    /**
+     * Create a new job queue scheduler
+     *
+     * @param storage         the storage
+     * @param clock           the clock
+     * @param refreshInterval how often to reload the queues
+     */
+    public JobQueueScheduler(@NotNull final Storage storage,
+                             @NotNull final Clock clock,
+                             @NotNull final Duration refreshInterval) {
+        this(storage, clock, refreshInterval, null);
+    }
+
+    /**
+     * Create a new job queue scheduler that takes a lease on the jobs it claims
+     *
+     * @param storage         the storage
+     * @param clock           the clock
+     * @param refreshInterval how often to reload the queues
+     * @param lease           the lease to take on the claimed jobs, or null to claim them without a lease
+     */
+    public JobQueueScheduler(@NotNull final Storage storage,
+                             @NotNull final Clock clock,
+                             @NotNull final Duration refreshInterval,
+                             @Nullable final JobLease lease) {
+        this.lease = lease;
+        this.storage = requireNonNull(storage, "storage cannot be null");
+        this.clock = requireNonNull(clock, "clock cannot be null");
+        this.refreshInterval = requireNonNull(refreshInterval, "refreshInterval cannot be null").toMillis();
+        this.deficits = new HashMap<>();
+        this.queues = List.of();
+        this.refreshedAt = Long.MIN_VALUE;
+    }
+
+    /**
+     * Claim up to a maximum number of jobs, sharing the claims between the queues by their weights
+     * The deficits are kept under the lock but the jobs are claimed outside it, so the polling threads can
+     * claim from the storage at the same time
+     *
+     * @param max the maximum number of jobs to claim
+     * @return the claimed jobs
+     */
+    public List<Job> claim(final int max) {
+        refresh();
+        final List<Job> claimed = new ArrayList<>();
+        int idle = 0;
+        Turn turn;
+        while (claimed.size() < max && (turn = next(max - claimed.size(), idle)) != null) {
+            final List<Job> jobs = lease == null
+                ? storage.pickJobs(turn.queue, turn.request)
+                : storage.pickJobs(turn.queue, lease, turn.request);
+            claimed.addAll(jobs);
+            idle = jobs.isEmpty() ? idle + 1 : 0;
+            if (jobs.size() < turn.request) {
+                forfeit(turn.queue);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Take the next turn, charging the jobs it may claim to the queue's deficit up front
+     *
+     * @param remaining the number of jobs left to claim
+     * @param idle      the number of turns in a row that claimed nothing
+     * @return the turn, or null if every queue has been tried without claiming anything
+     */
+    private synchronized Turn next(final int remaining, final int idle) {
+        if (idle >= queues.size()) {
+            return null;
+        }
+        final Queue queue = queues.get(cursor);
+        int deficit = deficits.getOrDefault(queue.getId(), 0);
+        if (!turnStarted) {
+            deficit += weightOf(queue);
+            turnStarted = true;
+        }
+        final int request = Math.min(deficit, remaining);
+        deficit -= request;
+        deficits.put(queue.getId(), deficit);
+        if (deficit == 0) {
+            advance();
+        }
+        return new Turn(queue, request);
+    }
+
+    /**
+     * The queue is drained or at its limit, so it forfeits the rest of its turn
+     *
+     * @param queue the queue
+     */
+    private synchronized void forfeit(final Queue queue) {
+        if (!deficits.containsKey(queue.getId())) {
+            // the queue was removed by a refresh in the meantime
+            return;
+        }
+        deficits.put(queue.getId(), 0);
+        if (!queues.isEmpty() && queues.get(cursor).getId().equals(queue.getId())) {
+            advance();
+        }
+    }
+
+    private void advance() {
+        cursor = (cursor + 1) % queues.size();
+        turnStarted = false;
+    }
+
+    /**
+     * Reload the queues that are not locked once the refresh interval has passed
+     */
+    private void refresh() {
+        final long now = clock.millis();
+        synchronized (this) {
+            if (refreshedAt != Long.MIN_VALUE && now - refreshedAt < refreshInterval) {
+                return;
+            }
+        }
+        final List<Queue> current = storage.getAllQueues()
+            .stream()
+            .filter(queue -> !queue.isLocked())
+            .collect(toList());
+        apply(current, now);
+    }
+
+    private synchronized void apply(final List<Queue> current, final long now) {
+        final Queue previous = queues.isEmpty() ? null : queues.get(cursor);
+        deficits.keySet().retainAll(current.stream().map(Queue::getId).collect(toList()));
+        queues = current;
+        refreshedAt = now;
+        // carry on from the same queue if it is still there
+        final int index = previous == null ? -1 : indexOf(current, previous.getId());
+        if (index < 0) {
+            cursor = 0;
+            turnStarted = false;
+        } else {
+            cursor = index;
+        }
+    }
+
+    private static int indexOf(final List<Queue> queues, final String id) {
+        for (int i = 0; i < queues.size(); i++) {
+            if (queues.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int weightOf(final Queue queue) {
+        final Integer weight = queue.getWeight();
+        return weight == null || weight <= 0 ? 1 : weight;
+    }
+
+    private static class Turn {
+
+        private final Queue queue;
+        private final int   request;
+
+        private Turn(final Queue queue, final int request) {
+            this.queue = queue;
+            this.request = request;
+        }
+    }
+}
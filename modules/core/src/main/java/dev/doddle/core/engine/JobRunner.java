@@ -24,10 +24,12 @@
 package dev.doddle.core.engine;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.polling.PollingWorkerPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.Executor;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static dev.doddle.core.engine.JobProcessingStatus.PROCESSED;
 import static dev.doddle.core.engine.JobProcessingStatus.SKIPPED;
@@ -35,41 +37,61 @@ import static dev.doddle.core.support.Objects.requireNonNull;
 
 /**
  * This class manages the running of jobs
- * It will check if a new job exists, and then execute it
+ * It will check if a new job exists, and then hand it to the worker pool to be executed
  * If it doesn't exist then it will skip ready to be checked again at the next polling interval
  */
 public class JobRunner {
 
-    private static final Logger       logger = LoggerFactory.getLogger(JobRunner.class);
-    private final        Executor     executor;
-    private final        JobPicker    picker;
-    private final        JobProcessor processor;
+    private static final Logger            logger = LoggerFactory.getLogger(JobRunner.class);
+    private final        PollingWorkerPool workers;
+    private final        JobPicker         picker;
+    private final        JobProcessor      processor;
 
     /**
      * Create a new job runner
      *
-     * @param executor  the executor to use
+     * @param workers   the worker pool to execute the jobs on
      * @param processor the processor to use
      * @param picker    the picker for picking jobs ready to be executed
      */
-    public JobRunner(@NotNull Executor executor,
+    public JobRunner(@NotNull PollingWorkerPool workers,
                      @NotNull JobProcessor processor,
                      @NotNull JobPicker picker) {
-        this.executor = requireNonNull(executor, "executor cannot be null");
+        this.workers = requireNonNull(workers, "workers cannot be null");
         this.processor = requireNonNull(processor, "processor cannot be null");
         this.picker = requireNonNull(picker, "picker cannot be null");
     }
 
     /**
      * Pick a job and then execute it
+     * A job is only picked once the worker pool has room for it
      */
     public void execute(final JobRunnerCallback callback) {
+        if (!workers.reserve()) {
+            logger.debug("Stopped or interrupted whilst waiting for a worker. Skipping....");
+            return;
+        }
+        if (workers.isStopped()) {
+            // the pool was stopped while the slot was being reserved, a job claimed now would not be executed
+            logger.debug("Stopped whilst reserving a worker. Skipping....");
+            workers.release();
+            return;
+        }
         picker.pick(job -> {
             if (job.isEmpty()) {
                 logger.debug("No job picked. Skipping....");
+                workers.release();
                 callback.apply(SKIPPED);
             } else {
-                executor.execute(() -> processor.process(job.get()));
+                try {
+                    workers.execute(() -> processor.process(job.get()));
+                } catch (RejectedExecutionException exception) {
+                    // the worker pool gives back the reserved slot when it rejects a job
+                    logger.error("Could not hand off job: {}. The worker pool has been shutdown", job.get().getId());
+                    picker.release(List.of(job.get()));
+                    callback.apply(SKIPPED);
+                    return;
+                }
                 callback.apply(PROCESSED);
             }
         });
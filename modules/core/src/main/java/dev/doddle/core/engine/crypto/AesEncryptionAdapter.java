@@ -4,14 +4,23 @@ import dev.doddle.core.exceptions.DoddleException;
 
 import javax.crypto.*;
 import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 
+import static dev.doddle.core.engine.crypto.EncryptionAlgorithm.AES_CBC;
 import static javax.crypto.Cipher.DECRYPT_MODE;
 import static javax.crypto.Cipher.ENCRYPT_MODE;
 
 public class AesEncryptionAdapter implements EncryptionAdapter {
 
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(AES_CBC.getTransformation());
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    });
+
     @Override
     public byte[] encrypt(final EncryptionData data) throws DoddleException {
         try {
@@ -32,19 +41,38 @@ public class AesEncryptionAdapter implements EncryptionAdapter {
         }
     }
 
-    private SecretKeySpec createSecretKeySpec(final EncryptionData data) throws DoddleException {
+    @Override
+    public int encrypt(final SecretKeySpec key,
+                       final byte[] iv,
+                       final ByteBuffer input,
+                       final ByteBuffer output) throws DoddleException {
+        try {
+            return getCipher(new EncryptionData(iv, key, null), ENCRYPT_MODE).doFinal(input, output);
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
+    @Override
+    public int decrypt(final SecretKeySpec key,
+                       final byte[] iv,
+                       final ByteBuffer input,
+                       final ByteBuffer output) throws DoddleException {
         try {
-            final SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
-            final char[] password = data.getPassword();
-            final byte[] salt = data.getSalt();
-            final PBEKeySpec passwordBasedEncryptionKeySpec = new PBEKeySpec(password, salt, 65556, 256);
-            final SecretKey secretKey = factory.generateSecret(passwordBasedEncryptionKeySpec);
-            return new SecretKeySpec(secretKey.getEncoded(), "AES");
+            return getCipher(new EncryptionData(iv, key, null), DECRYPT_MODE).doFinal(input, output);
         } catch (Exception exception) {
             throw new DoddleException(exception);
         }
     }
 
+    private SecretKeySpec createSecretKeySpec(final EncryptionData data) throws DoddleException {
+        if (data.getKey() != null) {
+            return data.getKey();
+        }
+        // payloads written before the keys were cached derive a key from their own salt
+        return new SecretKeySpec(EncryptionKeyCache.derive(data.getPassword(), data.getSalt()), "AES");
+    }
+
     private Cipher getDecryptCipher(final EncryptionData data) throws DoddleException {
         return getCipher(data, DECRYPT_MODE);
     }
@@ -56,7 +84,7 @@ public class AesEncryptionAdapter implements EncryptionAdapter {
     private Cipher getCipher(final EncryptionData data, final int encryptMode) {
         try {
             final SecretKeySpec secretKeySpec = createSecretKeySpec(data);
-            final Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            final Cipher cipher = ciphers.get();
             cipher.init(encryptMode, secretKeySpec, new IvParameterSpec(data.getIv()));
             return cipher;
         } catch (Exception exception) {
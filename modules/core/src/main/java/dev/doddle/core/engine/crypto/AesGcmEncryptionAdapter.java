@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.crypto;
+
+import dev.doddle.core.exceptions.DoddleException;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+
+import static dev.doddle.core.engine.crypto.EncryptionAlgorithm.AES_GCM;
+import static javax.crypto.Cipher.DECRYPT_MODE;
+import static javax.crypto.Cipher.ENCRYPT_MODE;
+
+/**
+ * Encrypts with AES in GCM mode, reusing a cipher for each thread
+ * The key must already be derived, so it can only be used for payloads with a cached key
+ */
+public class AesGcmEncryptionAdapter implements EncryptionAdapter {
+
+    private static final int IV_LENGTH  = 12;
+    private static final int TAG_LENGTH = 128;
+
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(AES_GCM.getTransformation());
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    });
+
+    @Override
+    public byte[] encrypt(final EncryptionData data) throws DoddleException {
+        try {
+            return getCipher(ENCRYPT_MODE, data.getKey(), data.getIv()).doFinal(data.getData());
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
+    @Override
+    public int encrypt(final SecretKeySpec key,
+                       final byte[] iv,
+                       final ByteBuffer input,
+                       final ByteBuffer output) throws DoddleException {
+        try {
+            return getCipher(ENCRYPT_MODE, key, iv).doFinal(input, output);
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
+    @Override
+    public byte[] decrypt(final EncryptionData data) throws DoddleException {
+        try {
+            return getCipher(DECRYPT_MODE, data.getKey(), data.getIv()).doFinal(data.getData());
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
+    @Override
+    public int decrypt(final SecretKeySpec key,
+                       final byte[] iv,
+                       final ByteBuffer input,
+                       final ByteBuffer output) throws DoddleException {
+        try {
+            return getCipher(DECRYPT_MODE, key, iv).doFinal(input, output);
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
+    @Override
+    public EncryptionAlgorithm getAlgorithm() {
+        return AES_GCM;
+    }
+
+    @Override
+    public int getIvLength() {
+        return IV_LENGTH;
+    }
+
+    @Override
+    public int getOutputSize(final int mode, final int length) {
+        return mode == ENCRYPT_MODE ? length + TAG_LENGTH / 8 : Math.max(0, length - TAG_LENGTH / 8);
+    }
+
+    private Cipher getCipher(final int mode, final SecretKeySpec key, final byte[] iv) throws Exception {
+        if (key == null) {
+            throw new DoddleException("AES-GCM requires a derived key");
+        }
+        final Cipher cipher = ciphers.get();
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH, iv));
+        return cipher;
+    }
+}
@@ -1,7 +1,75 @@
 package dev.doddle.core.engine.crypto;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+
+import static javax.crypto.Cipher.ENCRYPT_MODE;
+
 public interface EncryptionAdapter {
     byte[] encrypt(final EncryptionData data);
 
     byte[] decrypt(final EncryptionData data);
+
+    /**
+     * Encrypt the remaining bytes of a buffer into another buffer with a derived key
+     *
+     * @param key    the key
+     * @param iv     the initialisation vector
+     * @param input  the bytes to encrypt
+     * @param output the buffer to write the encrypted bytes to
+     * @return the number of bytes written
+     */
+    default int encrypt(final SecretKeySpec key, final byte[] iv, final ByteBuffer input, final ByteBuffer output) {
+        final byte[] bytes = new byte[input.remaining()];
+        input.get(bytes);
+        final byte[] encrypted = encrypt(new EncryptionData(iv, key, bytes));
+        output.put(encrypted);
+        return encrypted.length;
+    }
+
+    /**
+     * Decrypt the remaining bytes of a buffer into another buffer with a derived key
+     *
+     * @param key    the key
+     * @param iv     the initialisation vector
+     * @param input  the bytes to decrypt
+     * @param output the buffer to write the decrypted bytes to
+     * @return the number of bytes written
+     */
+    default int decrypt(final SecretKeySpec key, final byte[] iv, final ByteBuffer input, final ByteBuffer output) {
+        final byte[] bytes = new byte[input.remaining()];
+        input.get(bytes);
+        final byte[] decrypted = decrypt(new EncryptionData(iv, key, bytes));
+        output.put(decrypted);
+        return decrypted.length;
+    }
+
+    /**
+     * The algorithm recorded with the payloads this adapter encrypts
+     *
+     * @return the algorithm
+     */
+    default EncryptionAlgorithm getAlgorithm() {
+        return EncryptionAlgorithm.AES_CBC;
+    }
+
+    /**
+     * The length of the initialisation vector the cipher expects
+     *
+     * @return the length in bytes
+     */
+    default int getIvLength() {
+        return 16;
+    }
+
+    /**
+     * The maximum number of bytes produced for an input
+     *
+     * @param mode   the cipher mode
+     * @param length the length of the input
+     * @return the maximum length of the output
+     */
+    default int getOutputSize(final int mode, final int length) {
+        return mode == ENCRYPT_MODE ? (length / 16 + 1) * 16 : length;
+    }
 }
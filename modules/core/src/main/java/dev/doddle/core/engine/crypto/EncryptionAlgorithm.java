@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.crypto;
+
+import dev.doddle.core.exceptions.DoddleException;
+
+import static java.lang.String.format;
+
+public enum EncryptionAlgorithm {
+
+    /**
+     * AES in CBC mode, used by every payload written before the algorithm was recorded
+     */
+    AES_CBC("AES/CBC/PKCS5Padding"),
+
+    /**
+     * AES in GCM mode, which also authenticates the encrypted values
+     */
+    AES_GCM("AES/GCM/NoPadding");
+
+    private final String transformation;
+
+    EncryptionAlgorithm(final String transformation) {
+        this.transformation = transformation;
+    }
+
+    /**
+     * Get the algorithm for a cipher transformation
+     *
+     * @param transformation the transformation, or null for payloads that did not record one
+     * @return the algorithm
+     */
+    public static EncryptionAlgorithm fromTransformation(final String transformation) {
+        if (transformation == null) {
+            return AES_CBC;
+        }
+        for (final EncryptionAlgorithm algorithm : values()) {
+            if (algorithm.transformation.equals(transformation)) {
+                return algorithm;
+            }
+        }
+        throw new DoddleException(format("Unsupported encryption algorithm: %s", transformation));
+    }
+
+    public EncryptionAdapter createAdapter() {
+        return this == AES_GCM ? new AesGcmEncryptionAdapter() : new AesEncryptionAdapter();
+    }
+
+    public String getTransformation() {
+        return transformation;
+    }
+}
@@ -24,6 +24,9 @@
 package dev.doddle.core.engine.crypto;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.core.exceptions.DoddleValidationException;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class EncryptionConfiguration {
 
@@ -31,6 +34,10 @@ public class EncryptionConfiguration {
 
     private final EncryptionStore store;
 
+    private int keyCacheSize;
+
+    private EncryptionAlgorithm algorithm;
+
     public EncryptionConfiguration() {
         this(true);
     }
@@ -38,6 +45,24 @@ public class EncryptionConfiguration {
     public EncryptionConfiguration(boolean enabled) {
         this.store = new EncryptionStore();
         this.enabled = enabled;
+        this.keyCacheSize = 16;
+        this.algorithm = EncryptionAlgorithm.AES_CBC;
+    }
+
+    /**
+     * The algorithm to encrypt new payloads with
+     * Existing payloads are still decrypted with the algorithm they were encrypted with
+     *
+     * @param algorithm the algorithm
+     * @return this
+     */
+    public EncryptionConfiguration algorithm(@NotNull final EncryptionAlgorithm algorithm) {
+        this.algorithm = requireNonNull(algorithm, "algorithm cannot be null");
+        return this;
+    }
+
+    public EncryptionAlgorithm algorithm() {
+        return algorithm;
     }
 
     public boolean isEnabled() {
@@ -57,6 +82,42 @@ public class EncryptionConfiguration {
         return this;
     }
 
+    /**
+     * Add a credential with a given salt
+     * When none is given the salt is derived from the version, so it is the same on every node
+     *
+     * @param version  the version
+     * @param password the password
+     * @param salt     the salt the keys of this credential are derived from
+     * @param current  whether new payloads are encrypted with this credential
+     * @return this
+     */
+    public EncryptionConfiguration credential(@NotNull final String version,
+                                              @NotNull final String password,
+                                              @NotNull final byte[] salt,
+                                              final boolean current) {
+        this.store.put(version, password, salt, current);
+        return this;
+    }
+
+
+    /**
+     * The maximum number of derived keys to hold, one for each credential version in use
+     *
+     * @param keyCacheSize the number of keys
+     * @return this
+     */
+    public EncryptionConfiguration keyCacheSize(final int keyCacheSize) {
+        if (keyCacheSize <= 0) {
+            throw new DoddleValidationException("Key cache size must be greater than zero");
+        }
+        this.keyCacheSize = keyCacheSize;
+        return this;
+    }
+
+    public int keyCacheSize() {
+        return keyCacheSize;
+    }
 
     public EncryptionStore getStore() {
         return store;
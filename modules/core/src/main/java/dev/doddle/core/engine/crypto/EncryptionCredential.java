@@ -27,24 +27,68 @@ import dev.doddle.common.support.NotNull;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import dev.doddle.core.exceptions.DoddleException;
+
+import java.security.MessageDigest;
+
 import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOf;
 
 public class EncryptionCredential {
 
+    private static final int SALT_LENGTH = 16;
+
     private final String version;
 
     private final char[] password;
 
+    private final byte[] salt;
+
     private final boolean current;
 
+    /**
+     * Create a credential whose salt is derived from its version
+     * Every node derives the same salt, and so the same key, for a version
+     *
+     * @param version  the version
+     * @param password the password
+     * @param current  whether new payloads are encrypted with this credential
+     */
     public EncryptionCredential(@NotNull final String version,
                                 @NotNull final String password,
                                 boolean current) {
+        this(version, password, createSalt(requireNonNull(version, "version cannot be null")), current);
+    }
+
+    /**
+     * Create a credential with a given salt
+     * The salt must be the same on every node, otherwise each node derives its own key for the version
+     *
+     * @param version  the version
+     * @param password the password
+     * @param salt     the salt the keys of this credential are derived from
+     * @param current  whether new payloads are encrypted with this credential
+     */
+    public EncryptionCredential(@NotNull final String version,
+                                @NotNull final String password,
+                                @NotNull final byte[] salt,
+                                boolean current) {
         this.version = requireNonNull(version, "version cannot be null");
         this.password = requireNonNull(password, "password cannot be null").toCharArray();
+        this.salt = copyOf(requireNonNull(salt, "salt cannot be null"), salt.length);
         this.current = current;
     }
 
+    private static byte[] createSalt(final String version) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return copyOf(digest.digest(("doddle:" + version).getBytes(UTF_8)), SALT_LENGTH);
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
     public String getVersion() {
         return version;
     }
@@ -57,6 +101,10 @@ public class EncryptionCredential {
         return password;
     }
 
+    public byte[] getSalt() {
+        return copyOf(salt, salt.length);
+    }
+
     public boolean isVersion(final String version) {
         return version.equals(this.version);
     }
@@ -1,10 +1,13 @@
 package dev.doddle.core.engine.crypto;
 
+import javax.crypto.spec.SecretKeySpec;
+
 public class EncryptionData {
-    private final byte[] iv;
-    private final byte[] salt;
-    private final char[] password;
-    private final byte[] data;
+    private final byte[]        iv;
+    private final byte[]        salt;
+    private final char[]        password;
+    private final byte[]        data;
+    private final SecretKeySpec key;
 
     public EncryptionData(final byte[] iv,
                           final byte[] salt,
@@ -14,6 +17,24 @@ public class EncryptionData {
         this.salt = salt;
         this.password = password;
         this.data = data;
+        this.key = null;
+    }
+
+    /**
+     * Create the data to encrypt or decrypt with a key that has already been derived
+     *
+     * @param iv   the initialisation vector
+     * @param key  the key
+     * @param data the data
+     */
+    public EncryptionData(final byte[] iv,
+                          final SecretKeySpec key,
+                          final byte[] data) {
+        this.iv = iv;
+        this.salt = null;
+        this.password = null;
+        this.data = data;
+        this.key = key;
     }
 
     public byte[] getIv() {
@@ -31,4 +52,8 @@ public class EncryptionData {
     public byte[] getData() {
         return data;
     }
+
+    public SecretKeySpec getKey() {
+        return key;
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.crypto;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.exceptions.DoddleException;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * A bounded cache of the keys derived from each credential version
+ * Deriving a key is deliberately expensive, so each version is derived once and reused. Evicted and cleared
+ * keys are overwritten with zeros
+ */
+public class EncryptionKeyCache {
+
+    private static final String ALGORITHM  = "PBKDF2WithHmacSHA512";
+    private static final int    ITERATIONS = 65556;
+    private static final int    KEY_LENGTH = 256;
+
+    private final Map<String, byte[]> keys;
+    private final AtomicLong          hits;
+    private final AtomicLong          misses;
+
+    /**
+     * Create a new key cache
+     *
+     * @param maxSize the maximum number of keys to hold
+     */
+    public EncryptionKeyCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+        }
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, byte[]> eldest) {
+                if (size() > maxSize) {
+                    Arrays.fill(eldest.getValue(), (byte) 0);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Derive a key from a password and salt
+     *
+     * @param password the password
+     * @param salt     the salt
+     * @return the key
+     */
+    public static byte[] derive(@NotNull final char[] password, @NotNull final byte[] salt) throws DoddleException {
+        final PBEKeySpec spec = new PBEKeySpec(password, salt, ITERATIONS, KEY_LENGTH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (Exception exception) {
+            throw new DoddleException(exception);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Remove all the keys, overwriting them with zeros
+     */
+    public synchronized void clear() {
+        keys.values().forEach(key -> Arrays.fill(key, (byte) 0));
+        keys.clear();
+    }
+
+    /**
+     * Get the key for a credential, deriving it from the salt of the credential on the first use
+     *
+     * @param credential the credential
+     * @return the key
+     */
+    public SecretKeySpec get(@NotNull final EncryptionCredential credential) throws DoddleException {
+        return get(credential, requireNonNull(credential, "credential cannot be null").getSalt());
+    }
+
+    /**
+     * Get the key for a credential and the salt a payload recorded, deriving it on the first use
+     * The key is derived outside the lock, so a slow derivation does not hold up the lookups of other keys
+     *
+     * @param credential the credential
+     * @param salt       the salt
+     * @return the key
+     */
+    public SecretKeySpec get(@NotNull final EncryptionCredential credential, @NotNull final byte[] salt) throws DoddleException {
+        requireNonNull(credential, "credential cannot be null");
+        requireNonNull(salt, "salt cannot be null");
+        final String id = credential.getVersion() + ":" + Base64.getEncoder().encodeToString(salt);
+        synchronized (this) {
+            final byte[] key = keys.get(id);
+            if (key != null) {
+                hits.incrementAndGet();
+                return new SecretKeySpec(key, "AES");
+            }
+        }
+        misses.incrementAndGet();
+        final byte[] derived = derive(credential.getPassword(), salt);
+        synchronized (this) {
+            final byte[] key = keys.putIfAbsent(id, derived);
+            if (key != null) {
+                // another thread derived the same key first
+                Arrays.fill(derived, (byte) 0);
+                return new SecretKeySpec(key, "AES");
+            }
+            // the spec holds its own copy, so the cached key can be zeroed while it is still in use
+            return new SecretKeySpec(derived, "AES");
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the ratio of lookups that did not need to derive a key
+     *
+     * @return the hit rate between zero and one, or zero if there have been no lookups
+     */
+    public double getHitRate() {
+        final long hits = this.hits.get();
+        final long total = hits + this.misses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return keys.size();
+    }
+
+}
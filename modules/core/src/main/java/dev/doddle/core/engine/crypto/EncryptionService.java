@@ -26,43 +26,136 @@ package dev.doddle.core.engine.crypto;
 import dev.doddle.core.engine.JobEncryption;
 import dev.doddle.core.exceptions.DoddleException;
 
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static dev.doddle.core.engine.JobEncryption.FORMAT_CACHED_KEY;
 import static dev.doddle.core.support.Objects.requireNonNull;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.crypto.Cipher.DECRYPT_MODE;
+import static javax.crypto.Cipher.ENCRYPT_MODE;
 
 public class EncryptionService {
 
-    private final EncryptionStore   store;
-    private final EncryptionAdapter adapter;
-    private final boolean enabled;
+    private final EncryptionStore                              store;
+    private final EncryptionAdapter                            adapter;
+    private final Map<EncryptionAlgorithm, EncryptionAdapter> adapters;
+    private final EncryptionKeyCache                           keys;
+    private final SecureRandom                                 random;
+    private final boolean                                      enabled;
 
     public EncryptionService(
         final boolean enabled,
         final EncryptionStore store,
         final EncryptionAdapter adapter) {
+        this(enabled, store, adapter, new EncryptionKeyCache(16));
+    }
+
+    /**
+     * Create a new encryption service
+     * New payloads are encrypted with the given adapter, while existing payloads are decrypted with the adapter
+     * for the algorithm they recorded
+     *
+     * @param enabled whether encryption is enabled
+     * @param store   the credentials
+     * @param adapter the adapter to encrypt new payloads with
+     * @param keys    the cache of the derived keys
+     */
+    public EncryptionService(
+        final boolean enabled,
+        final EncryptionStore store,
+        final EncryptionAdapter adapter,
+        final EncryptionKeyCache keys) {
         this.enabled = enabled;
         this.store = requireNonNull(store, "store cannot be null");
         this.adapter = requireNonNull(adapter, "adapter cannot be null");
+        this.keys = requireNonNull(keys, "keys cannot be null");
+        this.random = new SecureRandom();
+        this.adapters = new EnumMap<>(EncryptionAlgorithm.class);
+        for (final EncryptionAlgorithm algorithm : EncryptionAlgorithm.values()) {
+            this.adapters.put(algorithm, algorithm.createAdapter());
+        }
+        this.adapters.put(adapter.getAlgorithm(), adapter);
     }
 
-    public byte[] encrypt(final byte[] bytes, final JobEncryption parameters) throws DoddleException {
-        final String version = parameters.getVersion();
-        final EncryptionCredential credential = store.getByVersion(version);
+    /**
+     * Create the encryption parameters for a new payload with the current credential and algorithm
+     *
+     * @return the encryption parameters
+     */
+    public JobEncryption createEncryption() throws DoddleException {
+        final EncryptionCredential credential = getCurrentVersion();
         if (credential == null) {
-            throw new DoddleException(format("Encryption credential for version %s not found in store", version));
+            throw new DoddleException("No current encryption credential in store");
+        }
+        return new JobEncryption(credential.getVersion(), adapter.getAlgorithm().getTransformation(), credential.getSalt());
+    }
+
+    public byte[] encrypt(final byte[] bytes, final JobEncryption parameters) throws DoddleException {
+        if (parameters.isFormat(FORMAT_CACHED_KEY)) {
+            // the buffer is sized exactly for the initialisation vector and the encrypted value
+            return encrypt(ByteBuffer.wrap(bytes), parameters).array();
         }
+        final EncryptionCredential credential = getCredential(parameters);
         final EncryptionData data = createEncryptionData(parameters, credential, bytes);
-        return adapter.encrypt(data);
+        return getAdapter(parameters).encrypt(data);
+    }
+
+    /**
+     * Encrypt the remaining bytes of a buffer
+     * A fresh initialisation vector is written in front of the encrypted value
+     *
+     * @param input      the bytes to encrypt
+     * @param parameters the encryption parameters, which must use a cached key
+     * @return a buffer with the initialisation vector and the encrypted value, ready to be read
+     */
+    public ByteBuffer encrypt(final ByteBuffer input, final JobEncryption parameters) throws DoddleException {
+        requireCachedKey(parameters);
+        final EncryptionCredential credential = getCredential(parameters);
+        final EncryptionAdapter adapter = getAdapter(parameters);
+        final byte[] iv = new byte[adapter.getIvLength()];
+        random.nextBytes(iv);
+        final ByteBuffer output = ByteBuffer.allocate(iv.length + adapter.getOutputSize(ENCRYPT_MODE, input.remaining()));
+        output.put(iv);
+        adapter.encrypt(keys.get(credential, parameters.getSalt()), iv, input, output);
+        return output.flip();
     }
 
     public byte[] decrypt(final byte[] bytes, final JobEncryption parameters) throws DoddleException {
-        final String version = parameters.getVersion();
-        final EncryptionCredential credential = store.getByVersion(version);
-        if (credential == null) {
-            throw new DoddleException(format("Encryption credential for version %s not found in store", version));
+        if (parameters.isFormat(FORMAT_CACHED_KEY)) {
+            final ByteBuffer output = decrypt(ByteBuffer.wrap(bytes), parameters);
+            return output.remaining() == output.capacity()
+                ? output.array()
+                : Arrays.copyOf(output.array(), output.remaining());
         }
+        final EncryptionCredential credential = getCredential(parameters);
         final EncryptionData data = createEncryptionData(parameters, credential, bytes);
-        return adapter.decrypt(data);
+        return getAdapter(parameters).decrypt(data);
+    }
+
+    /**
+     * Decrypt the remaining bytes of a buffer written by {@link #encrypt(ByteBuffer, JobEncryption)}
+     *
+     * @param input      the initialisation vector and the encrypted value
+     * @param parameters the encryption parameters, which must use a cached key
+     * @return a buffer with the decrypted value, ready to be read
+     */
+    public ByteBuffer decrypt(final ByteBuffer input, final JobEncryption parameters) throws DoddleException {
+        requireCachedKey(parameters);
+        final EncryptionCredential credential = getCredential(parameters);
+        final EncryptionAdapter adapter = getAdapter(parameters);
+        final byte[] iv = new byte[adapter.getIvLength()];
+        if (input.remaining() < iv.length) {
+            throw new DoddleException("Encrypted value is too short to contain an initialisation vector");
+        }
+        input.get(iv);
+        final ByteBuffer output = ByteBuffer.allocate(adapter.getOutputSize(DECRYPT_MODE, input.remaining()));
+        adapter.decrypt(keys.get(credential, parameters.getSalt()), iv, input, output);
+        return output.flip();
     }
 
     public byte[] encrypt(final String text, final JobEncryption parameters) throws DoddleException {
@@ -74,10 +167,38 @@ public class EncryptionService {
         }
     }
 
+    /**
+     * Get the cache of the derived keys, including how often a key was reused instead of derived
+     *
+     * @return the key cache
+     */
+    public EncryptionKeyCache getKeyCache() {
+        return keys;
+    }
+
     public EncryptionCredential getCurrentVersion() {
         return this.store.getCurrent();
     }
 
+    private EncryptionAdapter getAdapter(final JobEncryption parameters) {
+        return adapters.get(EncryptionAlgorithm.fromTransformation(parameters.getAlgorithm()));
+    }
+
+    private EncryptionCredential getCredential(final JobEncryption parameters) {
+        final String version = parameters.getVersion();
+        final EncryptionCredential credential = store.getByVersion(version);
+        if (credential == null) {
+            throw new DoddleException(format("Encryption credential for version %s not found in store", version));
+        }
+        return credential;
+    }
+
+    private void requireCachedKey(final JobEncryption parameters) {
+        if (!parameters.isFormat(FORMAT_CACHED_KEY)) {
+            throw new DoddleException(format("Payload format %d cannot be encrypted with a buffer", parameters.getFormat()));
+        }
+    }
+
     private EncryptionData createEncryptionData(final JobEncryption parameters,
                                                 final EncryptionCredential credential,
                                                 final byte[] bytes) {
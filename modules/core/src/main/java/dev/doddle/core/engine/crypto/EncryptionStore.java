@@ -60,7 +60,18 @@ public class EncryptionStore {
     }
 
     public EncryptionStore put(@NotNull final String version, @NotNull final String password, final boolean current) {
-        final EncryptionCredential credential = new EncryptionCredential(version, password, current);
+        return put(new EncryptionCredential(version, password, current));
+    }
+
+    public EncryptionStore put(@NotNull final String version,
+                               @NotNull final String password,
+                               @NotNull final byte[] salt,
+                               final boolean current) {
+        return put(new EncryptionCredential(version, password, salt, current));
+    }
+
+    private EncryptionStore put(final EncryptionCredential credential) {
+        final String version = credential.getVersion();
         if (credentials.contains(credential)) {
             throw new DoddleValidationException(format("Version %s already exists in the credentials store", version));
         } else {
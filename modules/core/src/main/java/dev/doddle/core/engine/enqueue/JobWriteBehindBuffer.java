@@ -0,0 +1,199 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.enqueue;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.exceptions.DoddleException;
+import dev.doddle.core.support.EnqueueDefinition;
+import dev.doddle.storage.common.domain.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A bounded buffer of jobs waiting to be written to the storage
+ * A background thread writes the jobs in batches, either when a batch is full or when the interval has passed
+ * since the first job of the batch arrived, so producers do not pay for a transaction per job. Producers block
+ * while the buffer is full, and the remaining jobs are written when the buffer is closed
+ */
+public class JobWriteBehindBuffer implements AutoCloseable {
+
+    private static final Logger                     logger = LoggerFactory.getLogger(JobWriteBehindBuffer.class);
+    private final        BlockingQueue<PendingJob>  queue;
+    private final        int                        batchSize;
+    private final        long                       intervalNanos;
+    private final        Consumer<List<PendingJob>> writer;
+    private final        ReadWriteLock              lock;
+    private              Thread                     thread;
+    private              Thread                     shutdownHook;
+    private volatile     boolean                    closed;
+
+    /**
+     * Create a new write-behind buffer
+     *
+     * @param configuration the write-behind configuration
+     * @param writer        writes a batch of jobs and completes their futures
+     */
+    public JobWriteBehindBuffer(@NotNull final WriteBehindConfiguration configuration,
+                                @NotNull final Consumer<List<PendingJob>> writer) {
+        requireNonNull(configuration, "configuration cannot be null");
+        this.queue = new ArrayBlockingQueue<>(configuration.capacity());
+        this.batchSize = configuration.batchSize();
+        this.intervalNanos = MILLISECONDS.toNanos(configuration.interval().toMillis());
+        this.writer = requireNonNull(writer, "writer cannot be null");
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Stop accepting jobs and write the jobs that are still waiting
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        synchronized (this) {
+            if (thread == null) {
+                return;
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            if (Thread.currentThread() != shutdownHook) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException exception) {
+                    // the virtual machine is already shutting down
+                }
+            }
+        }
+        logger.debug("Write-behind buffer closed");
+    }
+
+    /**
+     * Get the number of jobs waiting to be written
+     *
+     * @return the number of jobs
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Add a job to the buffer, blocking while the buffer is full
+     *
+     * @param definition the job to enqueue
+     * @return a future that is completed once the job has been written
+     */
+    public CompletableFuture<Job> submit(@NotNull final EnqueueDefinition definition) {
+        final PendingJob job = new PendingJob(requireNonNull(definition, "definition cannot be null"));
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new DoddleException("The write-behind buffer has been closed"));
+            }
+            start();
+            queue.put(job);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            job.getFuture().completeExceptionally(exception);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return job.getFuture();
+    }
+
+    private void drain() {
+        final List<PendingJob> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                final PendingJob first = queue.poll(intervalNanos, NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    final long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    final PendingJob next = queue.poll(remaining, NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            batch.forEach(job -> job.getFuture().completeExceptionally(exception));
+        }
+    }
+
+    private synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::drain, "doddle-write-behind");
+        thread.setDaemon(true);
+        thread.start();
+        // write the waiting jobs before the virtual machine exits
+        shutdownHook = new Thread(this::close, "doddle-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private void write(final List<PendingJob> batch) {
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException exception) {
+            logger.error("Error writing {} jobs", batch.size(), exception);
+            batch.forEach(job -> job.getFuture().completeExceptionally(exception));
+        }
+    }
+
+}
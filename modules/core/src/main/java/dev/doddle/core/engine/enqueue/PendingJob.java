@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.enqueue;
+
+import dev.doddle.core.support.EnqueueDefinition;
+import dev.doddle.storage.common.domain.Job;
+
+import java.util.concurrent.CompletableFuture;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * A job waiting to be written by the write-behind buffer, and the future to complete once it has been
+ */
+public class PendingJob {
+
+    private final EnqueueDefinition      definition;
+    private final CompletableFuture<Job> future;
+
+    public PendingJob(final EnqueueDefinition definition) {
+        this.definition = requireNonNull(definition, "definition cannot be null");
+        this.future = new CompletableFuture<>();
+    }
+
+    public EnqueueDefinition getDefinition() {
+        return definition;
+    }
+
+    public CompletableFuture<Job> getFuture() {
+        return future;
+    }
+
+}
@@ -31,6 +31,9 @@ import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class JobLogger {
 
+    // formatters keep their buffer between messages, so each thread reuses its own
+    private static final ThreadLocal<JobLoggerMessageFormatter> formatters = ThreadLocal.withInitial(JobLoggerMessageFormatter::new);
+
     private final JobLoggerConsumer consumer;
     private final JobLoggerLevel    level;
 
@@ -41,14 +44,68 @@ public class JobLogger {
         this.consumer = requireNonNull(consumer, "consumer cannot be null");
     }
 
+    public void debug(@NotNull final String message) {
+        if (DEBUG.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(DEBUG.getLabel(), message));
+        }
+    }
+
+    public void debug(@NotNull final String message, @Nullable final Object argument) {
+        if (DEBUG.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(DEBUG.getLabel(), message, argument));
+        }
+    }
+
+    public void debug(@NotNull final String message, @Nullable final Object argument1, @Nullable final Object argument2) {
+        if (DEBUG.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(DEBUG.getLabel(), message, argument1, argument2));
+        }
+    }
+
     public void debug(@NotNull final String message, @Nullable final Object... args) {
         apply(DEBUG, message, args);
     }
 
+    public void error(@NotNull final String message) {
+        if (ERROR.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(ERROR.getLabel(), message));
+        }
+    }
+
+    public void error(@NotNull final String message, @Nullable final Object argument) {
+        if (ERROR.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(ERROR.getLabel(), message, argument));
+        }
+    }
+
+    public void error(@NotNull final String message, @Nullable final Object argument1, @Nullable final Object argument2) {
+        if (ERROR.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(ERROR.getLabel(), message, argument1, argument2));
+        }
+    }
+
     public void error(@NotNull final String message, @Nullable final Object... args) {
         apply(ERROR, message, args);
     }
 
+    public void info(@NotNull final String message) {
+        if (INFO.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(INFO.getLabel(), message));
+        }
+    }
+
+    public void info(@NotNull final String message, @Nullable final Object argument) {
+        if (INFO.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(INFO.getLabel(), message, argument));
+        }
+    }
+
+    public void info(@NotNull final String message, @Nullable final Object argument1, @Nullable final Object argument2) {
+        if (INFO.isLoggable(this.level)) {
+            this.consumer.accept(formatters.get().format(INFO.getLabel(), message, argument1, argument2));
+        }
+    }
+
     public void info(@NotNull final String message, @Nullable final Object... args) {
         apply(INFO, message, args);
     }
@@ -57,15 +114,11 @@ public class JobLogger {
                        @NotNull String message,
                        @Nullable Object... arguments) {
         if (level.isLoggable(this.level)) {
-            final JobLoggerMessageFormatter formatter = new JobLoggerMessageFormatter();
-            if (arguments == null) {
+            final JobLoggerMessageFormatter formatter = formatters.get();
+            if (arguments == null || arguments.length == 0) {
                 this.consumer.accept(formatter.format(level.getLabel(), message));
             } else {
-                if (arguments.length > 0) {
-                    this.consumer.accept(formatter.format(level.getLabel(), message, arguments));
-                } else {
-                    this.consumer.accept(formatter.format(level.getLabel(), message));
-                }
+                this.consumer.accept(formatter.format(level.getLabel(), message, arguments));
             }
         }
     }
@@ -0,0 +1,314 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.logger;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.JobMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A bounded buffer of job messages waiting to be written to the storage, shared by every job on the node
+ * A background thread writes the messages of all jobs in batches, either when a batch is full or when the interval has
+ * passed since the first message of the batch arrived, so tasks do not pay for a transaction per log line. When the
+ * buffer is full the message is either dropped or the task blocks, depending on the policy. Flushing waits until every
+ * message logged before the flush has been written, which is how a finished job makes sure none of its messages are lost
+ */
+public class JobLoggerBuffer implements AutoCloseable {
+
+    private static final Logger                               logger = LoggerFactory.getLogger(JobLoggerBuffer.class);
+    private final        BlockingQueue<Entry>                 queue;
+    private final        int                                  batchSize;
+    private final        long                                 intervalNanos;
+    private final        long                                 flushTimeoutMillis;
+    private final        JobLoggerBufferPolicy                policy;
+    private final        Consumer<Map<Job, List<JobMessage>>> writer;
+    private final        ReadWriteLock                        lock;
+    private final        AtomicLong                           dropped;
+    private              Thread                               thread;
+    private              Thread                               shutdownHook;
+    private volatile     boolean                              closed;
+
+    /**
+     * Create a new logger buffer
+     *
+     * @param configuration the buffer configuration
+     * @param writer        writes a batch of messages, grouped by job
+     */
+    public JobLoggerBuffer(@NotNull final JobLoggerBufferConfiguration configuration,
+                           @NotNull final Consumer<Map<Job, List<JobMessage>>> writer) {
+        requireNonNull(configuration, "configuration cannot be null");
+        this.queue = new ArrayBlockingQueue<>(configuration.capacity());
+        this.batchSize = configuration.batchSize();
+        this.intervalNanos = MILLISECONDS.toNanos(configuration.interval().toMillis());
+        this.flushTimeoutMillis = configuration.flushTimeout().toMillis();
+        this.policy = configuration.policy();
+        this.writer = requireNonNull(writer, "writer cannot be null");
+        this.lock = new ReentrantReadWriteLock();
+        this.dropped = new AtomicLong();
+    }
+
+    /**
+     * Stop accepting messages and write the messages that are still waiting
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        synchronized (this) {
+            if (thread == null) {
+                return;
+            }
+            // wake the writer instead of waiting for the interval, a full queue means it is already writing
+            queue.offer(new Entry(null, null, new CountDownLatch(1)));
+            try {
+                thread.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            if (Thread.currentThread() != shutdownHook) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException exception) {
+                    // the virtual machine is already shutting down
+                }
+            }
+        }
+        logger.debug("Logger buffer closed");
+    }
+
+    /**
+     * Get the number of messages that were dropped because the buffer was full
+     *
+     * @return the number of messages
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of messages waiting to be written
+     *
+     * @return the number of messages
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Add a message to the buffer
+     *
+     * @param job     the job that logged the message
+     * @param message the message
+     * @return false if the message was not accepted
+     */
+    public boolean submit(@NotNull final Job job, @NotNull final JobMessage message) {
+        final Entry entry = new Entry(
+            requireNonNull(job, "job cannot be null"),
+            requireNonNull(message, "message cannot be null"),
+            null
+        );
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            start();
+            if (policy == JobLoggerBufferPolicy.BLOCK) {
+                queue.put(entry);
+                return true;
+            }
+            if (!queue.offer(entry)) {
+                // only warn once in a while, a full buffer means the task is logging a lot
+                if (dropped.incrementAndGet() % 10000 == 1) {
+                    logger.warn("Logger buffer is full, {} messages have been dropped", dropped.get());
+                }
+                return false;
+            }
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Wait until every message submitted before this call has been written
+     * The buffer is FIFO, so a marker is queued behind those messages and the writer releases it once they are written
+     *
+     * @return true if the messages were written before the flush timed out
+     */
+    public boolean flush() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        lock.readLock().lock();
+        try {
+            if (closed || thread == null) {
+                return true;
+            }
+            // the marker is never dropped, it waits for space instead
+            if (!queue.offer(new Entry(null, null, latch), flushTimeoutMillis, MILLISECONDS)) {
+                logger.warn("Timed out waiting to flush the logger buffer");
+                return false;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            if (!latch.await(flushTimeoutMillis, MILLISECONDS)) {
+                logger.warn("Timed out waiting to flush the logger buffer");
+                return false;
+            }
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        final List<Entry> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                final Entry first = queue.poll(intervalNanos, NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                final long deadline = System.nanoTime() + intervalNanos;
+                // a flush marker means a finished job is waiting, so write straight away
+                while (batch.size() < batchSize && !first.isMarker()) {
+                    final int drained = queue.drainTo(batch, batchSize - batch.size());
+                    final long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || hasMarker(batch, batch.size() - drained)) {
+                        break;
+                    }
+                    final Entry next = queue.poll(remaining, NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    if (next.isMarker()) {
+                        break;
+                    }
+                }
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            write(batch);
+        }
+    }
+
+    private boolean hasMarker(final List<Entry> batch, final int from) {
+        for (int i = from; i < batch.size(); i++) {
+            if (batch.get(i).isMarker()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::drain, "doddle-logger-buffer");
+        thread.setDaemon(true);
+        thread.start();
+        // write the waiting messages before the virtual machine exits
+        shutdownHook = new Thread(this::close, "doddle-logger-buffer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private void write(final List<Entry> batch) {
+        final Map<Job, List<JobMessage>> messages = new LinkedHashMap<>();
+        for (final Entry entry : batch) {
+            if (!entry.isMarker()) {
+                messages.computeIfAbsent(entry.job, job -> new ArrayList<>()).add(entry.message);
+            }
+        }
+        try {
+            if (!messages.isEmpty()) {
+                writer.accept(messages);
+            }
+        } catch (RuntimeException exception) {
+            logger.error("Error writing {} job messages", batch.size(), exception);
+        } finally {
+            // release the waiting jobs even if the write failed, the messages will not be retried
+            for (final Entry entry : batch) {
+                if (entry.isMarker()) {
+                    entry.flushed.countDown();
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Job            job;
+        private final JobMessage     message;
+        private final CountDownLatch flushed;
+
+        private Entry(final Job job, final JobMessage message, final CountDownLatch flushed) {
+            this.job = job;
+            this.message = message;
+            this.flushed = flushed;
+        }
+
+        private boolean isMarker() {
+            return flushed != null;
+        }
+    }
+
+}
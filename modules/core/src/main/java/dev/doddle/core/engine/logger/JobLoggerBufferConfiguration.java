@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.logger;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.time.Interval;
+import dev.doddle.core.engine.time.IntervalParser;
+import dev.doddle.core.exceptions.DoddleValidationException;
+
+import static dev.doddle.core.engine.time.IntervalParser.createIntervalParser;
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class JobLoggerBufferConfiguration {
+
+    private Integer               capacity;
+    private Integer               batchSize;
+    private Interval              interval;
+    private Interval              flushTimeout;
+    private JobLoggerBufferPolicy policy;
+
+    public JobLoggerBufferConfiguration() {
+        this.capacity = 65536;
+        this.batchSize = 1000;
+        this.interval = new Interval(5, MILLISECONDS);
+        this.flushTimeout = new Interval(10, SECONDS);
+        this.policy = JobLoggerBufferPolicy.BLOCK;
+    }
+
+    /**
+     * The number of messages written to the storage in one transaction
+     *
+     * @param batchSize the number of messages
+     * @return this
+     */
+    public JobLoggerBufferConfiguration batchSize(final int batchSize) {
+        if (batchSize <= 0) {
+            throw new DoddleValidationException("Batch size must be greater than zero");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public Integer batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * The maximum number of messages waiting to be written, shared by all jobs on this node
+     *
+     * @param capacity the number of messages
+     * @return this
+     */
+    public JobLoggerBufferConfiguration capacity(final int capacity) {
+        if (capacity <= 0) {
+            throw new DoddleValidationException("Capacity must be greater than zero");
+        }
+        this.capacity = capacity;
+        return this;
+    }
+
+    public Integer capacity() {
+        return capacity;
+    }
+
+    /**
+     * How long a finished job waits for its messages to be written
+     *
+     * @param timeout the timeout
+     * @return this
+     */
+    public JobLoggerBufferConfiguration flushTimeout(@NotNull final String timeout) {
+        final IntervalParser parser = createIntervalParser();
+        final Interval parsed = parser.parse(requireNonNull(timeout, "timeout cannot be null"));
+        if (parsed.toMillis() <= 0) {
+            throw new DoddleValidationException("Flush timeout must be greater than zero");
+        }
+        this.flushTimeout = parsed;
+        return this;
+    }
+
+    public Interval flushTimeout() {
+        return flushTimeout;
+    }
+
+    /**
+     * How long to wait for a batch to fill before writing it
+     *
+     * @param interval the interval
+     * @return this
+     */
+    public JobLoggerBufferConfiguration interval(@NotNull final String interval) {
+        final IntervalParser parser = createIntervalParser();
+        final Interval parsed = parser.parse(requireNonNull(interval, "interval cannot be null"));
+        if (parsed.toMillis() <= 0) {
+            throw new DoddleValidationException("Interval must be greater than zero");
+        }
+        this.interval = parsed;
+        return this;
+    }
+
+    public Interval interval() {
+        return interval;
+    }
+
+    /**
+     * What to do with a message when the buffer is full
+     *
+     * @param policy the policy
+     * @return this
+     */
+    public JobLoggerBufferConfiguration policy(@NotNull final JobLoggerBufferPolicy policy) {
+        this.policy = requireNonNull(policy, "policy cannot be null");
+        return this;
+    }
+
+    public JobLoggerBufferPolicy policy() {
+        return policy;
+    }
+
+}
@@ -23,14 +23,19 @@
  */
 package dev.doddle.core.engine.logger;
 
+import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
 import dev.doddle.core.exceptions.DoddleValidationException;
 
+import java.util.function.Function;
+
 import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class JobLoggerConfiguration {
 
-    private JobLoggerLevel level;
-    private Integer        maxLines;
+    private JobLoggerLevel               level;
+    private Integer                      maxLines;
+    private JobLoggerBufferConfiguration buffer;
 
     public JobLoggerConfiguration() {
 
@@ -62,4 +67,21 @@ public class JobLoggerConfiguration {
         return this.maxLines;
     }
 
+    /**
+     * Write the messages asynchronously in batches instead of one transaction per message
+     *
+     * @param configuration the buffer configuration
+     * @return this
+     */
+    public JobLoggerConfiguration buffer(@NotNull Function<JobLoggerBufferConfiguration, JobLoggerBufferConfiguration> configuration) {
+        requireNonNull(configuration, "buffer configuration cannot be null");
+        this.buffer = configuration.apply(new JobLoggerBufferConfiguration());
+        return this;
+    }
+
+    @Nullable
+    public JobLoggerBufferConfiguration buffer() {
+        return this.buffer;
+    }
+
 }
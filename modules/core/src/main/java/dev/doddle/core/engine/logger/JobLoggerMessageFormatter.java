@@ -23,24 +23,43 @@
  */
 package dev.doddle.core.engine.logger;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.StringJoiner;
-
-import static java.lang.String.valueOf;
 
+/**
+ * Formats a logger message by replacing each {} in the pattern with the next argument
+ * A formatter keeps its buffer between messages so it is not thread safe, each thread should use its own formatter
+ */
 public class JobLoggerMessageFormatter {
 
-    private static final char   DELIM_START = '{';
-    private static final String DELIM_STR   = "{}";
-    private static final char   ESCAPE_CHAR = '\\';
+    private static final char     DELIM_START     = '{';
+    private static final String   DELIM_STR       = "{}";
+    private static final char     ESCAPE_CHAR     = '\\';
+    private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+    // a buffer that grew this large for one message is not kept for the next one
+    private static final int      MAX_CAPACITY    = 4096;
+
+    private StringBuilder         buffer;
+    private boolean               formatting;
+    // only needed to detect cycles between nested arrays, so it is created the first time one is seen
+    private Map<Object[], Object> seen;
+
+    public JobLoggerMessageEvent format(final String level, final String pattern) {
+        return new JobLoggerMessageEvent(level, pattern);
+    }
 
     public JobLoggerMessageEvent format(final String level, final String pattern, final Object argument) {
-        return format(level, pattern, new Object[]{argument});
+        if (argument instanceof Throwable) {
+            return new JobLoggerMessageEvent(level, pattern, EMPTY_ARGUMENTS, (Throwable) argument);
+        }
+        return new JobLoggerMessageEvent(level, format(pattern, 1, argument, null, null), new Object[]{argument}, null);
     }
 
     public JobLoggerMessageEvent format(final String level, final String pattern, final Object argument1, final Object argument2) {
-        return format(level, pattern, new Object[]{argument1, argument2});
+        if (argument2 instanceof Throwable) {
+            return new JobLoggerMessageEvent(level, format(pattern, 1, argument1, null, null), new Object[]{argument1}, (Throwable) argument2);
+        }
+        return new JobLoggerMessageEvent(level, format(pattern, 2, argument1, argument2, null), new Object[]{argument1, argument2}, null);
     }
 
     public JobLoggerMessageEvent format(final String level, final String pattern, final Object... arguments) {
@@ -62,88 +81,142 @@ public class JobLoggerMessageFormatter {
             return new JobLoggerMessageEvent(level, pattern);
         }
 
-        int i = 0;
-        int j;
-        StringBuilder sb = new StringBuilder(pattern.length() + 50);
+        return new JobLoggerMessageEvent(level, format(pattern, arguments.length, null, null, arguments), arguments, throwable);
+    }
 
-        int l;
-        for (l = 0; l < arguments.length; l++) {
-            j = pattern.indexOf(DELIM_STR, i);
-            if (j == -1) {
-                // no more variables
-                if (i == 0) { // this is a simple string
-                    return new JobLoggerMessageEvent(level, pattern, arguments, throwable);
-                } else { // add the tail string which contains no variables and return
-                    // the result.
+    /**
+     * Replace the placeholders in a pattern
+     * The first two arguments can be passed on their own so the common cases do not need an array
+     *
+     * @param pattern   the pattern
+     * @param count     the number of arguments
+     * @param argument1 the first argument, used when there is no array
+     * @param argument2 the second argument, used when there is no array
+     * @param arguments the arguments, or null
+     * @return the message
+     */
+    private String format(final String pattern,
+                          final int count,
+                          final Object argument1,
+                          final Object argument2,
+                          final Object[] arguments) {
+        if (pattern == null) {
+            return null;
+        }
+        if (pattern.indexOf(DELIM_STR) == -1) {
+            // this is a simple string
+            return pattern;
+        }
+        // a toString() that logs would format a message while this one is being built
+        final boolean reentrant = formatting;
+        final StringBuilder sb = reentrant ? new StringBuilder(pattern.length() + 50) : acquire(pattern.length() + 50);
+        formatting = true;
+        try {
+            int i = 0;
+            int j;
+            int l;
+            for (l = 0; l < count; l++) {
+                j = pattern.indexOf(DELIM_STR, i);
+                if (j == -1) {
+                    // no more variables, add the tail string which contains no variables and return the result.
                     sb.append(pattern, i, pattern.length());
-                    return new JobLoggerMessageEvent(level, sb.toString(), arguments, throwable);
-                }
-            } else {
-                if (isEscapedDelimeter(pattern, j)) {
-                    if (isDoubleEscaped(pattern, j)) {
-                        // The escape character preceding the delimiter start is
-                        // itself escaped: "abc x:\\{}"
-                        // we have to consume one backward slash
-                        sb.append(pattern, i, j - 1);
-                        sb.append(appendArgument(arguments[l], new HashMap<>()));
-                        i = j + 2;
+                    return sb.toString();
+                } else {
+                    final Object argument = arguments != null ? arguments[l] : (l == 0 ? argument1 : argument2);
+                    if (isEscapedDelimeter(pattern, j)) {
+                        if (isDoubleEscaped(pattern, j)) {
+                            // The escape character preceding the delimiter start is
+                            // itself escaped: "abc x:\\{}"
+                            // we have to consume one backward slash
+                            sb.append(pattern, i, j - 1);
+                            appendArgument(sb, argument);
+                            i = j + 2;
+                        } else {
+                            l--; // DELIM_START was escaped, thus should not be incremented
+                            sb.append(pattern, i, j - 1);
+                            sb.append(DELIM_START);
+                            i = j + 1;
+                        }
                     } else {
-                        l--; // DELIM_START was escaped, thus should not be incremented
-                        sb.append(pattern, i, j - 1);
-                        sb.append(DELIM_START);
-                        i = j + 1;
+                        // normal case
+                        sb.append(pattern, i, j);
+                        appendArgument(sb, argument);
+                        i = j + 2;
                     }
-                } else {
-                    // normal case
-                    sb.append(pattern, i, j);
-                    sb.append(appendArgument(arguments[l], new HashMap<>()));
-                    i = j + 2;
                 }
             }
+            // append the characters following the last {} pair.
+            sb.append(pattern, i, pattern.length());
+            return sb.toString();
+        } finally {
+            if (!reentrant) {
+                formatting = false;
+                release(sb);
+            }
+        }
+    }
+
+    private StringBuilder acquire(final int capacity) {
+        if (buffer == null) {
+            buffer = new StringBuilder(Math.max(capacity, 256));
         }
-        // append the characters following the last {} pair.
-        sb.append(pattern, i, pattern.length());
-        return new JobLoggerMessageEvent(level, sb.toString(), arguments, throwable);
+        return buffer;
     }
 
-    private String appendArgument(final Object object, final Map<Object[], Object> seenMap) {
+    private void release(final StringBuilder sb) {
+        if (sb.capacity() > MAX_CAPACITY) {
+            buffer = null;
+        } else {
+            sb.setLength(0);
+        }
+        if (seen != null) {
+            seen.clear();
+        }
+    }
+
+    private void appendArgument(final StringBuilder sb, final Object object) {
         if (object == null) {
-            return "null";
+            sb.append("null");
         } else {
             if (object.getClass().isArray()) {
                 if (object instanceof boolean[]) {
-                    return toString((boolean[]) object);
+                    append(sb, (boolean[]) object);
                 } else if (object instanceof byte[]) {
-                    return toString((byte[]) object);
+                    append(sb, (byte[]) object);
                 } else if (object instanceof char[]) {
-                    return toString((char[]) object);
+                    append(sb, (char[]) object);
                 } else if (object instanceof short[]) {
-                    return toString((short[]) object);
+                    append(sb, (short[]) object);
                 } else if (object instanceof int[]) {
-                    return toString((int[]) object);
+                    append(sb, (int[]) object);
                 } else if (object instanceof long[]) {
-                    return toString((long[]) object);
+                    append(sb, (long[]) object);
                 } else if (object instanceof float[]) {
-                    return toString((float[]) object);
+                    append(sb, (float[]) object);
                 } else if (object instanceof double[]) {
-                    return toString((double[]) object);
+                    append(sb, (double[]) object);
                 } else {
-                    return toString((Object[]) object, seenMap);
+                    append(sb, (Object[]) object);
                 }
             } else {
-                return safeObjectAppend(object);
+                safeObjectAppend(sb, object);
             }
         }
     }
 
-    private StringJoiner createStringJoiner() {
-        return new StringJoiner(", ", "[", "]");
-    }
-
     private Throwable getThrowableCandidate(final Object[] arguments) {
         return JobLoggerNormalisedParameters.getThrowableCandidate(arguments);
     }
 
+    private boolean hasNestedArray(final Object[] values) {
+        for (final Object value : values) {
+            if (value instanceof Object[]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isDoubleEscaped(final String pattern, final int delimeterStartIndex) {
         return delimeterStartIndex >= 2 && pattern.charAt(delimeterStartIndex - 2) == ESCAPE_CHAR;
     }
@@ -156,92 +229,127 @@ public class JobLoggerMessageFormatter {
         return potentialEscape == ESCAPE_CHAR;
     }
 
-    private String safeObjectAppend(final Object object) {
+    private void safeObjectAppend(final StringBuilder sb, final Object object) {
         try {
-            return object.toString();
+            sb.append(object.toString());
         } catch (Throwable throwable) {
-            return "[FAILED toString()]";
+            sb.append("[FAILED toString()]");
         }
     }
 
-    private String toString(final Object[] object, final Map<Object[], Object> seenMap) {
-        final StringJoiner joiner = createStringJoiner();
-
-        if (seenMap.containsKey(object)) {
-            joiner.add("...");
-        } else {
-            seenMap.put(object, null);
-            for (final Object value : object) {
-                joiner.add(appendArgument(value, seenMap));
+    private void append(final StringBuilder sb, final Object[] values) {
+        if (seen != null && seen.containsKey(values)) {
+            sb.append("[...]");
+            return;
+        }
+        // an array can only be part of a cycle if it contains another array
+        final boolean nested = hasNestedArray(values);
+        if (nested) {
+            if (seen == null) {
+                seen = new IdentityHashMap<>();
             }
+            seen.put(values, null);
         }
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            appendArgument(sb, values[i]);
+        }
+        sb.append(']');
         // allow repeats in siblings
-        seenMap.remove(object);
-        return joiner.toString();
+        if (nested) {
+            seen.remove(values);
+        }
     }
 
-    private String toString(final boolean[] values) {
-        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
-        for (final boolean value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final boolean[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
-    private String toString(final byte[] values) {
-        final StringJoiner joiner = createStringJoiner();
-        for (final byte value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final byte[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
-    private String toString(final char[] values) {
-        final StringJoiner joiner = createStringJoiner();
-        for (final char value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final char[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
-    private String toString(final short[] values) {
-        final StringJoiner joiner = createStringJoiner();
-        for (final short value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final short[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
-    private String toString(final int[] values) {
-        final StringJoiner joiner = createStringJoiner();
-        for (final int value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final int[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
-    private String toString(final long[] values) {
-        final StringJoiner joiner = createStringJoiner();
-        for (final long value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final long[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
-    private String toString(final float[] values) {
-        final StringJoiner joiner = createStringJoiner();
-        for (final float value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final float[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
-    private String toString(final double[] values) {
-        final StringJoiner joiner = createStringJoiner();
-        for (final double value : values) {
-            joiner.add(valueOf(value));
+    private void append(final StringBuilder sb, final double[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]);
         }
-        return joiner.toString();
+        sb.append(']');
     }
 
     private Object[] trimmedCopy(final Object[] arguments) {
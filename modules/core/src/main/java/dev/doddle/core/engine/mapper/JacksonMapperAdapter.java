@@ -29,8 +29,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import dev.doddle.common.support.NotNull;
 import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.JobArguments;
 import dev.doddle.core.engine.JobData;
 import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
 import dev.doddle.core.exceptions.MapperException;
 
 import static dev.doddle.core.support.Objects.isNull;
@@ -39,22 +41,38 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 public class JacksonMapperAdapter implements MapperAdapter {
 
-    private final ObjectMapper mapper;
+    private final ObjectMapper         mapper;
+    private final JobArgumentReader    reader;
+    private final PayloadConfiguration configuration;
 
 
+    public JacksonMapperAdapter(@NotNull final ObjectMapper mapper,
+                                @NotNull final EncryptionService encryptionService,
+                                @NotNull final PayloadConfiguration configuration) {
+        this.mapper = register(requireNonNull(mapper, "mapper cannot be null"), encryptionService, configuration);
+        this.reader = new JobArgumentReader(this.mapper, encryptionService, configuration);
+        this.configuration = configuration;
+    }
+
     public JacksonMapperAdapter(@NotNull final ObjectMapper mapper,
                                 @NotNull final EncryptionService encryptionService) {
-        this.mapper = requireNonNull(mapper, "mapper cannot be null");
-        final SimpleModule module = new SimpleModule();
-        module.addSerializer(JobData.class, new JobArgumentSerializer(encryptionService));
-        module.addDeserializer(JobData.class, new JobArgumentDeserializer(encryptionService));
-        this.mapper.registerModule(module);
+        this(mapper, encryptionService, new PayloadConfiguration());
+    }
+
+    public JacksonMapperAdapter(@NotNull final EncryptionService encryptionService,
+                                @NotNull final PayloadConfiguration configuration) {
+        this(new ObjectMapper(), encryptionService, configuration);
     }
 
     public JacksonMapperAdapter(@NotNull final EncryptionService encryptionService) {
         this(new ObjectMapper(), encryptionService);
     }
 
+    @Override
+    public boolean isStoringArguments() {
+        return configuration.store() != null;
+    }
+
     @Override
     public String convertToJson(@Nullable final JobData data) throws MapperException {
         try {
@@ -79,4 +97,37 @@ public class JacksonMapperAdapter implements MapperAdapter {
         }
     }
 
+    @Override
+    public JobArguments convertToArguments(@Nullable final String data) throws MapperException {
+        if (isEmpty(data)) {
+            return JobArguments.empty();
+        }
+        return reader.read(data);
+    }
+
+    @Override
+    public JobArguments convertToArguments(@Nullable final byte[] data) throws MapperException {
+        if (data == null || data.length == 0) {
+            return JobArguments.empty();
+        }
+        return reader.read(data);
+    }
+
+    /**
+     * Register the job data (de)serialisers on a mapper
+     *
+     * @param mapper            the mapper
+     * @param encryptionService the encryption service used for encrypted arguments
+     * @param configuration     the configuration for large arguments
+     * @return the mapper
+     */
+    static ObjectMapper register(final ObjectMapper mapper,
+                                 final EncryptionService encryptionService,
+                                 final PayloadConfiguration configuration) {
+        final SimpleModule module = new SimpleModule();
+        module.addSerializer(JobData.class, new JobArgumentSerializer(encryptionService, configuration));
+        module.addDeserializer(JobData.class, new JobArgumentDeserializer(encryptionService, configuration));
+        return mapper.registerModule(module);
+    }
+
 }
@@ -30,12 +30,14 @@ import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import dev.doddle.core.engine.JobData;
 import dev.doddle.core.engine.JobEncryption;
 import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.payload.ArgumentCompressor;
+import dev.doddle.core.engine.payload.ArgumentStore;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
 import dev.doddle.core.exceptions.DoddleException;
 import dev.doddle.core.support.Argument;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 
 import static dev.doddle.core.support.Argument.argument;
@@ -44,11 +46,18 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class JobArgumentDeserializer extends StdDeserializer<JobData> {
 
-    private final EncryptionService encryptionService;
+    private final EncryptionService    encryptionService;
+    private final PayloadConfiguration configuration;
 
-    public JobArgumentDeserializer(final EncryptionService encryptionService) {
+    public JobArgumentDeserializer(final EncryptionService encryptionService,
+                                   final PayloadConfiguration configuration) {
         super(JobData.class);
         this.encryptionService = requireNonNull(encryptionService, "encryptionService cannot be null");
+        this.configuration = requireNonNull(configuration, "configuration cannot be null");
+    }
+
+    public JobArgumentDeserializer(final EncryptionService encryptionService) {
+        this(encryptionService, new PayloadConfiguration());
     }
 
     @Override
@@ -74,18 +83,25 @@ public class JobArgumentDeserializer extends StdDeserializer<JobData> {
                 final List<Argument> args = new ArrayList<>();
                 final JsonNode arguments = root.get("arguments");
                 for (final JsonNode node : arguments) {
-                    final Argument argument = context.readTreeAsValue(node, Argument.class);
-                    if (argument.isEncrypted()) {
-                        if (encryptionService.isEnabled()) {
-                            final byte[] bytes = Base64.getDecoder().decode(argument.getValue());
-                            final byte[] decrypted = encryptionService.decrypt(bytes, encryption);
-                            args.add(argument(argument.getName(), new String(decrypted, UTF_8), true));
-                        } else {
+                    final boolean encrypted = node.path("encrypted").asBoolean(false);
+                    final boolean compressed = node.path("compressed").asBoolean(false);
+                    final boolean referenced = node.hasNonNull("reference");
+                    if (!encrypted && !compressed && !referenced) {
+                        final Argument argument = context.readTreeAsValue(node, Argument.class);
+                        args.add(argument(argument.getName(), argument.getValue(), false));
+                        continue;
+                    }
+                    byte[] bytes = referenced ? fetch(node.get("reference").asText()) : node.get("value").binaryValue();
+                    if (encrypted) {
+                        if (!encryptionService.isEnabled()) {
                             throw new DoddleException("Cannot decrypt an encrypted argument because encryption is disabled");
                         }
-                    } else {
-                        args.add(argument(argument.getName(), argument.getValue(), false));
+                        bytes = encryptionService.decrypt(bytes, encryption);
+                    }
+                    if (compressed) {
+                        bytes = ArgumentCompressor.decompress(bytes);
                     }
+                    args.add(argument(node.get("name").asText(), new String(bytes, UTF_8), encrypted));
                 }
                 return args;
             }
@@ -96,6 +112,14 @@ public class JobArgumentDeserializer extends StdDeserializer<JobData> {
         }
     }
 
+    private byte[] fetch(final String reference) {
+        final ArgumentStore store = configuration.store();
+        if (store == null) {
+            throw new DoddleException("Cannot read a stored argument because no argument store is configured");
+        }
+        return store.get(reference);
+    }
+
     private JobEncryption readEncryptionNode(final DeserializationContext context, final JsonNode root) throws IOException {
         final JsonNode encryption = root.get("encryption");
         if (!encryption.isNull()) {
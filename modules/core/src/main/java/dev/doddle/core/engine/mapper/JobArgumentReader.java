@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.JobArguments;
+import dev.doddle.core.engine.JobEncryption;
+import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.payload.ArgumentStore;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
+import dev.doddle.core.exceptions.DoddleException;
+import dev.doddle.core.exceptions.MapperException;
+
+import java.io.IOException;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.lang.String.format;
+
+/**
+ * Reads the argument envelope with a streaming parser, without building a tree and without decrypting anything.
+ * Encrypted, compressed and stored values are only decoded when the task first asks for them.
+ */
+public class JobArgumentReader {
+
+    private final ObjectMapper         mapper;
+    private final EncryptionService    encryptionService;
+    private final PayloadConfiguration configuration;
+
+    public JobArgumentReader(@NotNull final ObjectMapper mapper,
+                             @NotNull final EncryptionService encryptionService,
+                             @NotNull final PayloadConfiguration configuration) {
+        this.mapper = requireNonNull(mapper, "mapper cannot be null");
+        this.encryptionService = requireNonNull(encryptionService, "encryptionService cannot be null");
+        this.configuration = requireNonNull(configuration, "configuration cannot be null");
+    }
+
+    public JobArguments read(@NotNull final String data) throws MapperException {
+        try (final JsonParser parser = mapper.getFactory().createParser(data)) {
+            return read(parser);
+        } catch (IOException exception) {
+            throw new MapperException("Could not deserialise job data", exception);
+        }
+    }
+
+    public JobArguments read(@NotNull final byte[] data) throws MapperException {
+        try (final JsonParser parser = mapper.getFactory().createParser(data)) {
+            return read(parser);
+        } catch (IOException exception) {
+            throw new MapperException("Could not deserialise job data", exception);
+        }
+    }
+
+    private JobArguments read(final JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new MapperException("Could not deserialise job data");
+        }
+        final JobArguments.Builder builder = JobArguments.builder();
+        JobEncryption encryption = null;
+        String encrypted = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            final JsonToken token = parser.nextToken();
+            if ("encryption".equals(field) && token == JsonToken.START_OBJECT) {
+                encryption = mapper.readValue(parser, JobEncryption.class);
+            } else if ("arguments".equals(field) && token == JsonToken.START_ARRAY) {
+                encrypted = readArguments(parser, builder);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (encrypted != null && encryption == null) {
+            // fail now rather than when the task first asks for the argument
+            throw new MapperException(format("Job argument %s is encrypted but the job data has no encryption parameters", encrypted));
+        }
+        return builder.build(new Decoder(encryption));
+    }
+
+    /**
+     * Read the arguments into the builder
+     *
+     * @param parser  the parser, positioned at the start of the arguments
+     * @param builder the builder
+     * @return the name of the first encrypted argument, or null if no argument is encrypted
+     */
+    private String readArguments(final JsonParser parser, final JobArguments.Builder builder) throws IOException {
+        String first = null;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String name = null;
+            String value = null;
+            byte[] bytes = null;
+            String reference = null;
+            boolean encrypted = false;
+            boolean compressed = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "name":
+                        name = parser.getValueAsString();
+                        break;
+                    case "value":
+                        // binary formats store encrypted and compressed values as raw bytes rather than base64 text
+                        if (token == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                            bytes = parser.getBinaryValue();
+                        } else {
+                            value = parser.getValueAsString();
+                        }
+                        break;
+                    case "encrypted":
+                        encrypted = token == JsonToken.VALUE_TRUE;
+                        break;
+                    case "compressed":
+                        compressed = token == JsonToken.VALUE_TRUE;
+                        break;
+                    case "reference":
+                        reference = parser.getValueAsString();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            if (name == null || (value == null && bytes == null && reference == null)) {
+                throw new MapperException("Job argument must have a name and a value");
+            }
+            if (encrypted && first == null) {
+                first = name;
+            }
+            if (reference != null) {
+                builder.reference(name, reference, encrypted, compressed);
+            } else if (bytes != null) {
+                builder.argument(name, bytes, encrypted, compressed);
+            } else {
+                builder.argument(name, value, encrypted, compressed);
+            }
+        }
+        return first;
+    }
+
+    private class Decoder implements JobArguments.Decoder {
+
+        private final JobEncryption encryption;
+
+        private Decoder(final JobEncryption encryption) {
+            this.encryption = encryption;
+        }
+
+        @Override
+        public byte[] fetch(final String reference) {
+            final ArgumentStore store = configuration.store();
+            if (store == null) {
+                throw new DoddleException("Cannot read a stored argument because no argument store is configured");
+            }
+            return store.get(reference);
+        }
+
+        @Override
+        public void delete(final String reference) {
+            final ArgumentStore store = configuration.store();
+            if (store == null) {
+                throw new DoddleException("Cannot delete a stored argument because no argument store is configured");
+            }
+            store.delete(reference);
+        }
+
+        @Override
+        public byte[] decrypt(final byte[] value) {
+            if (!encryptionService.isEnabled()) {
+                throw new DoddleException("Cannot decrypt an encrypted argument because encryption is disabled");
+            }
+            return encryptionService.decrypt(value, encryption);
+        }
+    }
+}
@@ -29,19 +29,30 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import dev.doddle.core.engine.JobData;
 import dev.doddle.core.engine.JobEncryption;
 import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.payload.ArgumentCompressor;
+import dev.doddle.core.engine.payload.ArgumentStore;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
 import dev.doddle.core.support.Argument;
 
 import java.io.IOException;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class JobArgumentSerializer extends StdSerializer<JobData> {
 
-    private final EncryptionService encryptionService;
+    private final EncryptionService    encryptionService;
+    private final PayloadConfiguration configuration;
 
-    public JobArgumentSerializer(final EncryptionService encryptionService) {
+    public JobArgumentSerializer(final EncryptionService encryptionService,
+                                 final PayloadConfiguration configuration) {
         super(JobData.class);
         this.encryptionService = requireNonNull(encryptionService, "encryptionService cannot be null");
+        this.configuration = requireNonNull(configuration, "configuration cannot be null");
+    }
+
+    public JobArgumentSerializer(final EncryptionService encryptionService) {
+        this(encryptionService, new PayloadConfiguration());
     }
 
 
@@ -60,6 +71,15 @@ public class JobArgumentSerializer extends StdSerializer<JobData> {
             final String name = argument.getName();
             final String value = argument.getValue();
 
+            // a UTF-8 character is at most three bytes, so most small values never need to be encoded here
+            if (configuration.isLarge(value.length() * 3)) {
+                final byte[] bytes = value.getBytes(UTF_8);
+                if (configuration.isLarge(bytes.length)) {
+                    writeLargeArgument(generator, argument, bytes, encryption);
+                    continue;
+                }
+            }
+
             generator.writeStartObject();
             generator.writeStringField("name", name);
             generator.writeBooleanField("encrypted", argument.isEncrypted());
@@ -78,4 +98,34 @@ public class JobArgumentSerializer extends StdSerializer<JobData> {
         generator.writeEndArray();
         generator.writeEndObject();
     }
+
+    /**
+     * Large arguments are compressed before they are encrypted, as encrypted data does not compress.
+     * When a store is configured the value is moved out of the payload and only a reference is written.
+     */
+    private void writeLargeArgument(final JsonGenerator generator,
+                                    final Argument argument,
+                                    final byte[] bytes,
+                                    final JobEncryption encryption) throws IOException {
+        final byte[] compressed = ArgumentCompressor.compress(bytes);
+        final boolean isCompressed = compressed.length < bytes.length;
+        byte[] value = isCompressed ? compressed : bytes;
+        if (argument.isEncrypted()) {
+            value = encryptionService.encrypt(value, encryption);
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("name", argument.getName());
+        generator.writeBooleanField("encrypted", argument.isEncrypted());
+        generator.writeBooleanField("compressed", isCompressed);
+
+        final ArgumentStore store = configuration.store();
+        if (store == null) {
+            generator.writeBinaryField("value", value);
+        } else {
+            generator.writeStringField("reference", store.put(value));
+        }
+
+        generator.writeEndObject();
+    }
 }
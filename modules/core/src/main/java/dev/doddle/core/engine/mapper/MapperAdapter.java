@@ -23,9 +23,12 @@
  */
 package dev.doddle.core.engine.mapper;
 
+import dev.doddle.core.engine.JobArguments;
 import dev.doddle.core.engine.JobData;
 import dev.doddle.core.exceptions.MapperException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public interface MapperAdapter {
 
 
@@ -33,4 +36,54 @@ public interface MapperAdapter {
 
     JobData convertToObject(String data) throws MapperException;
 
+    /**
+     * Convert the payload into name-indexed arguments. Adapters should override this to defer decryption
+     * until an argument is accessed.
+     *
+     * @param data the serialised payload
+     * @return the arguments
+     * @throws MapperException thrown if there was an error during conversion
+     */
+    default JobArguments convertToArguments(String data) throws MapperException {
+        return JobArguments.of(convertToObject(data));
+    }
+
+    /**
+     * Whether the adapter writes payloads in a binary format
+     *
+     * @return true if the payloads should be stored with {@link #convertToBytes(JobData)}
+     */
+    default boolean isBinary() {
+        return false;
+    }
+
+    /**
+     * Whether the adapter moves large arguments out of the payload to an argument store
+     *
+     * @return true if an argument store is configured
+     */
+    default boolean isStoringArguments() {
+        return false;
+    }
+
+    /**
+     * Convert the payload into bytes. Text adapters write UTF-8 encoded JSON.
+     *
+     * @param data the payload
+     * @return the serialised payload
+     * @throws MapperException thrown if there was an error during conversion
+     */
+    default byte[] convertToBytes(JobData data) throws MapperException {
+        final String json = convertToJson(data);
+        return json == null ? null : json.getBytes(UTF_8);
+    }
+
+    default JobData convertToObject(byte[] data) throws MapperException {
+        return data == null ? null : convertToObject(new String(data, UTF_8));
+    }
+
+    default JobArguments convertToArguments(byte[] data) throws MapperException {
+        return data == null ? JobArguments.empty() : convertToArguments(new String(data, UTF_8));
+    }
+
 }
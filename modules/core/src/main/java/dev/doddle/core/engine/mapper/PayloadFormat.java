@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.mapper;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
+
+public enum PayloadFormat {
+
+    /**
+     * JSON text, stored in the <code>payload</code> column
+     */
+    JSON,
+
+    /**
+     * Smile binary, stored in the <code>payload_binary</code> column
+     */
+    SMILE;
+
+    /**
+     * Create the mapper adapter that writes this format. Both adapters read payloads written as JSON.
+     *
+     * @param encryptionService the encryption service used for encrypted arguments
+     * @param configuration     the configuration for large arguments
+     * @return the adapter
+     */
+    public MapperAdapter createAdapter(@NotNull final EncryptionService encryptionService,
+                                       @NotNull final PayloadConfiguration configuration) {
+        return this == SMILE
+            ? new SmileMapperAdapter(encryptionService, configuration)
+            : new JacksonMapperAdapter(encryptionService, configuration);
+    }
+}
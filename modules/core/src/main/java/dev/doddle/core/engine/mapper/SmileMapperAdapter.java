@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.JobArguments;
+import dev.doddle.core.engine.JobData;
+import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
+import dev.doddle.core.exceptions.MapperException;
+
+import java.io.IOException;
+
+import static com.fasterxml.jackson.dataformat.smile.SmileConstants.HEADER_BYTE_1;
+import static com.fasterxml.jackson.dataformat.smile.SmileConstants.HEADER_BYTE_2;
+import static com.fasterxml.jackson.dataformat.smile.SmileConstants.HEADER_BYTE_3;
+import static dev.doddle.core.support.Objects.isNull;
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * Writes payloads in the Smile binary format, so encrypted values are stored as raw bytes instead of base64 text.
+ * <p>
+ * Every Smile document starts with a <code>:)\n</code> header, which is used as the format marker when reading.
+ * Payloads without the marker, including all payloads stored as text, are read as JSON. Both formats can therefore
+ * live side by side in the same table.
+ */
+public class SmileMapperAdapter implements MapperAdapter {
+
+    private final ObjectMapper         mapper;
+    private final JobArgumentReader    reader;
+    private final JacksonMapperAdapter json;
+
+    public SmileMapperAdapter(@NotNull final EncryptionService encryptionService,
+                              @NotNull final PayloadConfiguration configuration) {
+        requireNonNull(encryptionService, "encryptionService cannot be null");
+        requireNonNull(configuration, "configuration cannot be null");
+        this.mapper = JacksonMapperAdapter.register(new ObjectMapper(new SmileFactory()), encryptionService, configuration);
+        this.reader = new JobArgumentReader(this.mapper, encryptionService, configuration);
+        this.json = new JacksonMapperAdapter(encryptionService, configuration);
+    }
+
+    public SmileMapperAdapter(@NotNull final EncryptionService encryptionService) {
+        this(encryptionService, new PayloadConfiguration());
+    }
+
+    /**
+     * Check whether the bytes start with the Smile header
+     *
+     * @param data the serialised payload
+     * @return true if the payload was written in the Smile format
+     */
+    public static boolean isSmile(@Nullable final byte[] data) {
+        return data != null
+            && data.length >= 3
+            && data[0] == HEADER_BYTE_1
+            && data[1] == HEADER_BYTE_2
+            && data[2] == HEADER_BYTE_3;
+    }
+
+    @Override
+    public boolean isBinary() {
+        return true;
+    }
+
+    @Override
+    public boolean isStoringArguments() {
+        return json.isStoringArguments();
+    }
+
+    @Override
+    public String convertToJson(@Nullable final JobData data) throws MapperException {
+        return json.convertToJson(data);
+    }
+
+    @Override
+    public JobData convertToObject(@Nullable final String data) throws MapperException {
+        return json.convertToObject(data);
+    }
+
+    @Override
+    public JobArguments convertToArguments(@Nullable final String data) throws MapperException {
+        return json.convertToArguments(data);
+    }
+
+    @Override
+    public byte[] convertToBytes(@Nullable final JobData data) throws MapperException {
+        try {
+            if (isNull(data)) {
+                return null;
+            }
+            return mapper.writeValueAsBytes(data);
+        } catch (IOException exception) {
+            throw new MapperException("Unable to convert data into a binary payload", exception);
+        }
+    }
+
+    @Override
+    public JobData convertToObject(@Nullable final byte[] data) throws MapperException {
+        if (!isSmile(data)) {
+            return json.convertToObject(data);
+        }
+        try {
+            return mapper.readValue(data, JobData.class);
+        } catch (IOException exception) {
+            throw new MapperException("Could not deserialise job data", exception);
+        }
+    }
+
+    @Override
+    public JobArguments convertToArguments(@Nullable final byte[] data) throws MapperException {
+        if (!isSmile(data)) {
+            return json.convertToArguments(data);
+        }
+        return reader.read(data);
+    }
+
+}
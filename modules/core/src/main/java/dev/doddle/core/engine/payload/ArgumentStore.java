@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.payload;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.exceptions.DoddleException;
+
+/**
+ * Holds large job arguments outside of the job row
+ */
+public interface ArgumentStore {
+
+    /**
+     * Store an argument
+     *
+     * @param data the serialised argument
+     * @return the reference kept in the job row
+     * @throws DoddleException thrown if the argument could not be stored
+     */
+    String put(@NotNull byte[] data) throws DoddleException;
+
+    /**
+     * Fetch an argument
+     *
+     * @param reference the reference returned when the argument was stored
+     * @return the serialised argument
+     * @throws DoddleException thrown if the argument could not be found or read
+     */
+    byte[] get(@NotNull String reference) throws DoddleException;
+
+    /**
+     * Remove an argument
+     *
+     * @param reference the reference returned when the argument was stored
+     * @throws DoddleException thrown if the argument could not be removed
+     */
+    void delete(@NotNull String reference) throws DoddleException;
+
+}
@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.payload;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.exceptions.DoddleException;
+import dev.doddle.core.exceptions.DoddleValidationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+/**
+ * Stores each argument as a file in a directory, which can be a shared mount when workers run on several hosts
+ */
+public class FileSystemArgumentStore implements ArgumentStore {
+
+    private final Path directory;
+
+    public FileSystemArgumentStore(@NotNull final Path directory) {
+        this.directory = requireNonNull(directory, "directory cannot be null");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException exception) {
+            throw new DoddleException(format("Could not create the argument store directory: %s", directory), exception);
+        }
+    }
+
+    @Override
+    public String put(@NotNull final byte[] data) throws DoddleException {
+        requireNonNull(data, "data cannot be null");
+        final String reference = UUID.randomUUID().toString();
+        try {
+            // write to a temporary file first so a reader never sees a partially written argument
+            final Path temporary = Files.createTempFile(directory, reference, ".tmp");
+            Files.write(temporary, data);
+            Files.move(temporary, resolve(reference), ATOMIC_MOVE);
+            return reference;
+        } catch (IOException exception) {
+            throw new DoddleException("Could not store the argument", exception);
+        }
+    }
+
+    @Override
+    public byte[] get(@NotNull final String reference) throws DoddleException {
+        try {
+            return Files.readAllBytes(resolve(reference));
+        } catch (NoSuchFileException exception) {
+            throw new DoddleException(format("Argument not found for reference: %s", reference), exception);
+        } catch (IOException exception) {
+            throw new DoddleException(format("Could not read the argument for reference: %s", reference), exception);
+        }
+    }
+
+    @Override
+    public void delete(@NotNull final String reference) throws DoddleException {
+        try {
+            Files.deleteIfExists(resolve(reference));
+        } catch (IOException exception) {
+            throw new DoddleException(format("Could not delete the argument for reference: %s", reference), exception);
+        }
+    }
+
+    private Path resolve(final String reference) {
+        requireNonNull(reference, "reference cannot be null");
+        // references are generated by this store, anything else could escape the directory
+        if (!reference.matches("[0-9a-f\\-]{36}")) {
+            throw new DoddleValidationException(format("Invalid argument reference: %s", reference));
+        }
+        return directory.resolve(reference + ".bin");
+    }
+}
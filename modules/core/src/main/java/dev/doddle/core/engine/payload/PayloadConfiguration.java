@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.payload;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.exceptions.DoddleValidationException;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+public class PayloadConfiguration {
+
+    private Integer       threshold;
+    private ArgumentStore store;
+
+    public PayloadConfiguration() {
+        this.threshold = null;
+        this.store = null;
+    }
+
+    /**
+     * Arguments larger than the threshold are compressed and, when a store is configured, moved out of the job row
+     * Arguments are kept inline and uncompressed when no threshold is set
+     *
+     * @param threshold the size of an argument in bytes
+     * @return this
+     */
+    public PayloadConfiguration threshold(final int threshold) {
+        if (threshold <= 0) {
+            throw new DoddleValidationException("Threshold must be greater than zero");
+        }
+        this.threshold = threshold;
+        return this;
+    }
+
+    @Nullable
+    public Integer threshold() {
+        return threshold;
+    }
+
+    /**
+     * The store that large arguments are moved to. The job row only keeps a reference, and the argument is fetched
+     * when the task first reads it.
+     *
+     * @param store the argument store
+     * @return this
+     */
+    public PayloadConfiguration store(@NotNull final ArgumentStore store) {
+        this.store = requireNonNull(store, "store cannot be null");
+        return this;
+    }
+
+    @Nullable
+    public ArgumentStore store() {
+        return store;
+    }
+
+    /**
+     * Check if an argument of the given size should be compressed
+     *
+     * @param size the size of the argument in bytes
+     * @return true if the argument is over the threshold
+     */
+    public boolean isLarge(final int size) {
+        return threshold != null && size > threshold;
+    }
+
+}
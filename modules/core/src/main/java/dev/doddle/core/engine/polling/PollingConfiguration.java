@@ -29,6 +29,8 @@ import dev.doddle.core.engine.time.Interval;
 import dev.doddle.core.engine.time.IntervalParser;
 import dev.doddle.core.exceptions.DoddleValidationException;
 
+import java.time.Duration;
+
 import static dev.doddle.core.engine.time.IntervalParser.createIntervalParser;
 import static dev.doddle.core.support.Objects.requireNonNull;
 
@@ -37,6 +39,38 @@ public class PollingConfiguration {
     private Integer              concurrency;
     private ThreadNamingStrategy threadNaming;
     private Interval             interval;
+    private Integer              prefetch;
+    private Integer              prefetchLowWaterMark;
+    private Long                 prefetchMaxBytes;
+    private Duration             prefetchMaxAge;
+    private Integer              pollers;
+    private Integer              workers;
+    private Integer              handoffCapacity;
+    private Integer              maxInFlight;
+    private Interval             minInterval;
+    private Interval             maxInterval;
+    private Double               backoffFactor;
+    private Boolean              fairQueues;
+    private Duration             queueRefreshInterval;
+    private String               nodeId;
+    private Duration             leaseDuration;
+    private Duration             heartbeatInterval;
+
+    public PollingConfiguration() {
+        this.leaseDuration = Duration.ofSeconds(30);
+        this.heartbeatInterval = Duration.ofSeconds(10);
+        this.fairQueues = false;
+        this.queueRefreshInterval = Duration.ofSeconds(5);
+        this.backoffFactor = 2.0;
+        this.maxInFlight = 0;
+        this.pollers = 1;
+        this.workers = 0;
+        this.handoffCapacity = 0;
+        this.prefetch = 0;
+        this.prefetchLowWaterMark = 0;
+        this.prefetchMaxBytes = 1024L * 1024L;
+        this.prefetchMaxAge = Duration.ofSeconds(5);
+    }
 
     /**
      * How many threads to use to poll for new jobs that are ready to be processed
@@ -78,7 +112,11 @@ public class PollingConfiguration {
      * @return this
      */
     public PollingConfiguration interval(@NotNull Interval interval) {
-        this.interval = requireNonNull(interval, "interval cannot be null");
+        requireNonNull(interval, "interval cannot be null");
+        if (minInterval == null && maxInterval != null && interval.toMillis() > maxInterval.toMillis()) {
+            throw new DoddleValidationException("Interval cannot be greater than the maximum interval");
+        }
+        this.interval = interval;
         return this;
     }
 
@@ -110,4 +148,416 @@ public class PollingConfiguration {
         this.threadNaming = requireNonNull(threadNamingStrategy, "threadNamingStrategy cannot be null");
         return this;
     }
+
+    /**
+     * How many jobs to claim ahead of time and hold in memory for the polling threads
+     * A value of zero disables prefetching and each polling thread claims a single job
+     *
+     * @param prefetch the maximum number of jobs to hold in the buffer
+     * @return this
+     */
+    public PollingConfiguration prefetch(final int prefetch) {
+        if (prefetch < 0) {
+            throw new DoddleValidationException("Prefetch cannot be less than zero");
+        }
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of jobs to hold in the prefetch buffer
+     *
+     * @return the prefetch size
+     */
+    public Integer prefetch() {
+        return prefetch;
+    }
+
+    /**
+     * The prefetch buffer will be refilled when the number of buffered jobs drops to this value
+     *
+     * @param lowWaterMark the low water mark
+     * @return this
+     */
+    public PollingConfiguration prefetchLowWaterMark(final int lowWaterMark) {
+        if (lowWaterMark < 0) {
+            throw new DoddleValidationException("Prefetch low water mark cannot be less than zero");
+        }
+        this.prefetchLowWaterMark = lowWaterMark;
+        return this;
+    }
+
+    /**
+     * Get the low water mark for refilling the prefetch buffer
+     *
+     * @return the low water mark
+     */
+    public Integer prefetchLowWaterMark() {
+        return prefetchLowWaterMark;
+    }
+
+    /**
+     * The maximum size of the job payloads that can be held in the prefetch buffer
+     *
+     * @param maxBytes the maximum number of payload bytes
+     * @return this
+     */
+    public PollingConfiguration prefetchMaxBytes(final long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new DoddleValidationException("Prefetch max bytes must be greater than zero");
+        }
+        this.prefetchMaxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Get the maximum size of the job payloads that can be held in the prefetch buffer
+     *
+     * @return the maximum number of payload bytes
+     */
+    public Long prefetchMaxBytes() {
+        return prefetchMaxBytes;
+    }
+
+    /**
+     * How long a claimed job can wait in the prefetch buffer before it is released for another node to pick
+     * The job is marked as executing while it waits, so this keeps its execution time close to the real one
+     *
+     * @param maxAge the maximum age
+     * @return this
+     */
+    public PollingConfiguration prefetchMaxAge(@NotNull final Duration maxAge) {
+        requireNonNull(maxAge, "maxAge cannot be null");
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new DoddleValidationException("Prefetch max age must be greater than zero");
+        }
+        this.prefetchMaxAge = maxAge;
+        return this;
+    }
+
+    /**
+     * Get how long a claimed job can wait in the prefetch buffer
+     *
+     * @return the maximum age
+     */
+    public Duration prefetchMaxAge() {
+        return prefetchMaxAge;
+    }
+
+    /**
+     * How many threads to use to poll for new jobs when the jobs are executed on a separate worker pool
+     *
+     * @param pollers the number of polling threads
+     * @return this
+     */
+    public PollingConfiguration pollers(final int pollers) {
+        if (pollers <= 0) {
+            throw new DoddleValidationException("Pollers must be greater than zero");
+        }
+        this.pollers = pollers;
+        return this;
+    }
+
+    /**
+     * Get the number of polling threads used when the jobs are executed on a separate worker pool
+     *
+     * @return the number of polling threads
+     */
+    public Integer pollers() {
+        return pollers;
+    }
+
+    /**
+     * How many threads to use to execute jobs
+     * When set, the polling threads hand claimed jobs off to a separate pool of worker threads.
+     * A value of zero executes the jobs on the polling threads
+     *
+     * @param workers the number of worker threads
+     * @return this
+     */
+    public PollingConfiguration workers(final int workers) {
+        if (workers < 0) {
+            throw new DoddleValidationException("Workers cannot be less than zero");
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Get the number of worker threads
+     *
+     * @return the number of worker threads
+     */
+    public Integer workers() {
+        return workers;
+    }
+
+    /**
+     * How many claimed jobs can wait for a worker to become available
+     * The polling threads stop claiming jobs once every worker is busy and the hand-off is full
+     *
+     * @param handoffCapacity the hand-off capacity
+     * @return this
+     */
+    public PollingConfiguration handoffCapacity(final int handoffCapacity) {
+        if (handoffCapacity < 0) {
+            throw new DoddleValidationException("Hand-off capacity cannot be less than zero");
+        }
+        this.handoffCapacity = handoffCapacity;
+        return this;
+    }
+
+    /**
+     * Get the number of claimed jobs that can wait for a worker
+     *
+     * @return the hand-off capacity
+     */
+    public Integer handoffCapacity() {
+        return handoffCapacity;
+    }
+
+    /**
+     * Run every claimed job on its own thread, bounded by the number of jobs in flight rather than a thread count
+     * Virtual threads are used when the runtime supports them. This takes precedence over the worker pool
+     * A value of zero disables this mode
+     *
+     * @param maxInFlight the maximum number of jobs executing at once
+     * @return this
+     */
+    public PollingConfiguration maxInFlight(final int maxInFlight) {
+        if (maxInFlight < 0) {
+            throw new DoddleValidationException("Max in flight cannot be less than zero");
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Get the maximum number of jobs executing at once when every job runs on its own thread
+     *
+     * @return the maximum number of jobs in flight
+     */
+    public Integer maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * How long to wait after the first poll that finds no jobs. Defaults to the polling interval
+     *
+     * @param period the interval period
+     * @return this
+     */
+    public PollingConfiguration minInterval(@NotNull String period) {
+        final IntervalParser parser = createIntervalParser();
+        return minInterval(parser.parse(period));
+    }
+
+    /**
+     * How long to wait after the first poll that finds no jobs. Defaults to the polling interval
+     *
+     * @param minInterval the minimum interval
+     * @return this
+     */
+    public PollingConfiguration minInterval(@NotNull Interval minInterval) {
+        requireNonNull(minInterval, "minInterval cannot be null");
+        if (maxInterval != null && minInterval.toMillis() > maxInterval.toMillis()) {
+            throw new DoddleValidationException("Minimum interval cannot be greater than the maximum interval");
+        }
+        this.minInterval = minInterval;
+        return this;
+    }
+
+    /**
+     * Get the wait after the first poll that finds no jobs
+     *
+     * @return the minimum interval, otherwise the polling interval if not set
+     */
+    public Interval minInterval() {
+        return minInterval == null ? interval : minInterval;
+    }
+
+    /**
+     * The longest wait between polls while there are no jobs. Defaults to the polling interval, or the
+     * minimum interval when that is longer
+     *
+     * @param period the interval period
+     * @return this
+     */
+    public PollingConfiguration maxInterval(@NotNull String period) {
+        final IntervalParser parser = createIntervalParser();
+        return maxInterval(parser.parse(period));
+    }
+
+    /**
+     * The longest wait between polls while there are no jobs. Defaults to the polling interval, or the
+     * minimum interval when that is longer
+     *
+     * @param maxInterval the maximum interval
+     * @return this
+     */
+    public PollingConfiguration maxInterval(@NotNull Interval maxInterval) {
+        requireNonNull(maxInterval, "maxInterval cannot be null");
+        final Interval min = minInterval();
+        if (min != null && maxInterval.toMillis() < min.toMillis()) {
+            throw new DoddleValidationException("Maximum interval cannot be less than the minimum interval");
+        }
+        this.maxInterval = maxInterval;
+        return this;
+    }
+
+    /**
+     * Get the longest wait between polls while there are no jobs
+     *
+     * @return the maximum interval, otherwise the longer of the polling and minimum interval if not set
+     */
+    public Interval maxInterval() {
+        if (maxInterval != null) {
+            return maxInterval;
+        }
+        if (minInterval != null && (interval == null || minInterval.toMillis() > interval.toMillis())) {
+            return minInterval;
+        }
+        return interval;
+    }
+
+    /**
+     * How much the wait grows after each poll that finds no jobs
+     *
+     * @param backoffFactor the backoff factor
+     * @return this
+     */
+    public PollingConfiguration backoffFactor(final double backoffFactor) {
+        if (backoffFactor < 1.0) {
+            throw new DoddleValidationException("Backoff factor cannot be less than one");
+        }
+        this.backoffFactor = backoffFactor;
+        return this;
+    }
+
+    /**
+     * Get how much the wait grows after each poll that finds no jobs
+     *
+     * @return the backoff factor
+     */
+    public Double backoffFactor() {
+        return backoffFactor;
+    }
+
+    /**
+     * Share the claimed jobs between the queues by their weights rather than claiming the oldest jobs first
+     * The maximum concurrency of each queue is enforced when its jobs are claimed. Best combined with prefetching,
+     * as every queue may be queried to claim a single job
+     *
+     * @param fairQueues whether to share the claims between the queues
+     * @return this
+     */
+    public PollingConfiguration fairQueues(final boolean fairQueues) {
+        this.fairQueues = fairQueues;
+        return this;
+    }
+
+    /**
+     * Are the claimed jobs shared between the queues by their weights?
+     *
+     * @return true if shared, otherwise false
+     */
+    public Boolean fairQueues() {
+        return fairQueues;
+    }
+
+    /**
+     * How often to reload the queues when sharing the claims between them
+     *
+     * @param queueRefreshInterval the refresh interval
+     * @return this
+     */
+    public PollingConfiguration queueRefreshInterval(@NotNull final Duration queueRefreshInterval) {
+        requireNonNull(queueRefreshInterval, "queueRefreshInterval cannot be null");
+        if (queueRefreshInterval.isNegative()) {
+            throw new DoddleValidationException("Queue refresh interval cannot be negative");
+        }
+        this.queueRefreshInterval = queueRefreshInterval;
+        return this;
+    }
+
+    /**
+     * Get how often to reload the queues when sharing the claims between them
+     *
+     * @return the refresh interval
+     */
+    public Duration queueRefreshInterval() {
+        return queueRefreshInterval;
+    }
+
+    /**
+     * The id of this node, recorded as the owner of the jobs it claims
+     * Defaults to the host name followed by a random suffix
+     *
+     * @param nodeId the node id
+     * @return this
+     */
+    public PollingConfiguration nodeId(@NotNull final String nodeId) {
+        this.nodeId = requireNonNull(nodeId, "nodeId cannot be null");
+        return this;
+    }
+
+    /**
+     * Get the id of this node
+     *
+     * @return the node id, or null if one should be generated
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * How long this node's lease on the jobs it claims lasts
+     * If the node stops renewing the lease, because it crashed or lost its connection, the jobs are reclaimed
+     * once the lease expires
+     *
+     * @param leaseDuration the lease duration
+     * @return this
+     */
+    public PollingConfiguration leaseDuration(@NotNull final Duration leaseDuration) {
+        requireNonNull(leaseDuration, "leaseDuration cannot be null");
+        if (leaseDuration.isNegative() || leaseDuration.isZero()) {
+            throw new DoddleValidationException("Lease duration must be greater than zero");
+        }
+        this.leaseDuration = leaseDuration;
+        return this;
+    }
+
+    /**
+     * Get how long this node's lease on the jobs it claims lasts
+     *
+     * @return the lease duration
+     */
+    public Duration leaseDuration() {
+        return leaseDuration;
+    }
+
+    /**
+     * How often this node renews the lease on the jobs it is executing
+     * This should be a fraction of the lease duration, so a slow renewal does not let the lease expire
+     *
+     * @param heartbeatInterval the heartbeat interval
+     * @return this
+     */
+    public PollingConfiguration heartbeatInterval(@NotNull final Duration heartbeatInterval) {
+        requireNonNull(heartbeatInterval, "heartbeatInterval cannot be null");
+        if (heartbeatInterval.isNegative() || heartbeatInterval.isZero()) {
+            throw new DoddleValidationException("Heartbeat interval must be greater than zero");
+        }
+        this.heartbeatInterval = heartbeatInterval;
+        return this;
+    }
+
+    /**
+     * Get how often this node renews the lease on the jobs it is executing
+     *
+     * @return the heartbeat interval
+     */
+    public Duration heartbeatInterval() {
+        return heartbeatInterval;
+    }
 }
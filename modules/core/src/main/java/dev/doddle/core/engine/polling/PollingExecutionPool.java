@@ -39,7 +39,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import static java.lang.Thread.currentThread;
 import static dev.doddle.core.support.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.IntStream.range;
 
 public class PollingExecutionPool {
@@ -50,16 +50,35 @@ public class PollingExecutionPool {
     private final        JobRunner            runner;
     private final        Integer              concurrency;
     private final        PollingLoop          loop;
+    private final        PollingWorkerPool    workers;
     private final        AtomicBoolean        started = new AtomicBoolean(false);
 
     public PollingExecutionPool(final ThreadNamingStrategy threadNamingStrategy,
                                 final Integer concurrency,
                                 final PollingLoop loop,
                                 final JobRunner runner) {
+        this(threadNamingStrategy, concurrency, loop, runner, new PollingWorkerPool());
+    }
+
+    /**
+     * Create a new polling execution pool
+     *
+     * @param threadNamingStrategy the strategy to use for naming the polling threads
+     * @param concurrency          the number of polling threads
+     * @param loop                 the polling loop
+     * @param runner               the job runner
+     * @param workers              the worker pool the runner hands the jobs off to
+     */
+    public PollingExecutionPool(final ThreadNamingStrategy threadNamingStrategy,
+                                final Integer concurrency,
+                                final PollingLoop loop,
+                                final JobRunner runner,
+                                final PollingWorkerPool workers) {
         this.threadNamingStrategy = requireNonNull(threadNamingStrategy, "threadNamingStrategy cannot be null");
         this.concurrency = requireNonNull(concurrency, "concurrency cannot be null");
         this.loop = requireNonNull(loop, "loop cannot be null");
         this.runner = requireNonNull(runner, "runner cannot be null");
+        this.workers = requireNonNull(workers, "workers cannot be null");
         this.executor = createDefaultExecutionPool();
     }
 
@@ -84,6 +103,15 @@ public class PollingExecutionPool {
         return concurrency;
     }
 
+    /**
+     * Get the worker pool that the jobs are handed off to
+     *
+     * @return the worker pool
+     */
+    public PollingWorkerPool getWorkers() {
+        return workers;
+    }
+
     /**
      * Is the executor paused?
      *
@@ -99,7 +127,7 @@ public class PollingExecutionPool {
      * @return if it is terminated
      */
     public boolean isTerminated() {
-        return executor.isTerminated();
+        return executor.isTerminated() && workers.isTerminated();
     }
 
     /**
@@ -121,6 +149,7 @@ public class PollingExecutionPool {
      */
     public void shutdown() {
         executor.shutdownNow();
+        workers.shutdownNow();
     }
 
     /**
@@ -132,7 +161,15 @@ public class PollingExecutionPool {
     public boolean shutdown(@NotNull Duration timeout) {
         try {
             requireNonNull(timeout, "Timeout cannot be null");
-            return executor.awaitTermination(timeout.getSeconds(), SECONDS);
+            final long deadline = System.nanoTime() + timeout.toNanos();
+            // the polling threads stop claiming jobs, then the jobs already handed off are left to finish
+            loop.stop();
+            workers.stop();
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toNanos(), NANOSECONDS)) {
+                return false;
+            }
+            return workers.shutdown(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
         } catch (InterruptedException exception) {
             logger.error("Caught interruption exception when awaiting termination of the job executor: {}", exception.getMessage());
             currentThread().interrupt();
@@ -144,7 +181,9 @@ public class PollingExecutionPool {
      * Shutdown the executor
      */
     public void shutdownNow() {
+        loop.stop();
         executor.shutdownNow();
+        workers.shutdownNow();
     }
 
     /**
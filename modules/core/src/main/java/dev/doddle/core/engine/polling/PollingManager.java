@@ -24,6 +24,10 @@
 package dev.doddle.core.engine.polling;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.JobExecutionContextEventBus;
+import dev.doddle.core.engine.JobHeartbeat;
+import dev.doddle.core.engine.JobPicker;
+import dev.doddle.core.engine.task.TaskTimeoutScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,16 +37,27 @@ import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class PollingManager {
 
-    private static final Logger               logger = LoggerFactory.getLogger(PollingManager.class);
-    private final        PollingExecutionPool pool;
+    private static final Logger                      logger = LoggerFactory.getLogger(PollingManager.class);
+    private final        PollingExecutionPool        pool;
+    private final        JobHeartbeat                heartbeat;
+    private final        JobPicker                   picker;
+    private final        TaskTimeoutScheduler        timeoutScheduler;
+    private final        JobExecutionContextEventBus eventBus;
 
     /**
      * Create a new instance of the polling manager
      *
-     * @param pool the polling execution pool
+     * @param pool          the polling execution pool
+     * @param configuration the heartbeat, picker, timeout scheduler and event bus to stop alongside the pool
      */
-    public PollingManager(@NotNull final PollingExecutionPool pool) {
+    public PollingManager(@NotNull final PollingExecutionPool pool,
+                          @NotNull final PollingManagerConfiguration configuration) {
+        requireNonNull(configuration, "configuration cannot be null");
         this.pool = requireNonNull(pool, "pool cannot be null");
+        this.heartbeat = configuration.heartbeat();
+        this.picker = configuration.picker();
+        this.timeoutScheduler = configuration.timeoutScheduler();
+        this.eventBus = configuration.eventBus();
     }
 
     /**
@@ -87,7 +102,12 @@ public class PollingManager {
      */
     public boolean shutdown(@NotNull Duration timeout) {
         logger.info("Shutting down doddle poller with a timeout of {}", timeout);
-        return this.pool.shutdown(timeout);
+        try {
+            return this.pool.shutdown(timeout);
+        } finally {
+            // the jobs still executing after the timeout are left to be reclaimed
+            stop();
+        }
     }
 
     /**
@@ -95,6 +115,7 @@ public class PollingManager {
      */
     public void shutdownNow() {
         this.pool.shutdownNow();
+        stop();
     }
 
     /**
@@ -102,7 +123,26 @@ public class PollingManager {
      */
     public void start() {
         logger.info("Starting doddle poller with {} threads", this.pool.getConcurrency());
+        if (heartbeat != null) {
+            heartbeat.start();
+        }
         this.pool.start();
     }
 
+    private void stop() {
+        // the prefetched jobs were never handed to a worker, so give them back before the lease stops being renewed
+        if (picker != null) {
+            picker.stop();
+        }
+        if (heartbeat != null) {
+            heartbeat.stop();
+        }
+        if (timeoutScheduler != null) {
+            timeoutScheduler.stop();
+        }
+        if (eventBus != null) {
+            eventBus.close();
+        }
+    }
+
 }
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling;
+
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.JobExecutionContextEventBus;
+import dev.doddle.core.engine.JobHeartbeat;
+import dev.doddle.core.engine.JobPicker;
+import dev.doddle.core.engine.task.TaskTimeoutScheduler;
+
+public class PollingManagerConfiguration {
+
+    private JobHeartbeat                heartbeat;
+    private JobPicker                   picker;
+    private TaskTimeoutScheduler        timeoutScheduler;
+    private JobExecutionContextEventBus eventBus;
+
+    public PollingManagerConfiguration() {
+        this.heartbeat = null;
+        this.picker = null;
+        this.timeoutScheduler = null;
+        this.eventBus = null;
+    }
+
+    /**
+     * The event bus whose buffered messages are written once the workers have drained
+     *
+     * @param eventBus the event bus, or null
+     * @return this
+     */
+    public PollingManagerConfiguration eventBus(@Nullable final JobExecutionContextEventBus eventBus) {
+        this.eventBus = eventBus;
+        return this;
+    }
+
+    public JobExecutionContextEventBus eventBus() {
+        return eventBus;
+    }
+
+    /**
+     * The heartbeat renewing the lease on the claimed jobs while the poller runs
+     *
+     * @param heartbeat the heartbeat, or null if the jobs are claimed without a lease
+     * @return this
+     */
+    public PollingManagerConfiguration heartbeat(@Nullable final JobHeartbeat heartbeat) {
+        this.heartbeat = heartbeat;
+        return this;
+    }
+
+    public JobHeartbeat heartbeat() {
+        return heartbeat;
+    }
+
+    /**
+     * The picker whose prefetched jobs are released on shutdown
+     *
+     * @param picker the picker, or null
+     * @return this
+     */
+    public PollingManagerConfiguration picker(@Nullable final JobPicker picker) {
+        this.picker = picker;
+        return this;
+    }
+
+    public JobPicker picker() {
+        return picker;
+    }
+
+    /**
+     * The timer enforcing the task timeouts, stopped once the workers have drained
+     *
+     * @param timeoutScheduler the timer, or null
+     * @return this
+     */
+    public PollingManagerConfiguration timeoutScheduler(@Nullable final TaskTimeoutScheduler timeoutScheduler) {
+        this.timeoutScheduler = timeoutScheduler;
+        return this;
+    }
+
+    public TaskTimeoutScheduler timeoutScheduler() {
+        return timeoutScheduler;
+    }
+
+}
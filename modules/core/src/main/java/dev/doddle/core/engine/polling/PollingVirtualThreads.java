@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.threadnaming.ThreadNamingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * Creates executors that run each job on its own virtual thread
+ * <p>
+ * Doddle is compiled for a runtime without virtual threads, so they are looked up reflectively and are
+ * only used when the runtime provides them. A runtime can declare them as a preview feature that is not enabled,
+ * so a factory is built and a thread created once up front rather than trusting that the methods exist.
+ */
+public final class PollingVirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollingVirtualThreads.class);
+    private static final Method ofVirtual;
+    private static final Method factory;
+    private static final Method newThreadPerTaskExecutor;
+
+    static {
+        Method ofVirtualMethod = null;
+        Method factoryMethod = null;
+        Method newThreadPerTaskExecutorMethod = null;
+        try {
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            factoryMethod = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // the thread is never started, creating it is enough to fail when the preview is not enabled
+            ((ThreadFactory) factoryMethod.invoke(ofVirtualMethod.invoke(null))).newThread(() -> {
+            });
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            logger.debug("Virtual threads are not available on this runtime: {}", exception.toString());
+            ofVirtualMethod = null;
+            factoryMethod = null;
+            newThreadPerTaskExecutorMethod = null;
+        }
+        ofVirtual = ofVirtualMethod;
+        factory = factoryMethod;
+        newThreadPerTaskExecutor = newThreadPerTaskExecutorMethod;
+    }
+
+    private PollingVirtualThreads() {
+    }
+
+    /**
+     * Does the runtime support virtual threads?
+     *
+     * @return true if supported, otherwise false
+     */
+    public static boolean isSupported() {
+        return newThreadPerTaskExecutor != null;
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for every task
+     *
+     * @param threadNamingStrategy     the strategy to use for naming the threads
+     * @param uncaughtExceptionHandler the uncaught exception handler
+     * @return the executor
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    public static ExecutorService createExecutor(@NotNull final ThreadNamingStrategy threadNamingStrategy,
+                                                 @NotNull final UncaughtExceptionHandler uncaughtExceptionHandler) {
+        requireNonNull(threadNamingStrategy, "threadNamingStrategy cannot be null");
+        requireNonNull(uncaughtExceptionHandler, "uncaughtExceptionHandler cannot be null");
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this runtime");
+        }
+        try {
+            final ThreadFactory virtualThreadFactory = (ThreadFactory) factory.invoke(ofVirtual.invoke(null));
+            final ThreadFactory threadFactory = runnable -> {
+                final Thread thread = virtualThreadFactory.newThread(runnable);
+                thread.setName(threadNamingStrategy.createName());
+                thread.setUncaughtExceptionHandler(uncaughtExceptionHandler);
+                return thread;
+            };
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException exception) {
+            throw new UnsupportedOperationException("Could not create a virtual thread executor", exception);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.threadnaming.ThreadNamingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The pool of threads that execute jobs handed off by the polling threads
+ * <p>
+ * A polling thread must reserve a slot before claiming a job. There are as many slots as there are
+ * workers plus the hand-off capacity, so when every worker is busy and the hand-off is full the polling
+ * threads stop claiming jobs rather than claiming them and leaving them to sit in memory.
+ * <p>
+ * When the pool has no workers the jobs are executed on the polling thread
+ * <p>
+ * Once the pool is stopped no more slots are reserved, and the polling threads waiting for a slot give up
+ * within {@link #RESERVE_WAIT}, so a graceful shutdown is not held up by polling threads parked on busy workers.
+ */
+public class PollingWorkerPool implements Executor {
+
+    /**
+     * How long a polling thread waits for a slot before checking whether the pool has been stopped
+     */
+    public static final  Duration        RESERVE_WAIT = Duration.ofMillis(100);
+    private static final Logger          logger       = LoggerFactory.getLogger(PollingWorkerPool.class);
+    private final        Integer         workers;
+    private final        Integer         handoffCapacity;
+    private final        Semaphore       slots;
+    private final        ExecutorService executor;
+    private final        boolean         virtual;
+    private volatile     boolean         stopped;
+
+    /**
+     * Create a worker pool that executes the jobs on the polling threads
+     */
+    public PollingWorkerPool() {
+        this.workers = 0;
+        this.handoffCapacity = 0;
+        this.slots = null;
+        this.executor = null;
+        this.virtual = false;
+    }
+
+    /**
+     * Create a new worker pool
+     *
+     * @param threadNamingStrategy the strategy to use for naming the worker threads
+     * @param workers              the number of worker threads
+     * @param handoffCapacity      the number of claimed jobs that can wait for a worker
+     */
+    public PollingWorkerPool(@NotNull final ThreadNamingStrategy threadNamingStrategy,
+                             @NotNull final Integer workers,
+                             @NotNull final Integer handoffCapacity) {
+        requireNonNull(threadNamingStrategy, "threadNamingStrategy cannot be null");
+        this.workers = requireNonNull(workers, "workers cannot be null");
+        this.handoffCapacity = requireNonNull(handoffCapacity, "handoffCapacity cannot be null");
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be greater than zero");
+        }
+        if (handoffCapacity < 0) {
+            throw new IllegalArgumentException("handoffCapacity cannot be less than zero");
+        }
+        this.slots = new Semaphore(workers + handoffCapacity);
+        this.virtual = false;
+        // the hand-off is bounded by the slots rather than by the queue
+        this.executor = new ThreadPoolExecutor(workers, workers,
+            0L, MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new PollingThreadFactory(threadNamingStrategy));
+    }
+
+    private PollingWorkerPool(final Integer maxInFlight,
+                              final ExecutorService executor,
+                              final boolean virtual) {
+        this.workers = maxInFlight;
+        this.handoffCapacity = 0;
+        this.slots = new Semaphore(maxInFlight);
+        this.executor = executor;
+        this.virtual = virtual;
+    }
+
+    /**
+     * Create a worker pool that runs every claimed job on its own thread, bounded by the number of jobs in flight
+     * <p>
+     * Virtual threads are used when the runtime supports them, so thousands of I/O bound jobs can be in flight
+     * at once. Otherwise the jobs run on platform threads that are created on demand and retired when idle.
+     *
+     * @param threadNamingStrategy the strategy to use for naming the job threads
+     * @param maxInFlight          the maximum number of jobs executing at once
+     * @return the worker pool
+     */
+    public static PollingWorkerPool createInFlightPool(@NotNull final ThreadNamingStrategy threadNamingStrategy,
+                                                       @NotNull final Integer maxInFlight) {
+        requireNonNull(threadNamingStrategy, "threadNamingStrategy cannot be null");
+        requireNonNull(maxInFlight, "maxInFlight cannot be null");
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be greater than zero");
+        }
+        if (PollingVirtualThreads.isSupported()) {
+            final ExecutorService executor = PollingVirtualThreads.createExecutor(threadNamingStrategy, new PollingThreadUncaughtExceptionHandler());
+            return new PollingWorkerPool(maxInFlight, executor, true);
+        }
+        logger.info("Virtual threads are not supported by this runtime, executing jobs on platform threads");
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxInFlight, maxInFlight,
+            60L, SECONDS,
+            new LinkedBlockingQueue<>(),
+            new PollingThreadFactory(threadNamingStrategy));
+        executor.allowCoreThreadTimeOut(true);
+        return new PollingWorkerPool(maxInFlight, executor, false);
+    }
+
+    /**
+     * Execute a job on a worker thread, releasing its slot once it has finished
+     * A slot must have been reserved before calling this method
+     *
+     * @param runnable the job to execute
+     */
+    @Override
+    public void execute(@NotNull final Runnable runnable) {
+        requireNonNull(runnable, "runnable cannot be null");
+        if (!isSeparated()) {
+            runnable.run();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            slots.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * Get the number of claimed jobs that can wait for a worker
+     *
+     * @return the hand-off capacity
+     */
+    public Integer getHandoffCapacity() {
+        return handoffCapacity;
+    }
+
+    /**
+     * Get the number of worker threads, or the maximum number of jobs in flight when each job runs on its own thread
+     *
+     * @return the number of workers
+     */
+    public Integer getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Are the jobs executed on a separate pool of worker threads?
+     *
+     * @return true if separated, otherwise false if the jobs are executed on the polling threads
+     */
+    public boolean isSeparated() {
+        return executor != null;
+    }
+
+    /**
+     * Are the jobs executed on virtual threads?
+     *
+     * @return true if virtual threads are used, otherwise false
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Has the pool been stopped from reserving slots?
+     *
+     * @return true if stopped, otherwise false
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Is the pool terminated?
+     *
+     * @return if it is terminated
+     */
+    public boolean isTerminated() {
+        return !isSeparated() || executor.isTerminated();
+    }
+
+    /**
+     * Give back a slot that was reserved but not used
+     */
+    public void release() {
+        if (isSeparated()) {
+            slots.release();
+        }
+    }
+
+    /**
+     * Reserve a slot for a job, waiting until one is available or the pool is stopped
+     *
+     * @return true if a slot was reserved, otherwise false if the pool was stopped or the thread was interrupted
+     */
+    public boolean reserve() {
+        if (!isSeparated()) {
+            return !stopped;
+        }
+        try {
+            while (!stopped) {
+                if (slots.tryAcquire(RESERVE_WAIT.toNanos(), NANOSECONDS)) {
+                    if (stopped) {
+                        slots.release();
+                        return false;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } catch (InterruptedException exception) {
+            currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stop reserving slots, the jobs already handed off are left to finish
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Shutdown the pool once the running and handed off jobs have finished
+     *
+     * @param timeout the time to wait
+     * @return true if shutdown was successful, otherwise false
+     */
+    public boolean shutdown(@NotNull final Duration timeout) {
+        stop();
+        if (!isSeparated()) {
+            return true;
+        }
+        try {
+            executor.shutdown();
+            return executor.awaitTermination(timeout.toNanos(), NANOSECONDS);
+        } catch (InterruptedException exception) {
+            logger.error("Caught interruption exception when awaiting termination of the worker pool: {}", exception.getMessage());
+            currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Immediately shutdown the pool
+     */
+    public void shutdownNow() {
+        stop();
+        if (isSeparated()) {
+            executor.shutdownNow();
+        }
+    }
+}
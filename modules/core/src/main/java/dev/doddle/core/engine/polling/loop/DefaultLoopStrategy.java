@@ -29,21 +29,31 @@ import dev.doddle.core.engine.time.Interval;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+/**
+ * The default loop strategy
+ * Only the paused state is shared between the polling threads, so each thread runs its
+ * cycle independently. Paused threads are parked and unparked when the loop is resumed.
+ * Waiting threads are unparked early when the loop is woken up
+ */
 public class DefaultLoopStrategy implements LoopStrategy {
     private static final Logger logger = LoggerFactory.getLogger(DefaultLoopStrategy.class);
 
-    private final Lock          lock      = new ReentrantLock();
-    private final AtomicBoolean paused    = new AtomicBoolean();
-    private final Condition     condition = lock.newCondition();
-    private final Clock         clock;
+    private final AtomicBoolean     paused     = new AtomicBoolean();
+    private final AtomicBoolean     stopped    = new AtomicBoolean();
+    private final Set<Thread>       parked     = ConcurrentHashMap.newKeySet();
+    private final Set<Thread>       waiting    = ConcurrentHashMap.newKeySet();
+    private final AtomicLong        wakeups    = new AtomicLong();
+    private final ThreadLocal<Long> lastWakeup = new ThreadLocal<>();
+    private final Clock             clock;
 
     public DefaultLoopStrategy(final Clock clock) {
         this.clock = requireNonNull(clock, "ticker cannot be null");
@@ -51,19 +61,13 @@ public class DefaultLoopStrategy implements LoopStrategy {
 
     @Override
     public void doRun(final Runnable runnable) {
-        while (!Thread.currentThread().isInterrupted()) {
-            try {
-                lock.lock();
-                while (paused.get()) {
-                    condition.await();
-                }
-                runnable.run();
-            } catch (InterruptedException ignored) {
-                logger.error("sleep interrupted: threadName={}", Thread.currentThread().getName());
-                Thread.currentThread().interrupt();
-            } finally {
-                lock.unlock();
+        while (!Thread.currentThread().isInterrupted() && !stopped.get()) {
+            awaitResumed();
+            if (Thread.currentThread().isInterrupted() || stopped.get()) {
+                logger.debug("loop interrupted: threadName={}", Thread.currentThread().getName());
+                return;
             }
+            runnable.run();
         }
     }
 
@@ -74,28 +78,38 @@ public class DefaultLoopStrategy implements LoopStrategy {
      */
     @Override
     public void doWait(@NotNull Interval interval) {
+        final Thread currentThread = Thread.currentThread();
+        final long plannedWakeupTime = clock.millis() + interval.toMillis();
+        waiting.add(currentThread);
         try {
-            lock.lock();
-            long plannedWakeupTime = clock.millis() + interval.toMillis();
+            // a wake up since this thread last waited happened while it was polling, so poll again straight away
+            final Long seen = lastWakeup.get();
+            final long generation = seen == null ? wakeups.get() : seen;
             long timeToSleep = plannedWakeupTime - clock.millis();
-            while (timeToSleep > 1L) {
-
-                if (!paused.get()) {
-                    logger.debug("Waiting: {} milliseconds", timeToSleep);
-                    this.condition.await(timeToSleep, MILLISECONDS);
-                }
-
+            while (timeToSleep > 1L && !currentThread.isInterrupted() && !stopped.get() && wakeups.get() == generation) {
+                logger.debug("Waiting: {} milliseconds", timeToSleep);
+                LockSupport.parkNanos(this, MILLISECONDS.toNanos(timeToSleep));
                 timeToSleep = plannedWakeupTime - clock.millis();
             }
-        } catch (InterruptedException ignored) {
-            final Thread currentThread = Thread.currentThread();
-            logger.error("sleep interrupted: threadName={}", currentThread.getName());
-            currentThread.interrupt();
         } finally {
-            lock.unlock();
+            waiting.remove(currentThread);
+            lastWakeup.set(wakeups.get());
         }
     }
 
+    @Override
+    public void wakeUp() {
+        wakeups.incrementAndGet();
+        waiting.forEach(LockSupport::unpark);
+    }
+
+    @Override
+    public void stop() {
+        stopped.set(true);
+        parked.forEach(LockSupport::unpark);
+        waiting.forEach(LockSupport::unpark);
+    }
+
     @Override
     public boolean isPaused() {
         return this.paused.get();
@@ -103,22 +117,31 @@ public class DefaultLoopStrategy implements LoopStrategy {
 
     @Override
     public void pause() {
-        try {
-            lock.lock();
-            paused.set(true);
-        } finally {
-            lock.unlock();
-        }
+        paused.set(true);
     }
 
     @Override
     public void resume() {
+        paused.set(false);
+        parked.forEach(LockSupport::unpark);
+    }
+
+    /**
+     * Park the current thread until the loop is resumed or stopped, or the thread is interrupted
+     * The thread is registered before the paused flag is checked, so a resume cannot be missed
+     */
+    private void awaitResumed() {
+        if (!paused.get()) {
+            return;
+        }
+        final Thread currentThread = Thread.currentThread();
+        parked.add(currentThread);
         try {
-            lock.lock();
-            paused.set(false);
-            condition.signalAll();
+            while (paused.get() && !stopped.get() && !currentThread.isInterrupted()) {
+                LockSupport.park(this);
+            }
         } finally {
-            lock.unlock();
+            parked.remove(currentThread);
         }
     }
 
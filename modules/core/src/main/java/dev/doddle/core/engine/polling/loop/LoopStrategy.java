@@ -35,4 +35,18 @@ public interface LoopStrategy {
     void pause();
 
     void resume();
+
+    /**
+     * Wake the threads waiting for the next loop, for example when new jobs have become available
+     * Strategies that cannot be woken wait for the full interval
+     */
+    default void wakeUp() {
+    }
+
+    /**
+     * Stop the loop, the threads return once their current cycle has finished
+     * Strategies that cannot be stopped run until their threads are interrupted
+     */
+    default void stop() {
+    }
 }
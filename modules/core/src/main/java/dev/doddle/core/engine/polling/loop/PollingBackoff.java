@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling.loop;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.time.Interval;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * Tracks how long a polling thread should wait when there are no jobs to claim
+ * <p>
+ * The wait starts at the minimum interval and grows by the backoff factor on every empty poll, up to the
+ * maximum interval. A random jitter of up to a fifth of the wait is subtracted so that idle polling threads
+ * drift apart rather than querying the storage in lockstep. A successful claim resets the wait.
+ * Not thread safe, each polling thread owns its own backoff.
+ */
+public class PollingBackoff {
+
+    private static final double JITTER = 0.2;
+    private final        long   min;
+    private final        long   max;
+    private final        double factor;
+    private final        Random random;
+    private              long   current;
+
+    /**
+     * Create a new polling backoff
+     *
+     * @param min    the wait after the first empty poll
+     * @param max    the longest wait
+     * @param factor how much the wait grows after each empty poll
+     */
+    public PollingBackoff(@NotNull final Interval min,
+                          @NotNull final Interval max,
+                          final double factor) {
+        this(min, max, factor, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Create a new polling backoff
+     *
+     * @param min    the wait after the first empty poll
+     * @param max    the longest wait
+     * @param factor how much the wait grows after each empty poll
+     * @param random the source of the jitter
+     */
+    public PollingBackoff(@NotNull final Interval min,
+                          @NotNull final Interval max,
+                          final double factor,
+                          @NotNull final Random random) {
+        requireNonNull(min, "min cannot be null");
+        requireNonNull(max, "max cannot be null");
+        if (max.toMillis() < min.toMillis()) {
+            throw new IllegalArgumentException("max cannot be less than min");
+        }
+        if (factor < 1.0) {
+            throw new IllegalArgumentException("factor cannot be less than one");
+        }
+        this.min = min.toMillis();
+        this.max = max.toMillis();
+        this.factor = factor;
+        this.random = requireNonNull(random, "random cannot be null");
+        this.current = this.min;
+    }
+
+    /**
+     * Get how long to wait after an empty poll and grow the next wait
+     *
+     * @return the interval to wait
+     */
+    public Interval next() {
+        final long delay = current;
+        current = Math.min(max, (long) Math.ceil(current * factor));
+        if (max == min) {
+            return new Interval(delay);
+        }
+        final long jitter = (long) (delay * JITTER * random.nextDouble());
+        return new Interval(Math.max(min, delay - jitter));
+    }
+
+    /**
+     * Reset the wait after a successful claim
+     */
+    public void reset() {
+        current = min;
+    }
+}
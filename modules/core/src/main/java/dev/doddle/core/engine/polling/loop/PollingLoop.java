@@ -32,18 +32,43 @@ import static dev.doddle.core.support.Objects.requireNonNull;
 public class PollingLoop {
 
     private final LoopStrategy loopStrategy;
-    private final Interval     interval;
+    private final Interval     minInterval;
+    private final Interval     maxInterval;
+    private final double       backoffFactor;
 
     /**
      * Create a new job loop
      *
      * @param loopStrategy the loop strategy to use
-     * @param interval     How often to poll for new jobs
+     * @param interval     How often to poll for new jobs when there are none to claim
      */
     public PollingLoop(@NotNull final LoopStrategy loopStrategy,
                        @NotNull final Interval interval) {
+        this(loopStrategy, interval, interval, 1.0);
+    }
+
+    /**
+     * Create a new job loop that backs off while there are no jobs to claim
+     *
+     * @param loopStrategy  the loop strategy to use
+     * @param minInterval   the wait after the first empty poll
+     * @param maxInterval   the longest wait between empty polls
+     * @param backoffFactor how much the wait grows after each empty poll
+     */
+    public PollingLoop(@NotNull final LoopStrategy loopStrategy,
+                       @NotNull final Interval minInterval,
+                       @NotNull final Interval maxInterval,
+                       final double backoffFactor) {
         this.loopStrategy = requireNonNull(loopStrategy, "loopStrategy cannot be null");
-        this.interval = requireNonNull(interval, "interval cannot be null");
+        this.minInterval = requireNonNull(minInterval, "minInterval cannot be null");
+        this.maxInterval = requireNonNull(maxInterval, "maxInterval cannot be null");
+        if (maxInterval.toMillis() < minInterval.toMillis()) {
+            throw new IllegalArgumentException("maxInterval cannot be less than minInterval");
+        }
+        if (backoffFactor < 1.0) {
+            throw new IllegalArgumentException("backoffFactor cannot be less than one");
+        }
+        this.backoffFactor = backoffFactor;
     }
 
     /**
@@ -71,20 +96,36 @@ public class PollingLoop {
 
     /**
      * Start the loop
+     * The loop polls again straight away after claiming a job and backs off while there are none to claim
      *
      * @param runner the job runner that will execute the job
      */
     public void start(@NotNull JobRunner runner) {
+        final PollingBackoff backoff = new PollingBackoff(minInterval, maxInterval, backoffFactor);
         this.loopStrategy.doRun(() -> {
             runner.execute(status -> {
                 switch (status) {
-                    case SKIPPED -> loopStrategy.doWait(interval);
-                    case PROCESSED -> loopStrategy.doWait(interval);
+                    case SKIPPED -> loopStrategy.doWait(backoff.next());
+                    case PROCESSED -> backoff.reset();
                 }
             });
         });
     }
 
+    /**
+     * Stop the processing cycle, the polling threads return once they have finished their current cycle
+     */
+    public void stop() {
+        this.loopStrategy.stop();
+    }
+
+    /**
+     * Wake the polling threads that are waiting so they poll for jobs straight away
+     */
+    public void wakeUp() {
+        this.loopStrategy.wakeUp();
+    }
+
     /**
      * Resume the processing cycle
      */
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.scheduling;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.time.Interval;
+import dev.doddle.core.engine.time.IntervalParser;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+public class SchedulerCommandConfiguration {
+
+    private Interval interval;
+    private Interval delay;
+    private boolean  catchUp;
+    private Boolean  dedicatedThread;
+
+    public SchedulerCommandConfiguration() {
+        this.catchUp = false;
+        this.dedicatedThread = null;
+    }
+
+    /**
+     * The delay before the first run of the command, defaults to the scheduling delay
+     *
+     * @param delay the delay
+     * @return this
+     */
+    public SchedulerCommandConfiguration delay(@NotNull final String delay) {
+        final IntervalParser parser = new IntervalParser();
+        this.delay = parser.parse(requireNonNull(delay, "delay cannot be null"));
+        return this;
+    }
+
+    public Interval delay() {
+        return this.delay;
+    }
+
+    /**
+     * Run the command on its own thread so a slow run does not hold up the other commands
+     * Defaults to whether the command is long running, such as the delete and janitor commands
+     *
+     * @param dedicatedThread whether to run the command on its own thread
+     * @return this
+     */
+    public SchedulerCommandConfiguration dedicatedThread(final boolean dedicatedThread) {
+        this.dedicatedThread = dedicatedThread;
+        return this;
+    }
+
+    public Boolean dedicatedThread() {
+        return this.dedicatedThread;
+    }
+
+    /**
+     * The interval between runs of the command, defaults to the scheduling interval
+     *
+     * @param period the interval period
+     * @return this
+     */
+    public SchedulerCommandConfiguration interval(@NotNull final String period) {
+        final IntervalParser parser = new IntervalParser();
+        this.interval = parser.parse(requireNonNull(period, "period cannot be null"));
+        return this;
+    }
+
+    public Interval interval() {
+        return this.interval;
+    }
+
+    /**
+     * What to do with the runs that were due while the command was still running
+     * By default they are skipped and the next run starts one interval after the previous run finished. When
+     * catching up, the missed runs start as soon as the previous run finishes, to keep up with the rate. The runs
+     * of a command never overlap
+     *
+     * @param catchUp whether to catch up on the missed runs
+     * @return this
+     */
+    public SchedulerCommandConfiguration catchUp(final boolean catchUp) {
+        this.catchUp = catchUp;
+        return this;
+    }
+
+    public boolean catchUp() {
+        return this.catchUp;
+    }
+
+}
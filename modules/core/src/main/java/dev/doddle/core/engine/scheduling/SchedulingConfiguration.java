@@ -24,21 +24,70 @@
 package dev.doddle.core.engine.scheduling;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.scheduling.commands.CronJobCommand;
+import dev.doddle.core.engine.scheduling.commands.JanitorCommand;
+import dev.doddle.core.engine.scheduling.commands.JobDeleteCommand;
+import dev.doddle.core.engine.scheduling.commands.JobEnqueueCommand;
 import dev.doddle.core.engine.threadnaming.ThreadNamingStrategy;
 import dev.doddle.core.engine.threadnaming.strategies.DefaultThreadNamingStrategy;
 import dev.doddle.core.engine.time.Interval;
 import dev.doddle.core.engine.time.IntervalParser;
+import dev.doddle.core.exceptions.DoddleValidationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class SchedulingConfiguration {
 
-    private Interval             interval;
-    private Interval             delay;
-    private ThreadNamingStrategy threadNamingStrategy;
+    private static final List<String> COMMANDS = List.of(
+        CronJobCommand.NAME,
+        JanitorCommand.NAME,
+        JobDeleteCommand.NAME,
+        JobEnqueueCommand.NAME
+    );
+
+    private final Map<String, SchedulerCommandConfiguration> commands;
+    private       Interval                                   interval;
+    private       Interval                                   delay;
+    private       ThreadNamingStrategy                       threadNamingStrategy;
+    private       boolean                                    leaderElection;
+    private       Interval                                   leaderLease;
 
     public SchedulingConfiguration() {
         this.threadNamingStrategy = new DefaultThreadNamingStrategy("doddle-scheduler-thread-%d");
+        this.leaderElection = false;
+        this.leaderLease = new Interval(30, SECONDS);
+        this.commands = new HashMap<>();
+    }
+
+    /**
+     * Configure the schedule of a command, such as the cron, enqueue, janitor or delete command
+     * Commands that are not configured run at the scheduling delay and interval, the long running commands on
+     * their own thread and the others on the shared scheduling thread
+     *
+     * @param name          the command name
+     * @param configuration the command configuration
+     * @return this
+     */
+    public SchedulingConfiguration command(@NotNull final String name,
+                                           @NotNull final Function<SchedulerCommandConfiguration, SchedulerCommandConfiguration> configuration) {
+        requireNonNull(name, "name cannot be null");
+        requireNonNull(configuration, "configuration cannot be null");
+        if (!COMMANDS.contains(name)) {
+            throw new DoddleValidationException(format("Unknown command: %s, expected one of %s", name, COMMANDS));
+        }
+        this.commands.put(name, configuration.apply(new SchedulerCommandConfiguration()));
+        return this;
+    }
+
+    public Map<String, SchedulerCommandConfiguration> commands() {
+        return this.commands;
     }
 
     public SchedulingConfiguration delay(@NotNull final String delay) {
@@ -61,6 +110,40 @@ public class SchedulingConfiguration {
         return this;
     }
 
+    /**
+     * Only run the singleton commands, such as scheduling the cron jobs, on the node elected as leader
+     * Storage providers that cannot elect a leader treat every node as the leader
+     *
+     * @param leaderElection whether to elect a leader
+     * @return this
+     */
+    public SchedulingConfiguration leaderElection(final boolean leaderElection) {
+        this.leaderElection = leaderElection;
+        return this;
+    }
+
+    public boolean leaderElection() {
+        return this.leaderElection;
+    }
+
+    /**
+     * How long the leadership lasts before it must be renewed
+     * The leader renews it on every run, so it should be a few times longer than the interval. If the leader
+     * stops renewing it, another node takes over once it expires
+     *
+     * @param period the lease period
+     * @return this
+     */
+    public SchedulingConfiguration leaderLease(@NotNull final String period) {
+        final IntervalParser parser = new IntervalParser();
+        this.leaderLease = parser.parse(requireNonNull(period, "period cannot be null"));
+        return this;
+    }
+
+    public Interval leaderLease() {
+        return this.leaderLease;
+    }
+
     public SchedulingConfiguration threadNaming(@NotNull final ThreadNamingStrategy threadNamingStrategy) {
         this.threadNamingStrategy = requireNonNull(threadNamingStrategy, "threadNamingStrategy cannot be null");
         return this;
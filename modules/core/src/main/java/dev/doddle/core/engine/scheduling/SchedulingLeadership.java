@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.scheduling;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.StorageException;
+import dev.doddle.storage.common.domain.Leader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * Elects the node that runs the singleton scheduling commands across the cluster
+ * <p>
+ * The node tries to win, or renew, the leadership on every scheduler tick, so the lease should be a few times
+ * longer than the scheduling interval. A node that cannot reach the storage steps down rather than risk running
+ * the singleton commands alongside another leader.
+ */
+public class SchedulingLeadership {
+
+    private static final Logger   logger = LoggerFactory.getLogger(SchedulingLeadership.class);
+    private final        Storage  storage;
+    private final        String   nodeId;
+    private final        Duration lease;
+    private volatile     boolean  leader;
+
+    /**
+     * Create a new scheduling leadership
+     *
+     * @param storage the storage
+     * @param nodeId  the id of this node
+     * @param lease   how long the leadership lasts before it must be renewed
+     */
+    public SchedulingLeadership(@NotNull final Storage storage,
+                                @NotNull final String nodeId,
+                                @NotNull final Duration lease) {
+        this.storage = requireNonNull(storage, "storage cannot be null");
+        this.nodeId = requireNonNull(nodeId, "nodeId cannot be null");
+        this.lease = requireNonNull(lease, "lease cannot be null");
+    }
+
+    /**
+     * Try to become, or remain, the leader
+     *
+     * @return true if this node is the leader
+     */
+    public boolean elect() {
+        boolean elected;
+        try {
+            elected = storage.electLeader(nodeId, lease);
+        } catch (StorageException exception) {
+            logger.error("Error electing the scheduling leader: {}", exception.getMessage());
+            elected = false;
+        }
+        if (elected != leader) {
+            logger.info(elected ? "Node: {} is now the scheduling leader" : "Node: {} is no longer the scheduling leader", nodeId);
+        }
+        leader = elected;
+        return elected;
+    }
+
+    /**
+     * Get the current leader of the cluster
+     *
+     * @return the leader, or empty if there is none
+     */
+    public Optional<Leader> getLeader() {
+        return storage.getLeader();
+    }
+
+    /**
+     * Get the id of this node
+     *
+     * @return the node id
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether this node won the last election
+     *
+     * @return true if this node is the leader
+     */
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /**
+     * Give up the leadership so another node can take over without waiting for the lease to expire
+     */
+    public void resign() {
+        if (!leader) {
+            return;
+        }
+        leader = false;
+        try {
+            storage.resignLeader(nodeId);
+        } catch (StorageException exception) {
+            logger.error("Error resigning the scheduling leadership: {}", exception.getMessage());
+        }
+    }
+}
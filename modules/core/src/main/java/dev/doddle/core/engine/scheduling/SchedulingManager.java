@@ -23,15 +23,23 @@
  */
 package dev.doddle.core.engine.scheduling;
 
+import dev.doddle.common.support.Nullable;
 import dev.doddle.core.engine.scheduling.commands.SchedulerCommand;
+import dev.doddle.core.engine.telemetry.events.SchedulerCommandExecutedEvent;
 import dev.doddle.core.engine.threadnaming.ThreadNamingStrategy;
 import dev.doddle.core.engine.threadnaming.strategies.DefaultThreadNamingStrategy;
 import dev.doddle.core.engine.time.Interval;
+import dev.doddle.core.services.TelemetryService;
+import dev.doddle.storage.common.domain.Leader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -42,23 +50,63 @@ import static java.util.concurrent.Executors.unconfigurableScheduledExecutorServ
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class SchedulingManager {
-    private final static Logger                   logger = LoggerFactory.getLogger(SchedulingManager.class);
-    private final        ScheduledExecutorService executor;
-    private final        Interval                 initialInterval;
-    private final        Interval                 interval;
-    private final        ThreadNamingStrategy     threadNamingStrategy;
-    private final        List<SchedulerCommand>   commands;
-    private              ScheduledFuture<?>       future;
+    private final static Logger                                     logger = LoggerFactory.getLogger(SchedulingManager.class);
+    private final        ScheduledExecutorService                   executor;
+    private final        List<ScheduledExecutorService>             executors;
+    private final        Interval                                   initialInterval;
+    private final        Interval                                   interval;
+    private final        ThreadNamingStrategy                       threadNamingStrategy;
+    private final        List<SchedulerCommand>                     commands;
+    private final        SchedulingLeadership                       leadership;
+    private final        Map<String, SchedulerCommandConfiguration> configurations;
+    private final        TelemetryService                           telemetryService;
+    private final        List<ScheduledFuture<?>>                   futures;
 
     public SchedulingManager(final Interval initialInterval,
                              final Interval interval,
                              final ThreadNamingStrategy threadNamingStrategy,
                              final List<SchedulerCommand> commands) {
+        this(initialInterval, interval, threadNamingStrategy, commands, null);
+    }
+
+    public SchedulingManager(final Interval initialInterval,
+                             final Interval interval,
+                             final ThreadNamingStrategy threadNamingStrategy,
+                             final List<SchedulerCommand> commands,
+                             @Nullable final SchedulingLeadership leadership) {
+        this(initialInterval, interval, threadNamingStrategy, commands, leadership, new HashMap<>(), new TelemetryService());
+    }
+
+    /**
+     * Create a new scheduling manager that runs each command on its own schedule
+     * Commands without a configuration run at the given delay and interval, the long running commands on their own
+     * thread and the others on the shared scheduling thread
+     *
+     * @param initialInterval      the delay before the first run
+     * @param interval             the interval between runs
+     * @param threadNamingStrategy the naming strategy for the scheduling threads
+     * @param commands             the commands to run
+     * @param leadership           the leader election, or null to run every command on this node
+     * @param configurations       the command configurations keyed by the command name
+     * @param telemetryService     the telemetry service to report the run time of each command
+     */
+    public SchedulingManager(final Interval initialInterval,
+                             final Interval interval,
+                             final ThreadNamingStrategy threadNamingStrategy,
+                             final List<SchedulerCommand> commands,
+                             @Nullable final SchedulingLeadership leadership,
+                             final Map<String, SchedulerCommandConfiguration> configurations,
+                             final TelemetryService telemetryService) {
+        this.leadership = leadership;
         this.initialInterval = requireNonNull(initialInterval, "initialInterval cannot be null");
         this.interval = requireNonNull(interval, "interval cannot be null");
         this.threadNamingStrategy = requireNonNull(threadNamingStrategy, "threadNamingStrategy cannot be null");
         this.commands = requireNonNull(commands, "commands cannot be null");
+        this.configurations = requireNonNull(configurations, "configurations cannot be null");
+        this.telemetryService = requireNonNull(telemetryService, "telemetryService cannot be null");
         this.executor = createExecutor();
+        this.executors = new ArrayList<>();
+        this.futures = new ArrayList<>();
     }
 
     public SchedulingManager(final Interval initialInterval,
@@ -66,6 +114,24 @@ public class SchedulingManager {
         this(initialInterval, interval, new DefaultThreadNamingStrategy("doddle-scheduling-thread-%d"), new ArrayList<>());
     }
 
+    /**
+     * Get the current leader of the cluster
+     *
+     * @return the leader, or empty if leader election is not enabled or there is no leader
+     */
+    public Optional<Leader> getLeader() {
+        return leadership == null ? Optional.empty() : leadership.getLeader();
+    }
+
+    /**
+     * Whether this node runs the singleton commands
+     *
+     * @return true if this node is the leader, or leader election is not enabled
+     */
+    public boolean isLeader() {
+        return leadership == null || leadership.isLeader();
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     public void join() throws InterruptedException {
         this.executor.awaitTermination(Long.MAX_VALUE, MILLISECONDS);
@@ -73,8 +139,8 @@ public class SchedulingManager {
 
     public void start() {
         synchronized (this) {
-            if (this.future == null || this.future.isDone()) {
-                this.future = this.schedule();
+            if (this.futures.isEmpty()) {
+                this.schedule();
                 logger.info("SchedulingManager started");
             }
         }
@@ -82,8 +148,13 @@ public class SchedulingManager {
 
     public void stop() {
         synchronized (this) {
-            this.future.cancel(false);
+            this.futures.forEach(future -> future.cancel(false));
+            this.futures.clear();
             this.executor.shutdownNow();
+            this.executors.forEach(ScheduledExecutorService::shutdownNow);
+            if (this.leadership != null) {
+                this.leadership.resign();
+            }
             logger.info("SchedulingManager stopped");
         }
     }
@@ -107,21 +178,63 @@ public class SchedulingManager {
         return this.threadNamingStrategy.createName();
     }
 
-    private Runnable execute() {
+    private Runnable elect() {
+        return () -> {
+            try {
+                this.leadership.elect();
+            } catch (RuntimeException exception) {
+                logger.error("Error electing the leader", exception);
+            }
+        };
+    }
+
+    private Runnable execute(final SchedulerCommand command) {
         return () -> {
-            logger.debug("Executing commands");
-            for (final SchedulerCommand command : this.commands) {
+            if (command.isSingleton() && !isLeader()) {
+                return;
+            }
+            logger.debug("Executing command: {}", command.name());
+            final long started = System.nanoTime();
+            Throwable exception = null;
+            try {
                 command.execute();
+            } catch (RuntimeException error) {
+                // an exception would otherwise cancel every future run of the command
+                exception = error;
+                logger.error("Error executing command: {}", command.name(), error);
             }
+            final Duration duration = Duration.ofNanos(System.nanoTime() - started);
+            logger.debug("Executed command: {} in {} ms", command.name(), duration.toMillis());
+            this.telemetryService.dispatch(new SchedulerCommandExecutedEvent(command.name(), duration, exception));
         };
     }
 
-    private ScheduledFuture<?> schedule() {
-        return this.executor.scheduleAtFixedRate(
-            execute(),
-            initialInterval.toMillis(),
-            interval.toMillis(),
-            MILLISECONDS
-        );
+    private void schedule() {
+        if (this.leadership != null) {
+            // renew the leadership on its own thread so a slow command cannot let the lease expire
+            final ScheduledExecutorService executor = createExecutor();
+            this.executors.add(executor);
+            this.futures.add(executor.scheduleWithFixedDelay(elect(), 0, interval.toMillis(), MILLISECONDS));
+        }
+        for (final SchedulerCommand command : this.commands) {
+            final SchedulerCommandConfiguration configuration = this.configurations.getOrDefault(
+                command.name(),
+                new SchedulerCommandConfiguration()
+            );
+            final long delay = Optional.ofNullable(configuration.delay()).orElse(initialInterval).toMillis();
+            final long period = Optional.ofNullable(configuration.interval()).orElse(interval).toMillis();
+            final boolean dedicatedThread = Optional.ofNullable(configuration.dedicatedThread())
+                .orElse(command.isLongRunning());
+            ScheduledExecutorService executor = this.executor;
+            if (dedicatedThread) {
+                executor = createExecutor();
+                this.executors.add(executor);
+            }
+            if (configuration.catchUp()) {
+                this.futures.add(executor.scheduleAtFixedRate(execute(command), delay, period, MILLISECONDS));
+            } else {
+                this.futures.add(executor.scheduleWithFixedDelay(execute(command), delay, period, MILLISECONDS));
+            }
+        }
     }
 }
@@ -23,7 +23,6 @@
  */
 package dev.doddle.core.engine.scheduling.commands;
 
-import com.cronutils.model.Cron;
 import dev.doddle.common.support.NotNull;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreaker;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreakerResultCallback;
@@ -50,7 +49,9 @@ import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class CronJobCommand implements SchedulerCommand {
 
-    private static final Logger           logger = LoggerFactory.getLogger(CronJobCommand.class);
+    public static final  String           NAME       = "cron";
+    private static final Logger           logger     = LoggerFactory.getLogger(CronJobCommand.class);
+    private static final int              BATCH_SIZE = 500;
     private final        Storage          storage;
     private final        Clock            clock;
     private final        CronService      cronService;
@@ -79,7 +80,8 @@ public class CronJobCommand implements SchedulerCommand {
     public void execute() {
         logger.debug("Executing cron job command");
 
-        final Supplier<List<CronJob>> supplier = this.storage::getAllCronJobs;
+        final LocalDateTime now = clock.now();
+        final Supplier<List<CronJob>> supplier = () -> this.storage.getDueCronJobs(now, BATCH_SIZE);
 
         circuitBreaker.apply(supplier, new CircuitBreakerResultCallback<>() {
             @Override
@@ -89,12 +91,8 @@ public class CronJobCommand implements SchedulerCommand {
 
             @Override
             public void onSuccess(final List<CronJob> jobs) {
-                logger.debug("Found {} cron jobs", jobs.size());
-                jobs.stream()
-                    .filter(job -> !job.isEnabled())
-                    .filter(job -> !job.getQueue().isLocked())
-                    .filter(job -> job.getNextRunAt() == null || clock.isAfter(job.getNextRunAt()))
-                    .forEach(job -> schedule(job));
+                logger.debug("Found {} due cron jobs", jobs.size());
+                jobs.forEach(job -> schedule(job));
             }
         });
 
@@ -141,8 +139,7 @@ public class CronJobCommand implements SchedulerCommand {
         // @TODO check if a cron already exists
         final String id = job.getId();
         final String expression = job.getExpression();
-        final Cron cron = cronService.getForExpression(expression);
-        final LocalDateTime nextExecutionTime = cronService.nextExecutionTime(cron);
+        final LocalDateTime nextExecutionTime = cronService.nextExecutionTime(expression);
         logger.debug("Scheduled cron job with id: {} to be next executed at: {}", id, nextExecutionTime);
         job.setNextRunAt(nextExecutionTime);
         // save the cron job...
@@ -150,6 +147,9 @@ public class CronJobCommand implements SchedulerCommand {
         // enqueue as a standard job...
         enqueue(job);
     }
-}
-
 
+    @Override
+    public String name() {
+        return NAME;
+    }
+}
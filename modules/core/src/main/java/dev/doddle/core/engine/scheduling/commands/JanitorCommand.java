@@ -25,22 +25,19 @@ package dev.doddle.core.engine.scheduling.commands;
 
 import dev.doddle.common.support.NotNull;
 import dev.doddle.storage.common.Storage;
-import dev.doddle.storage.common.domain.Job;
-import dev.doddle.storage.common.domain.JobFilter;
-import dev.doddle.storage.common.domain.Pageable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-
-import static dev.doddle.storage.common.domain.JobState.EXECUTING;
-import static dev.doddle.storage.common.domain.JobState.RETRYABLE;
-import static java.time.LocalDateTime.now;
-import static java.util.Collections.singletonList;
 import static dev.doddle.core.support.Objects.requireNonNull;
 
+/**
+ * Reclaims the jobs whose owner stopped renewing its lease, because the node crashed or lost its connection
+ * The jobs are reclaimed by the storage in a single statement and scheduled to be retried immediately
+ */
 public class JanitorCommand implements SchedulerCommand {
 
+    public static final String NAME = "janitor";
+
     private final Logger  logger = LoggerFactory.getLogger(JanitorCommand.class);
     private final Storage storage;
 
@@ -50,32 +47,21 @@ public class JanitorCommand implements SchedulerCommand {
 
     @Override
     public void execute() {
-        // let's check for jobs that got stuck...
         logger.debug("Executing job janitor command");
-        final JobFilter filter = new JobFilter(singletonList(EXECUTING));
-        final Pageable pageable = new Pageable(0, 1000);
-        final List<Job> jobs = storage.getJobs(filter, pageable);
-        logger.debug("Found {} that are executing", jobs.size());
-        for (final Job job : jobs) {
-            if (job.isStuck()) {
-                logger.info("Job {} is stuck", job.getId());
-                // schedule for execution immediately
-                if (job.isMaxRetries(job.getRetries())) {
-                    logger.debug("Job has exceeded maximum retries so will increment max retries by one");
-                    final Integer maxRetries = job.getMaxRetries() + 1;
-                    job.setMaxRetries(maxRetries);
-                }
-                final Integer retries = job.getRetries() + 1;
-                job.setScheduledAt(now());
-                job.setRetries(retries);
-                job.setState(RETRYABLE);
-                job.setExecutingAt(null);
-                job.setCompletedAt(null);
-                job.setDiscardedAt(null);
-                job.setFailedAt(null);
-
-                this.storage.saveJob(job);
-            }
+        final int reclaimed = storage.reclaimExpiredLeases();
+        if (reclaimed > 0) {
+            logger.info("Reclaimed {} jobs whose lease expired", reclaimed);
         }
     }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isLongRunning() {
+        return true;
+    }
+
 }
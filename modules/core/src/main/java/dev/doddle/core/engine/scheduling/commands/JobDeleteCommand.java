@@ -32,6 +32,8 @@ import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class JobDeleteCommand implements SchedulerCommand {
 
+    public static final String NAME = "delete";
+
     private final Logger     logger = LoggerFactory.getLogger(JobDeleteCommand.class);
     private final JobService jobService;
     private final String     period;
@@ -55,4 +57,15 @@ public class JobDeleteCommand implements SchedulerCommand {
             jobService.deleteAll(period);
         }
     }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isLongRunning() {
+        return true;
+    }
+
 }
@@ -40,6 +40,7 @@ import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class JobEnqueueCommand implements SchedulerCommand {
 
+    public static final  String           NAME   = "enqueue";
     private static final Logger           logger = LoggerFactory.getLogger(JobEnqueueCommand.class);
     private final        Storage          storage;
     private final        TelemetryService telemetryService;
@@ -80,6 +81,10 @@ public class JobEnqueueCommand implements SchedulerCommand {
 
     }
 
+    @Override
+    public String name() {
+        return NAME;
+    }
 
 }
 
@@ -26,4 +26,33 @@ package dev.doddle.core.engine.scheduling.commands;
 public interface SchedulerCommand {
 
     void execute();
+
+    /**
+     * The name of the command, used to configure its schedule and to report its run time
+     *
+     * @return the command name
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Whether the command only runs on the elected leader when leader election is enabled
+     * Commands that are safe and useful to run on every node can opt out
+     *
+     * @return true if only the leader runs the command
+     */
+    default boolean isSingleton() {
+        return true;
+    }
+
+    /**
+     * Whether a run can take long enough to hold up the other commands, such as deleting or reclaiming jobs in bulk
+     * Unless configured otherwise, long running commands run on their own thread
+     *
+     * @return true if the command runs on its own thread by default
+     */
+    default boolean isLongRunning() {
+        return false;
+    }
 }
@@ -39,6 +39,7 @@ public class TaskDescriptor {
     private Boolean  executionContextRequested;
     private Retryer  retryer;
     private Long     timeout;
+    private TaskInvoker invoker;
 
     public TaskDescriptor() {
 
@@ -86,6 +87,23 @@ public class TaskDescriptor {
     }
 
 
+    /**
+     * Get the precompiled invoker for the task's method, compiling it if it was not created at registration
+     *
+     * @return the invoker
+     */
+    public TaskInvoker getInvoker() {
+        if (invoker == null) {
+            invoker = TaskInvoker.create(method, Boolean.TRUE.equals(executionContextRequested));
+        }
+        return invoker;
+    }
+
+    public TaskDescriptor setInvoker(TaskInvoker invoker) {
+        this.invoker = invoker;
+        return this;
+    }
+
     public Method getMethod() {
         return method;
     }
@@ -64,6 +64,7 @@ public class TaskDescriptorFactory {
         } else {
             information.setExecutionContextRequested(false);
         }
+        information.setInvoker(TaskInvoker.create(method, information.getExecutionContextRequested()));
 
         final String defaultRetryStrategy = defaultTaskOptions.retryStrategy();
         information.setRetryer(retryRegistry.getForName(defaultRetryStrategy));
@@ -24,28 +24,20 @@
 package dev.doddle.core.engine.task;
 
 import dev.doddle.core.engine.JobExecutionContext;
+import dev.doddle.core.engine.task.TaskTimeoutScheduler.TaskTimeout;
 import dev.doddle.core.exceptions.TaskExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeoutException;
-
 import static java.lang.String.format;
 import static dev.doddle.core.support.Objects.requireNonNull;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.lang.Thread.currentThread;
 
 public class TaskExecutor {
 
     private static final Logger                 logger = LoggerFactory.getLogger(TaskExecutor.class);
     private final        TaskDependencyResolver resolver;
+    private final        TaskTimeoutScheduler   scheduler;
 
     /**
      * Create a new task executor
@@ -53,11 +45,22 @@ public class TaskExecutor {
      * @param resolver the task dependency resolver
      */
     public TaskExecutor(final TaskDependencyResolver resolver) {
+        this(resolver, new TaskTimeoutScheduler());
+    }
+
+    /**
+     * Create a new task executor
+     *
+     * @param resolver  the task dependency resolver
+     * @param scheduler the scheduler used to enforce the task timeouts
+     */
+    public TaskExecutor(final TaskDependencyResolver resolver, final TaskTimeoutScheduler scheduler) {
         this.resolver = requireNonNull(resolver, "resolver cannot be null");
+        this.scheduler = requireNonNull(scheduler, "scheduler cannot be null");
     }
 
     /**
-     * Execute a task
+     * Execute a task on the calling thread
      * The caller wraps this in a runnable for asynchronous execution
      */
     public void execute(final TaskDescriptor task,
@@ -70,64 +73,29 @@ public class TaskExecutor {
     }
 
     /**
-     * Builds the task's method parameters ready to be invoked
-     *
-     * @param task    the task
-     * @param context the execution context
-     * @return a list of parameters
-     */
-    private Object[] buildMethodParameters(final TaskDescriptor task, final JobExecutionContext context) {
-        final List<Object> parameters = new ArrayList<>();
-        if (task.getExecutionContextRequested()) {
-            parameters.add(context);
-        }
-        return parameters.toArray();
-    }
-
-    /**
-     * Create a runnable for invoking the task's method
+     * Invoke the task's precompiled method
      *
      * @param task    the task
      * @param context the execution context
-     * @return the method runnable
      * @throws TaskExecutionException thrown if there was an error executing the task
      */
-    private Runnable createInvokeMethodRunnable(final TaskDescriptor task, final JobExecutionContext context) throws TaskExecutionException {
-        return () -> {
-            try {
-                final Method method = task.getMethod();
-                final Object object = resolveDependency(task);
-
-                if (object == null) {
-                    throw new TaskExecutionException(format("Could not resolve the class for the task %s. Is it being injected correctly?", task.getName()));
-                }
-
-                final Object[] parameters = buildMethodParameters(task, context);
-                if (parameters.length == 0) {
-                    method.invoke(object);
-                } else {
-                    method.invoke(object, parameters);
-                }
-            } catch (IllegalAccessException exception) {
-                throw new TaskExecutionException(exception.getMessage(), exception);
-            } catch (InvocationTargetException exception) {
-                final Throwable cause = exception.getCause();
-                if (cause instanceof TaskExecutionException) {
-                    throw (TaskExecutionException) cause;
-                } else {
-                    final Throwable target = exception.getTargetException();
-                    if (target == null) {
-                        throw new TaskExecutionException(exception.getMessage(), exception);
-                    } else {
-                        throw new TaskExecutionException(target.getMessage(), target);
-                    }
-                }
-            }
-        };
+    private void invoke(final TaskDescriptor task, final JobExecutionContext context) throws TaskExecutionException {
+        final Object object = resolveDependency(task);
+        if (object == null) {
+            throw new TaskExecutionException(format("Could not resolve the class for the task %s. Is it being injected correctly?", task.getName()));
+        }
+        try {
+            task.getInvoker().invoke(object, context);
+        } catch (TaskExecutionException exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new TaskExecutionException(throwable.getMessage(), throwable);
+        }
     }
 
     /**
-     * Process the given task and wrap it in a future to manage timeouts
+     * Process the given task on the calling thread, enforcing the timeout with the shared timeout scheduler
+     * When the timeout elapses the thread is interrupted and the task is failed
      *
      * @param task    the task to process
      * @param timeout when the job should timeout
@@ -137,29 +105,30 @@ public class TaskExecutor {
     private void process(final TaskDescriptor task,
                          final Long timeout,
                          final JobExecutionContext context) throws TaskExecutionException {
-        logger.debug(format("Processing task: %s", task.getName()));
-        final ExecutorService executor = newSingleThreadExecutor();
+        logger.debug("Processing task: {}", task.getName());
+        final TaskTimeout deadline = scheduler.schedule(currentThread(), timeout);
+        TaskExecutionException failure = null;
         try {
-            final Future<?> executable = executor.submit(createInvokeMethodRunnable(task, context));
-            try {
-                executable.get(timeout, MILLISECONDS);
-            } catch (InterruptedException | ExecutionException exception) {
-                final Throwable cause = exception.getCause();
-                if (cause instanceof TaskExecutionException) {
-                    throw (TaskExecutionException) cause;
-                } else {
-                    throw new TaskExecutionException(exception.getMessage(), exception);
-                }
-            } catch (TimeoutException exception) {
-                throw new TaskExecutionException(format("The task exceeded its timeout of %d milliseconds", timeout, exception));
-            }
+            invoke(task, context);
+        } catch (TaskExecutionException exception) {
+            failure = exception;
+        } catch (RuntimeException exception) {
+            failure = new TaskExecutionException(exception.getMessage(), exception);
         } finally {
-            executor.shutdown();
+            if (!deadline.cancel()) {
+                // clear the interrupt raised by the timeout so it does not leak into the next job
+                Thread.interrupted();
+                failure = new TaskExecutionException(format("The task exceeded its timeout of %d milliseconds", timeout));
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
     /**
      * Resolve the tasks enclosing class dependencies
+     * The scope of the instance is left to the resolver, so it is resolved for every execution
      *
      * @param task the task to resolve the dependencies for
      * @return the resolved dependency
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.task;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.core.engine.JobExecutionContext;
+import dev.doddle.core.exceptions.TaskParserException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.lang.String.format;
+
+/**
+ * A precompiled invocation of a task's method
+ * <p>
+ * The method is compiled once into a method handle with the shape {@code (Object, JobExecutionContext)void},
+ * whatever its declared parameters and return type are, so invoking a task does not go through reflection or
+ * allocate a parameter array
+ */
+public class TaskInvoker {
+
+    private static final MethodType TYPE = MethodType.methodType(void.class, Object.class, JobExecutionContext.class);
+    private final        MethodHandle handle;
+
+    private TaskInvoker(final MethodHandle handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Compile an invoker for the given task method
+     *
+     * @param method                    the task method
+     * @param executionContextRequested whether the method takes the execution context as its parameter
+     * @return the invoker
+     * @throws TaskParserException thrown if the method cannot be accessed
+     */
+    public static TaskInvoker create(@NotNull final Method method, final boolean executionContextRequested) {
+        requireNonNull(method, "method cannot be null");
+        MethodHandle handle = unreflect(method);
+        if (handle.type().returnType() != void.class) {
+            handle = MethodHandles.dropReturn(handle);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        if (!executionContextRequested) {
+            handle = MethodHandles.dropArguments(handle, 1, JobExecutionContext.class);
+        }
+        return new TaskInvoker(handle.asType(TYPE));
+    }
+
+    private static MethodHandle unreflect(final Method method) {
+        try {
+            // tasks are often declared on package private classes
+            method.setAccessible(true);
+        } catch (RuntimeException exception) {
+            // fall back to the access checks of the lookup
+        }
+        try {
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException exception) {
+            throw new TaskParserException(format("Cannot access the method for the task: %s", method.getName()), exception);
+        }
+    }
+
+    /**
+     * Invoke the task's method
+     *
+     * @param target  the instance of the task's enclosing class, ignored for static methods
+     * @param context the execution context, ignored if the method does not request it
+     * @throws Throwable anything thrown by the task's method
+     */
+    public void invoke(final Object target, final JobExecutionContext context) throws Throwable {
+        handle.invokeExact(target, context);
+    }
+
+}
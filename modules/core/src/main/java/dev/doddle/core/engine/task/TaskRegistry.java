@@ -27,7 +27,9 @@ import dev.doddle.common.support.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
 
@@ -35,6 +37,7 @@ public class TaskRegistry {
 
     private static final Logger               logger = LoggerFactory.getLogger(TaskRegistry.class);
     private final        List<TaskDescriptor> tasks;
+    private final        Map<String, TaskDescriptor> index;
 
     /**
      * Create a new task registry that holds a reference to the parsed tasks
@@ -43,6 +46,10 @@ public class TaskRegistry {
      */
     public TaskRegistry(@NotNull final List<TaskDescriptor> tasks) {
         this.tasks = requireNonNull(tasks, "tasks cannot be null");
+        this.index = new HashMap<>(tasks.size() * 2);
+        for (final TaskDescriptor task : tasks) {
+            this.index.putIfAbsent(task.getName(), task);
+        }
         logger.debug("Found {} tasks", this.tasks.size());
     }
 
@@ -71,10 +78,7 @@ public class TaskRegistry {
      * @return the task if found otherwise return null
      */
     public TaskDescriptor getForName(@NotNull final String name) {
-        return tasks.stream()
-            .filter(task -> task.getName().equals(name))
-            .findFirst()
-            .orElse(null);
+        return index.get(name);
     }
 
 }
@@ -0,0 +1,237 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.task;
+
+import dev.doddle.common.support.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+import static java.lang.Thread.currentThread;
+
+/**
+ * A hashed wheel timer that enforces the timeouts of the tasks
+ * <p>
+ * A single daemon thread is shared by every task execution. Each tick it expires the timeouts in the
+ * current bucket of the wheel by interrupting the thread that is executing the task. Scheduling and
+ * cancelling a timeout is constant time and no thread is created per task.
+ */
+public class TaskTimeoutScheduler {
+
+    private static final Logger                  logger = LoggerFactory.getLogger(TaskTimeoutScheduler.class);
+    private final        long                    tickDuration;
+    private final        List<TaskTimeout>[]     wheel;
+    private final        int                     mask;
+    private final        Queue<TaskTimeout>      pending;
+    private final        AtomicBoolean           started;
+    private final        long                    startTime;
+    private volatile     Thread                  thread;
+
+    /**
+     * Create a new timeout scheduler with a tick of 10 milliseconds and a wheel of 512 buckets
+     */
+    public TaskTimeoutScheduler() {
+        this(Duration.ofMillis(10), 512);
+    }
+
+    /**
+     * Create a new timeout scheduler
+     *
+     * @param tickDuration the precision of the timer
+     * @param buckets      the number of buckets in the wheel, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TaskTimeoutScheduler(@NotNull final Duration tickDuration, final int buckets) {
+        requireNonNull(tickDuration, "tickDuration cannot be null");
+        if (tickDuration.isZero() || tickDuration.isNegative()) {
+            throw new IllegalArgumentException("tickDuration must be greater than zero");
+        }
+        if (buckets <= 0 || buckets > (1 << 30)) {
+            throw new IllegalArgumentException("buckets must be between 1 and 2^30");
+        }
+        final int size = Integer.highestOneBit(buckets) == buckets ? buckets : Integer.highestOneBit(buckets) << 1;
+        this.tickDuration = tickDuration.toNanos();
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.started = new AtomicBoolean(false);
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Schedule a timeout that interrupts the given thread once it elapses
+     *
+     * @param thread  the thread executing the task
+     * @param timeout the timeout in milliseconds
+     * @return the timeout, which must be cancelled once the task has finished
+     */
+    public TaskTimeout schedule(@NotNull final Thread thread, final long timeout) {
+        requireNonNull(thread, "thread cannot be null");
+        start();
+        final long deadline = System.nanoTime() - startTime + Duration.ofMillis(timeout).toNanos();
+        final TaskTimeout task = new TaskTimeout(thread, deadline);
+        pending.add(task);
+        return task;
+    }
+
+    /**
+     * Stop the timer thread. Any outstanding timeouts will not be expired
+     */
+    public void stop() {
+        final Thread worker = this.thread;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            final Thread worker = new Thread(this::run, "doddle-timeout-timer");
+            worker.setDaemon(true);
+            this.thread = worker;
+            worker.start();
+        }
+    }
+
+    private void run() {
+        long tick = (System.nanoTime() - startTime) / tickDuration;
+        while (!currentThread().isInterrupted()) {
+            final long deadline = tickDuration * (tick + 1);
+            long sleep;
+            while ((sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(this, sleep);
+                if (currentThread().isInterrupted()) {
+                    logger.debug("Timeout timer stopped");
+                    return;
+                }
+            }
+            transferPending(tick);
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * Move the newly scheduled timeouts into their buckets
+     *
+     * @param tick the current tick
+     */
+    private void transferPending(final long tick) {
+        TaskTimeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            final long calculated = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            final long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Expire the timeouts in the bucket that are due in this round
+     *
+     * @param bucket the bucket
+     */
+    private void expire(final List<TaskTimeout> bucket) {
+        final Iterator<TaskTimeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            final TaskTimeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    /**
+     * A timeout for a single task execution
+     */
+    public static class TaskTimeout {
+
+        private static final int    PENDING   = 0;
+        private static final int    CANCELLED = 1;
+        private static final int    EXPIRED   = 2;
+        private final        Thread thread;
+        private final        long   deadline;
+        private              long   remainingRounds;
+        private              int    state;
+
+        private TaskTimeout(final Thread thread, final long deadline) {
+            this.thread = thread;
+            this.deadline = deadline;
+            this.state = PENDING;
+        }
+
+        /**
+         * Cancel the timeout
+         * If the timeout has already expired then the executing thread has been interrupted
+         *
+         * @return true if the timeout was cancelled, otherwise false if it has already expired
+         */
+        public synchronized boolean cancel() {
+            if (state == PENDING) {
+                state = CANCELLED;
+            }
+            return state == CANCELLED;
+        }
+
+        /**
+         * Has the timeout expired?
+         *
+         * @return true if expired, otherwise false
+         */
+        public synchronized boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        private synchronized boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        private synchronized void expire() {
+            if (state == PENDING) {
+                state = EXPIRED;
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.telemetry.events;
+
+import dev.doddle.core.engine.telemetry.TelemetryEvent;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.Queue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+/**
+ * A summary of a batch of jobs created in one go, dispatched instead of an event per job
+ */
+public class JobsCreatedEvent implements TelemetryEvent {
+
+    private final int                  count;
+    private final Map<String, Integer> queues;
+    private final Duration             duration;
+
+    public JobsCreatedEvent(final List<Job> jobs, final Duration duration) {
+        requireNonNull(jobs, "jobs cannot be null");
+        this.count = jobs.size();
+        this.queues = new HashMap<>();
+        for (final Job job : jobs) {
+            final Queue queue = job.getQueue();
+            if (queue != null) {
+                this.queues.merge(queue.getName(), 1, Integer::sum);
+            }
+        }
+        this.duration = requireNonNull(duration, "duration cannot be null");
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get the number of jobs created for each queue
+     *
+     * @return the number of jobs keyed by the queue name
+     */
+    public Map<String, Integer> getQueues() {
+        return queues;
+    }
+
+    @Override
+    public String name() {
+        return "job.created.batch";
+    }
+
+    @Override
+    public String toString() {
+        return this.name();
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.telemetry.events;
+
+import dev.doddle.common.support.Nullable;
+import dev.doddle.core.engine.telemetry.TelemetryEvent;
+
+import java.time.Duration;
+
+import static dev.doddle.core.support.Objects.requireNonNull;
+
+public class SchedulerCommandExecutedEvent implements TelemetryEvent {
+
+    private final String    command;
+    private final Duration  duration;
+    private final Throwable exception;
+
+    public SchedulerCommandExecutedEvent(final String command,
+                                         final Duration duration,
+                                         @Nullable final Throwable exception) {
+        this.command = requireNonNull(command, "command cannot be null");
+        this.duration = requireNonNull(duration, "duration cannot be null");
+        this.exception = exception;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Throwable getException() {
+        return exception;
+    }
+
+    public boolean isSuccessful() {
+        return exception == null;
+    }
+
+    @Override
+    public String name() {
+        return "scheduler.command.executed";
+    }
+
+    @Override
+    public String toString() {
+        return this.name();
+    }
+
+}
@@ -26,6 +26,7 @@ package dev.doddle.core.engine.time;
 import dev.doddle.core.engine.time.ticker.TickerStrategy;
 import dev.doddle.core.engine.time.ticker.strategies.SystemTickerStrategy;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 
@@ -82,4 +83,8 @@ public class Clock {
         return this.tickerStrategy.millis();
     }
 
+    public LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(this.tickerStrategy.millis()), systemDefault());
+    }
+
 }
@@ -31,40 +31,55 @@ import dev.doddle.core.DoddleConfiguration;
 import dev.doddle.core.engine.*;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreaker;
 import dev.doddle.core.engine.circuitbreaker.CircuitBreakerConfiguration;
-import dev.doddle.core.engine.crypto.AesEncryptionAdapter;
+import dev.doddle.core.engine.crypto.EncryptionAdapter;
 import dev.doddle.core.engine.crypto.EncryptionConfiguration;
+import dev.doddle.core.engine.crypto.EncryptionKeyCache;
 import dev.doddle.core.engine.crypto.EncryptionService;
 import dev.doddle.core.engine.crypto.EncryptionStore;
+import dev.doddle.core.engine.logger.JobLoggerBuffer;
+import dev.doddle.core.engine.logger.JobLoggerBufferConfiguration;
 import dev.doddle.core.engine.logger.JobLoggerConfiguration;
 import dev.doddle.core.engine.logger.JobLoggerFactory;
-import dev.doddle.core.engine.mapper.JacksonMapperAdapter;
+import dev.doddle.core.engine.mapper.PayloadFormat;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
 import dev.doddle.core.engine.middleware.MiddlewareConfiguration;
 import dev.doddle.core.engine.middleware.MiddlewarePipeline;
+import dev.doddle.core.engine.polling.PollingConfiguration;
 import dev.doddle.core.engine.polling.PollingExecutionPool;
+import dev.doddle.core.engine.polling.PollingWorkerPool;
 import dev.doddle.core.engine.polling.PollingManager;
+import dev.doddle.core.engine.polling.PollingManagerConfiguration;
 import dev.doddle.core.engine.polling.loop.DefaultLoopStrategy;
 import dev.doddle.core.engine.polling.loop.LoopStrategy;
 import dev.doddle.core.engine.polling.loop.PollingLoop;
 import dev.doddle.core.engine.retry.Retryer;
 import dev.doddle.core.engine.retry.RetryerRegistry;
 import dev.doddle.core.engine.scheduling.SchedulingConfiguration;
+import dev.doddle.core.engine.scheduling.SchedulingLeadership;
 import dev.doddle.core.engine.scheduling.SchedulingManager;
 import dev.doddle.core.engine.scheduling.commands.CronJobCommand;
 import dev.doddle.core.engine.scheduling.commands.JanitorCommand;
 import dev.doddle.core.engine.scheduling.commands.JobDeleteCommand;
 import dev.doddle.core.engine.scheduling.commands.JobEnqueueCommand;
+import dev.doddle.core.engine.scheduling.commands.SchedulerCommand;
 import dev.doddle.core.engine.task.*;
 import dev.doddle.core.engine.telemetry.TelemetrySubscriber;
 import dev.doddle.core.engine.threadnaming.ThreadNamingStrategy;
 import dev.doddle.core.engine.time.Clock;
-import dev.doddle.core.engine.time.Interval;
 import dev.doddle.core.engine.time.ticker.TickerStrategy;
 import dev.doddle.core.services.*;
 import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.domain.JobLease;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
+import static dev.doddle.core.support.Objects.requireNonNullElse;
 import static java.util.Arrays.asList;
 
 public class ObjectProviderModule {
@@ -109,14 +124,16 @@ public class ObjectProviderModule {
                                      @NotNull final QueueService queueService,
                                      @NotNull final TaskService taskService,
                                      @NotNull final PollingManager polling,
-                                     @NotNull final SchedulingManager scheduling) {
+                                     @NotNull final SchedulingManager scheduling,
+                                     @NotNull final Storage storage) {
         return new DoddleClient(
             jobService,
             cronJobService,
             queueService,
             taskService,
             polling,
-            scheduling
+            scheduling,
+            storage
         );
     }
 
@@ -168,8 +185,9 @@ public class ObjectProviderModule {
         final EncryptionConfiguration configuration = this.configuration.getEncryptionConfiguration();
         final EncryptionStore store = configuration.getStore();
         final boolean enabled = configuration.isEnabled();
-        final AesEncryptionAdapter adapter = new AesEncryptionAdapter();
-        return new EncryptionService(enabled, store, adapter);
+        final EncryptionAdapter adapter = configuration.algorithm().createAdapter();
+        final EncryptionKeyCache keys = new EncryptionKeyCache(configuration.keyCacheSize());
+        return new EncryptionService(enabled, store, adapter, keys);
     }
 
     @Provides
@@ -186,7 +204,9 @@ public class ObjectProviderModule {
     @Provides
     @Singleton
     public JobDataMapper createJobDataMapper(EncryptionService encryptionService) {
-        return new JobDataMapper(new JacksonMapperAdapter(encryptionService));
+        final PayloadFormat format = requireNonNullElse(this.configuration.getPayloadFormat(), PayloadFormat.JSON);
+        final PayloadConfiguration payload = requireNonNullElse(this.configuration.getPayloadConfiguration(), new PayloadConfiguration());
+        return new JobDataMapper(format.createAdapter(encryptionService, payload));
     }
 
     @Provides
@@ -214,7 +234,13 @@ public class ObjectProviderModule {
     @Provides
     @Singleton
     public JobExecutionContextEventBus createJobExecutionContextEventBus(@NotNull final Storage storage) {
-        return new JobExecutionContextEventBus(storage);
+        final JobLoggerConfiguration loggerConfiguration = this.configuration.getLoggerConfiguration();
+        final JobLoggerBufferConfiguration configuration = loggerConfiguration == null ? null : loggerConfiguration.buffer();
+        if (configuration == null) {
+            return new JobExecutionContextEventBus(storage);
+        }
+        final JobLoggerBuffer buffer = new JobLoggerBuffer(configuration, storage::createMessages);
+        return new JobExecutionContextEventBus(storage, buffer);
     }
 
     @Provides
@@ -230,10 +256,12 @@ public class ObjectProviderModule {
     @Provides
     @Singleton
     public PollingExecutionPool createJobExecutionPool(@NotNull final JobRunner runner,
-                                                       @NotNull final PollingLoop loop) {
+                                                       @NotNull final PollingLoop loop,
+                                                       @NotNull final PollingWorkerPool workers) {
         final ThreadNamingStrategy threadNamingStrategy = configuration.getThreadNamingStrategy();
-        final Integer concurrency = configuration.getPollingConfiguration().concurrency();
-        return new PollingExecutionPool(threadNamingStrategy, concurrency, loop, runner);
+        final PollingConfiguration pollingConfiguration = configuration.getPollingConfiguration();
+        final Integer concurrency = workers.isSeparated() ? pollingConfiguration.pollers() : pollingConfiguration.concurrency();
+        return new PollingExecutionPool(threadNamingStrategy, concurrency, loop, runner, workers);
     }
 
     @Provides
@@ -245,14 +273,23 @@ public class ObjectProviderModule {
     /**
      * Create a job loop
      *
+     * The loop is woken up when the storage notifies that jobs have become available
+     *
      * @param loopStrategy the loop strategy
+     * @param storage      the storage
      * @return the job loop
      */
     @Provides
     @Singleton
-    public PollingLoop createJobLoop(@NotNull LoopStrategy loopStrategy) {
-        final Interval pollingInterval = configuration.getPollingConfiguration().interval();
-        return new PollingLoop(loopStrategy, pollingInterval);
+    public PollingLoop createJobLoop(@NotNull LoopStrategy loopStrategy,
+                                     @NotNull Storage storage) {
+        final PollingConfiguration pollingConfiguration = configuration.getPollingConfiguration();
+        final PollingLoop loop = new PollingLoop(loopStrategy,
+            pollingConfiguration.minInterval(),
+            pollingConfiguration.maxInterval(),
+            pollingConfiguration.backoffFactor());
+        storage.subscribe(queue -> loop.wakeUp());
+        return loop;
     }
 
     /**
@@ -262,6 +299,7 @@ public class ObjectProviderModule {
      * @param clock            the clock
      * @param telemetryService the telemetry service
      * @param circuitBreaker   the circuit breaker
+     * @param lease            the lease to take on the claimed jobs
      * @return a new job picker
      */
     @Provides
@@ -269,8 +307,27 @@ public class ObjectProviderModule {
     public JobPicker createJobPicker(@NotNull final Storage storage,
                                      @NotNull final Clock clock,
                                      @NotNull final TelemetryService telemetryService,
-                                     @NotNull final CircuitBreaker circuitBreaker) {
-        return new JobPicker(storage, clock, telemetryService, circuitBreaker);
+                                     @NotNull final CircuitBreaker circuitBreaker,
+                                     @NotNull final JobLease lease) {
+        final PollingConfiguration pollingConfiguration = configuration.getPollingConfiguration();
+        final Integer prefetch = pollingConfiguration.prefetch();
+        final JobQueueScheduler scheduler = pollingConfiguration.fairQueues()
+            ? new JobQueueScheduler(storage, clock, pollingConfiguration.queueRefreshInterval(), lease)
+            : null;
+        final JobPickerConfiguration pickerConfiguration = new JobPickerConfiguration()
+            .scheduler(scheduler)
+            .lease(lease);
+        if (prefetch == 0) {
+            return new JobPicker(storage, clock, telemetryService, circuitBreaker, pickerConfiguration);
+        }
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(
+            prefetch,
+            pollingConfiguration.prefetchLowWaterMark(),
+            pollingConfiguration.prefetchMaxBytes(),
+            pollingConfiguration.prefetchMaxAge(),
+            clock
+        );
+        return new JobPicker(storage, clock, telemetryService, circuitBreaker, pickerConfiguration.buffer(buffer));
     }
 
     /**
@@ -315,13 +372,34 @@ public class ObjectProviderModule {
      *
      * @param processor the job processor
      * @param picker    the job picker
+     * @param workers   the worker pool
      * @return the job runner
      */
     @Provides
     @Singleton
     public JobRunner createJobRunner(@NotNull final JobProcessor processor,
-                                     @NotNull final JobPicker picker) {
-        return new JobRunner(Runnable::run, processor, picker);
+                                     @NotNull final JobPicker picker,
+                                     @NotNull final PollingWorkerPool workers) {
+        return new JobRunner(workers, processor, picker);
+    }
+
+    @Provides
+    @Singleton
+    public PollingWorkerPool createPollingWorkerPool() {
+        final PollingConfiguration pollingConfiguration = configuration.getPollingConfiguration();
+        final Integer workers = pollingConfiguration.workers();
+        final Integer maxInFlight = pollingConfiguration.maxInFlight();
+        // fall back to the strategy configured on the builder, like the other pools
+        final ThreadNamingStrategy threadNamingStrategy = pollingConfiguration.threadNaming() == null
+            ? configuration.getThreadNamingStrategy()
+            : pollingConfiguration.threadNaming();
+        if (maxInFlight > 0) {
+            return PollingWorkerPool.createInFlightPool(threadNamingStrategy, maxInFlight);
+        }
+        if (workers == 0) {
+            return new PollingWorkerPool();
+        }
+        return new PollingWorkerPool(threadNamingStrategy, workers, pollingConfiguration.handoffCapacity());
     }
 
     @Provides
@@ -338,7 +416,8 @@ public class ObjectProviderModule {
             mapper,
             telemetryService,
             encryptionService,
-            defaultTaskOptions
+            defaultTaskOptions,
+            configuration.getWriteBehindConfiguration()
         );
     }
 
@@ -367,8 +446,54 @@ public class ObjectProviderModule {
      */
     @Provides
     @Singleton
-    public PollingManager createPollingManager(@NotNull final PollingExecutionPool pool) {
-        return new PollingManager(pool);
+    public PollingManager createPollingManager(@NotNull final PollingExecutionPool pool,
+                                               @NotNull final JobHeartbeat heartbeat,
+                                               @NotNull final JobPicker picker,
+                                               @NotNull final TaskTimeoutScheduler timeoutScheduler,
+                                               @NotNull final JobExecutionContextEventBus eventBus) {
+        final PollingManagerConfiguration managerConfiguration = new PollingManagerConfiguration()
+            .heartbeat(heartbeat)
+            .picker(picker)
+            .timeoutScheduler(timeoutScheduler)
+            .eventBus(eventBus);
+        return new PollingManager(pool, managerConfiguration);
+    }
+
+    /**
+     * Create the lease this node takes on the jobs it claims
+     *
+     * @return the job lease
+     */
+    @Provides
+    @Singleton
+    public JobLease createJobLease() {
+        final PollingConfiguration pollingConfiguration = configuration.getPollingConfiguration();
+        final String nodeId = pollingConfiguration.nodeId() == null
+            ? createNodeId()
+            : pollingConfiguration.nodeId();
+        return new JobLease(nodeId, pollingConfiguration.leaseDuration());
+    }
+
+    /**
+     * Create the heartbeat that renews the lease on the jobs this node is executing
+     *
+     * @param storage the storage
+     * @param lease   the job lease
+     * @return the job heartbeat
+     */
+    @Provides
+    @Singleton
+    public JobHeartbeat createJobHeartbeat(@NotNull final Storage storage, @NotNull final JobLease lease) {
+        return new JobHeartbeat(storage, lease, configuration.getPollingConfiguration().heartbeatInterval());
+    }
+
+    private String createNodeId() {
+        final String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (UnknownHostException exception) {
+            return "doddle-" + suffix;
+        }
     }
 
     /**
@@ -399,13 +524,27 @@ public class ObjectProviderModule {
         @NotNull final JobEnqueueCommand jobEnqueueCommand,
         @NotNull final CronJobCommand cronJobCommand,
         @NotNull final JanitorCommand janitorCommand,
-        @NotNull final JobDeleteCommand jobDeleteCommand) {
+        @NotNull final JobDeleteCommand jobDeleteCommand,
+        @NotNull final Storage storage,
+        @NotNull final JobLease lease,
+        @NotNull final TelemetryService telemetryService) {
         final SchedulingConfiguration configuration = this.configuration.getSchedulingConfiguration();
+        final List<SchedulerCommand> commands = new ArrayList<>(asList(cronJobCommand, janitorCommand, jobDeleteCommand));
+        if (!storage.isDirectPick()) {
+            // the picker claims the due jobs itself when picking directly, so there is nothing to enqueue
+            commands.add(1, jobEnqueueCommand);
+        }
+        final SchedulingLeadership leadership = configuration.leaderElection()
+            ? new SchedulingLeadership(storage, lease.getOwner(), Duration.ofMillis(configuration.leaderLease().toMillis()))
+            : null;
         return new SchedulingManager(
             configuration.delay(),
             configuration.interval(),
             configuration.threadNaming(),
-            asList(cronJobCommand, jobEnqueueCommand, janitorCommand, jobDeleteCommand)
+            commands,
+            leadership,
+            configuration.commands(),
+            telemetryService
         );
     }
 
@@ -425,13 +564,25 @@ public class ObjectProviderModule {
     /**
      * Create the task executor
      *
+     * @param scheduler the task timeout scheduler
      * @return the task executor
      */
     @Provides
     @Singleton
-    public TaskExecutor createTaskExecutor() {
+    public TaskExecutor createTaskExecutor(@NotNull final TaskTimeoutScheduler scheduler) {
         final TaskDependencyResolver resolver = this.configuration.getTaskDependencyResolver();
-        return new TaskExecutor(resolver);
+        return new TaskExecutor(resolver, scheduler);
+    }
+
+    /**
+     * Create the scheduler that enforces the task timeouts
+     *
+     * @return the task timeout scheduler
+     */
+    @Provides
+    @Singleton
+    public TaskTimeoutScheduler createTaskTimeoutScheduler() {
+        return new TaskTimeoutScheduler();
     }
 
     /**
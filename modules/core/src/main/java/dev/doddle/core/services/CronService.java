@@ -33,20 +33,43 @@ import dev.doddle.common.support.NotNull;
 
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static com.cronutils.model.CronType.UNIX;
 import static java.time.ZonedDateTime.now;
+import static java.util.Collections.synchronizedMap;
 import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class CronService {
 
-    private final CronParser parser;
+    private static final int                        DEFAULT_CACHE_SIZE = 1024;
+    private final        CronParser                 parser;
+    private final        Map<String, Cron>          crons;
+    private final        Map<String, ExecutionTime> executionTimes;
 
-    public CronService(final CronType cronType) {
+    /**
+     * Create a new cron service
+     * The parsed expressions and their execution times are cached, evicting the least recently used
+     * once the cache is full
+     *
+     * @param cronType  the type of the cron expressions
+     * @param cacheSize the maximum number of expressions to cache
+     */
+    public CronService(final CronType cronType, final int cacheSize) {
         final CronDefinition definition = CronDefinitionBuilder.instanceDefinitionFor(
             requireNonNull(cronType, "cron type cannot be null")
         );
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("cacheSize must be greater than zero");
+        }
         this.parser = new CronParser(definition);
+        this.crons = createCache(cacheSize);
+        this.executionTimes = createCache(cacheSize);
+    }
+
+    public CronService(final CronType cronType) {
+        this(cronType, DEFAULT_CACHE_SIZE);
     }
 
     public CronService() {
@@ -54,11 +77,16 @@ public class CronService {
     }
 
     public Cron getForExpression(@NotNull final String expression) {
-        return this.parser.parse(
-            requireNonNull(expression, "expression cannot be null")
+        return this.crons.computeIfAbsent(
+            requireNonNull(expression, "expression cannot be null"),
+            this.parser::parse
         );
     }
 
+    public LocalDateTime nextExecutionTime(@NotNull final String expression) {
+        return this.nextExecutionTime(this.getForExpression(expression));
+    }
+
     public LocalDateTime nextExecutionTime(@NotNull final Cron cron) {
         final ZonedDateTime now = now();
         return this.nextExecutionTime(cron, now);
@@ -66,7 +94,7 @@ public class CronService {
 
     public LocalDateTime nextExecutionTime(@NotNull final Cron cron,
                                            @NotNull final ZonedDateTime date) {
-        final ExecutionTime executionTime = ExecutionTime.forCron(
+        final ExecutionTime executionTime = this.getExecutionTime(
             requireNonNull(cron, "cron cannot be null")
         );
         final ZonedDateTime nextExecutionTime = executionTime.nextExecution(
@@ -77,4 +105,17 @@ public class CronService {
         }
         return nextExecutionTime.toLocalDateTime();
     }
+
+    private ExecutionTime getExecutionTime(final Cron cron) {
+        return this.executionTimes.computeIfAbsent(cron.asString(), key -> ExecutionTime.forCron(cron));
+    }
+
+    private static <V> Map<String, V> createCache(final int maxSize) {
+        return synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 }
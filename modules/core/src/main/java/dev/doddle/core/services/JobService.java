@@ -24,15 +24,19 @@
 package dev.doddle.core.services;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
 import dev.doddle.core.engine.JobData;
 import dev.doddle.core.engine.JobDataMapper;
 import dev.doddle.core.engine.JobDescriptor;
 import dev.doddle.core.engine.JobEncryption;
-import dev.doddle.core.engine.crypto.EncryptionCredential;
 import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.enqueue.JobWriteBehindBuffer;
+import dev.doddle.core.engine.enqueue.PendingJob;
+import dev.doddle.core.engine.enqueue.WriteBehindConfiguration;
 import dev.doddle.core.engine.task.TaskDescriptor;
 import dev.doddle.core.engine.task.TaskOptions;
 import dev.doddle.core.engine.telemetry.events.JobCreatedEvent;
+import dev.doddle.core.engine.telemetry.events.JobsCreatedEvent;
 import dev.doddle.core.engine.time.Interval;
 import dev.doddle.core.engine.time.IntervalParser;
 import dev.doddle.core.exceptions.DoddleException;
@@ -46,9 +50,14 @@ import dev.doddle.storage.common.domain.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import static dev.doddle.core.engine.time.IntervalParser.createIntervalParser;
@@ -62,14 +71,17 @@ import static java.util.Arrays.asList;
 
 public class JobService {
 
-    private static final Logger            logger = LoggerFactory.getLogger(JobService.class);
-    private final        TaskService       taskService;
-    private final        JobDataMapper     mapper;
-    private final        Storage           storage;
-    private final        JobMessageService messageService;
-    private final        TelemetryService  telemetryService;
-    private final        TaskOptions       defaultTaskOptions;
-    private final        EncryptionService encryptionService;
+    private static final Logger               logger             = LoggerFactory.getLogger(JobService.class);
+    private static final int                  PURGE_BATCH_SIZE   = 1000;
+    private static final int                  ENQUEUE_BATCH_SIZE = 1000;
+    private final        TaskService          taskService;
+    private final        JobDataMapper        mapper;
+    private final        Storage              storage;
+    private final        JobMessageService    messageService;
+    private final        TelemetryService     telemetryService;
+    private final        TaskOptions          defaultTaskOptions;
+    private final        EncryptionService    encryptionService;
+    private final        JobWriteBehindBuffer writeBehind;
 
     /**
      * Create a new job service
@@ -86,6 +98,27 @@ public class JobService {
                       @NotNull final TelemetryService telemetryService,
                       @NotNull final EncryptionService encryptionService,
                       @NotNull final TaskOptions defaultTaskOptions) {
+        this(taskService, storage, mapper, telemetryService, encryptionService, defaultTaskOptions, null);
+    }
+
+    /**
+     * Create a new job service that can write the jobs enqueued asynchronously in batches
+     *
+     * @param taskService        the task service
+     * @param storage            the storage
+     * @param mapper             the job data mapper
+     * @param telemetryService   the telemetry service
+     * @param encryptionService  the encryption service
+     * @param defaultTaskOptions the default task options
+     * @param writeBehind        the write-behind configuration, or null to write asynchronous jobs immediately
+     */
+    public JobService(@NotNull final TaskService taskService,
+                      @NotNull final Storage storage,
+                      @NotNull final JobDataMapper mapper,
+                      @NotNull final TelemetryService telemetryService,
+                      @NotNull final EncryptionService encryptionService,
+                      @NotNull final TaskOptions defaultTaskOptions,
+                      @Nullable final WriteBehindConfiguration writeBehind) {
         this.taskService = requireNonNull(taskService, "taskService cannot be null");
         this.storage = requireNonNull(storage, "storage cannot be null");
         this.mapper = requireNonNull(mapper, "mapper cannot be null");
@@ -93,6 +126,7 @@ public class JobService {
         this.defaultTaskOptions = requireNonNull(defaultTaskOptions, "defaultTaskOptions cannot be null");
         this.telemetryService = requireNonNull(telemetryService, "telemetryService cannot be null");
         this.messageService = new JobMessageService(storage);
+        this.writeBehind = writeBehind == null ? null : new JobWriteBehindBuffer(writeBehind, this::write);
     }
 
     /**
@@ -155,6 +189,15 @@ public class JobService {
         });
     }
 
+    /**
+     * Write the jobs that are waiting to be written and stop accepting asynchronous jobs
+     */
+    public void close() {
+        if (this.writeBehind != null) {
+            this.writeBehind.close();
+        }
+    }
+
     /**
      * Count jobs
      *
@@ -200,6 +243,7 @@ public class JobService {
                 throw new DoddleException("Cannot delete a job that is currently executing");
             }
             storage.deleteJob(job);
+            deleteArguments(job);
         } catch (StorageException exception) {
             throw new DoddleException(exception);
         }
@@ -220,7 +264,36 @@ public class JobService {
             final IntervalParser parser = createIntervalParser();
             final long minutes = parser.parse(period, "m").toMinutes();
             final LocalDateTime date = now().minusMinutes(minutes);
-            storage.deleteAllJobs(date);
+            final int purged = mapper.isStoringArguments()
+                ? storage.purgeCompletedBefore(date, PURGE_BATCH_SIZE, jobs -> jobs.forEach(this::deleteArguments))
+                : storage.purgeCompletedBefore(date, PURGE_BATCH_SIZE);
+            logger.debug("Deleted {} jobs completed on or before {}", purged, date);
+        } catch (StorageException exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
+    /**
+     * Discard all the jobs matching a filter in a single operation
+     * Jobs that are executing, completed or already discarded are left as they are
+     *
+     * @param wizard the search filter
+     * @return the number of jobs discarded
+     */
+    public int discardAll(@NotNull final Function<FilterWizard, FilterWizard> wizard) {
+        return discardAll(wizard.apply(new FilterWizard()).build());
+    }
+
+    /**
+     * Discard all the jobs matching a filter in a single operation
+     * Jobs that are executing, completed or already discarded are left as they are
+     *
+     * @param filter the search filter
+     * @return the number of jobs discarded
+     */
+    public int discardAll(@NotNull final JobFilter filter) {
+        try {
+            return storage.discardJobs(requireNonNull(filter, "filter cannot be null"));
         } catch (StorageException exception) {
             throw new DoddleException(exception);
         }
@@ -260,6 +333,60 @@ public class JobService {
         return enqueueIn(definition);
     }
 
+    /**
+     * Enqueue many jobs at once
+     * Each queue and task is resolved once, and the jobs are written in batches with one telemetry event per
+     * batch. The jobs are consumed lazily, so a large number of jobs can be streamed without holding them all
+     *
+     * @param inputs the jobs to enqueue
+     * @return the number of jobs enqueued
+     */
+    public int enqueueAll(@NotNull final Iterable<Function<EnqueueWizard, EnqueueWizard>> inputs) {
+        requireNonNull(inputs, "inputs cannot be null");
+        final IntervalParser parser = createIntervalParser();
+        final Map<String, Queue> queues = new HashMap<>();
+        final Map<String, TaskDescriptor> tasks = new HashMap<>();
+        final List<Job> batch = new ArrayList<>(ENQUEUE_BATCH_SIZE);
+        int enqueued = 0;
+        for (final Function<EnqueueWizard, EnqueueWizard> input : inputs) {
+            final EnqueueWizard wizard = new EnqueueWizard(parser, defaultTaskOptions.timeout(), defaultTaskOptions.maxRetries());
+            final EnqueueDefinition definition = requireNonNull(input, "input cannot be null").apply(wizard).build();
+            final Queue queue = queues.computeIfAbsent(definition.getQueue(), this::getQueue);
+            final TaskDescriptor task = tasks.computeIfAbsent(definition.getHandler(), this::getTask);
+            batch.add(createJob(createJobDescriptor(definition, queue, task)));
+            if (batch.size() == ENQUEUE_BATCH_SIZE) {
+                enqueued += createJobs(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            enqueued += createJobs(batch);
+        }
+        return enqueued;
+    }
+
+    /**
+     * Enqueue a job without waiting for it to be written
+     * With write-behind enabled the job is buffered and written in a batch with other jobs, otherwise it is
+     * written immediately
+     *
+     * @param input the job to enqueue
+     * @return a future that is completed once the job has been written
+     */
+    public CompletableFuture<Job> enqueueAsync(@NotNull final Function<EnqueueWizard, EnqueueWizard> input) {
+        final IntervalParser parser = createIntervalParser();
+        final EnqueueWizard wizard = new EnqueueWizard(parser, defaultTaskOptions.timeout(), defaultTaskOptions.maxRetries());
+        final EnqueueDefinition definition = input.apply(wizard).build();
+        if (this.writeBehind == null) {
+            try {
+                return CompletableFuture.completedFuture(enqueueIn(definition));
+            } catch (RuntimeException exception) {
+                return CompletableFuture.failedFuture(exception);
+            }
+        }
+        return this.writeBehind.submit(definition);
+    }
+
     public Job enqueueIn(@NotNull final Function<EnqueueInWizard, EnqueueInWizard> input) {
         final IntervalParser parser = createIntervalParser();
         final EnqueueInWizard wizard = new EnqueueInWizard(parser, defaultTaskOptions.timeout(), defaultTaskOptions.maxRetries());
@@ -321,6 +448,35 @@ public class JobService {
         retry(id, parsed);
     }
 
+    /**
+     * Schedule all the jobs matching a filter to be immediately retried in a single operation
+     * Jobs that are executing or have completed successfully are left as they are
+     *
+     * @param wizard the search filter
+     * @return the number of jobs retried
+     */
+    public int retryAll(@NotNull final Function<FilterWizard, FilterWizard> wizard) {
+        return retryAll(wizard.apply(new FilterWizard()).build(), "0s");
+    }
+
+    /**
+     * Retry all the jobs matching a filter in a single operation
+     * Jobs that are executing or have completed successfully are left as they are
+     *
+     * @param filter the search filter
+     * @param period how long to snooze the jobs for
+     * @return the number of jobs retried
+     */
+    public int retryAll(@NotNull final JobFilter filter, @NotNull final String period) {
+        try {
+            final IntervalParser parser = createIntervalParser();
+            final LocalDateTime when = parser.parse(requireNonNull(period, "period cannot be null")).toDate();
+            return storage.retryJobs(requireNonNull(filter, "filter cannot be null"), when);
+        } catch (StorageException exception) {
+            throw new DoddleException(exception);
+        }
+    }
+
     /**
      * Search for jobs
      *
@@ -381,6 +537,7 @@ public class JobService {
         builder.tags(descriptor.getTags());
         builder.timeout(descriptor.getTimeout());
         builder.data(descriptor.getData());
+        builder.binaryData(descriptor.getBinaryData());
         builder.scheduledAt(descriptor.getScheduledAt());
         builder.name(descriptor.getName());
         builder.identifier(descriptor.getIdentifier());
@@ -398,8 +555,7 @@ public class JobService {
         }
 
         if (encryptionService.isEnabled()) {
-            final EncryptionCredential credential = encryptionService.getCurrentVersion();
-            final JobEncryption encryption = new JobEncryption(credential.getVersion());
+            final JobEncryption encryption = encryptionService.createEncryption();
             return new JobData(encryption, arguments);
         }
 
@@ -407,27 +563,108 @@ public class JobService {
     }
 
     private Job enqueueIn(@NotNull final JobDescriptor descriptor) {
+        final Job job = this.createJob(descriptor);
         try {
-            final Job job = this.createJob(descriptor);
             logger.debug("Enqueuing job  {} and scheduled for {}", job.getId(), job.getScheduledAt());
             final Job savedJob = this.storage.saveJob(job);
+            if (savedJob == null) {
+                // the job was not written, so nothing refers to its stored arguments
+                deleteArguments(job);
+            }
             this.telemetryService.dispatch(new JobCreatedEvent(savedJob));
             return savedJob;
         } catch (DoddleValidationException | StorageException | MapperException exception) {
+            deleteArguments(job);
             throw new DoddleException(exception);
         }
     }
 
     private Job enqueueIn(@NotNull final EnqueueDefinition definition) {
-        final Queue queue = requireNonNull(storage.getQueueByName(definition.getQueue()).orElse(null), format("Queue not found for the given name: %s", definition.getQueue()));
-        final TaskDescriptor task = requireNonNull(taskService.getByName(definition.getHandler()), format("Task not found for the given handler: %s", definition.getHandler()));
+        final Queue queue = getQueue(definition.getQueue());
+        final TaskDescriptor task = getTask(definition.getHandler());
+        return enqueueIn(createJobDescriptor(definition, queue, task));
+    }
+
+    private JobDescriptor createJobDescriptor(@NotNull final EnqueueDefinition definition,
+                                              @NotNull final Queue queue,
+                                              @NotNull final TaskDescriptor task) {
         final JobData data = createJobData(definition.getArguments());
-        final String json = mapper.convertToJson(data);
+        final String json = mapper.isBinary() ? null : mapper.convertToJson(data);
+        final byte[] bytes = mapper.isBinary() ? mapper.convertToBytes(data) : null;
 
         final IntervalParser parser = createIntervalParser();
         final Interval period = requireNonNullElse(definition.getPeriod(), parser.parse("0s"));
-        final JobDescriptor descriptor = new JobDescriptor(queue, definition.getIdentifier(), definition.getName(), task.getName(), json, period.toDate(), definition.getTags(), definition.getTimeout(), definition.getMaxRetries());
-        return enqueueIn(descriptor);
+        return new JobDescriptor(queue, definition.getIdentifier(), definition.getName(), task.getName(), json, bytes, period.toDate(), definition.getTags(), definition.getTimeout(), definition.getMaxRetries());
+    }
+
+    private int createJobs(@NotNull final List<Job> jobs) {
+        try {
+            final long started = System.nanoTime();
+            final List<Job> createdJobs = this.storage.createJobs(jobs);
+            final Duration duration = Duration.ofNanos(System.nanoTime() - started);
+            logger.debug("Enqueued {} jobs in {} ms", createdJobs.size(), duration.toMillis());
+            this.telemetryService.dispatch(new JobsCreatedEvent(createdJobs, duration));
+            return createdJobs.size();
+        } catch (StorageException exception) {
+            jobs.forEach(this::deleteArguments);
+            throw new DoddleException(exception);
+        }
+    }
+
+    /**
+     * Remove the arguments of a job that were moved to the argument store
+     * A failure only leaves the stored arguments behind, so it is logged rather than thrown
+     *
+     * @param job the job
+     */
+    private void deleteArguments(@NotNull final Job job) {
+        try {
+            mapper.deleteArguments(job.getData(), job.getBinaryData());
+        } catch (RuntimeException exception) {
+            logger.warn("Unable to delete the stored arguments of job {}", job.getId(), exception);
+        }
+    }
+
+    private Queue getQueue(@NotNull final String name) {
+        return requireNonNull(storage.getQueueByName(name).orElse(null), format("Queue not found for the given name: %s", name));
+    }
+
+    private TaskDescriptor getTask(@NotNull final String handler) {
+        return requireNonNull(taskService.getByName(handler), format("Task not found for the given handler: %s", handler));
+    }
+
+    private void write(@NotNull final List<PendingJob> pending) {
+        final Map<String, Queue> queues = new HashMap<>();
+        final List<Job> jobs = new ArrayList<>(pending.size());
+        final List<PendingJob> accepted = new ArrayList<>(pending.size());
+        for (final PendingJob job : pending) {
+            try {
+                final EnqueueDefinition definition = job.getDefinition();
+                final Queue queue = queues.computeIfAbsent(definition.getQueue(), this::getQueue);
+                final TaskDescriptor task = getTask(definition.getHandler());
+                jobs.add(createJob(createJobDescriptor(definition, queue, task)));
+                accepted.add(job);
+            } catch (RuntimeException exception) {
+                // only the invalid job fails, the rest of the batch is still written
+                job.getFuture().completeExceptionally(exception);
+            }
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+        final long started = System.nanoTime();
+        final List<Job> createdJobs;
+        try {
+            createdJobs = this.storage.createJobs(jobs);
+        } catch (StorageException exception) {
+            jobs.forEach(this::deleteArguments);
+            throw new DoddleException(exception);
+        }
+        final Duration duration = Duration.ofNanos(System.nanoTime() - started);
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).getFuture().complete(createdJobs.get(i));
+        }
+        this.telemetryService.dispatch(new JobsCreatedEvent(createdJobs, duration));
     }
 
     private void retry(@NotNull final String id, @NotNull final LocalDateTime time) {
@@ -65,7 +65,12 @@ public class QueueService {
 
     public Queue create(@NotNull final Function<QueueWizard, QueueWizard> input) {
         final QueueDefinition definition = input.apply(new QueueWizard()).build();
-        return save(new Queue(definition.getName(), definition.getPriority()));
+        return save(new Queue(
+            definition.getName(),
+            definition.getPriority(),
+            definition.getMaxConcurrency(),
+            definition.getWeight()
+        ));
     }
 
     public void delete(@NotNull final String id) {
@@ -155,6 +160,8 @@ public class QueueService {
         ).orElseThrow(DoddleException::new);
         queue.setName(definition.getName());
         queue.setPriority(definition.getPriority());
+        queue.setMaxConcurrency(definition.getMaxConcurrency());
+        queue.setWeight(definition.getWeight());
         return this.save(queue);
     }
 
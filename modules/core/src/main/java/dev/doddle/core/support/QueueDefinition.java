@@ -27,15 +27,31 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 
 public class QueueDefinition {
 
-    private final String name;
-    private final Float  priority;
+    private final String  name;
+    private final Float   priority;
+    private final Integer maxConcurrency;
+    private final Integer weight;
 
 
     public QueueDefinition(final String name,
                            final Float priority
+    ) {
+        this(name, priority, null, 1);
+    }
+
+    public QueueDefinition(final String name,
+                           final Float priority,
+                           final Integer maxConcurrency,
+                           final Integer weight
     ) {
         this.name = name;
         this.priority = priority;
+        this.maxConcurrency = maxConcurrency;
+        this.weight = weight;
+    }
+
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
     }
 
 
@@ -47,11 +63,17 @@ public class QueueDefinition {
         return priority;
     }
 
+    public Integer getWeight() {
+        return weight;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
             .append("name", name)
             .append("priority", priority)
+            .append("maxConcurrency", maxConcurrency)
+            .append("weight", weight)
             .toString();
     }
 
@@ -24,14 +24,17 @@
 package dev.doddle.core.support;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
 import dev.doddle.core.exceptions.DoddleValidationException;
 
 import static dev.doddle.core.support.Objects.requireNonNull;
 
 public class QueueWizard {
 
-    protected String name;
-    protected Float  priority;
+    protected String  name;
+    protected Float   priority;
+    protected Integer maxConcurrency;
+    protected Integer weight = 1;
 
     /**
      * Build a new enqueue definition
@@ -41,7 +44,9 @@ public class QueueWizard {
     public QueueDefinition build() {
         return new QueueDefinition(
             requireNonNull(name, "name cannot be null"),
-            requireNonNull(priority, "priority cannot be null")
+            requireNonNull(priority, "priority cannot be null"),
+            maxConcurrency,
+            weight
         );
     }
 
@@ -58,4 +63,32 @@ public class QueueWizard {
         throw new DoddleValidationException("Priority must be between 0 and 1");
     }
 
+    /**
+     * The maximum number of jobs from the queue that can execute at once across the cluster
+     *
+     * @param maxConcurrency the maximum concurrency, or null for no limit
+     * @return this
+     */
+    public QueueWizard maxConcurrency(@Nullable final Integer maxConcurrency) {
+        if (maxConcurrency != null && maxConcurrency <= 0) {
+            throw new DoddleValidationException("Max concurrency must be greater than zero");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * The share of the claimed jobs the queue receives relative to the other queues
+     *
+     * @param weight the weight
+     * @return this
+     */
+    public QueueWizard weight(@NotNull final Integer weight) {
+        if (requireNonNull(weight, "weight cannot be null") <= 0) {
+            throw new DoddleValidationException("Weight must be greater than zero");
+        }
+        this.weight = weight;
+        return this;
+    }
+
 }
@@ -37,6 +37,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static dev.doddle.core.engine.time.Interval.createInterval;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,7 +50,8 @@ class DoddleConfigurationBuilderTest {
         final DoddleConfigurationBuilder builder = new DoddleConfigurationBuilder();
         builder
             .scheduling(options -> {
-                options.interval("15s");
+                options.interval("15s")
+                    .command("delete", command -> command.interval("1h").dedicatedThread(true));
                 return options;
             })
             .ticker(new FakeTickerStrategy())
@@ -86,6 +88,8 @@ class DoddleConfigurationBuilderTest {
         assertEquals(5, configuration.getPollingConfiguration().concurrency());
         assertEquals(createInterval(100, MILLISECONDS), configuration.getPollingConfiguration().interval());
         assertEquals(createInterval(15, SECONDS), configuration.getSchedulingConfiguration().interval());
+        assertEquals(createInterval(1, HOURS), configuration.getSchedulingConfiguration().commands().get("delete").interval());
+        assertTrue(configuration.getSchedulingConfiguration().commands().get("delete").dedicatedThread());
         assertTrue(configuration.getTickerStrategy() instanceof FakeTickerStrategy);
         assertTrue(configuration.getTaskDependencyResolver() instanceof NoopTaskDependencyResolver);
         assertTrue(configuration.getThreadNamingStrategy() instanceof NoopThreadNamingStrategy);
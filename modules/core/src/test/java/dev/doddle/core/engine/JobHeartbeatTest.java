@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.storage.common.NoopStorageProvider;
+import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.StorageException;
+import dev.doddle.storage.common.domain.JobLease;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobHeartbeatTest {
+
+    private final JobLease lease = new JobLease("node-1", Duration.ofSeconds(30));
+
+    @DisplayName("it should periodically renew the lease until stopped")
+    @Test
+    void it_should_periodically_renew_the_lease_until_stopped() throws InterruptedException {
+        final CountDownLatch renewals = new CountDownLatch(3);
+        final JobHeartbeat heartbeat = new JobHeartbeat(new Storage(new NoopStorageProvider() {
+            @Override
+            public int renewLeases(final JobLease renewed) {
+                assertEquals("node-1", renewed.getOwner());
+                renewals.countDown();
+                return 1;
+            }
+        }), lease, Duration.ofMillis(10));
+        heartbeat.start();
+        try {
+            assertTrue(renewals.await(5, SECONDS));
+        } finally {
+            heartbeat.stop();
+        }
+    }
+
+    @DisplayName("it should keep renewing after the storage fails")
+    @Test
+    void it_should_keep_renewing_after_the_storage_fails() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final JobHeartbeat heartbeat = new JobHeartbeat(new Storage(new NoopStorageProvider() {
+            @Override
+            public int renewLeases(final JobLease renewed) {
+                attempts.incrementAndGet();
+                throw new StorageException("unavailable");
+            }
+        }), lease, Duration.ofSeconds(10));
+        heartbeat.renew();
+        heartbeat.renew();
+        assertEquals(2, attempts.get());
+    }
+
+}
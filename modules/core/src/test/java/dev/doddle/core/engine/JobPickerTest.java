@@ -28,16 +28,21 @@ import dev.doddle.core.engine.telemetry.TelemetryEvent;
 import dev.doddle.core.engine.telemetry.TelemetrySubscriber;
 import dev.doddle.core.engine.telemetry.events.JobSelectedEvent;
 import dev.doddle.core.engine.time.Clock;
+import dev.doddle.core.engine.time.Interval;
 import dev.doddle.core.engine.time.ticker.strategies.FakeTickerStrategy;
 import dev.doddle.core.services.TelemetryService;
+import dev.doddle.storage.common.NoopStorageProvider;
 import dev.doddle.storage.common.Storage;
 import dev.doddle.storage.common.domain.Job;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -52,7 +57,7 @@ class JobPickerTest {
         final TelemetryService telemetryService = mock(TelemetryService.class);
         when(storage.pickJob()).thenAnswer((answer) -> Optional.empty());
         final Clock clock = new Clock(new FakeTickerStrategy());
-        new JobPicker(storage, clock, telemetryService, circuitBreaker);
+        new JobPicker(storage, clock, telemetryService, circuitBreaker, new JobPickerConfiguration());
         verify(telemetryService, never()).dispatch(null);
     }
 
@@ -80,9 +85,44 @@ class JobPickerTest {
                 return true;
             }
 
-        })), circuitBreaker);
+        })), circuitBreaker, new JobPickerConfiguration());
         jobPicker.pick(job -> {
             assertTrue(job.isPresent());
         });
     }
+
+    @DisplayName("it should dispatch an enqueued event for a job picked directly")
+    @Test
+    void it_should_dispatch_an_enqueued_event_for_a_job_picked_directly() {
+        final Job picked = new Job();
+        picked.setId("123");
+        final Storage storage = new Storage(new NoopStorageProvider() {
+            @Override
+            public boolean isDirectPick() {
+                return true;
+            }
+
+            @Override
+            public Optional<Job> pickJob() {
+                return Optional.of(picked);
+            }
+        });
+        final List<String> events = new ArrayList<>();
+        final Clock clock = new Clock(new FakeTickerStrategy());
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(2, 3, new Interval(1, SECONDS), clock);
+        final JobPicker jobPicker = new JobPicker(storage, clock, new TelemetryService(singletonList(new TelemetrySubscriber() {
+            @Override
+            public void handle(TelemetryEvent event) {
+                events.add(event.name());
+            }
+
+            @Override
+            public boolean supports(final String name) {
+                return true;
+            }
+
+        })), circuitBreaker, new JobPickerConfiguration());
+        jobPicker.pick(job -> assertEquals(Optional.of(picked), job));
+        assertEquals(List.of("job.enqueued", "job.selected"), events);
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.core.engine.time.Clock;
+import dev.doddle.core.engine.time.ticker.strategies.FakeTickerStrategy;
+import dev.doddle.storage.common.domain.Job;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobPrefetchBufferTest {
+
+    @DisplayName("it should claim up to the capacity when empty")
+    @Test
+    void it_should_claim_up_to_the_capacity_when_empty() {
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(10, 2, 1024);
+        assertEquals(10, buffer.claimSize());
+        buffer.addAll(createJobs(5, 10));
+        assertEquals(0, buffer.claimSize());
+        assertEquals(5, buffer.size());
+        assertEquals(50, buffer.bytes());
+    }
+
+    @DisplayName("it should refill when dropping to the low water mark")
+    @Test
+    void it_should_refill_when_dropping_to_the_low_water_mark() {
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(10, 2, 1024);
+        buffer.addAll(createJobs(3, 10));
+        assertEquals(0, buffer.claimSize());
+        assertEquals("0", buffer.poll().orElseThrow().getId());
+        assertEquals(8, buffer.claimSize());
+        assertEquals(20, buffer.bytes());
+    }
+
+    @DisplayName("it should limit the claim size by the payload budget")
+    @Test
+    void it_should_limit_the_claim_size_by_the_payload_budget() {
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(10, 5, 100);
+        buffer.addAll(createJobs(2, 20));
+        assertEquals(3, buffer.claimSize());
+        buffer.addAll(createJobs(3, 20));
+        assertEquals(0, buffer.claimSize());
+    }
+
+    @DisplayName("it should reject the jobs that do not fit within the payload budget")
+    @Test
+    void it_should_reject_the_jobs_that_do_not_fit_within_the_payload_budget() {
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(10, 0, 50);
+        final List<Job> rejected = buffer.addAll(createJobs(4, 20));
+        assertEquals(2, buffer.size());
+        assertEquals(40, buffer.bytes());
+        assertEquals(List.of("2", "3"), rejected.stream().map(Job::getId).collect(Collectors.toList()));
+    }
+
+    @DisplayName("it should accept a job larger than the payload budget when empty")
+    @Test
+    void it_should_accept_a_job_larger_than_the_payload_budget_when_empty() {
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(10, 0, 50);
+        assertTrue(buffer.addAll(createJobs(1, 100)).isEmpty());
+        assertEquals(1, buffer.size());
+    }
+
+    @DisplayName("it should measure the payload in bytes")
+    @Test
+    void it_should_measure_the_payload_in_bytes() {
+        final Job job = new Job();
+        job.setData("é€😀");
+        job.setBinaryData(new byte[]{1, 2});
+        assertEquals(2 + 3 + 4 + 2, JobPrefetchBuffer.sizeOf(job));
+    }
+
+    @DisplayName("it should expire the jobs that waited too long")
+    @Test
+    void it_should_expire_the_jobs_that_waited_too_long() {
+        final Clock clock = new Clock(new FakeTickerStrategy());
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(10, 0, 1024, Duration.ofSeconds(5), clock);
+        buffer.addAll(createJobs(2, 10));
+        clock.advance(3000);
+        buffer.addAll(createJobs(1, 10));
+        assertTrue(buffer.expire().isEmpty());
+        clock.advance(2000);
+        assertEquals(2, buffer.expire().size());
+        assertEquals(1, buffer.size());
+        assertEquals(10, buffer.bytes());
+    }
+
+    @DisplayName("it should drain the buffer")
+    @Test
+    void it_should_drain_the_buffer() {
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(10, 0, 1024);
+        buffer.addAll(createJobs(3, 10));
+        assertEquals(3, buffer.drain().size());
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.bytes());
+    }
+
+    @DisplayName("it should fail to create a buffer")
+    @Test
+    void it_should_fail_to_create_a_buffer() {
+        assertThrows(IllegalArgumentException.class, () -> new JobPrefetchBuffer(0, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new JobPrefetchBuffer(5, 5, 100));
+        assertThrows(IllegalArgumentException.class, () -> new JobPrefetchBuffer(5, 1, 0));
+    }
+
+    @DisplayName("it should return nothing when empty")
+    @Test
+    void it_should_return_nothing_when_empty() {
+        final JobPrefetchBuffer buffer = new JobPrefetchBuffer(1, 0, 100);
+        assertTrue(buffer.isEmpty());
+        assertTrue(buffer.poll().isEmpty());
+    }
+
+    private List<Job> createJobs(final int count, final int size) {
+        return IntStream.range(0, count).mapToObj(index -> {
+            final Job job = new Job();
+            job.setId(String.valueOf(index));
+            job.setData("x".repeat(size));
+            return job;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.core.engine.time.Clock;
+import dev.doddle.storage.common.NoopStorageProvider;
+import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.Queue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobQueueSchedulerTest {
+
+    @DisplayName("it should share the claims between the queues by their weights")
+    @Test
+    void it_should_share_the_claims_between_the_queues_by_their_weights() {
+        final InMemoryStorageProvider provider = new InMemoryStorageProvider();
+        provider.add(createQueue("backfill", 1, null), 1000);
+        provider.add(createQueue("critical", 3, null), 1000);
+        final JobQueueScheduler scheduler = new JobQueueScheduler(new Storage(provider), new Clock(), Duration.ofMinutes(1));
+        final List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            jobs.addAll(scheduler.claim(4));
+        }
+        final Map<String, Long> counts = countByQueue(jobs);
+        assertEquals(40, jobs.size());
+        assertEquals(10, counts.get("backfill"));
+        assertEquals(30, counts.get("critical"));
+    }
+
+    @DisplayName("it should share the claims when claiming a single job at a time")
+    @Test
+    void it_should_share_the_claims_when_claiming_a_single_job_at_a_time() {
+        final InMemoryStorageProvider provider = new InMemoryStorageProvider();
+        provider.add(createQueue("backfill", 1, null), 1000);
+        provider.add(createQueue("critical", 2, null), 1000);
+        final JobQueueScheduler scheduler = new JobQueueScheduler(new Storage(provider), new Clock(), Duration.ofMinutes(1));
+        final List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            jobs.addAll(scheduler.claim(1));
+        }
+        final Map<String, Long> counts = countByQueue(jobs);
+        assertEquals(10, counts.get("backfill"));
+        assertEquals(20, counts.get("critical"));
+    }
+
+    @DisplayName("it should give the unused share to the other queues")
+    @Test
+    void it_should_give_the_unused_share_to_the_other_queues() {
+        final InMemoryStorageProvider provider = new InMemoryStorageProvider();
+        provider.add(createQueue("backfill", 1, null), 1000);
+        provider.add(createQueue("critical", 5, null), 2);
+        provider.add(createQueue("limited", 5, 1), 1000);
+        final JobQueueScheduler scheduler = new JobQueueScheduler(new Storage(provider), new Clock(), Duration.ofMinutes(1));
+        final List<Job> jobs = scheduler.claim(20);
+        final Map<String, Long> counts = countByQueue(jobs);
+        assertEquals(20, jobs.size());
+        assertEquals(2, counts.get("critical"));
+        assertEquals(1, counts.get("limited"));
+        assertEquals(17, counts.get("backfill"));
+    }
+
+    @DisplayName("it should claim nothing when every queue is empty")
+    @Test
+    void it_should_claim_nothing_when_every_queue_is_empty() {
+        final InMemoryStorageProvider provider = new InMemoryStorageProvider();
+        provider.add(createQueue("backfill", 1, null), 0);
+        provider.add(createQueue("critical", 3, null), 0);
+        final JobQueueScheduler scheduler = new JobQueueScheduler(new Storage(provider), new Clock(), Duration.ofMinutes(1));
+        assertTrue(scheduler.claim(10).isEmpty());
+        assertEquals(2, provider.picks);
+    }
+
+    private static Map<String, Long> countByQueue(final List<Job> jobs) {
+        return jobs.stream().collect(groupingBy(job -> job.getQueue().getName(), counting()));
+    }
+
+    private static Queue createQueue(final String name, final int weight, final Integer maxConcurrency) {
+        final Queue queue = new Queue(name, 0.5f, maxConcurrency, weight);
+        queue.setId(name);
+        return queue;
+    }
+
+    private static class InMemoryStorageProvider extends NoopStorageProvider {
+
+        private final List<Queue>                   queues    = new ArrayList<>();
+        private final Map<String, Integer>          available = new HashMap<>();
+        private final Map<String, Integer>          executing = new HashMap<>();
+        private       int                           picks     = 0;
+
+        void add(final Queue queue, final int jobs) {
+            queues.add(queue);
+            available.put(queue.getId(), jobs);
+            executing.put(queue.getId(), 0);
+        }
+
+        @Override
+        public List<Queue> getAllQueues() {
+            return queues;
+        }
+
+        @Override
+        public List<Job> pickJobs(final Queue queue, final int max) {
+            picks++;
+            int limit = Math.min(max, available.get(queue.getId()));
+            if (queue.getMaxConcurrency() != null) {
+                limit = Math.min(limit, queue.getMaxConcurrency() - executing.get(queue.getId()));
+            }
+            final List<Job> jobs = new ArrayList<>();
+            for (int i = 0; i < limit; i++) {
+                final Job job = new Job();
+                job.setId(UUID.randomUUID().toString());
+                job.setQueue(queue);
+                jobs.add(job);
+            }
+            available.merge(queue.getId(), -limit, Integer::sum);
+            executing.merge(queue.getId(), limit, Integer::sum);
+            return jobs;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.core.engine.enqueue.JobWriteBehindBuffer;
+import dev.doddle.core.engine.enqueue.PendingJob;
+import dev.doddle.core.engine.enqueue.WriteBehindConfiguration;
+import dev.doddle.core.exceptions.DoddleException;
+import dev.doddle.core.support.EnqueueDefinition;
+import dev.doddle.storage.common.builders.JobBuilder;
+import dev.doddle.storage.common.domain.Job;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobWriteBehindBufferTest {
+
+    private static EnqueueDefinition createDefinition(final String name) {
+        return new EnqueueDefinition(null, name, null, "default", "sayHello", emptyList(), 1000L, 0, emptyList());
+    }
+
+    private static void complete(final List<PendingJob> batch) {
+        for (final PendingJob pending : batch) {
+            final Job job = JobBuilder.newBuilder().name(pending.getDefinition().getName()).build();
+            pending.getFuture().complete(job);
+        }
+    }
+
+    @DisplayName("it should write the jobs in batches and complete their futures")
+    @Test
+    void it_should_write_the_jobs_in_batches_and_complete_their_futures() throws Exception {
+        final List<Integer> batches = new CopyOnWriteArrayList<>();
+        final JobWriteBehindBuffer buffer = new JobWriteBehindBuffer(
+            new WriteBehindConfiguration().batchSize(4).interval("50ms"),
+            batch -> {
+                batches.add(batch.size());
+                complete(batch);
+            }
+        );
+        final List<CompletableFuture<Job>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(buffer.submit(createDefinition("job-" + i)));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("job-" + i, futures.get(i).get(5, TimeUnit.SECONDS).getName());
+        }
+        assertEquals(10, batches.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batches.stream().allMatch(size -> size <= 4));
+        assertTrue(batches.size() < 10);
+        buffer.close();
+    }
+
+    @DisplayName("it should write the waiting jobs when closed and then reject new jobs")
+    @Test
+    void it_should_write_the_waiting_jobs_when_closed_and_then_reject_new_jobs() {
+        final List<String> written = Collections.synchronizedList(new ArrayList<>());
+        final JobWriteBehindBuffer buffer = new JobWriteBehindBuffer(
+            new WriteBehindConfiguration().batchSize(1000).interval("10s"),
+            batch -> {
+                batch.forEach(pending -> written.add(pending.getDefinition().getName()));
+                complete(batch);
+            }
+        );
+        final CompletableFuture<Job> first = buffer.submit(createDefinition("first"));
+        final CompletableFuture<Job> second = buffer.submit(createDefinition("second"));
+        buffer.close();
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(List.of("first", "second"), written);
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> buffer.submit(createDefinition("third")).get());
+        assertTrue(exception.getCause() instanceof DoddleException);
+    }
+
+    @DisplayName("it should fail the futures of a batch that could not be written")
+    @Test
+    void it_should_fail_the_futures_of_a_batch_that_could_not_be_written() {
+        final JobWriteBehindBuffer buffer = new JobWriteBehindBuffer(
+            new WriteBehindConfiguration().batchSize(2).interval("10ms"),
+            batch -> {
+                throw new DoddleException("storage unavailable");
+            }
+        );
+        final CompletableFuture<Job> future = buffer.submit(createDefinition("job"));
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals("storage unavailable", exception.getCause().getMessage());
+        buffer.close();
+    }
+
+}
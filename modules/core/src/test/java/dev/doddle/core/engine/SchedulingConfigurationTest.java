@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.core.engine.scheduling.SchedulingConfiguration;
+import dev.doddle.core.exceptions.DoddleValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulingConfigurationTest {
+
+    @DisplayName("it should configure a known command")
+    @Test
+    void it_should_configure_a_known_command() {
+        final SchedulingConfiguration configuration = new SchedulingConfiguration();
+        configuration.command("janitor", command -> command.interval("1m").catchUp(true));
+        assertTrue(configuration.commands().get("janitor").catchUp());
+        assertNull(configuration.commands().get("janitor").dedicatedThread());
+    }
+
+    @DisplayName("it should throw an exception because the command is unknown")
+    @Test
+    void it_should_throw_an_exception_because_the_command_is_unknown() {
+        final SchedulingConfiguration configuration = new SchedulingConfiguration();
+        final DoddleValidationException exception = assertThrows(DoddleValidationException.class,
+            () -> configuration.command("deletes", command -> command.interval("1h")));
+        assertEquals("Unknown command: deletes, expected one of [cron, janitor, delete, enqueue]", exception.getMessage());
+    }
+}
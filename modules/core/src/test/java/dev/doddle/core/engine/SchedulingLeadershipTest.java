@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine;
+
+import dev.doddle.core.engine.scheduling.SchedulingLeadership;
+import dev.doddle.core.engine.scheduling.SchedulingManager;
+import dev.doddle.core.engine.scheduling.commands.SchedulerCommand;
+import dev.doddle.core.engine.threadnaming.strategies.DefaultThreadNamingStrategy;
+import dev.doddle.core.engine.time.Interval;
+import dev.doddle.storage.common.NoopStorageProvider;
+import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.StorageException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulingLeadershipTest {
+
+    @DisplayName("it should only run the singleton commands on the leader")
+    @Test
+    void it_should_only_run_the_singleton_commands_on_the_leader() throws InterruptedException {
+        final AtomicBoolean elected = new AtomicBoolean(false);
+        final AtomicInteger singletonRuns = new AtomicInteger();
+        final CountDownLatch followerRuns = new CountDownLatch(3);
+        final CountDownLatch leaderRuns = new CountDownLatch(1);
+        final SchedulingLeadership leadership = new SchedulingLeadership(new Storage(new NoopStorageProvider() {
+            @Override
+            public boolean electLeader(final String nodeId, final Duration lease) {
+                return elected.get();
+            }
+        }), "node-1", Duration.ofSeconds(30));
+        final SchedulerCommand singleton = () -> {
+            singletonRuns.incrementAndGet();
+            leaderRuns.countDown();
+        };
+        final SchedulerCommand everywhere = new SchedulerCommand() {
+            @Override
+            public void execute() {
+                followerRuns.countDown();
+            }
+
+            @Override
+            public boolean isSingleton() {
+                return false;
+            }
+        };
+        final SchedulingManager manager = new SchedulingManager(
+            new Interval(0, MILLISECONDS),
+            new Interval(10, MILLISECONDS),
+            new DefaultThreadNamingStrategy("doddle-scheduling-test-%d"),
+            List.of(singleton, everywhere),
+            leadership
+        );
+        manager.start();
+        try {
+            assertTrue(followerRuns.await(5, SECONDS));
+            assertEquals(0, singletonRuns.get());
+            assertFalse(manager.isLeader());
+
+            elected.set(true);
+            assertTrue(leaderRuns.await(5, SECONDS));
+            assertTrue(manager.isLeader());
+        } finally {
+            manager.stop();
+        }
+    }
+
+    @DisplayName("it should step down when the storage fails")
+    @Test
+    void it_should_step_down_when_the_storage_fails() {
+        final AtomicBoolean available = new AtomicBoolean(true);
+        final AtomicInteger resignations = new AtomicInteger();
+        final SchedulingLeadership leadership = new SchedulingLeadership(new Storage(new NoopStorageProvider() {
+            @Override
+            public boolean electLeader(final String nodeId, final Duration lease) {
+                if (!available.get()) {
+                    throw new StorageException("unavailable");
+                }
+                return true;
+            }
+
+            @Override
+            public void resignLeader(final String nodeId) {
+                resignations.incrementAndGet();
+            }
+        }), "node-1", Duration.ofSeconds(30));
+        assertTrue(leadership.elect());
+        available.set(false);
+        assertFalse(leadership.elect());
+        assertFalse(leadership.isLeader());
+        leadership.resign();
+        assertEquals(0, resignations.get());
+
+        available.set(true);
+        assertTrue(leadership.elect());
+        leadership.resign();
+        assertEquals(1, resignations.get());
+        assertFalse(leadership.isLeader());
+    }
+
+}
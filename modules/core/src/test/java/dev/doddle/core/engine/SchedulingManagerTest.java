@@ -23,15 +23,110 @@
  */
 package dev.doddle.core.engine;
 
+import dev.doddle.core.engine.scheduling.SchedulerCommandConfiguration;
 import dev.doddle.core.engine.scheduling.SchedulingManager;
+import dev.doddle.core.engine.scheduling.commands.SchedulerCommand;
+import dev.doddle.core.engine.telemetry.TelemetryEvent;
+import dev.doddle.core.engine.telemetry.TelemetrySubscriber;
+import dev.doddle.core.engine.telemetry.events.SchedulerCommandExecutedEvent;
+import dev.doddle.core.engine.threadnaming.strategies.DefaultThreadNamingStrategy;
 import dev.doddle.core.engine.time.Interval;
+import dev.doddle.core.services.TelemetryService;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SchedulingManagerTest {
 
+    @DisplayName("it should not hold up a command on a dedicated thread while another command is running")
+    @Test
+    void it_should_not_hold_up_a_command_on_a_dedicated_thread_while_another_command_is_running() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch runs = new CountDownLatch(5);
+        final Set<String> executed = ConcurrentHashMap.newKeySet();
+        final SchedulerCommand slow = new NamedCommand("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final SchedulerCommand fast = new NamedCommand("fast", runs::countDown);
+        final TelemetryService telemetryService = new TelemetryService(new TelemetrySubscriber() {
+            @Override
+            public void handle(final TelemetryEvent event) {
+                executed.add(((SchedulerCommandExecutedEvent) event).getCommand());
+            }
+
+            @Override
+            public boolean supports(final String name) {
+                return "scheduler.command.executed".equals(name);
+            }
+        });
+        final SchedulingManager manager = new SchedulingManager(
+            new Interval(0, MILLISECONDS),
+            new Interval(1, SECONDS),
+            new DefaultThreadNamingStrategy("doddle-scheduling-test-%d"),
+            List.of(slow, fast),
+            null,
+            Map.of("fast", new SchedulerCommandConfiguration().interval("10ms").dedicatedThread(true)),
+            telemetryService
+        );
+        manager.start();
+        try {
+            assertTrue(runs.await(5, SECONDS));
+            assertTrue(executed.contains("fast"));
+            release.countDown();
+        } finally {
+            manager.stop();
+        }
+    }
+
+    @DisplayName("it should run a long running command on its own thread unless configured otherwise")
+    @Test
+    void it_should_run_a_long_running_command_on_its_own_thread_unless_configured_otherwise() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch runs = new CountDownLatch(5);
+        final SchedulerCommand slow = new NamedCommand("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final SchedulerCommand janitor = new NamedCommand("janitor", runs::countDown) {
+            @Override
+            public boolean isLongRunning() {
+                return true;
+            }
+        };
+        final SchedulingManager manager = new SchedulingManager(
+            new Interval(0, MILLISECONDS),
+            new Interval(1, SECONDS),
+            new DefaultThreadNamingStrategy("doddle-scheduling-test-%d"),
+            List.of(slow, janitor),
+            null,
+            Map.of("janitor", new SchedulerCommandConfiguration().interval("10ms")),
+            new TelemetryService()
+        );
+        manager.start();
+        try {
+            assertTrue(runs.await(5, SECONDS));
+            release.countDown();
+        } finally {
+            manager.stop();
+        }
+    }
+
     @Test
     void it_should_test_the_scheduler() {
         try {
@@ -71,4 +166,26 @@ class SchedulingManagerTest {
 
     }
 
-}
\ No newline at end of file
+    private static class NamedCommand implements SchedulerCommand {
+
+        private final String   name;
+        private final Runnable runnable;
+
+        NamedCommand(final String name, final Runnable runnable) {
+            this.name = name;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void execute() {
+            runnable.run();
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.crypto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.doddle.core.engine.JobEncryption;
+import dev.doddle.core.exceptions.DoddleException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptionServiceTest {
+
+    private static EncryptionService createService(final EncryptionKeyCache keys) {
+        return createService(keys, new AesEncryptionAdapter());
+    }
+
+    private static EncryptionService createService(final EncryptionKeyCache keys, final EncryptionAdapter adapter) {
+        final EncryptionStore store = new EncryptionStore();
+        store.put("v1", "password", true);
+        return new EncryptionService(true, store, adapter, keys);
+    }
+
+    @DisplayName("it should decrypt payloads encrypted with either algorithm")
+    @Test
+    void it_should_decrypt_payloads_encrypted_with_either_algorithm() {
+        final EncryptionService cbc = createService(new EncryptionKeyCache(4));
+        final EncryptionService gcm = createService(new EncryptionKeyCache(4), new AesGcmEncryptionAdapter());
+        final JobEncryption cbcEncryption = cbc.createEncryption();
+        final JobEncryption gcmEncryption = gcm.createEncryption();
+        assertEquals("AES/CBC/PKCS5Padding", cbcEncryption.getAlgorithm());
+        assertEquals("AES/GCM/NoPadding", gcmEncryption.getAlgorithm());
+
+        final byte[] fromCbc = cbc.encrypt("hello world", cbcEncryption);
+        final byte[] fromGcm = gcm.encrypt("hello world", gcmEncryption);
+        assertEquals("hello world", new String(gcm.decrypt(fromCbc, cbcEncryption), UTF_8));
+        assertEquals("hello world", new String(cbc.decrypt(fromGcm, gcmEncryption), UTF_8));
+    }
+
+    @DisplayName("it should reject a tampered value encrypted with AES-GCM")
+    @Test
+    void it_should_reject_a_tampered_value_encrypted_with_aes_gcm() {
+        final EncryptionService service = createService(new EncryptionKeyCache(4), new AesGcmEncryptionAdapter());
+        final JobEncryption encryption = service.createEncryption();
+        final byte[] encrypted = service.encrypt("hello world", encryption);
+        encrypted[encrypted.length - 1] ^= 1;
+        assertThrows(DoddleException.class, () -> service.decrypt(encrypted, encryption));
+    }
+
+    @DisplayName("it should encrypt and decrypt a buffer")
+    @Test
+    void it_should_encrypt_and_decrypt_a_buffer() {
+        final EncryptionService service = createService(new EncryptionKeyCache(4), new AesGcmEncryptionAdapter());
+        final JobEncryption encryption = service.createEncryption();
+        final ByteBuffer input = ByteBuffer.allocateDirect(1024);
+        for (int i = 0; i < 1024; i++) {
+            input.put((byte) i);
+        }
+        input.flip();
+        final ByteBuffer encrypted = service.encrypt(input, encryption);
+        assertEquals(12 + 1024 + 16, encrypted.remaining());
+        final ByteBuffer decrypted = service.decrypt(encrypted, encryption);
+        assertEquals(1024, decrypted.remaining());
+        for (int i = 0; i < 1024; i++) {
+            assertEquals((byte) i, decrypted.get());
+        }
+    }
+
+    @DisplayName("it should derive the key once and use a fresh initialisation vector for every value")
+    @Test
+    void it_should_derive_the_key_once_and_use_a_fresh_initialisation_vector_for_every_value() {
+        final EncryptionKeyCache keys = new EncryptionKeyCache(4);
+        final EncryptionService service = createService(keys);
+        final JobEncryption encryption = service.createEncryption();
+
+        final byte[] first = service.encrypt("hello world", encryption);
+        final byte[] second = service.encrypt("hello world", encryption);
+        assertNotEquals(new String(first, UTF_8), new String(second, UTF_8));
+        assertEquals("hello world", new String(service.decrypt(first, encryption), UTF_8));
+        assertEquals("hello world", new String(service.decrypt(second, encryption), UTF_8));
+
+        assertEquals(1, keys.getMisses());
+        assertEquals(3, keys.getHits());
+        assertEquals(0.75, keys.getHitRate());
+    }
+
+    @DisplayName("it should derive the same salt for a credential version on every node")
+    @Test
+    void it_should_derive_the_same_salt_for_a_credential_version_on_every_node() {
+        final EncryptionService first = createService(new EncryptionKeyCache(4), new AesGcmEncryptionAdapter());
+        final EncryptionService second = createService(new EncryptionKeyCache(4), new AesGcmEncryptionAdapter());
+        final byte[] salt = first.getCurrentVersion().getSalt();
+        assertEquals(16, salt.length);
+        assertArrayEquals(salt, second.getCurrentVersion().getSalt());
+        assertFalse(Arrays.equals(salt, new EncryptionCredential("v2", "password", true).getSalt()));
+
+        final JobEncryption encryption = first.createEncryption();
+        assertArrayEquals(salt, encryption.getSalt());
+        final byte[] encrypted = first.encrypt("hello world", encryption);
+        assertEquals("hello world", new String(second.decrypt(encrypted, encryption), UTF_8));
+    }
+
+    @DisplayName("it should decrypt a value encrypted with a key derived from its own salt")
+    @Test
+    void it_should_decrypt_a_value_encrypted_with_a_key_derived_from_its_own_salt() throws Exception {
+        final byte[] iv = "0123456789abcdef".getBytes(UTF_8);
+        final byte[] salt = "fedcba9876543210".getBytes(UTF_8);
+        final SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
+        final byte[] key = factory.generateSecret(new PBEKeySpec("password".toCharArray(), salt, 65556, 256)).getEncoded();
+        final Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+        final byte[] encrypted = cipher.doFinal("hello world".getBytes(UTF_8));
+
+        final EncryptionKeyCache keys = new EncryptionKeyCache(4);
+        final EncryptionService service = createService(keys);
+        final JobEncryption encryption = new ObjectMapper().readValue(
+            new ObjectMapper().writeValueAsString(new JobEncryption(iv, salt, "v1")).replace(",\"format\":1", ""),
+            JobEncryption.class
+        );
+        assertEquals(JobEncryption.FORMAT_SALTED, encryption.getFormat());
+        assertEquals("hello world", new String(service.decrypt(encrypted, encryption), UTF_8));
+        assertEquals(0, keys.size());
+    }
+
+    @DisplayName("it should evict the least recently used keys")
+    @Test
+    void it_should_evict_the_least_recently_used_keys() {
+        final EncryptionKeyCache keys = new EncryptionKeyCache(1);
+        keys.get(new EncryptionCredential("v1", "password", false));
+        keys.get(new EncryptionCredential("v2", "password", false));
+        keys.get(new EncryptionCredential("v1", "password", false));
+        assertEquals(1, keys.size());
+        assertEquals(3, keys.getMisses());
+        keys.clear();
+        assertEquals(0, keys.size());
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.logger;
+
+import dev.doddle.core.engine.JobExecutionContextEventBus;
+import dev.doddle.storage.common.NoopStorageProvider;
+import dev.doddle.storage.common.Storage;
+import dev.doddle.storage.common.builders.JobBuilder;
+import dev.doddle.storage.common.builders.JobMessageBuilder;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.JobMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobLoggerBufferTest {
+
+    private static JobMessage createMessage(final String message) {
+        return JobMessageBuilder.newBuilder().message(message).level(JobLoggerLevel.INFO.name()).build();
+    }
+
+    private static int count(final List<Map<Job, List<JobMessage>>> batches) {
+        return batches.stream()
+            .flatMap(batch -> batch.values().stream())
+            .mapToInt(List::size)
+            .sum();
+    }
+
+    @DisplayName("it should write the messages of many jobs in batches")
+    @Test
+    void it_should_write_the_messages_of_many_jobs_in_batches() {
+        final List<Map<Job, List<JobMessage>>> batches = new CopyOnWriteArrayList<>();
+        final JobLoggerBuffer buffer = new JobLoggerBuffer(
+            new JobLoggerBufferConfiguration().batchSize(4).interval("50ms"),
+            batches::add
+        );
+        final Job first = JobBuilder.newBuilder().name("first").build();
+        final Job second = JobBuilder.newBuilder().name("second").build();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.submit(i % 2 == 0 ? first : second, createMessage("message " + i)));
+        }
+        assertTrue(buffer.flush());
+        assertEquals(10, count(batches));
+        assertTrue(batches.size() < 10);
+        for (final Map<Job, List<JobMessage>> batch : batches) {
+            assertTrue(batch.values().stream().mapToInt(List::size).sum() <= 4);
+        }
+        buffer.close();
+    }
+
+    @DisplayName("it should keep the order of the messages of a job")
+    @Test
+    void it_should_keep_the_order_of_the_messages_of_a_job() {
+        final List<Map<Job, List<JobMessage>>> batches = new CopyOnWriteArrayList<>();
+        final JobLoggerBuffer buffer = new JobLoggerBuffer(new JobLoggerBufferConfiguration(), batches::add);
+        final Job job = JobBuilder.newBuilder().name("job").build();
+        for (int i = 0; i < 100; i++) {
+            buffer.submit(job, createMessage("message " + i));
+        }
+        buffer.close();
+        int index = 0;
+        for (final Map<Job, List<JobMessage>> batch : batches) {
+            for (final JobMessage message : batch.get(job)) {
+                assertEquals("message " + index++, message.getMessage());
+            }
+        }
+        assertEquals(100, index);
+    }
+
+    @DisplayName("it should drop messages when the buffer is full")
+    @Test
+    void it_should_drop_messages_when_the_buffer_is_full() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Map<Job, List<JobMessage>>> batches = new CopyOnWriteArrayList<>();
+        final JobLoggerBuffer buffer = new JobLoggerBuffer(
+            new JobLoggerBufferConfiguration().capacity(2).batchSize(1).policy(JobLoggerBufferPolicy.DROP),
+            batch -> {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                batches.add(batch);
+            }
+        );
+        final Job job = JobBuilder.newBuilder().name("job").build();
+        assertTrue(buffer.submit(job, createMessage("first")));
+        // the writer is now stuck on the first message, so the buffer can only hold two more
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(buffer.submit(job, createMessage("second")));
+        assertTrue(buffer.submit(job, createMessage("third")));
+        assertFalse(buffer.submit(job, createMessage("fourth")));
+        assertEquals(1, buffer.getDropped());
+        release.countDown();
+        buffer.close();
+        assertEquals(3, count(batches));
+    }
+
+    @DisplayName("it should not accept messages when closed")
+    @Test
+    void it_should_not_accept_messages_when_closed() {
+        final JobLoggerBuffer buffer = new JobLoggerBuffer(new JobLoggerBufferConfiguration(), batch -> {
+        });
+        buffer.close();
+        assertFalse(buffer.submit(JobBuilder.newBuilder().name("job").build(), createMessage("message")));
+        assertTrue(buffer.flush());
+    }
+
+    @DisplayName("it should write the waiting messages when the event bus is closed")
+    @Test
+    void it_should_write_the_waiting_messages_when_the_event_bus_is_closed() {
+        final List<Map<Job, List<JobMessage>>> batches = new CopyOnWriteArrayList<>();
+        final JobLoggerBuffer buffer = new JobLoggerBuffer(
+            new JobLoggerBufferConfiguration().batchSize(100).interval("1m"),
+            batches::add
+        );
+        final JobExecutionContextEventBus eventBus = new JobExecutionContextEventBus(new Storage(new NoopStorageProvider()), buffer);
+        final Job job = JobBuilder.newBuilder().name("job").build();
+        for (int i = 0; i < 3; i++) {
+            eventBus.emit(job, new JobLoggerMessageEvent(JobLoggerLevel.INFO.name(), "message " + i));
+        }
+        eventBus.close();
+        assertEquals(3, count(batches));
+        assertFalse(buffer.submit(job, createMessage("message")));
+    }
+
+}
@@ -107,6 +107,30 @@ class JobLoggerMessageFormatterTest {
         assertEquals("Message: Message[content='hello']", formatted.getMessage());
     }
 
+    @DisplayName("it should format nested arrays")
+    @Test
+    void it_should_format_nested_arrays() {
+        JobLoggerMessageFormatter formatter = new JobLoggerMessageFormatter();
+        Object[] inner = new Object[]{"a", "b"};
+        Object[] outer = new Object[]{inner, inner, new int[]{1, 2}};
+        JobLoggerMessageEvent formatted = formatter.format("INFO", "Values: {}", (Object) outer);
+        assertEquals("Values: [[a, b], [a, b], [1, 2]]", formatted.getMessage());
+        Object[] cycle = new Object[2];
+        cycle[0] = "a";
+        cycle[1] = cycle;
+        formatted = formatter.format("INFO", "Values: {}", (Object) cycle);
+        assertEquals("Values: [a, [...]]", formatted.getMessage());
+    }
+
+    @DisplayName("it should reuse the formatter for many messages")
+    @Test
+    void it_should_reuse_the_formatter_for_many_messages() {
+        JobLoggerMessageFormatter formatter = new JobLoggerMessageFormatter();
+        assertEquals("Hello world", formatter.format("INFO", "Hello {}", "world").getMessage());
+        assertEquals("Goodbye moon and sun", formatter.format("INFO", "Goodbye {} and {}", "moon", "sun").getMessage());
+        assertEquals("Escaped {} and moon", formatter.format("INFO", "Escaped \\{} and {}", "moon").getMessage());
+    }
+
     @DisplayName("it should format multiple parameters")
     @Test
     void it_should_format_multiple_parameters() {
@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.logger;
+
+import dev.doddle.core.exceptions.DoddleValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JobLoggerTest {
+
+    @DisplayName("it should format messages with any number of arguments")
+    @Test
+    void it_should_format_messages_with_any_number_of_arguments() {
+        final List<JobLoggerMessageEvent> events = new ArrayList<>();
+        final JobLogger logger = new JobLogger(JobLoggerLevel.DEBUG, events::add);
+        logger.info("Hello");
+        logger.info("Hello {}", "world");
+        logger.info("Hello {} and {}", "world", "moon");
+        logger.info("Hello {}, {} and {}", "world", "moon", "sun");
+        logger.info("Hello {}", (Object[]) new String[]{"world"});
+        assertEquals("Hello", events.get(0).getMessage());
+        assertEquals("Hello world", events.get(1).getMessage());
+        assertEquals("Hello world and moon", events.get(2).getMessage());
+        assertEquals("Hello world, moon and sun", events.get(3).getMessage());
+        assertEquals("Hello world", events.get(4).getMessage());
+        assertEquals("INFO", events.get(0).getLevel());
+    }
+
+    @DisplayName("it should take the throwable from the last argument")
+    @Test
+    void it_should_take_the_throwable_from_the_last_argument() {
+        final List<JobLoggerMessageEvent> events = new ArrayList<>();
+        final JobLogger logger = new JobLogger(JobLoggerLevel.DEBUG, events::add);
+        logger.error("Failed", new DoddleValidationException("Oops"));
+        logger.error("Failed {}", "job", new DoddleValidationException("Oops"));
+        assertEquals("Failed", events.get(0).getMessage());
+        assertTrue(events.get(0).getThrowable() instanceof DoddleValidationException);
+        assertEquals("Failed job", events.get(1).getMessage());
+        assertEquals(1, events.get(1).getArguments().length);
+        assertTrue(events.get(1).getThrowable() instanceof DoddleValidationException);
+    }
+
+    @DisplayName("it should ignore messages below the level")
+    @Test
+    void it_should_ignore_messages_below_the_level() {
+        final List<JobLoggerMessageEvent> events = new ArrayList<>();
+        final JobLogger logger = new JobLogger(JobLoggerLevel.ERROR, events::add);
+        logger.debug("Hello {}", "world");
+        logger.info("Hello {} and {}", "world", "moon");
+        logger.error("Hello {}", "world");
+        assertEquals(1, events.size());
+        assertEquals("ERROR", events.get(0).getLevel());
+    }
+
+    @DisplayName("it should format a message logged while formatting another one")
+    @Test
+    void it_should_format_a_message_logged_while_formatting_another_one() {
+        final List<JobLoggerMessageEvent> events = new ArrayList<>();
+        final JobLogger logger = new JobLogger(JobLoggerLevel.DEBUG, events::add);
+        final Object argument = new Object() {
+            @Override
+            public String toString() {
+                logger.debug("Inner {}", "message");
+                return "outer";
+            }
+        };
+        logger.info("Hello {} and {}", argument, "moon");
+        assertEquals("Inner message", events.get(0).getMessage());
+        assertEquals("Hello outer and moon", events.get(1).getMessage());
+    }
+
+    @DisplayName("it should not allocate when the level is disabled")
+    @Test
+    void it_should_not_allocate_when_the_level_is_disabled() {
+        final com.sun.management.ThreadMXBean threads = getThreads();
+        final JobLogger logger = new JobLogger(JobLoggerLevel.ERROR, event -> fail("message should not be logged"));
+        final long allocated = measure(threads, () -> {
+            logger.debug("Hello {}", "world");
+            logger.info("Hello {} and {}", "world", "moon");
+        });
+        // a single array per call would be well over a hundred kilobytes
+        assertTrue(allocated < 16384, "allocated " + allocated + " bytes");
+    }
+
+    @DisplayName("it should allocate no more than building the events by hand when the level is enabled")
+    @Test
+    void it_should_allocate_no_more_than_building_the_events_by_hand_when_the_level_is_enabled() {
+        final com.sun.management.ThreadMXBean threads = getThreads();
+        final JobLoggerMessageEvent[] sink = new JobLoggerMessageEvent[1];
+        final JobLogger logger = new JobLogger(JobLoggerLevel.DEBUG, event -> sink[0] = event);
+        // read from an array so the compiler cannot fold the messages built by hand into constants
+        final String[] words = {"world", "moon", "sun"};
+        // the message, the arguments and the event are the least any logger has to allocate
+        final long[][] allocations = {
+            {
+                measure(threads, () -> logger.info("Hello world")),
+                measure(threads, () -> sink[0] = new JobLoggerMessageEvent("INFO", "Hello world"))
+            },
+            {
+                measure(threads, () -> logger.info("Hello {}", words[0])),
+                measure(threads, () -> sink[0] = new JobLoggerMessageEvent("INFO", "Hello " + words[0], new Object[]{words[0]}, null))
+            },
+            {
+                measure(threads, () -> logger.info("Hello {} and {}", words[0], words[1])),
+                measure(threads, () -> sink[0] = new JobLoggerMessageEvent("INFO", "Hello " + words[0] + " and " + words[1], new Object[]{words[0], words[1]}, null))
+            },
+            {
+                measure(threads, () -> logger.info("Hello {}, {} and {}", words[0], words[1], words[2])),
+                measure(threads, () -> sink[0] = new JobLoggerMessageEvent("INFO", "Hello " + words[0] + ", " + words[1] + " and " + words[2], words.clone(), null))
+            }
+        };
+        assertEquals("Hello world, moon and sun", sink[0].getMessage());
+        for (int arguments = 0; arguments < allocations.length; arguments++) {
+            final long allocated = allocations[arguments][0];
+            final long baseline = allocations[arguments][1];
+            // leave room for the measurement itself, a copied buffer or a boxed array would double the cost
+            assertTrue(allocated <= baseline + baseline / 4 + 16384,
+                "allocated " + allocated + " bytes for " + arguments + " arguments, " + baseline + " bytes by hand");
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean getThreads() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Measure the bytes allocated by the current thread to run a call ten thousand times
+     * The call is run once first so loading classes and creating the formatter is not counted
+     *
+     * @param threads the thread bean
+     * @param call    the call
+     * @return the number of bytes
+     */
+    private static long measure(final com.sun.management.ThreadMXBean threads, final Runnable call) {
+        call.run();
+        final long id = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 10000; i++) {
+            call.run();
+        }
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+}
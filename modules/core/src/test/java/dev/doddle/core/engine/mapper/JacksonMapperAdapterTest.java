@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.mapper;
+
+import dev.doddle.core.engine.JobArguments;
+import dev.doddle.core.engine.JobData;
+import dev.doddle.core.engine.JobDataMapper;
+import dev.doddle.core.engine.JobEncryption;
+import dev.doddle.core.engine.crypto.AesEncryptionAdapter;
+import dev.doddle.core.engine.crypto.EncryptionKeyCache;
+import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.crypto.EncryptionStore;
+import dev.doddle.core.engine.payload.ArgumentStore;
+import dev.doddle.core.engine.payload.FileSystemArgumentStore;
+import dev.doddle.core.engine.payload.PayloadConfiguration;
+import dev.doddle.core.exceptions.DoddleException;
+import dev.doddle.core.exceptions.DoddleValidationException;
+import dev.doddle.core.exceptions.MapperException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static dev.doddle.core.support.Argument.argument;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonMapperAdapterTest {
+
+    private static EncryptionService createService(final AtomicInteger decryptions) {
+        final EncryptionStore store = new EncryptionStore();
+        store.put("v1", "password", true);
+        return new EncryptionService(true, store, new AesEncryptionAdapter(), new EncryptionKeyCache(4)) {
+            @Override
+            public byte[] decrypt(final byte[] bytes, final JobEncryption parameters) {
+                decryptions.incrementAndGet();
+                return super.decrypt(bytes, parameters);
+            }
+        };
+    }
+
+    @DisplayName("it should only decrypt an argument when it is first accessed")
+    @Test
+    void it_should_only_decrypt_an_argument_when_it_is_first_accessed() {
+        final AtomicInteger decryptions = new AtomicInteger();
+        final EncryptionService service = createService(decryptions);
+        final JacksonMapperAdapter adapter = new JacksonMapperAdapter(service);
+        final JobData data = new JobData(service.createEncryption(), List.of(
+            argument("secret", "hello world", true),
+            argument("other", "another secret", true),
+            argument("count", 10)
+        ));
+
+        final JobArguments arguments = adapter.convertToArguments(adapter.convertToJson(data));
+        assertEquals(3, arguments.size());
+        assertEquals(0, decryptions.get());
+
+        assertEquals(10, arguments.get("count").asInt());
+        assertEquals(0, decryptions.get());
+
+        assertEquals("hello world", arguments.get("secret").asString());
+        assertEquals("hello world", arguments.get("secret").asString());
+        assertEquals(1, decryptions.get());
+
+        assertNull(arguments.get("missing").asString());
+        assertFalse(arguments.has("missing"));
+    }
+
+    @DisplayName("it should read arguments written without encryption")
+    @Test
+    void it_should_read_arguments_written_without_encryption() {
+        final JacksonMapperAdapter adapter = new JacksonMapperAdapter(createService(new AtomicInteger()));
+        final String json = "{\"arguments\":[{\"value\":\"true\",\"name\":\"enabled\",\"encrypted\":false,\"extra\":{\"a\":[1]}}],\"encryption\":null}";
+        final JobArguments arguments = adapter.convertToArguments(json);
+        assertTrue(arguments.get("enabled").asBoolean());
+        assertEquals(0, adapter.convertToArguments("").size());
+    }
+
+    @DisplayName("it should fail to access an encrypted argument when encryption is disabled")
+    @Test
+    void it_should_fail_to_access_an_encrypted_argument_when_encryption_is_disabled() {
+        final EncryptionService enabled = createService(new AtomicInteger());
+        final JobData data = new JobData(enabled.createEncryption(), List.of(argument("secret", "hello world", true)));
+        final String json = new JacksonMapperAdapter(enabled).convertToJson(data);
+
+        final EncryptionService disabled = new EncryptionService(false, new EncryptionStore(), new AesEncryptionAdapter(), new EncryptionKeyCache(4));
+        final JobArguments arguments = new JacksonMapperAdapter(disabled).convertToArguments(json);
+        assertTrue(arguments.has("secret"));
+        assertThrows(DoddleException.class, () -> arguments.get("secret"));
+    }
+
+    @DisplayName("it should fail to read an encrypted argument without the encryption parameters")
+    @Test
+    void it_should_fail_to_read_an_encrypted_argument_without_the_encryption_parameters() {
+        final JacksonMapperAdapter adapter = new JacksonMapperAdapter(createService(new AtomicInteger()));
+        final String json = "{\"arguments\":[{\"value\":\"c2VjcmV0\",\"name\":\"secret\",\"encrypted\":true}]}";
+        final MapperException exception = assertThrows(MapperException.class, () -> adapter.convertToArguments(json));
+        assertTrue(exception.getMessage().contains("secret"));
+    }
+
+    @DisplayName("it should compress an argument over the threshold")
+    @Test
+    void it_should_compress_an_argument_over_the_threshold() {
+        final EncryptionService service = createService(new AtomicInteger());
+        final JacksonMapperAdapter adapter = new JacksonMapperAdapter(service, new PayloadConfiguration().threshold(1024));
+        final String report = "id,name,total\n".repeat(10000);
+        final JobData data = new JobData(service.createEncryption(), List.of(
+            argument("report", report),
+            argument("secret", report, true),
+            argument("small", "hello world")
+        ));
+
+        final String json = adapter.convertToJson(data);
+        assertTrue(json.length() < report.length() / 10);
+        assertTrue(json.contains("\"value\":\"hello world\""));
+
+        final JobArguments arguments = adapter.convertToArguments(json);
+        assertEquals(report, arguments.get("report").asString());
+        assertEquals(report, arguments.get("secret").asString());
+        assertEquals("hello world", arguments.get("small").asString());
+        assertEquals(report, adapter.convertToObject(json).getArguments().get(1).getValue());
+    }
+
+    @DisplayName("it should move an argument over the threshold to the store and fetch it when accessed")
+    @Test
+    void it_should_move_an_argument_over_the_threshold_to_the_store_and_fetch_it_when_accessed(@TempDir final Path directory) {
+        final AtomicInteger fetches = new AtomicInteger();
+        final FileSystemArgumentStore files = new FileSystemArgumentStore(directory);
+        final ArgumentStore store = new ArgumentStore() {
+            @Override
+            public String put(final byte[] data) {
+                return files.put(data);
+            }
+
+            @Override
+            public byte[] get(final String reference) {
+                fetches.incrementAndGet();
+                return files.get(reference);
+            }
+
+            @Override
+            public void delete(final String reference) {
+                files.delete(reference);
+            }
+        };
+        final EncryptionService service = createService(new AtomicInteger());
+        final JacksonMapperAdapter adapter = new JacksonMapperAdapter(service, new PayloadConfiguration().threshold(1024).store(store));
+        final String ids = "1234567890,".repeat(5000);
+        final String json = adapter.convertToJson(new JobData(null, List.of(argument("ids", ids), argument("count", 5000))));
+        assertTrue(json.contains("\"reference\""));
+        assertTrue(json.length() < 200);
+
+        final JobArguments arguments = adapter.convertToArguments(json);
+        assertEquals(5000, arguments.get("count").asInt());
+        assertEquals(0, fetches.get());
+        assertEquals(ids, arguments.get("ids").asString());
+        assertEquals(ids, arguments.get("ids").asString());
+        assertEquals(1, fetches.get());
+
+        assertThrows(DoddleValidationException.class, () -> files.get("../../etc/passwd"));
+    }
+
+    @DisplayName("it should delete the arguments moved to the store")
+    @Test
+    void it_should_delete_the_arguments_moved_to_the_store(@TempDir final Path directory) throws Exception {
+        final FileSystemArgumentStore store = new FileSystemArgumentStore(directory);
+        final EncryptionService service = createService(new AtomicInteger());
+        final JobDataMapper mapper = new JobDataMapper(new JacksonMapperAdapter(service, new PayloadConfiguration().threshold(1024).store(store)));
+        assertTrue(mapper.isStoringArguments());
+        final String json = mapper.convertToJson(new JobData(null, List.of(argument("ids", "1234567890,".repeat(5000)), argument("count", 5000))));
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+
+        assertEquals(1, mapper.deleteArguments(json, null));
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        assertEquals(0, new JobDataMapper(new JacksonMapperAdapter(service)).deleteArguments(json, null));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.mapper;
+
+import dev.doddle.core.engine.JobArguments;
+import dev.doddle.core.engine.JobData;
+import dev.doddle.core.engine.crypto.AesEncryptionAdapter;
+import dev.doddle.core.engine.crypto.EncryptionKeyCache;
+import dev.doddle.core.engine.crypto.EncryptionService;
+import dev.doddle.core.engine.crypto.EncryptionStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static dev.doddle.core.support.Argument.argument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmileMapperAdapterTest {
+
+    private static EncryptionService createService() {
+        final EncryptionStore store = new EncryptionStore();
+        store.put("v1", "password", true);
+        return new EncryptionService(true, store, new AesEncryptionAdapter(), new EncryptionKeyCache(4));
+    }
+
+    @DisplayName("it should write a smaller payload than JSON and read it back")
+    @Test
+    void it_should_write_a_smaller_payload_than_json_and_read_it_back() {
+        final EncryptionService service = createService();
+        final SmileMapperAdapter adapter = new SmileMapperAdapter(service);
+        final JobData data = new JobData(service.createEncryption(), List.of(
+            argument("secret", "a".repeat(300), true),
+            argument("count", 10)
+        ));
+
+        final byte[] bytes = adapter.convertToBytes(data);
+        assertTrue(SmileMapperAdapter.isSmile(bytes));
+        assertTrue(bytes.length < adapter.convertToJson(data).getBytes(UTF_8).length);
+
+        final JobArguments arguments = adapter.convertToArguments(bytes);
+        assertEquals("a".repeat(300), arguments.get("secret").asString());
+        assertEquals(10, arguments.get("count").asInt());
+
+        final JobData converted = adapter.convertToObject(bytes);
+        assertEquals("a".repeat(300), converted.getArguments().get(0).getValue());
+    }
+
+    @DisplayName("it should read payloads that were written as JSON")
+    @Test
+    void it_should_read_payloads_that_were_written_as_json() {
+        final EncryptionService service = createService();
+        final SmileMapperAdapter adapter = new SmileMapperAdapter(service);
+        final JobData data = new JobData(service.createEncryption(), List.of(argument("secret", "hello world", true)));
+        final String json = new JacksonMapperAdapter(service).convertToJson(data);
+
+        assertFalse(SmileMapperAdapter.isSmile(json.getBytes(UTF_8)));
+        assertEquals("hello world", adapter.convertToArguments(json).get("secret").asString());
+        assertEquals("hello world", adapter.convertToArguments(json.getBytes(UTF_8)).get("secret").asString());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling;
+
+import dev.doddle.core.exceptions.DoddleValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static dev.doddle.core.engine.time.Interval.createInterval;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollingConfigurationTest {
+
+    @DisplayName("it should default the maximum interval to the longer of the polling and minimum interval")
+    @Test
+    void it_should_default_the_maximum_interval_to_the_longer_of_the_polling_and_minimum_interval() {
+        final PollingConfiguration configuration = new PollingConfiguration();
+        configuration.interval("5s");
+        assertEquals(createInterval(5, SECONDS), configuration.minInterval());
+        assertEquals(createInterval(5, SECONDS), configuration.maxInterval());
+        configuration.minInterval("10s");
+        assertEquals(createInterval(10, SECONDS), configuration.minInterval());
+        assertEquals(createInterval(10, SECONDS), configuration.maxInterval());
+    }
+
+    @DisplayName("it should throw an exception because the minimum interval is greater than the maximum interval")
+    @Test
+    void it_should_throw_an_exception_because_the_minimum_interval_is_greater_than_the_maximum_interval() {
+        final PollingConfiguration configuration = new PollingConfiguration();
+        configuration.maxInterval("10s");
+        final DoddleValidationException exception = assertThrows(DoddleValidationException.class, () -> configuration.minInterval("30s"));
+        assertEquals("Minimum interval cannot be greater than the maximum interval", exception.getMessage());
+    }
+
+    @DisplayName("it should throw an exception because the maximum interval is less than the minimum interval")
+    @Test
+    void it_should_throw_an_exception_because_the_maximum_interval_is_less_than_the_minimum_interval() {
+        final PollingConfiguration configuration = new PollingConfiguration();
+        configuration.interval("30s");
+        final DoddleValidationException exception = assertThrows(DoddleValidationException.class, () -> configuration.maxInterval("10s"));
+        assertEquals("Maximum interval cannot be less than the minimum interval", exception.getMessage());
+        configuration.minInterval("5s");
+        configuration.maxInterval("10s");
+        assertEquals(createInterval(10, SECONDS), configuration.maxInterval());
+    }
+
+    @DisplayName("it should throw an exception because the interval is greater than the maximum interval")
+    @Test
+    void it_should_throw_an_exception_because_the_interval_is_greater_than_the_maximum_interval() {
+        final PollingConfiguration configuration = new PollingConfiguration();
+        configuration.maxInterval("10s");
+        final DoddleValidationException exception = assertThrows(DoddleValidationException.class, () -> configuration.interval("30s"));
+        assertEquals("Interval cannot be greater than the maximum interval", exception.getMessage());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling;
+
+import dev.doddle.core.engine.threadnaming.strategies.DefaultThreadNamingStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollingWorkerPoolTest {
+
+    @DisplayName("it should execute the jobs on the polling thread when there are no workers")
+    @Test
+    void it_should_execute_the_jobs_on_the_polling_thread_when_there_are_no_workers() {
+        final PollingWorkerPool pool = new PollingWorkerPool();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        assertTrue(pool.reserve());
+        pool.execute(() -> thread.set(Thread.currentThread()));
+        assertFalse(pool.isSeparated());
+        assertSame(Thread.currentThread(), thread.get());
+    }
+
+    @DisplayName("it should execute the jobs on the worker threads")
+    @Test
+    void it_should_execute_the_jobs_on_the_worker_threads() throws InterruptedException {
+        final PollingWorkerPool pool = new PollingWorkerPool(new DefaultThreadNamingStrategy("test-worker-%d"), 1, 0);
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final CountDownLatch executed = new CountDownLatch(1);
+        assertTrue(pool.reserve());
+        pool.execute(() -> {
+            thread.set(Thread.currentThread());
+            executed.countDown();
+        });
+        assertTrue(executed.await(5, SECONDS));
+        assertNotSame(Thread.currentThread(), thread.get());
+        assertTrue(thread.get().getName().startsWith("test-worker-"));
+        assertTrue(pool.shutdown(Duration.ofSeconds(5)));
+    }
+
+    @DisplayName("it should stop reserving slots when the workers are busy and the hand-off is full")
+    @Test
+    void it_should_stop_reserving_slots_when_the_workers_are_busy_and_the_handoff_is_full() throws InterruptedException {
+        final PollingWorkerPool pool = new PollingWorkerPool(new DefaultThreadNamingStrategy("test-worker-%d"), 1, 1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            assertTrue(pool.reserve());
+            pool.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        final CountDownLatch reserved = new CountDownLatch(1);
+        final Thread poller = new Thread(() -> {
+            if (pool.reserve()) {
+                reserved.countDown();
+            }
+        });
+        poller.start();
+        assertFalse(reserved.await(200, MILLISECONDS));
+        blocker.countDown();
+        assertTrue(reserved.await(5, SECONDS));
+        poller.join();
+        pool.release();
+        assertTrue(pool.shutdown(Duration.ofSeconds(5)));
+    }
+
+    @DisplayName("it should give up reserving a slot once the pool is stopped")
+    @Test
+    void it_should_give_up_reserving_a_slot_once_the_pool_is_stopped() throws InterruptedException {
+        final PollingWorkerPool pool = new PollingWorkerPool(new DefaultThreadNamingStrategy("test-worker-%d"), 1, 0);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        assertTrue(pool.reserve());
+        pool.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final CountDownLatch gaveUp = new CountDownLatch(1);
+        final Thread poller = new Thread(() -> {
+            if (!pool.reserve()) {
+                gaveUp.countDown();
+            }
+        });
+        poller.start();
+        assertFalse(gaveUp.await(200, MILLISECONDS));
+        // the worker is still busy, so the poller only returns because the pool was stopped
+        pool.stop();
+        assertTrue(gaveUp.await(5, SECONDS));
+        poller.join();
+        assertTrue(pool.isStopped());
+        assertFalse(pool.reserve());
+        blocker.countDown();
+        assertTrue(pool.shutdown(Duration.ofSeconds(5)));
+    }
+
+    @DisplayName("it should give back a slot that was not used")
+    @Test
+    void it_should_give_back_a_slot_that_was_not_used() throws InterruptedException {
+        final PollingWorkerPool pool = new PollingWorkerPool(new DefaultThreadNamingStrategy("test-worker-%d"), 1, 0);
+        assertTrue(pool.reserve());
+        pool.release();
+        assertTrue(pool.reserve());
+        pool.release();
+        assertTrue(pool.shutdown(Duration.ofSeconds(5)));
+    }
+
+    @DisplayName("it should bound the number of jobs in flight when each job runs on its own thread")
+    @Test
+    void it_should_bound_the_number_of_jobs_in_flight_when_each_job_runs_on_its_own_thread() throws InterruptedException {
+        final PollingWorkerPool pool = PollingWorkerPool.createInFlightPool(new DefaultThreadNamingStrategy("test-job-%d"), 3);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch running = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(pool.reserve());
+            pool.execute(() -> {
+                running.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        // every job is running at the same time
+        assertTrue(running.await(5, SECONDS));
+        final CountDownLatch reserved = new CountDownLatch(1);
+        final Thread poller = new Thread(() -> {
+            if (pool.reserve()) {
+                reserved.countDown();
+            }
+        });
+        poller.start();
+        assertFalse(reserved.await(200, MILLISECONDS));
+        blocker.countDown();
+        assertTrue(reserved.await(5, SECONDS));
+        poller.join();
+        pool.release();
+        assertEquals(3, pool.getWorkers());
+        assertEquals(PollingVirtualThreads.isSupported(), pool.isVirtual());
+        assertTrue(pool.shutdown(Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling.loop;
+
+import dev.doddle.core.engine.time.Clock;
+import dev.doddle.core.engine.time.Interval;
+import dev.doddle.core.engine.time.ticker.strategies.SystemTickerStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultLoopStrategyTest {
+
+    private static final int CONCURRENCY = 8;
+
+    @DisplayName("it should run the loops of all threads in parallel")
+    @Test
+    void it_should_run_the_loops_of_all_threads_in_parallel() throws Exception {
+        final DefaultLoopStrategy strategy = new DefaultLoopStrategy(new Clock(new SystemTickerStrategy()));
+        final CyclicBarrier barrier = new CyclicBarrier(CONCURRENCY);
+        final AtomicInteger passed = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            executor.execute(() -> strategy.doRun(() -> {
+                try {
+                    // only completes if every thread is inside the loop at the same time
+                    barrier.await(5, SECONDS);
+                    passed.incrementAndGet();
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException ignored) {
+                    // the assertion below will report the failure
+                }
+                Thread.currentThread().interrupt();
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, SECONDS));
+        assertEquals(CONCURRENCY, passed.get());
+    }
+
+    @DisplayName("it should not serialise the loop bodies of the threads")
+    @Test
+    void it_should_not_serialise_the_loop_bodies_of_the_threads() throws Exception {
+        final DefaultLoopStrategy strategy = new DefaultLoopStrategy(new Clock(new SystemTickerStrategy()));
+        final CountDownLatch entered = new CountDownLatch(CONCURRENCY);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger inside = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            executor.execute(() -> strategy.doRun(() -> {
+                inside.incrementAndGet();
+                entered.countDown();
+                try {
+                    // hold every thread inside the loop body until all of them have entered it
+                    release.await(5, SECONDS);
+                } catch (InterruptedException ignored) {
+                    // the loop exits below
+                }
+                inside.decrementAndGet();
+                Thread.currentThread().interrupt();
+            }));
+        }
+        assertTrue(entered.await(5, SECONDS));
+        assertEquals(CONCURRENCY, inside.get());
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, SECONDS));
+        assertEquals(0, inside.get());
+    }
+
+    @DisplayName("it should pause and resume the loop")
+    @Test
+    void it_should_pause_and_resume_the_loop() throws Exception {
+        final DefaultLoopStrategy strategy = new DefaultLoopStrategy(new Clock(new SystemTickerStrategy()));
+        final AtomicInteger runs = new AtomicInteger();
+        strategy.pause();
+        assertTrue(strategy.isPaused());
+        final Thread thread = new Thread(() -> strategy.doRun(() -> {
+            runs.incrementAndGet();
+            strategy.doWait(new Interval(5));
+        }));
+        thread.start();
+        MILLISECONDS.sleep(100);
+        assertEquals(0, runs.get());
+        strategy.resume();
+        assertFalse(strategy.isPaused());
+        await().atMost(5, SECONDS).until(() -> runs.get() > 0);
+        thread.interrupt();
+        thread.join(SECONDS.toMillis(5));
+        assertFalse(thread.isAlive());
+    }
+
+    @DisplayName("it should stop the waiting and paused threads")
+    @Test
+    void it_should_stop_the_waiting_and_paused_threads() throws Exception {
+        final DefaultLoopStrategy strategy = new DefaultLoopStrategy(new Clock(new SystemTickerStrategy()));
+        final AtomicInteger runs = new AtomicInteger();
+        final Thread waiting = new Thread(() -> strategy.doRun(() -> {
+            runs.incrementAndGet();
+            strategy.doWait(new Interval(60, SECONDS));
+        }));
+        waiting.start();
+        await().atMost(5, SECONDS).until(() -> runs.get() > 0);
+        strategy.pause();
+        final Thread paused = new Thread(() -> strategy.doRun(runs::incrementAndGet));
+        paused.start();
+        MILLISECONDS.sleep(50);
+        strategy.stop();
+        waiting.join(SECONDS.toMillis(5));
+        paused.join(SECONDS.toMillis(5));
+        assertFalse(waiting.isAlive());
+        assertFalse(paused.isAlive());
+        assertEquals(1, runs.get());
+    }
+
+    @DisplayName("it should wake the waiting threads early")
+    @Test
+    void it_should_wake_the_waiting_threads_early() throws Exception {
+        final DefaultLoopStrategy strategy = new DefaultLoopStrategy(new Clock(new SystemTickerStrategy()));
+        final CountDownLatch waiting = new CountDownLatch(1);
+        final CountDownLatch woken = new CountDownLatch(1);
+        final Thread thread = new Thread(() -> {
+            waiting.countDown();
+            strategy.doWait(new Interval(60, SECONDS));
+            woken.countDown();
+        });
+        thread.start();
+        assertTrue(waiting.await(5, SECONDS));
+        MILLISECONDS.sleep(50);
+        strategy.wakeUp();
+        assertTrue(woken.await(5, SECONDS));
+        thread.join(SECONDS.toMillis(5));
+    }
+
+    @DisplayName("it should not wait when woken up while polling")
+    @Test
+    void it_should_not_wait_when_woken_up_while_polling() {
+        final DefaultLoopStrategy strategy = new DefaultLoopStrategy(new Clock(new SystemTickerStrategy()));
+        strategy.doWait(new Interval(1));
+        // the wake up arrives between the wait and the next one
+        strategy.wakeUp();
+        final long start = System.nanoTime();
+        strategy.doWait(new Interval(60, SECONDS));
+        assertTrue(NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+    }
+}
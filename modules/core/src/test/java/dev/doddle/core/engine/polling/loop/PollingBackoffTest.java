@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.polling.loop;
+
+import dev.doddle.core.engine.time.Interval;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollingBackoffTest {
+
+    @DisplayName("it should back off exponentially up to the maximum interval")
+    @Test
+    void it_should_back_off_exponentially_up_to_the_maximum_interval() {
+        final PollingBackoff backoff = new PollingBackoff(new Interval(100), new Interval(1000), 2.0, new NoJitter());
+        assertEquals(100, backoff.next().toMillis());
+        assertEquals(200, backoff.next().toMillis());
+        assertEquals(400, backoff.next().toMillis());
+        assertEquals(800, backoff.next().toMillis());
+        assertEquals(1000, backoff.next().toMillis());
+        assertEquals(1000, backoff.next().toMillis());
+    }
+
+    @DisplayName("it should reset to the minimum interval after a successful claim")
+    @Test
+    void it_should_reset_to_the_minimum_interval_after_a_successful_claim() {
+        final PollingBackoff backoff = new PollingBackoff(new Interval(100), new Interval(1000), 2.0, new NoJitter());
+        backoff.next();
+        backoff.next();
+        backoff.reset();
+        assertEquals(100, backoff.next().toMillis());
+    }
+
+    @DisplayName("it should keep the jitter within the bounds")
+    @Test
+    void it_should_keep_the_jitter_within_the_bounds() {
+        final PollingBackoff backoff = new PollingBackoff(new Interval(100), new Interval(10000), 3.0, new Random(42));
+        long expected = 100;
+        for (int i = 0; i < 10; i++) {
+            final long wait = backoff.next().toMillis();
+            assertTrue(wait <= expected, "wait exceeded " + expected + ": " + wait);
+            assertTrue(wait >= Math.max(100, expected * 0.8), "wait below the jitter bound: " + wait);
+            expected = Math.min(10000, expected * 3);
+        }
+    }
+
+    @DisplayName("it should use a fixed interval when the minimum and maximum are the same")
+    @Test
+    void it_should_use_a_fixed_interval_when_the_minimum_and_maximum_are_the_same() {
+        final PollingBackoff backoff = new PollingBackoff(new Interval(250), new Interval(250), 2.0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(250, backoff.next().toMillis());
+        }
+    }
+
+    @DisplayName("it should not allow a maximum interval less than the minimum")
+    @Test
+    void it_should_not_allow_a_maximum_interval_less_than_the_minimum() {
+        assertThrows(IllegalArgumentException.class, () -> new PollingBackoff(new Interval(500), new Interval(100), 2.0));
+        assertThrows(IllegalArgumentException.class, () -> new PollingBackoff(new Interval(100), new Interval(500), 0.5));
+    }
+
+    private static class NoJitter extends Random {
+        @Override
+        public double nextDouble() {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.task;
+
+import dev.doddle.core.engine.JobExecutionContext;
+import dev.doddle.core.exceptions.TaskExecutionException;
+import dev.doddle.core.support.tasks.valid.CounterService;
+import dev.doddle.core.support.tasks.valid.DefaultTasks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskInvokerTest {
+
+    @DisplayName("it should invoke a method that requests the execution context")
+    @Test
+    void it_should_invoke_a_method_that_requests_the_execution_context() throws Throwable {
+        final CounterService counter = new CounterService();
+        final TaskInvoker invoker = TaskInvoker.create(
+            DefaultTasks.class.getMethod("increment", JobExecutionContext.class), true
+        );
+        invoker.invoke(new DefaultTasks(counter), null);
+        invoker.invoke(new DefaultTasks(counter), null);
+        assertEquals(2, counter.getCurrentValue());
+    }
+
+    @DisplayName("it should invoke a method that returns a value")
+    @Test
+    void it_should_invoke_a_method_that_returns_a_value() throws Throwable {
+        final CounterService counter = new CounterService();
+        final TaskInvoker invoker = TaskInvoker.create(CounterService.class.getMethod("incrementAndGet"), false);
+        invoker.invoke(counter, null);
+        assertEquals(1, counter.getCurrentValue());
+    }
+
+    @DisplayName("it should rethrow the exception thrown by the method")
+    @Test
+    void it_should_rethrow_the_exception_thrown_by_the_method() throws Exception {
+        final TaskInvoker invoker = TaskInvoker.create(DefaultTasks.class.getMethod("failing"), false);
+        final TaskExecutionException exception = assertThrows(TaskExecutionException.class,
+            () -> invoker.invoke(new DefaultTasks(new CounterService()), null)
+        );
+        assertEquals("I failed for some reason", exception.getMessage());
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.engine.task;
+
+import dev.doddle.core.engine.task.TaskTimeoutScheduler.TaskTimeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTimeoutSchedulerTest {
+
+    private TaskTimeoutScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TaskTimeoutScheduler(Duration.ofMillis(5), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @DisplayName("it should interrupt the thread when the timeout elapses")
+    @Test
+    void it_should_interrupt_the_thread_when_the_timeout_elapses() {
+        final TaskTimeout timeout = scheduler.schedule(Thread.currentThread(), 50);
+        final long start = System.nanoTime();
+        assertThrows(InterruptedException.class, () -> Thread.sleep(5000));
+        final long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertTrue(elapsed >= 45, "interrupted too early: " + elapsed);
+        assertTrue(elapsed < 2000, "interrupted too late: " + elapsed);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @DisplayName("it should expire timeouts that are longer than one rotation of the wheel")
+    @Test
+    void it_should_expire_timeouts_that_are_longer_than_one_rotation_of_the_wheel() {
+        // 8 buckets of 5 milliseconds is a rotation of 40 milliseconds
+        final TaskTimeout timeout = scheduler.schedule(Thread.currentThread(), 120);
+        final long start = System.nanoTime();
+        assertThrows(InterruptedException.class, () -> Thread.sleep(5000));
+        final long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertTrue(elapsed >= 115, "interrupted too early: " + elapsed);
+        assertTrue(timeout.isExpired());
+    }
+
+    @DisplayName("it should not interrupt the thread when the timeout is cancelled")
+    @Test
+    void it_should_not_interrupt_the_thread_when_the_timeout_is_cancelled() throws InterruptedException {
+        final TaskTimeout timeout = scheduler.schedule(Thread.currentThread(), 20);
+        assertTrue(timeout.cancel());
+        Thread.sleep(100);
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertFalse(timeout.isExpired());
+    }
+
+    @DisplayName("it should not expire the timeouts once stopped")
+    @Test
+    void it_should_not_expire_the_timeouts_once_stopped() throws InterruptedException {
+        final TaskTimeout timeout = scheduler.schedule(Thread.currentThread(), 50);
+        scheduler.stop();
+        Thread.sleep(150);
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertFalse(timeout.isExpired());
+    }
+}
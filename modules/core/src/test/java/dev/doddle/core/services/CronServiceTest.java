@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.core.services;
+
+import com.cronutils.model.Cron;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static com.cronutils.model.CronType.UNIX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CronServiceTest {
+
+    @DisplayName("it should cache the parsed expressions")
+    @Test
+    void it_should_cache_the_parsed_expressions() {
+        final CronService service = new CronService();
+        final Cron cron = service.getForExpression("*/5 * * * *");
+        assertSame(cron, service.getForExpression("*/5 * * * *"));
+    }
+
+    @DisplayName("it should evict the least recently used expression when the cache is full")
+    @Test
+    void it_should_evict_the_least_recently_used_expression_when_the_cache_is_full() {
+        final CronService service = new CronService(UNIX, 2);
+        final Cron first = service.getForExpression("0 * * * *");
+        final Cron second = service.getForExpression("0 0 * * *");
+        // touch the first expression so the second is the least recently used
+        service.getForExpression("0 * * * *");
+        service.getForExpression("0 0 1 * *");
+        assertSame(first, service.getForExpression("0 * * * *"));
+        assertNotSame(second, service.getForExpression("0 0 * * *"));
+    }
+
+    @DisplayName("it should get the next execution time for an expression")
+    @Test
+    void it_should_get_the_next_execution_time_for_an_expression() {
+        final CronService service = new CronService();
+        final ZonedDateTime date = ZonedDateTime.of(2021, 2, 1, 13, 52, 0, 0, ZoneId.of("UTC"));
+        final Cron cron = service.getForExpression("0 * * * *");
+        assertEquals(LocalDateTime.of(2021, 2, 1, 14, 0), service.nextExecutionTime(cron, date));
+        assertEquals(LocalDateTime.of(2021, 2, 1, 14, 0), service.nextExecutionTime(cron, date));
+    }
+}
@@ -29,6 +29,7 @@ import java.io.Reader;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class NoopStorageProvider implements StorageProvider {
 
@@ -87,6 +88,26 @@ public class NoopStorageProvider implements StorageProvider {
 
     }
 
+    @Override
+    public int discardJobs(JobFilter filter) {
+        return 0;
+    }
+
+    @Override
+    public int purgeCompletedBefore(LocalDateTime date, int batchSize) {
+        return 0;
+    }
+
+    @Override
+    public int purgeCompletedBefore(LocalDateTime date, int batchSize, Consumer<List<Job>> purged) {
+        return 0;
+    }
+
+    @Override
+    public int retryJobs(JobFilter filter, LocalDateTime when) {
+        return 0;
+    }
+
     @Override
     public void deleteAllMessagesForJob(Job job) {
 
@@ -127,6 +148,11 @@ public class NoopStorageProvider implements StorageProvider {
         return null;
     }
 
+    @Override
+    public List<CronJob> getDueCronJobs(LocalDateTime date, int limit) {
+        return null;
+    }
+
     @Override
     public List<JobMessage> getAllMessagesForJob(Job job) {
         return null;
@@ -202,6 +228,21 @@ public class NoopStorageProvider implements StorageProvider {
         return Optional.empty();
     }
 
+    @Override
+    public List<Job> pickJobs(int max) {
+        return List.of();
+    }
+
+    @Override
+    public List<Job> pickJobs(Queue queue, int max) {
+        return List.of();
+    }
+
+    @Override
+    public void subscribe(JobAvailableListener listener) {
+
+    }
+
     @Override
     public void reset(Reader reader) {
 
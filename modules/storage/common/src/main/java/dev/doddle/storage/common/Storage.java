@@ -26,9 +26,12 @@ package dev.doddle.storage.common;
 import dev.doddle.common.support.NotNull;
 import dev.doddle.storage.common.domain.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.time.LocalDateTime.now;
 import static java.util.Objects.requireNonNull;
@@ -44,6 +47,10 @@ public class Storage {
         this.provider = requireNonNull(provider, "provider cannot be null");
     }
 
+    public void close() {
+        this.provider.close();
+    }
+
     public Integer countAllCronJobs() throws StorageException {
         return this.provider.countAllCronJobs();
     }
@@ -71,6 +78,22 @@ public class Storage {
         );
     }
 
+    public void createMessages(@NotNull final Map<Job, List<JobMessage>> messages) throws StorageException {
+        requireNonNull(messages, "messages cannot be null");
+        if (messages.isEmpty()) {
+            return;
+        }
+        this.provider.createMessages(messages);
+    }
+
+    public List<Job> createJobs(@NotNull final List<Job> jobs) throws StorageException {
+        requireNonNull(jobs, "jobs cannot be null");
+        if (jobs.isEmpty()) {
+            return jobs;
+        }
+        return this.provider.createJobs(jobs);
+    }
+
     public void deleteAllCronJobs() throws StorageException {
         this.provider.deleteAllCronJobs();
     }
@@ -84,6 +107,36 @@ public class Storage {
         this.provider.deleteAllJobs(date);
     }
 
+    public int discardJobs(@NotNull final JobFilter filter) throws StorageException {
+        return this.provider.discardJobs(requireNonNull(filter, "filter cannot be null"));
+    }
+
+    public int purgeCompletedBefore(@NotNull final LocalDateTime date, final int batchSize) throws StorageException {
+        requireNonNull(date, "date cannot be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+        return this.provider.purgeCompletedBefore(date, batchSize);
+    }
+
+    public int purgeCompletedBefore(@NotNull final LocalDateTime date,
+                                    final int batchSize,
+                                    @NotNull final Consumer<List<Job>> purged) throws StorageException {
+        requireNonNull(date, "date cannot be null");
+        requireNonNull(purged, "purged cannot be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+        return this.provider.purgeCompletedBefore(date, batchSize, purged);
+    }
+
+    public int retryJobs(@NotNull final JobFilter filter, @NotNull final LocalDateTime when) throws StorageException {
+        return this.provider.retryJobs(
+            requireNonNull(filter, "filter cannot be null"),
+            requireNonNull(when, "when cannot be null")
+        );
+    }
+
     public void deleteAllMessagesForJob(@NotNull final Job job) throws StorageException {
         this.provider.deleteAllMessagesForJob(
             requireNonNull(job, "job cannot be null")
@@ -126,6 +179,14 @@ public class Storage {
         );
     }
 
+    public List<CronJob> getDueCronJobs(@NotNull final LocalDateTime date, final int limit) throws StorageException {
+        requireNonNull(date, "date cannot be null");
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be greater than zero");
+        }
+        return this.provider.getDueCronJobs(date, limit);
+    }
+
     public List<JobMessage> getAllMessagesForJob(@NotNull Job job) throws StorageException {
         return this.provider.getAllMessagesForJob(
             requireNonNull(job, "job cannot be null")
@@ -203,10 +264,93 @@ public class Storage {
         return this.provider.getQueueByName(requireNonNull(name, "name cannot be null"));
     }
 
+    public boolean electLeader(@NotNull final String nodeId, @NotNull final Duration lease) throws StorageException {
+        requireNonNull(nodeId, "nodeId cannot be null");
+        requireNonNull(lease, "lease cannot be null");
+        if (lease.isNegative() || lease.isZero()) {
+            throw new IllegalArgumentException("lease must be greater than zero");
+        }
+        return this.provider.electLeader(nodeId, lease);
+    }
+
+    public Optional<Leader> getLeader() throws StorageException {
+        return this.provider.getLeader();
+    }
+
+    public void resignLeader(@NotNull final String nodeId) throws StorageException {
+        this.provider.resignLeader(requireNonNull(nodeId, "nodeId cannot be null"));
+    }
+
+    public List<Integer> migrate() throws StorageException {
+        return this.provider.migrate();
+    }
+
+    public boolean isDirectPick() {
+        return this.provider.isDirectPick();
+    }
+
     public Optional<Job> pickJob() throws StorageException {
         return this.provider.pickJob();
     }
 
+    public List<Job> pickJobs(final int max) throws StorageException {
+        if (max <= 0) {
+            throw new IllegalArgumentException("max must be greater than zero");
+        }
+        return this.provider.pickJobs(max);
+    }
+
+    public List<Job> pickJobs(@NotNull final Queue queue, final int max) throws StorageException {
+        requireNonNull(queue, "queue cannot be null");
+        if (max <= 0) {
+            throw new IllegalArgumentException("max must be greater than zero");
+        }
+        return this.provider.pickJobs(queue, max);
+    }
+
+    public Optional<Job> pickJob(@NotNull final JobLease lease) throws StorageException {
+        return this.provider.pickJob(requireNonNull(lease, "lease cannot be null"));
+    }
+
+    public List<Job> pickJobs(@NotNull final JobLease lease, final int max) throws StorageException {
+        requireNonNull(lease, "lease cannot be null");
+        if (max <= 0) {
+            throw new IllegalArgumentException("max must be greater than zero");
+        }
+        return this.provider.pickJobs(lease, max);
+    }
+
+    public List<Job> pickJobs(@NotNull final Queue queue, @NotNull final JobLease lease, final int max) throws StorageException {
+        requireNonNull(queue, "queue cannot be null");
+        requireNonNull(lease, "lease cannot be null");
+        if (max <= 0) {
+            throw new IllegalArgumentException("max must be greater than zero");
+        }
+        return this.provider.pickJobs(queue, lease, max);
+    }
+
+    public int releaseJobs(@NotNull final List<Job> jobs) throws StorageException {
+        requireNonNull(jobs, "jobs cannot be null");
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        return this.provider.releaseJobs(jobs);
+    }
+
+    public int reclaimExpiredLeases() throws StorageException {
+        return this.provider.reclaimExpiredLeases();
+    }
+
+    public int renewLeases(@NotNull final JobLease lease) throws StorageException {
+        return this.provider.renewLeases(requireNonNull(lease, "lease cannot be null"));
+    }
+
+    public void subscribe(@NotNull final JobAvailableListener listener) throws StorageException {
+        this.provider.subscribe(
+            requireNonNull(listener, "listener cannot be null")
+        );
+    }
+
     public CronJob saveCronJob(@NotNull final CronJob job) throws StorageException {
         return this.provider.saveCronJob(
             requireNonNull(job, "job cannot be null")
@@ -218,6 +362,9 @@ public class Storage {
             return this.provider.saveJob(
                 requireNonNull(job, "job cannot be null")
             );
+        } catch (JobLeaseLostException exception) {
+            // the caller no longer owns the job so it must not carry on as if the update succeeded
+            throw exception;
         } catch (StorageException exception) {
             return null;
         }
@@ -26,9 +26,13 @@ package dev.doddle.storage.common;
 import dev.doddle.storage.common.domain.*;
 
 import java.io.Reader;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface StorageProvider {
 
@@ -81,6 +85,35 @@ public interface StorageProvider {
      */
     JobMessage createMessageForJob(Job job, JobMessage message) throws StorageException;
 
+    /**
+     * Create the messages for many jobs at once
+     * Providers should write the messages in as few round-trips as possible. By default each message is created in turn
+     *
+     * @param messages the messages to create, grouped by job
+     */
+    default void createMessages(Map<Job, List<JobMessage>> messages) throws StorageException {
+        for (final Map.Entry<Job, List<JobMessage>> entry : messages.entrySet()) {
+            for (final JobMessage message : entry.getValue()) {
+                createMessageForJob(entry.getKey(), message);
+            }
+        }
+    }
+
+    /**
+     * Create many jobs at once
+     * Providers should write the jobs in as few round-trips as possible. By default each job is saved in turn
+     *
+     * @param jobs the jobs to create
+     * @return the created jobs
+     */
+    default List<Job> createJobs(List<Job> jobs) throws StorageException {
+        final List<Job> created = new ArrayList<>(jobs.size());
+        for (final Job job : jobs) {
+            created.add(saveJob(job));
+        }
+        return created;
+    }
+
     /**
      * Delete all cron jobs
      */
@@ -90,6 +123,15 @@ public interface StorageProvider {
 
     void deleteAllJobs(LocalDateTime date) throws StorageException;
 
+    /**
+     * Discard all the jobs matching a filter that have not completed, been discarded or are executing
+     * The jobs are discarded in a single operation
+     *
+     * @param filter the filter to use
+     * @return the number of jobs discarded
+     */
+    int discardJobs(JobFilter filter) throws StorageException;
+
     /**
      * Delete all messages for a given job
      *
@@ -145,6 +187,16 @@ public interface StorageProvider {
      */
     List<CronJob> getAllCronJobs(Pageable pageable) throws StorageException;
 
+    /**
+     * Get the enabled cron jobs that are due to run on a date, whose queue is not locked
+     * The cron jobs that are most overdue are returned first
+     *
+     * @param date  the date the cron jobs must be due by
+     * @param limit the maximum number of cron jobs to get
+     * @return a collection of cron jobs
+     */
+    List<CronJob> getDueCronJobs(LocalDateTime date, int limit) throws StorageException;
+
     /**
      * Get all messages for a given job
      *
@@ -258,6 +310,199 @@ public interface StorageProvider {
      */
     Optional<Job> pickJob() throws StorageException;
 
+    /**
+     * Pick up to a maximum number of jobs that are ready to be processed
+     * The jobs are claimed in a single operation
+     *
+     * @param max the maximum number of jobs to pick
+     * @return the jobs to be processed
+     */
+    List<Job> pickJobs(int max) throws StorageException;
+
+    /**
+     * Pick up to a maximum number of jobs from a queue that are ready to be processed
+     * No more jobs are picked than the queue's maximum concurrency allows, counting the jobs already executing
+     * across the cluster
+     *
+     * @param queue the queue to pick from
+     * @param max   the maximum number of jobs to pick
+     * @return the jobs to be processed
+     */
+    List<Job> pickJobs(Queue queue, int max) throws StorageException;
+
+    /**
+     * Whether the jobs are picked straight from the scheduled, failed and retryable states once they are due
+     * A job is then claimed in the same operation that makes it available, so the jobs do not have to be enqueued
+     * beforehand
+     *
+     * @return true if the due jobs are picked directly
+     */
+    default boolean isDirectPick() {
+        return false;
+    }
+
+    /**
+     * Pick a job that is ready to be processed, taking a lease on it
+     * Storage providers that do not support leases ignore the lease
+     *
+     * @param lease the lease to take on the job
+     * @return a job to be processed
+     */
+    default Optional<Job> pickJob(JobLease lease) throws StorageException {
+        return pickJob();
+    }
+
+    /**
+     * Pick up to a maximum number of jobs that are ready to be processed, taking a lease on them
+     * Storage providers that do not support leases ignore the lease
+     *
+     * @param lease the lease to take on the jobs
+     * @param max   the maximum number of jobs to pick
+     * @return the jobs to be processed
+     */
+    default List<Job> pickJobs(JobLease lease, int max) throws StorageException {
+        return pickJobs(max);
+    }
+
+    /**
+     * Pick up to a maximum number of jobs from a queue that are ready to be processed, taking a lease on them
+     * Storage providers that do not support leases ignore the lease
+     *
+     * @param queue the queue to pick from
+     * @param lease the lease to take on the jobs
+     * @param max   the maximum number of jobs to pick
+     * @return the jobs to be processed
+     */
+    default List<Job> pickJobs(Queue queue, JobLease lease, int max) throws StorageException {
+        return pickJobs(queue, max);
+    }
+
+    /**
+     * Delete the jobs that completed on or before a given date
+     * The jobs are deleted in batches, each in its own transaction, so a large purge does not hold locks
+     * on every row it deletes
+     *
+     * @param date      the date the jobs must have completed by
+     * @param batchSize the maximum number of jobs to delete in each batch
+     * @return the number of jobs deleted
+     */
+    int purgeCompletedBefore(LocalDateTime date, int batchSize) throws StorageException;
+
+    /**
+     * Delete the jobs that completed on or before a given date, passing each batch of deleted jobs to a consumer
+     * so the resources the jobs refer to outside the storage can be released
+     *
+     * @param date      the date the jobs must have completed by
+     * @param batchSize the maximum number of jobs to delete in each batch
+     * @param purged    the consumer of each batch of deleted jobs, called once the batch has been committed
+     * @return the number of jobs deleted
+     */
+    int purgeCompletedBefore(LocalDateTime date, int batchSize, Consumer<List<Job>> purged) throws StorageException;
+
+    /**
+     * Release claimed jobs that have not been executed, so they can be picked again
+     * Only the jobs that are still executing under the fencing token they were claimed with are released.
+     * By default each job is saved in turn
+     *
+     * @param jobs the claimed jobs
+     * @return the number of jobs released
+     */
+    default int releaseJobs(List<Job> jobs) throws StorageException {
+        for (final Job job : jobs) {
+            job.setState(JobState.AVAILABLE);
+            job.setExecutingAt(null);
+            saveJob(job);
+        }
+        return jobs.size();
+    }
+
+    /**
+     * Retry all the jobs matching a filter that are not executing or have not completed
+     * The jobs are rescheduled in a single operation, increasing their maximum retries if they have run out
+     *
+     * @param filter the filter to use
+     * @param when   when the jobs should be retried
+     * @return the number of jobs retried
+     */
+    int retryJobs(JobFilter filter, LocalDateTime when) throws StorageException;
+
+    /**
+     * Renew the lease on all the executing jobs held by the lease's owner
+     *
+     * @param lease the lease to renew
+     * @return the number of jobs whose lease was renewed
+     */
+    default int renewLeases(JobLease lease) throws StorageException {
+        return 0;
+    }
+
+    /**
+     * Reclaim the executing jobs whose lease has expired, scheduling them to be retried immediately
+     * The jobs are reclaimed in a single operation and their fencing token is changed, so the previous
+     * owner can no longer update them
+     *
+     * @return the number of jobs reclaimed
+     */
+    default int reclaimExpiredLeases() throws StorageException {
+        return 0;
+    }
+
+    /**
+     * Try to become, or remain, the leader of the cluster
+     * The leader must renew its leadership before the lease expires, otherwise another node may take over.
+     * Storage providers that cannot elect a leader treat every node as the leader
+     *
+     * @param nodeId the id of the node
+     * @param lease  how long the leadership lasts before it must be renewed
+     * @return true if the node is the leader
+     */
+    default boolean electLeader(String nodeId, Duration lease) throws StorageException {
+        return true;
+    }
+
+    /**
+     * Give up the leadership of the cluster if the node holds it
+     *
+     * @param nodeId the id of the node
+     */
+    default void resignLeader(String nodeId) throws StorageException {
+    }
+
+    /**
+     * Get the current leader of the cluster
+     *
+     * @return the leader, or empty if there is none or the storage provider cannot elect a leader
+     */
+    default Optional<Leader> getLeader() throws StorageException {
+        return Optional.empty();
+    }
+
+    /**
+     * Subscribe to notifications for when jobs become available
+     * Storage providers that cannot push notifications ignore the listener and the jobs are found by polling
+     *
+     * @param listener the listener to notify
+     */
+    void subscribe(JobAvailableListener listener) throws StorageException;
+
+    /**
+     * Apply the pending schema migrations shipped with the storage provider
+     * Storage providers without versioned migrations apply nothing
+     *
+     * @return the versions that were applied
+     * @throws StorageException thrown if the migrations could not be applied
+     */
+    default List<Integer> migrate() throws StorageException {
+        return List.of();
+    }
+
+    /**
+     * Release the background resources held by the storage provider, such as the threads and connections used for
+     * notifications. The storage provider can still be used to read and write jobs afterwards
+     */
+    default void close() {
+    }
+
     /*
      * Reset the storage adapter
      */
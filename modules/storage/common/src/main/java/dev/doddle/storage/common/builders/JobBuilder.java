@@ -36,6 +36,7 @@ public final class JobBuilder {
     private Queue         queue;
     private String        handler;
     private String        data;
+    private byte[]        binaryData;
     private LocalDateTime createdAt;
     private LocalDateTime completedAt;
     private LocalDateTime scheduledAt;
@@ -65,6 +66,7 @@ public final class JobBuilder {
         job.setQueue(queue);
         job.setHandler(handler);
         job.setData(data);
+        job.setBinaryData(binaryData);
         job.setCreatedAt(createdAt);
         job.setCompletedAt(completedAt);
         job.setDiscardedAt(discardedAt);
@@ -81,6 +83,11 @@ public final class JobBuilder {
         return job;
     }
 
+    public JobBuilder binaryData(byte[] binaryData) {
+        this.binaryData = binaryData;
+        return this;
+    }
+
     public JobBuilder category(JobCategory category) {
         this.category = category;
         return this;
@@ -32,6 +32,8 @@ public final class QueueBuilder {
     private String        name;
     private Float         priority;
     private LocalDateTime lockedAt;
+    private Integer       maxConcurrency;
+    private Integer       weight = 1;
 
     private QueueBuilder() {
     }
@@ -46,6 +48,8 @@ public final class QueueBuilder {
         queue.setName(name);
         queue.setPriority(priority);
         queue.setLockedAt(lockedAt);
+        queue.setMaxConcurrency(maxConcurrency);
+        queue.setWeight(weight);
         return queue;
     }
 
@@ -59,6 +63,11 @@ public final class QueueBuilder {
         return this;
     }
 
+    public QueueBuilder maxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
     public QueueBuilder name(String name) {
         this.name = name;
         return this;
@@ -68,4 +77,9 @@ public final class QueueBuilder {
         this.priority = priority;
         return this;
     }
+
+    public QueueBuilder weight(Integer weight) {
+        this.weight = weight;
+        return this;
+    }
 }
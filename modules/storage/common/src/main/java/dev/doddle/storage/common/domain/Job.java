@@ -46,6 +46,8 @@ public class Job {
 
     private String data;
 
+    private byte[] binaryData;
+
     private JobState state;
 
     private LocalDateTime createdAt;
@@ -70,6 +72,12 @@ public class Job {
 
     private JobError error;
 
+    private String owner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    private Long leaseToken;
+
     public JobCategory getCategory() {
         return category;
     }
@@ -102,6 +110,14 @@ public class Job {
         this.data = data;
     }
 
+    public byte[] getBinaryData() {
+        return binaryData;
+    }
+
+    public void setBinaryData(byte[] binaryData) {
+        this.binaryData = binaryData;
+    }
+
     public LocalDateTime getDiscardedAt() {
         return discardedAt;
     }
@@ -258,6 +274,46 @@ public class Job {
         return this.state.equals(state);
     }
 
+    /**
+     * Get the id of the node that has claimed this job
+     *
+     * @return the owner, or null if the job is not claimed
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Get when the owner's lease on this job expires, after which the job can be reclaimed
+     *
+     * @return when the lease expires, or null if the job is not claimed
+     */
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    /**
+     * Get the fencing token of the claim
+     * The token changes each time the job is claimed or reclaimed, and an update carrying an old token is rejected
+     *
+     * @return the fencing token, or null if the job was not loaded by a claim
+     */
+    public Long getLeaseToken() {
+        return leaseToken;
+    }
+
+    public void setLeaseToken(Long leaseToken) {
+        this.leaseToken = leaseToken;
+    }
+
     /**
      * Check if this job is stuck.
      * It is stuck if the state is executing_at has exceeded the timeout
@@ -284,6 +340,7 @@ public class Job {
             .append("category", category)
             .append("handler", handler)
             .append("data", data)
+            .append("binaryData", binaryData == null ? null : binaryData.length + " bytes")
             .append("createdAt", createdAt)
             .append("completedAt", completedAt)
             .append("scheduledAt", scheduledAt)
@@ -296,6 +353,9 @@ public class Job {
             .append("tags", tags)
             .append("timeout", timeout)
             .append("error", error)
+            .append("owner", owner)
+            .append("leaseExpiresAt", leaseExpiresAt)
+            .append("leaseToken", leaseToken)
             .toString();
     }
 
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.common.domain;
+
+import java.time.Duration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The lease a node takes on the jobs it claims
+ * <p>
+ * A claimed job records its owner and when its lease expires. The owner renews the leases of its jobs while it
+ * is alive, and a job whose lease has expired is reclaimed so it can be picked by another node
+ */
+public class JobLease {
+
+    private final String   owner;
+    private final Duration duration;
+
+    /**
+     * Create a new job lease
+     *
+     * @param owner    the id of the node that owns the claimed jobs
+     * @param duration how long the lease lasts before it must be renewed
+     */
+    public JobLease(final String owner, final Duration duration) {
+        this.owner = requireNonNull(owner, "owner cannot be null");
+        this.duration = requireNonNull(duration, "duration cannot be null");
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be greater than zero");
+        }
+    }
+
+    /**
+     * Get how long the lease lasts
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Get the duration of the lease in milliseconds
+     *
+     * @return the duration in milliseconds
+     */
+    public long getDurationMillis() {
+        return duration.toMillis();
+    }
+
+    /**
+     * Get the id of the node that owns the claimed jobs
+     *
+     * @return the owner
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+}
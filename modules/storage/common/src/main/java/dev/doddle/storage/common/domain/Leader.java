@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.common.domain;
+
+import java.time.LocalDateTime;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The node elected to run the cluster's singleton scheduling commands
+ */
+public class Leader {
+
+    private final String        nodeId;
+    private final LocalDateTime electedAt;
+    private final LocalDateTime expiresAt;
+
+    /**
+     * Create a new leader
+     *
+     * @param nodeId    the id of the elected node
+     * @param electedAt when the node was elected
+     * @param expiresAt when the leadership expires unless it is renewed
+     */
+    public Leader(final String nodeId, final LocalDateTime electedAt, final LocalDateTime expiresAt) {
+        this.nodeId = requireNonNull(nodeId, "nodeId cannot be null");
+        this.electedAt = requireNonNull(electedAt, "electedAt cannot be null");
+        this.expiresAt = requireNonNull(expiresAt, "expiresAt cannot be null");
+    }
+
+    /**
+     * Get when the node was elected
+     *
+     * @return the election date
+     */
+    public LocalDateTime getElectedAt() {
+        return electedAt;
+    }
+
+    /**
+     * Get when the leadership expires unless it is renewed
+     *
+     * @return the expiry date
+     */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Get the id of the elected node
+     *
+     * @return the node id
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public String toString() {
+        return "Leader{" +
+            "nodeId='" + nodeId + '\'' +
+            ", electedAt=" + electedAt +
+            ", expiresAt=" + expiresAt +
+            '}';
+    }
+}
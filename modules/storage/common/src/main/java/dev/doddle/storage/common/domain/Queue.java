@@ -39,13 +39,23 @@ public class Queue {
 
     private LocalDateTime lockedAt;
 
+    private Integer maxConcurrency;
+
+    private Integer weight;
+
     public Queue() {
 
     }
 
     public Queue(final String name, final Float priority) {
+        this(name, priority, null, 1);
+    }
+
+    public Queue(final String name, final Float priority, final Integer maxConcurrency, final Integer weight) {
         this.name = name;
         this.priority = priority;
+        this.maxConcurrency = maxConcurrency;
+        this.weight = weight;
     }
 
     @Override
@@ -79,6 +89,19 @@ public class Queue {
         this.lockedAt = lockedAt;
     }
 
+    /**
+     * Get the maximum number of jobs from this queue that can execute at once across the cluster
+     *
+     * @return the maximum concurrency, or null if unlimited
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
     public String getName() {
         return name;
     }
@@ -95,6 +118,19 @@ public class Queue {
         this.priority = priority;
     }
 
+    /**
+     * Get the share of the picked jobs this queue receives relative to the other queues
+     *
+     * @return the weight
+     */
+    public Integer getWeight() {
+        return weight;
+    }
+
+    public void setWeight(Integer weight) {
+        this.weight = weight;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(17, 37).append(name).toHashCode();
@@ -107,6 +143,8 @@ public class Queue {
             .append("name", name)
             .append("priority", priority)
             .append("lockedAt", lockedAt)
+            .append("maxConcurrency", maxConcurrency)
+            .append("weight", weight)
             .toString();
     }
 }
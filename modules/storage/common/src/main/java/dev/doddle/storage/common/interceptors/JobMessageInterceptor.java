@@ -57,7 +57,10 @@ public class JobMessageInterceptor implements Interceptor<JobMessage> {
             final LocalDateTime now = LocalDateTime.now();
             final String id = keyGenerator.createKey();
             message.setId(id);
-            message.setCreatedAt(now);
+            // messages written asynchronously are stamped when they were logged rather than when they were written
+            if (isNull(message.getCreatedAt())) {
+                message.setCreatedAt(now);
+            }
         }
         return message;
     }
@@ -24,12 +24,14 @@
 package dev.doddle.storage.sql;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.JobAvailableListener;
 import dev.doddle.storage.common.StorageException;
 import dev.doddle.storage.common.StorageProvider;
 import dev.doddle.storage.common.domain.*;
 import dev.doddle.storage.sql.dao.CronJobDao;
 import dev.doddle.storage.sql.dao.JobDao;
 import dev.doddle.storage.sql.dao.JobMessageDao;
+import dev.doddle.storage.sql.dao.LeaderDao;
 import dev.doddle.storage.sql.dao.QueueDao;
 import dev.doddle.storage.sql.handlers.JobCategoryHandler;
 import dev.doddle.storage.sql.handlers.JobStateHandler;
@@ -37,6 +39,7 @@ import dev.doddle.storage.sql.handlers.ListArrayTypeHandler;
 import dev.doddle.storage.sql.mappers.CronJobMapper;
 import dev.doddle.storage.sql.mappers.JobMapper;
 import dev.doddle.storage.sql.mappers.JobMessageMapper;
+import dev.doddle.storage.sql.mappers.LeaderMapper;
 import dev.doddle.storage.sql.mappers.QueueMapper;
 import org.apache.ibatis.jdbc.ScriptRunner;
 import org.apache.ibatis.mapping.Environment;
@@ -53,18 +56,23 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
 
 public abstract class AbstractSQLStorageProvider implements StorageProvider {
 
-    protected final DataSource    dataSource;
-    protected final String        name;
-    protected       JobDao        jobDao;
-    protected       JobMessageDao jobMessageDao;
-    protected       CronJobDao    cronJobDao;
-    protected       QueueDao      queueDao;
+    protected static final int           BATCH_SIZE = 1000;
+    protected final        DataSource    dataSource;
+    protected final        String        name;
+    protected final        boolean       directPick;
+    protected              JobDao        jobDao;
+    protected              JobMessageDao jobMessageDao;
+    protected              CronJobDao    cronJobDao;
+    protected              QueueDao      queueDao;
+    protected              LeaderDao     leaderDao;
 
     /**
      * Create a new sql adapter
@@ -73,9 +81,23 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
      * @param dataSource the datasource to use for this adapter
      */
     public AbstractSQLStorageProvider(@NotNull final String databaseId, @NotNull final DataSource dataSource) {
+        this(databaseId, dataSource, false);
+    }
+
+    /**
+     * Create a new sql adapter
+     *
+     * @param databaseId the database id to use for this adapter
+     * @param dataSource the datasource to use for this adapter
+     * @param directPick whether to pick the due jobs straight from the scheduled, failed and retryable states
+     */
+    public AbstractSQLStorageProvider(@NotNull final String databaseId,
+                                      @NotNull final DataSource dataSource,
+                                      final boolean directPick) {
         requireNonNull(databaseId, "databaseId cannot be null");
         this.dataSource = requireNonNull(dataSource, "dataSource cannot be null");
         this.name = databaseId;
+        this.directPick = directPick;
 
         bind(databaseId);
     }
@@ -118,12 +140,22 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
         return this.jobDao.create(job);
     }
 
+    @Override
+    public List<Job> createJobs(@NotNull final List<Job> jobs) throws StorageException {
+        return this.jobDao.createAll(jobs, BATCH_SIZE);
+    }
+
     @Override
     public JobMessage createMessageForJob(@NotNull Job job,
                                           @NotNull JobMessage message) throws StorageException {
         return this.jobMessageDao.create(job, message);
     }
 
+    @Override
+    public void createMessages(@NotNull final Map<Job, List<JobMessage>> messages) throws StorageException {
+        this.jobMessageDao.createAll(messages, BATCH_SIZE);
+    }
+
     public Queue createQueue(@NotNull final Queue queue) throws StorageException {
         return this.queueDao.create(queue);
     }
@@ -143,6 +175,11 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
         this.jobDao.deleteAll(date);
     }
 
+    @Override
+    public int discardJobs(@NotNull final JobFilter filter) throws StorageException {
+        return this.jobDao.discardAll(filter);
+    }
+
     @Override
     public void deleteAllMessagesForJob(@NotNull Job job) throws StorageException {
         this.jobMessageDao.deleteAll(job);
@@ -183,6 +220,11 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
         return this.cronJobDao.getAll(pageable);
     }
 
+    @Override
+    public List<CronJob> getDueCronJobs(@NotNull final LocalDateTime date, final int limit) throws StorageException {
+        return this.cronJobDao.getDue(date, limit);
+    }
+
     @Override
     public List<JobMessage> getAllMessagesForJob(@NotNull Job job) throws StorageException {
         return this.jobMessageDao.getAll(job);
@@ -250,6 +292,17 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
         return this.name;
     }
 
+    /**
+     * Apply the pending versioned schema migrations shipped for this database
+     *
+     * @return the versions that were applied
+     * @throws StorageException thrown if the migrations could not be applied
+     */
+    @Override
+    public List<Integer> migrate() throws StorageException {
+        return new SQLSchemaMigrator(dataSource, name).migrate();
+    }
+
     @Override
     public Optional<Queue> getQueueById(@NotNull String id) {
         return this.queueDao.getById(id);
@@ -274,9 +327,76 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
         }
     }
 
+    @Override
+    public boolean isDirectPick() {
+        return directPick;
+    }
+
     @Override
     public Optional<Job> pickJob() throws StorageException {
-        return this.jobDao.pick();
+        return this.jobDao.pick(null, directPick);
+    }
+
+    @Override
+    public Optional<Job> pickJob(@NotNull final JobLease lease) throws StorageException {
+        return this.jobDao.pick(lease, directPick);
+    }
+
+    @Override
+    public List<Job> pickJobs(final int max) throws StorageException {
+        return this.jobDao.pick(null, max, directPick);
+    }
+
+    @Override
+    public List<Job> pickJobs(@NotNull final JobLease lease, final int max) throws StorageException {
+        return this.jobDao.pick(lease, max, directPick);
+    }
+
+    @Override
+    public List<Job> pickJobs(@NotNull final Queue queue, final int max) throws StorageException {
+        return this.jobDao.pick(queue, null, max, directPick);
+    }
+
+    @Override
+    public List<Job> pickJobs(@NotNull final Queue queue, @NotNull final JobLease lease, final int max) throws StorageException {
+        return this.jobDao.pick(queue, lease, max, directPick);
+    }
+
+    @Override
+    public int purgeCompletedBefore(@NotNull final LocalDateTime date, final int batchSize) throws StorageException {
+        return this.jobDao.purgeCompleted(date, batchSize);
+    }
+
+    @Override
+    public int purgeCompletedBefore(@NotNull final LocalDateTime date,
+                                    final int batchSize,
+                                    @NotNull final Consumer<List<Job>> purged) throws StorageException {
+        return this.jobDao.purgeCompleted(date, batchSize, purged);
+    }
+
+    @Override
+    public int reclaimExpiredLeases() throws StorageException {
+        return this.jobDao.reclaimExpiredLeases();
+    }
+
+    @Override
+    public int releaseJobs(@NotNull final List<Job> jobs) throws StorageException {
+        return this.jobDao.release(jobs);
+    }
+
+    @Override
+    public int renewLeases(@NotNull final JobLease lease) throws StorageException {
+        return this.jobDao.renewLeases(lease);
+    }
+
+    @Override
+    public int retryJobs(@NotNull final JobFilter filter, @NotNull final LocalDateTime when) throws StorageException {
+        return this.jobDao.retryAll(filter, when);
+    }
+
+    @Override
+    public void subscribe(@NotNull final JobAvailableListener listener) throws StorageException {
+        // notifications are not supported by default, the jobs are found by polling
     }
 
     @Override
@@ -326,6 +446,7 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
         this.jobMessageDao = new JobMessageDao(sqlSessionFactory);
         this.cronJobDao = new CronJobDao(sqlSessionFactory);
         this.queueDao = new QueueDao(sqlSessionFactory);
+        this.leaderDao = new LeaderDao(sqlSessionFactory);
     }
 
     protected Configuration buildConfiguration(@NotNull final String databaseId, @NotNull final Environment environment) {
@@ -334,6 +455,7 @@ public abstract class AbstractSQLStorageProvider implements StorageProvider {
         configuration.addMapper(JobMessageMapper.class);
         configuration.addMapper(CronJobMapper.class);
         configuration.addMapper(QueueMapper.class);
+        configuration.addMapper(LeaderMapper.class);
         configuration.setDatabaseId(databaseId);
         configuration.getTypeHandlerRegistry().register(JobStateHandler.class);
         configuration.getTypeHandlerRegistry().register(JobCategoryHandler.class);
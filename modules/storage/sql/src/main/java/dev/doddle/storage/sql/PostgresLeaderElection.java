@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.StorageException;
+import dev.doddle.storage.common.domain.Leader;
+import dev.doddle.storage.sql.dao.LeaderDao;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.SqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Elects the cluster leader with a postgres session level advisory lock
+ * <p>
+ * The leader holds the lock on a dedicated session for as long as it leads, so the lock is released as soon
+ * as its session ends. The leader records its node id, backend and lease in the doddle_leader table every time
+ * it renews its leadership. When a node cannot take the lock and the recorded lease has expired, the leader is
+ * assumed to be stuck and its backend is terminated, releasing the lock so another node can take over within
+ * one lease period.
+ * <p>
+ * Terminating the backend with {@code pg_terminate_backend} requires the nodes to connect as the same role as the
+ * leader, or as a role granted {@code pg_signal_backend}, and never works against a superuser session. Without
+ * the privilege a stuck leader is only replaced once its session ends.
+ */
+public class PostgresLeaderElection {
+
+    public static final  long       LOCK_KEY = 0x646f64646c65L;
+    private static final Logger     logger   = LoggerFactory.getLogger(PostgresLeaderElection.class);
+    private static final String     NAME     = "scheduler";
+    private final        LeaderDao  leaderDao;
+    private              SqlSession session;
+
+    /**
+     * Create a new leader election
+     *
+     * @param leaderDao the dao of the leader record and lock
+     */
+    public PostgresLeaderElection(@NotNull final LeaderDao leaderDao) {
+        this.leaderDao = requireNonNull(leaderDao, "leaderDao cannot be null");
+    }
+
+    /**
+     * Try to become, or remain, the leader
+     *
+     * @param nodeId the id of the node
+     * @param lease  how long the leadership lasts before it must be renewed
+     * @return true if the node is the leader
+     */
+    public synchronized boolean elect(@NotNull final String nodeId, @NotNull final Duration lease) throws StorageException {
+        if (session != null) {
+            try {
+                leaderDao.record(session, NAME, nodeId, lease);
+                return true;
+            } catch (StorageException exception) {
+                logger.warn("Lost the leadership for node: {}: {}", nodeId, exception.getMessage());
+                close(session, true);
+                session = null;
+                return false;
+            }
+        }
+        return acquire(nodeId, lease);
+    }
+
+    /**
+     * Release the session holding the lock, if the node is the leader
+     * The leader record is left to expire
+     */
+    public synchronized void close() {
+        if (session == null) {
+            return;
+        }
+        close(session, true);
+        session = null;
+    }
+
+    /**
+     * Get the current leader
+     *
+     * @return the leader, or empty if the leadership has expired
+     */
+    public Optional<Leader> getLeader() throws StorageException {
+        return leaderDao.getByName(NAME);
+    }
+
+    /**
+     * Give up the leadership if the node holds it
+     *
+     * @param nodeId the id of the node
+     */
+    public synchronized void resign(@NotNull final String nodeId) {
+        if (session == null) {
+            return;
+        }
+        try {
+            leaderDao.delete(session, NAME);
+        } catch (StorageException exception) {
+            logger.warn("Could not clear the leader record for node: {}: {}", nodeId, exception.getMessage());
+        }
+        close(session, true);
+        session = null;
+        logger.info("Node: {} resigned the leadership", nodeId);
+    }
+
+    private boolean acquire(final String nodeId, final Duration lease) throws StorageException {
+        // the session keeps its connection until it is closed, so the lock stays with the node that took it
+        final SqlSession candidate = leaderDao.openSession();
+        boolean locked = false;
+        try {
+            locked = leaderDao.tryLock(candidate, LOCK_KEY);
+            if (!locked) {
+                evictExpired(candidate);
+                return false;
+            }
+            leaderDao.record(candidate, NAME, nodeId, lease);
+            session = candidate;
+            logger.info("Node: {} was elected leader", nodeId);
+            return true;
+        } finally {
+            if (session != candidate) {
+                close(candidate, locked);
+            }
+        }
+    }
+
+    private void close(final SqlSession session, final boolean unlock) {
+        if (unlock) {
+            // the connection goes back to the pool, so the session's lock must be released first
+            try {
+                leaderDao.unlock(session, LOCK_KEY);
+            } catch (StorageException exception) {
+                logger.debug("Could not release the leader lock: {}", exception.getMessage());
+            }
+        }
+        try {
+            session.close();
+        } catch (PersistenceException exception) {
+            logger.debug("Could not close the leader session: {}", exception.getMessage());
+        }
+    }
+
+    private void evictExpired(final SqlSession session) {
+        try {
+            for (final String nodeId : leaderDao.evictExpired(session, NAME)) {
+                logger.warn("Terminated the session of leader: {} whose lease had expired", nodeId);
+            }
+        } catch (StorageException exception) {
+            // most likely the role is not allowed to signal the leader's backend
+            logger.warn("Could not terminate the session of the leader whose lease had expired: {}", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.JobAvailableListener;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Listens for notifications of newly available jobs over the postgres LISTEN/NOTIFY channel
+ * <p>
+ * The notifications are sent by the storage provider in the transactions that make the jobs available. A dedicated
+ * connection is held open to listen for them, it is re-established if it fails and released once the channel is
+ * closed. Notifications are only a hint, jobs are still found by polling.
+ */
+public class PostgresNotificationChannel {
+
+    public static final  String                     CHANNEL           = "doddle_jobs";
+    private static final Logger                     logger            = LoggerFactory.getLogger(PostgresNotificationChannel.class);
+    private static final int                        RECEIVE_TIMEOUT   = 1000;
+    private static final long                       RECONNECT_BACKOFF = SECONDS.toMillis(5);
+    private final        DataSource                 dataSource;
+    private final        List<JobAvailableListener> listeners;
+    private final        AtomicBoolean              started;
+    private final        AtomicBoolean              closed;
+    private volatile     Thread                     listenerThread;
+
+    /**
+     * Create a new notification channel
+     *
+     * @param dataSource the datasource to use for listening for notifications
+     */
+    public PostgresNotificationChannel(@NotNull final DataSource dataSource) {
+        this.dataSource = requireNonNull(dataSource, "dataSource cannot be null");
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.started = new AtomicBoolean(false);
+        this.closed = new AtomicBoolean(false);
+    }
+
+    /**
+     * Close the channel, stopping the listener thread
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        final Thread thread = this.listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                // the listener checks for the interrupt at least once per receive timeout
+                thread.join(RECEIVE_TIMEOUT * 2L);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Subscribe to the channel, starting the listener thread on the first subscription
+     *
+     * @param listener the listener to notify
+     */
+    public void subscribe(@NotNull final JobAvailableListener listener) {
+        listeners.add(requireNonNull(listener, "listener cannot be null"));
+        if (!closed.get() && started.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::listen, "doddle-notification-listener");
+            thread.setDaemon(true);
+            this.listenerThread = thread;
+            thread.start();
+        }
+    }
+
+    private void listen() {
+        while (!closed.get() && !Thread.currentThread().isInterrupted()) {
+            try (final Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (final Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                logger.debug("Listening for notifications on the {} channel", CHANNEL);
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (!closed.get() && !Thread.currentThread().isInterrupted()) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT);
+                    if (notifications != null) {
+                        for (final PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                if (closed.get()) {
+                    return;
+                }
+                logger.warn("Lost the connection listening on the {} channel, reconnecting: {}", CHANNEL, exception.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void dispatch(final String queue) {
+        final String name = queue == null || queue.isEmpty() ? null : queue;
+        for (final JobAvailableListener listener : listeners) {
+            try {
+                listener.onJobAvailable(name);
+            } catch (RuntimeException exception) {
+                logger.error("Job available listener failed", exception);
+            }
+        }
+    }
+}
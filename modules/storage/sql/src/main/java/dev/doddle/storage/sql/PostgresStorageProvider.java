@@ -24,22 +24,158 @@
 package dev.doddle.storage.sql;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.JobAvailableListener;
+import dev.doddle.storage.common.StorageException;
 import dev.doddle.storage.common.StorageProvider;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.Leader;
 
 import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static dev.doddle.storage.common.domain.JobState.AVAILABLE;
+import static dev.doddle.storage.common.domain.JobState.SCHEDULED;
+import static java.time.LocalDateTime.now;
 
 /**
  * Provides a storage adapter for the postgres database engine
+ * <p>
+ * With notifications enabled, a job that is already due when it is created is inserted as available, and the
+ * pollers are notified in the same transaction that makes a job available, so they are woken up without waiting for
+ * the enqueue command
  */
 public class PostgresStorageProvider extends AbstractSQLStorageProvider implements StorageProvider {
 
+    private final PostgresNotificationChannel channel;
+    private       PostgresLeaderElection      election;
+
     /**
      * Create a new postgres adapter
      *
      * @param dataSource the datasource to use for this adapter
      */
     public PostgresStorageProvider(@NotNull DataSource dataSource) {
-        super("postgres", dataSource);
+        this(dataSource, false);
+    }
+
+    /**
+     * Create a new postgres adapter
+     *
+     * @param dataSource    the datasource to use for this adapter
+     * @param notifications whether to notify the pollers over LISTEN/NOTIFY when jobs become available
+     */
+    public PostgresStorageProvider(@NotNull DataSource dataSource, final boolean notifications) {
+        this(dataSource, notifications, false);
+    }
+
+    /**
+     * Create a new postgres adapter
+     * When picking directly, the due jobs are claimed straight from the scheduled, failed and retryable states
+     * in a single statement, so there is no need to enqueue them first
+     *
+     * @param dataSource    the datasource to use for this adapter
+     * @param notifications whether to notify the pollers over LISTEN/NOTIFY when jobs become available
+     * @param directPick    whether to pick the due jobs without enqueueing them first
+     */
+    public PostgresStorageProvider(@NotNull DataSource dataSource, final boolean notifications, final boolean directPick) {
+        super("postgres", dataSource, directPick);
+        this.channel = notifications ? new PostgresNotificationChannel(dataSource) : null;
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            channel.close();
+        }
+        synchronized (this) {
+            if (election != null) {
+                election.close();
+            }
+        }
+    }
+
+    @Override
+    public Job createJob(Job job) throws StorageException {
+        return this.jobDao.create(promote(job), getChannel(), directPick);
+    }
+
+    @Override
+    public List<Job> createJobs(@NotNull final List<Job> jobs) throws StorageException {
+        jobs.forEach(this::promote);
+        return this.jobDao.createAll(jobs, BATCH_SIZE, getChannel(), directPick);
+    }
+
+    @Override
+    public boolean electLeader(@NotNull final String nodeId, @NotNull final Duration lease) throws StorageException {
+        return election().elect(nodeId, lease);
+    }
+
+    @Override
+    public List<Job> enqueueJobs() throws StorageException {
+        return this.jobDao.enqueue(getChannel());
+    }
+
+    @Override
+    public Optional<Leader> getLeader() throws StorageException {
+        return election().getLeader();
+    }
+
+    @Override
+    public void resignLeader(@NotNull final String nodeId) throws StorageException {
+        election().resign(nodeId);
+    }
+
+    @Override
+    public void subscribe(@NotNull final JobAvailableListener listener) throws StorageException {
+        if (channel != null) {
+            channel.subscribe(listener);
+        }
+    }
+
+    @Override
+    public Job updateJob(Job job) throws StorageException {
+        return this.jobDao.update(job, getChannel(), directPick);
+    }
+
+    /**
+     * Get the leader election, created on first use so that only the nodes taking part in the election have one
+     *
+     * @return the leader election
+     */
+    private synchronized PostgresLeaderElection election() {
+        if (election == null) {
+            election = new PostgresLeaderElection(leaderDao);
+        }
+        return election;
+    }
+
+    /**
+     * Get the channel to notify when jobs become available
+     *
+     * @return the channel, or null when notifications are disabled
+     */
+    private String getChannel() {
+        return channel == null ? null : PostgresNotificationChannel.CHANNEL;
+    }
+
+    /**
+     * Insert a job that is already due as available, so the pollers are notified in the insert's transaction rather
+     * than on the next run of the enqueue command
+     *
+     * @param job the job to create
+     * @return the job
+     */
+    private Job promote(final Job job) {
+        if (channel != null
+            && !directPick
+            && SCHEDULED.equals(job.getState())
+            && job.getScheduledAt() != null
+            && !job.getScheduledAt().isAfter(now())) {
+            job.setState(AVAILABLE);
+        }
+        return job;
     }
 
 }
@@ -0,0 +1,312 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.StorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Applies the versioned schema migrations shipped for a database
+ * <p>
+ * The migrations live in {@code dev/doddle/storage/sql/migrations/<database id>/}, are listed in order in its
+ * {@code index.txt} and are named {@code V<version>__<description>.sql}. The applied versions are recorded in
+ * the {@code doddle_schema_version} table. The pending migrations are applied in a transaction while the version
+ * table is locked, so nodes starting at the same time do not apply them twice.
+ * <p>
+ * A migration whose first line is {@code -- non-transactional} is applied outside of a transaction instead, one
+ * statement at a time, so it can build its indexes with {@code CREATE INDEX CONCURRENTLY} without blocking the writes
+ * to a table that is in use. Its version is claimed before it is applied, so a node starting at the same time skips it
+ * rather than building the same index. If it fails the claim is removed again, and the migrations applied before it
+ * stay applied. A failed concurrent build leaves an invalid index behind, so these migrations drop each index before
+ * building it.
+ */
+public class SQLSchemaMigrator {
+
+    private static final Logger     logger            = LoggerFactory.getLogger(SQLSchemaMigrator.class);
+    private static final Pattern    MIGRATION         = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern    STATEMENT_END     = Pattern.compile(";\\s*(\\r?\\n|$)");
+    private static final String     NON_TRANSACTIONAL = "-- non-transactional";
+    private static final String     VERSION_TABLE     = "doddle_schema_version";
+    private final        DataSource dataSource;
+    private final        String     databaseId;
+
+    /**
+     * Create a new schema migrator
+     *
+     * @param dataSource the datasource to migrate
+     * @param databaseId the database id, used to find the migrations
+     */
+    public SQLSchemaMigrator(@NotNull final DataSource dataSource, @NotNull final String databaseId) {
+        this.dataSource = requireNonNull(dataSource, "dataSource cannot be null");
+        this.databaseId = requireNonNull(databaseId, "databaseId cannot be null");
+    }
+
+    /**
+     * Apply the pending migrations
+     *
+     * @return the versions that were applied
+     * @throws StorageException thrown if a migration could not be applied, in which case none of the migrations in its
+     *                          transaction are applied
+     */
+    public List<Integer> migrate() throws StorageException {
+        final List<Migration> migrations = getMigrations();
+        if (migrations.isEmpty()) {
+            logger.debug("No schema migrations for database: {}", databaseId);
+            return List.of();
+        }
+        try (final Connection connection = dataSource.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+            try {
+                final List<Integer> applied = new ArrayList<>();
+                int from = 0;
+                while (from < migrations.size()) {
+                    // the transactional migrations up to the next one that is not are applied together
+                    int to = from;
+                    while (to < migrations.size() && migrations.get(to).isTransactional()) {
+                        to++;
+                    }
+                    if (to > from) {
+                        applied.addAll(migrate(connection, migrations.subList(from, to)));
+                        from = to;
+                    } else {
+                        if (migrateConcurrently(connection, migrations.get(from))) {
+                            applied.add(migrations.get(from).getVersion());
+                        }
+                        from++;
+                    }
+                }
+                return applied;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException exception) {
+            throw new StorageException("Error migrating the schema", exception);
+        }
+    }
+
+    /**
+     * Get the migrations shipped for the database, ordered by version
+     *
+     * @return the migrations
+     */
+    public List<Migration> getMigrations() throws StorageException {
+        final List<Migration> migrations = new ArrayList<>();
+        for (final String name : readLines(getPath("index.txt"))) {
+            final Matcher matcher = MIGRATION.matcher(name);
+            if (!matcher.matches()) {
+                throw new StorageException(format("Invalid migration name: %s", name));
+            }
+            final List<String> lines = readLines(getPath(name));
+            final boolean transactional = lines.isEmpty() || !lines.get(0).trim().equals(NON_TRANSACTIONAL);
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), name, transactional));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        return migrations;
+    }
+
+    private List<Integer> migrate(final Connection connection, final List<Migration> migrations) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            createVersionTable(connection);
+            try (final Statement statement = connection.createStatement()) {
+                statement.execute("LOCK TABLE " + VERSION_TABLE + " IN EXCLUSIVE MODE");
+            }
+            final Set<Integer> installed = getInstalled(connection);
+            final List<Integer> applied = new ArrayList<>();
+            for (final Migration migration : migrations) {
+                if (installed.contains(migration.getVersion())) {
+                    continue;
+                }
+                logger.info("Applying schema migration {}: {}", migration.getVersion(), migration.getDescription());
+                try (final Statement statement = connection.createStatement()) {
+                    statement.execute(String.join("\n", readLines(getPath(migration.getName()))));
+                }
+                record(connection, migration);
+                applied.add(migration.getVersion());
+            }
+            connection.commit();
+            return applied;
+        } catch (SQLException | StorageException exception) {
+            connection.rollback();
+            throw exception;
+        }
+    }
+
+    /**
+     * Apply a migration outside of a transaction, one statement at a time
+     *
+     * @return false if the migration was already applied, or is being applied by another node
+     */
+    private boolean migrateConcurrently(final Connection connection, final Migration migration) throws SQLException {
+        connection.setAutoCommit(true);
+        createVersionTable(connection);
+        if (getInstalled(connection).contains(migration.getVersion())) {
+            return false;
+        }
+        try {
+            record(connection, migration);
+        } catch (SQLException exception) {
+            if (exception.getSQLState() != null && exception.getSQLState().startsWith("23")) {
+                logger.info("Schema migration {} is being applied by another node", migration.getVersion());
+                return false;
+            }
+            throw exception;
+        }
+        logger.info("Applying schema migration {} concurrently: {}", migration.getVersion(), migration.getDescription());
+        try {
+            final String script = String.join("\n", readLines(getPath(migration.getName())));
+            for (final String sql : STATEMENT_END.split(script)) {
+                if (!sql.isBlank()) {
+                    try (final Statement statement = connection.createStatement()) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+            return true;
+        } catch (SQLException | StorageException exception) {
+            // release the claim so the migration is applied again on the next start
+            try (final PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + VERSION_TABLE + " WHERE version = ?")) {
+                statement.setInt(1, migration.getVersion());
+                statement.executeUpdate();
+            }
+            throw exception;
+        }
+    }
+
+    private void createVersionTable(final Connection connection) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" +
+                "version INTEGER NOT NULL PRIMARY KEY, " +
+                "description VARCHAR(250) NOT NULL, " +
+                "installed_at TIMESTAMP NOT NULL DEFAULT NOW())");
+        }
+    }
+
+    private Set<Integer> getInstalled(final Connection connection) throws SQLException {
+        final Set<Integer> installed = new HashSet<>();
+        try (final Statement statement = connection.createStatement();
+             final ResultSet results = statement.executeQuery("SELECT version FROM " + VERSION_TABLE)) {
+            while (results.next()) {
+                installed.add(results.getInt(1));
+            }
+        }
+        return installed;
+    }
+
+    private void record(final Connection connection, final Migration migration) throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(
+            "INSERT INTO " + VERSION_TABLE + " (version, description) VALUES (?, ?)")) {
+            statement.setInt(1, migration.getVersion());
+            statement.setString(2, migration.getDescription());
+            statement.executeUpdate();
+        }
+    }
+
+    private String getPath(final String name) {
+        return format("dev/doddle/storage/sql/migrations/%s/%s", databaseId, name);
+    }
+
+    private List<String> readLines(final String path) throws StorageException {
+        final InputStream stream = getClass().getClassLoader().getResourceAsStream(path);
+        if (stream == null) {
+            return List.of();
+        }
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, UTF_8))) {
+            return reader.lines()
+                .filter(line -> !path.endsWith("index.txt") || !line.isBlank())
+                .collect(toList());
+        } catch (IOException exception) {
+            throw new StorageException(format("Error reading migration: %s", path), exception);
+        }
+    }
+
+    /**
+     * A versioned schema migration
+     */
+    public static class Migration {
+
+        private final int     version;
+        private final String  description;
+        private final String  name;
+        private final boolean transactional;
+
+        public Migration(final int version, final String description, final String name) {
+            this(version, description, name, true);
+        }
+
+        public Migration(final int version, final String description, final String name, final boolean transactional) {
+            this.version = version;
+            this.description = description;
+            this.name = name;
+            this.transactional = transactional;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * Is the migration applied in a transaction?
+         *
+         * @return false if its statements must run on their own, such as CREATE INDEX CONCURRENTLY
+         */
+        public boolean isTransactional() {
+            return transactional;
+        }
+    }
+}
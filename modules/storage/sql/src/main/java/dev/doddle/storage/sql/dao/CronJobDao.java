@@ -37,6 +37,7 @@ import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -163,6 +164,23 @@ public class CronJobDao {
         }
     }
 
+    /**
+     * Get the enabled cron jobs that are due to run
+     *
+     * @param date  the date the cron jobs must be due by
+     * @param limit the maximum number of cron jobs to get
+     * @return a list of cron jobs
+     */
+    public List<CronJob> getDue(@NotNull final LocalDateTime date, final int limit) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            logger.debug("Fetching up to {} cron jobs due by: {}", limit, date);
+            final CronJobMapper mapper = session.getMapper(CronJobMapper.class);
+            return mapper.getDue(date, limit);
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error fetching due cron jobs", exception);
+        }
+    }
+
     /**
      * Get a cron job by the given identifier
      *
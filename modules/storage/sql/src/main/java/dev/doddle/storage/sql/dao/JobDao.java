@@ -24,30 +24,40 @@
 package dev.doddle.storage.sql.dao;
 
 import dev.doddle.common.support.NotNull;
+import dev.doddle.common.support.Nullable;
+import dev.doddle.storage.common.JobLeaseLostException;
 import dev.doddle.storage.common.StorageException;
 import dev.doddle.storage.common.domain.Job;
 import dev.doddle.storage.common.domain.JobFilter;
+import dev.doddle.storage.common.domain.JobLease;
 import dev.doddle.storage.common.domain.JobStatistic;
 import dev.doddle.storage.common.domain.Pageable;
+import dev.doddle.storage.common.domain.Queue;
 import dev.doddle.storage.common.interceptors.JobInterceptor;
 import dev.doddle.storage.common.support.KeyGenerator;
 import dev.doddle.storage.common.support.UUIDKeyGenerator;
 import dev.doddle.storage.sql.mappers.JobMapper;
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 
 public class JobDao {
 
-    private final static Logger            logger = LoggerFactory.getLogger(JobDao.class);
+    private final static Logger            logger            = LoggerFactory.getLogger(JobDao.class);
+    private final static int               NOTIFY_BATCH_SIZE = 1000;
     private final        SqlSessionFactory sqlSessionFactory;
     private final        JobInterceptor    interceptor;
 
@@ -71,11 +81,27 @@ public class JobDao {
     }
 
     public Job create(@NotNull final Job job) throws StorageException {
+        return create(job, null, false);
+    }
+
+    /**
+     * Create a job and notify its queue if it can be picked
+     * The notification is sent in the same transaction as the insert, so it is only delivered once the job is visible
+     *
+     * @param job     the job to create
+     * @param channel the channel to notify, or null to not notify
+     * @param direct  whether the due scheduled, failed and retryable jobs can be picked as well as the available jobs
+     * @return the created job
+     */
+    public Job create(@NotNull final Job job, @Nullable final String channel, final boolean direct) throws StorageException {
         try (final SqlSession session = sqlSessionFactory.openSession()) {
             final Job record = interceptor.apply(job);
             logger.debug("Creating job with id: {}", record.getId());
             final JobMapper mapper = session.getMapper(JobMapper.class);
             mapper.create(record);
+            if (channel != null) {
+                mapper.notifyAvailable(channel, List.of(record.getId()), direct);
+            }
             session.commit();
             return record;
         } catch (PersistenceException exception) {
@@ -83,6 +109,54 @@ public class JobDao {
         }
     }
 
+    /**
+     * Create many jobs in one transaction
+     * The inserts are sent to the database in JDBC batches instead of one round-trip per job
+     *
+     * @param jobs      the jobs to create
+     * @param batchSize the number of inserts to send in each batch
+     * @return the created jobs
+     */
+    public List<Job> createAll(@NotNull final List<Job> jobs, final int batchSize) throws StorageException {
+        return createAll(jobs, batchSize, null, false);
+    }
+
+    /**
+     * Create many jobs in one transaction and notify each queue that has jobs that can be picked once
+     * The inserts are sent to the database in JDBC batches instead of one round-trip per job
+     *
+     * @param jobs      the jobs to create
+     * @param batchSize the number of inserts to send in each batch
+     * @param channel   the channel to notify, or null to not notify
+     * @param direct    whether the due scheduled, failed and retryable jobs can be picked as well as the available jobs
+     * @return the created jobs
+     */
+    public List<Job> createAll(@NotNull final List<Job> jobs,
+                               final int batchSize,
+                               @Nullable final String channel,
+                               final boolean direct) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            final List<Job> records = new ArrayList<>(jobs.size());
+            for (final Job job : jobs) {
+                final Job record = interceptor.apply(job);
+                mapper.create(record);
+                records.add(record);
+                if (records.size() % batchSize == 0) {
+                    session.flushStatements();
+                }
+            }
+            if (channel != null) {
+                notifyAvailable(mapper, channel, records, batchSize, direct);
+            }
+            session.commit();
+            logger.debug("Created {} jobs", records.size());
+            return records;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error creating jobs", exception);
+        }
+    }
+
     public void delete(@NotNull final Job job) throws StorageException {
         try (final SqlSession session = sqlSessionFactory.openSession()) {
             logger.debug("Deleting job with the id: {}", job.getId());
@@ -109,11 +183,89 @@ public class JobDao {
         }
     }
 
+    public int discardAll(@NotNull final JobFilter filter) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            logger.debug("Discarding jobs matching a filter");
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            final int discarded = mapper.discardAll(filter);
+            session.commit(true);
+            return discarded;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error discarding jobs", exception);
+        }
+    }
+
+    public int purgeCompleted(@NotNull final LocalDateTime date, final int batchSize) throws StorageException {
+        int purged = 0;
+        int deleted;
+        do {
+            try (final SqlSession session = sqlSessionFactory.openSession()) {
+                final JobMapper mapper = session.getMapper(JobMapper.class);
+                deleted = mapper.purgeCompleted(date, batchSize);
+                session.commit(true);
+            } catch (PersistenceException exception) {
+                throw new StorageException("Error purging completed jobs", exception);
+            }
+            purged += deleted;
+        } while (deleted == batchSize);
+        logger.debug("Purged {} jobs completed on or before {}", purged, date);
+        return purged;
+    }
+
+    public int purgeCompleted(@NotNull final LocalDateTime date,
+                              final int batchSize,
+                              @NotNull final Consumer<List<Job>> consumer) throws StorageException {
+        int purged = 0;
+        List<Job> deleted;
+        do {
+            try (final SqlSession session = sqlSessionFactory.openSession()) {
+                final JobMapper mapper = session.getMapper(JobMapper.class);
+                deleted = mapper.purgeCompletedReturning(date, batchSize);
+                session.commit(true);
+            } catch (PersistenceException exception) {
+                throw new StorageException("Error purging completed jobs", exception);
+            }
+            if (!deleted.isEmpty()) {
+                consumer.accept(deleted);
+            }
+            purged += deleted.size();
+        } while (deleted.size() == batchSize);
+        logger.debug("Purged {} jobs completed on or before {}", purged, date);
+        return purged;
+    }
+
+    public int retryAll(@NotNull final JobFilter filter, @NotNull final LocalDateTime when) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            logger.debug("Retrying jobs matching a filter");
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            final int retried = mapper.retryAll(filter, when);
+            session.commit(true);
+            return retried;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error retrying jobs", exception);
+        }
+    }
+
     public List<Job> enqueue() throws StorageException {
+        return enqueue(null);
+    }
+
+    /**
+     * Enqueue the jobs ready to be processed and notify each of their queues once, in the same transaction
+     *
+     * @param channel the channel to notify, or null to not notify
+     * @return the enqueued jobs
+     */
+    public List<Job> enqueue(@Nullable final String channel) throws StorageException {
         try (final SqlSession session = sqlSessionFactory.openSession()) {
             logger.debug("Enqueuing jobs ready to be processed");
             final JobMapper mapper = session.getMapper(JobMapper.class);
-            return mapper.enqueue();
+            final List<Job> jobs = mapper.enqueue();
+            if (channel != null) {
+                notifyAvailable(mapper, channel, jobs, NOTIFY_BATCH_SIZE, false);
+            }
+            session.commit(true);
+            return jobs;
         } catch (PersistenceException exception) {
             throw new StorageException("Error enqueuing job", exception);
         }
@@ -177,26 +329,135 @@ public class JobDao {
         }
     }
 
-    public Optional<Job> pick() throws StorageException {
+    public Optional<Job> pick(@Nullable final JobLease lease, final boolean direct) throws StorageException {
         try (final SqlSession session = sqlSessionFactory.openSession()) {
             logger.debug("Picking job");
             final JobMapper mapper = session.getMapper(JobMapper.class);
-            return mapper.pick();
+            // the count of executing jobs is taken after the locks are acquired, so it sees the other claims
+            final List<String> queueIds = mapper.tryLockLimitedQueues(direct);
+            final Optional<Job> job = mapper.pick(queueIds, lease, direct);
+            session.commit(true);
+            return job;
         } catch (PersistenceException exception) {
             throw new StorageException("Error picking job", exception);
         }
     }
 
+    public List<Job> pick(@Nullable final JobLease lease, final int max, final boolean direct) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            logger.debug("Picking up to {} jobs", max);
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            // the count of executing jobs is taken after the locks are acquired, so it sees the other claims
+            final List<String> queueIds = mapper.tryLockLimitedQueues(direct);
+            final List<Job> jobs = mapper.pickAll(queueIds, max, lease, direct);
+            session.commit(true);
+            return jobs;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error picking jobs", exception);
+        }
+    }
+
+    public List<Job> pick(@NotNull final Queue queue,
+                         @Nullable final JobLease lease,
+                         final int max,
+                         final boolean direct) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            logger.debug("Picking up to {} jobs from queue: {}", max, queue.getName());
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            // the count of executing jobs is taken after the lock is acquired, so it sees the other claims
+            if (queue.getMaxConcurrency() != null && !mapper.tryLockQueue(queue.getId())) {
+                logger.debug("Queue {} is being picked from by another picker", queue.getName());
+                return List.of();
+            }
+            final List<Job> jobs = mapper.pickAllFromQueue(queue.getId(), max, lease, direct);
+            session.commit(true);
+            return jobs;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error picking jobs", exception);
+        }
+    }
+
+    public int reclaimExpiredLeases() throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            final int reclaimed = mapper.reclaimExpiredLeases();
+            session.commit(true);
+            logger.debug("Reclaimed {} jobs with an expired lease", reclaimed);
+            return reclaimed;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error reclaiming jobs", exception);
+        }
+    }
+
+    public int release(@NotNull final List<Job> jobs) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            final int released = mapper.release(jobs);
+            session.commit(true);
+            logger.debug("Released {} claimed jobs", released);
+            return released;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error releasing jobs", exception);
+        }
+    }
+
+    public int renewLeases(@NotNull final JobLease lease) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            final JobMapper mapper = session.getMapper(JobMapper.class);
+            final int renewed = mapper.renewLeases(lease);
+            session.commit(true);
+            logger.debug("Renewed the lease on {} jobs for: {}", renewed, lease.getOwner());
+            return renewed;
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error renewing job leases", exception);
+        }
+    }
+
     public Job update(@NotNull final Job job) throws StorageException {
+        return update(job, null, false);
+    }
+
+    /**
+     * Update a job and notify its queue if it can now be picked, in the same transaction
+     *
+     * @param job     the job to update
+     * @param channel the channel to notify, or null to not notify
+     * @param direct  whether the due scheduled, failed and retryable jobs can be picked as well as the available jobs
+     * @return the updated job
+     */
+    public Job update(@NotNull final Job job, @Nullable final String channel, final boolean direct) throws StorageException {
         try (final SqlSession session = sqlSessionFactory.openSession()) {
             logger.debug("Updating job: {}", job);
             final JobMapper mapper = session.getMapper(JobMapper.class);
-            mapper.update(job);
+            final int updated = mapper.update(job);
+            if (channel != null && updated > 0) {
+                mapper.notifyAvailable(channel, List.of(job.getId()), direct);
+            }
             session.commit();
+            if (updated == 0 && job.getLeaseToken() != null) {
+                throw new JobLeaseLostException(format("The lease on job %s has been lost to another claim", job.getId()));
+            }
             return job;
         } catch (PersistenceException exception) {
             throw new StorageException("Error deleting job", exception);
         }
     }
 
+    /**
+     * Notify the queues of the jobs that can be picked, a bounded number of jobs at a time
+     */
+    private void notifyAvailable(final JobMapper mapper,
+                                 final String channel,
+                                 final List<Job> jobs,
+                                 final int batchSize,
+                                 final boolean direct) {
+        for (int from = 0; from < jobs.size(); from += batchSize) {
+            final List<String> ids = jobs.subList(from, Math.min(from + batchSize, jobs.size()))
+                .stream()
+                .map(Job::getId)
+                .collect(toList());
+            mapper.notifyAvailable(channel, ids, direct);
+        }
+    }
+
 }
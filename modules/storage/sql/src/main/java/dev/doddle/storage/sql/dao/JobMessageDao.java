@@ -34,12 +34,14 @@ import dev.doddle.storage.common.support.KeyGenerator;
 import dev.doddle.storage.common.support.UUIDKeyGenerator;
 import dev.doddle.storage.sql.mappers.JobMessageMapper;
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -110,6 +112,32 @@ public class JobMessageDao {
         }
     }
 
+    /**
+     * Create the messages for many jobs in a single transaction
+     * The inserts are sent to the database in batches
+     *
+     * @param messages  the messages to create, grouped by job
+     * @param batchSize the number of inserts to send in each batch
+     */
+    public void createAll(@NotNull final Map<Job, List<JobMessage>> messages, final int batchSize) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            final JobMessageMapper mapper = session.getMapper(JobMessageMapper.class);
+            int count = 0;
+            for (final Map.Entry<Job, List<JobMessage>> entry : messages.entrySet()) {
+                for (final JobMessage message : entry.getValue()) {
+                    mapper.create(entry.getKey(), interceptor.apply(message));
+                    if (++count % batchSize == 0) {
+                        session.flushStatements();
+                    }
+                }
+            }
+            session.commit();
+            logger.debug("Created {} job messages for {} jobs", count, messages.size());
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error creating job messages", exception);
+        }
+    }
+
     public void deleteAll(@NotNull final Job job) throws StorageException {
         try (final SqlSession session = sqlSessionFactory.openSession()) {
             logger.debug("Deleting all messages for the job: {}", job.getId());
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql.dao;
+
+import dev.doddle.common.support.NotNull;
+import dev.doddle.storage.common.StorageException;
+import dev.doddle.storage.common.domain.Leader;
+import dev.doddle.storage.sql.mappers.LeaderMapper;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The leader record and the advisory lock that decides the election
+ * <p>
+ * The lock is held by a postgres session, so apart from reading the leader every statement runs on a session
+ * opened with {@link #openSession()} that the caller keeps for as long as it leads
+ */
+public class LeaderDao {
+
+    private final static Logger            logger = LoggerFactory.getLogger(LeaderDao.class);
+    private final        SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * Create a new instance
+     *
+     * @param sqlSessionFactory the persistence session factory
+     */
+    public LeaderDao(@NotNull final SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = requireNonNull(sqlSessionFactory, "sqlSessionFactory cannot be null");
+    }
+
+    /**
+     * Remove the leader record written by a session
+     *
+     * @param session the session that leads
+     * @param name    the name of the leadership
+     */
+    public void delete(@NotNull final SqlSession session, @NotNull final String name) throws StorageException {
+        try {
+            logger.debug("Deleting the leader: {}", name);
+            session.getMapper(LeaderMapper.class).delete(name);
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error deleting the leader", exception);
+        }
+    }
+
+    /**
+     * Terminate the session of a leader whose lease has expired
+     *
+     * @param session the session trying to lead
+     * @param name    the name of the leadership
+     * @return the ids of the nodes whose session was terminated
+     */
+    public List<String> evictExpired(@NotNull final SqlSession session, @NotNull final String name) throws StorageException {
+        try {
+            logger.debug("Evicting the expired leader: {}", name);
+            return session.getMapper(LeaderMapper.class).evictExpired(name);
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error evicting the expired leader", exception);
+        }
+    }
+
+    /**
+     * Get the leader whose lease has not expired
+     *
+     * @param name the name of the leadership
+     * @return the leader if found
+     */
+    public Optional<Leader> getByName(@NotNull final String name) throws StorageException {
+        try (final SqlSession session = sqlSessionFactory.openSession()) {
+            logger.debug("Getting the leader: {}", name);
+            final LeaderMapper mapper = session.getMapper(LeaderMapper.class);
+            return mapper.getByName(name);
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error fetching the leader", exception);
+        }
+    }
+
+    /**
+     * Open a session that keeps its connection until it is closed, committing each statement as it runs
+     *
+     * @return the session
+     */
+    public SqlSession openSession() {
+        return sqlSessionFactory.openSession(true);
+    }
+
+    /**
+     * Record a session as the leader
+     *
+     * @param session the session that leads
+     * @param name    the name of the leadership
+     * @param nodeId  the id of the node
+     * @param lease   how long the leadership lasts before it must be renewed
+     */
+    public void record(@NotNull final SqlSession session,
+                       @NotNull final String name,
+                       @NotNull final String nodeId,
+                       @NotNull final Duration lease) throws StorageException {
+        try {
+            logger.debug("Recording node: {} as the leader: {}", nodeId, name);
+            session.getMapper(LeaderMapper.class).record(name, nodeId, lease.toMillis());
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error recording the leader", exception);
+        }
+    }
+
+    /**
+     * Take the advisory lock without waiting
+     *
+     * @param session the session to hold the lock
+     * @param key     the lock key
+     * @return true if the session holds the lock
+     */
+    public boolean tryLock(@NotNull final SqlSession session, final long key) throws StorageException {
+        try {
+            return session.getMapper(LeaderMapper.class).tryLock(key);
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error taking the leader lock", exception);
+        }
+    }
+
+    /**
+     * Release the advisory lock
+     *
+     * @param session the session holding the lock
+     * @param key     the lock key
+     */
+    public void unlock(@NotNull final SqlSession session, final long key) throws StorageException {
+        try {
+            session.getMapper(LeaderMapper.class).unlock(key);
+        } catch (PersistenceException exception) {
+            throw new StorageException("Error releasing the leader lock", exception);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import dev.doddle.storage.common.domain.CronJob;
 import dev.doddle.storage.common.domain.Pageable;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -67,6 +68,15 @@ public interface CronJobMapper {
 
     List<CronJob> getAll();
 
+    /**
+     * Get the enabled cron jobs that are due to run, whose queue is not locked
+     *
+     * @param date  the date the cron jobs must be due by
+     * @param limit the maximum number of cron jobs to get
+     * @return a list of cron jobs, the most overdue first
+     */
+    List<CronJob> getDue(@Param("date") LocalDateTime date, @Param("limit") int limit);
+
     /**
      * Get a cron job by its id
      *
@@ -25,6 +25,7 @@ package dev.doddle.storage.sql.mappers;
 
 import dev.doddle.storage.common.domain.Job;
 import dev.doddle.storage.common.domain.JobFilter;
+import dev.doddle.storage.common.domain.JobLease;
 import dev.doddle.storage.common.domain.JobStatistic;
 import dev.doddle.storage.common.domain.Pageable;
 import org.apache.ibatis.annotations.Param;
@@ -62,6 +63,55 @@ public interface JobMapper {
      */
     void deleteAll(@Param("date") LocalDateTime date);
 
+    /**
+     * Discard the jobs matching a filter that have not completed, been discarded or are executing
+     *
+     * @param filter the filter to use
+     * @return the number of jobs discarded
+     */
+    int discardAll(@Param("filter") JobFilter filter);
+
+    /**
+     * Delete a batch of the jobs that completed on or before a given date
+     *
+     * @param date  the date the jobs must have completed by
+     * @param limit the maximum number of jobs to delete
+     * @return the number of jobs deleted
+     */
+    int purgeCompleted(@Param("date") LocalDateTime date, @Param("limit") int limit);
+
+    /**
+     * Delete a batch of the jobs that completed on or before a given date and return them
+     *
+     * @param date  the date the jobs must have completed by
+     * @param limit the maximum number of jobs to delete
+     * @return the deleted jobs
+     */
+    List<Job> purgeCompletedReturning(@Param("date") LocalDateTime date, @Param("limit") int limit);
+
+    /**
+     * Retry the jobs matching a filter that are not executing or have not completed
+     *
+     * @param filter the filter to use
+     * @param when   when the jobs should be retried
+     * @return the number of jobs retried
+     */
+    int retryAll(@Param("filter") JobFilter filter, @Param("when") LocalDateTime when);
+
+    /**
+     * Notify the listeners on a channel of the queues that have jobs ready to be picked
+     * The notifications are only delivered once the transaction commits, so they are sent in the transaction that
+     * made the jobs available
+     *
+     * @param channel the channel to notify
+     * @param ids     the jobs that may have become available
+     * @param direct  whether the due scheduled, failed and retryable jobs can be picked as well as the available jobs
+     * @return the names of the queues that were notified
+     */
+    List<String> notifyAvailable(@Param("channel") String channel,
+                                 @Param("ids") List<String> ids,
+                                 @Param("direct") boolean direct);
+
     /**
      * Enqueue all jobs that ready to be processed
      *
@@ -97,17 +147,95 @@ public interface JobMapper {
     Optional<Job> getByIdentifier(String identifier);
 
     /**
-     * Pick a job
+     * Pick a job, without exceeding the concurrency limit of its queue
+     * Only the queues with a limit that were locked first are picked from, see {@link #tryLockLimitedQueues(boolean)}
      *
+     * @param queueIds the locked queues with a limit
+     * @param lease    the lease to take on the job, or null to expire the claim after the job's timeout
+     * @param direct   whether to pick from the due scheduled, failed and retryable jobs as well as the available jobs
      * @return a job if found
      */
-    Optional<Job> pick();
+    Optional<Job> pick(@Param("queueIds") List<String> queueIds,
+                       @Param("lease") JobLease lease,
+                       @Param("direct") boolean direct);
+
+    /**
+     * Pick up to a maximum number of jobs in a single claim, without exceeding the concurrency limits of their queues
+     * Only the queues with a limit that were locked first are picked from, see {@link #tryLockLimitedQueues(boolean)}
+     *
+     * @param queueIds the locked queues with a limit
+     * @param limit    the maximum number of jobs to pick
+     * @param lease    the lease to take on the jobs, or null to expire the claims after the jobs' timeouts
+     * @param direct   whether to pick from the due scheduled, failed and retryable jobs as well as the available jobs
+     * @return the picked jobs, ordered by when they were scheduled
+     */
+    List<Job> pickAll(@Param("queueIds") List<String> queueIds,
+                      @Param("limit") int limit,
+                      @Param("lease") JobLease lease,
+                      @Param("direct") boolean direct);
+
+    /**
+     * Pick up to a maximum number of jobs from a queue, without exceeding the queue's concurrency limit
+     * A queue with a limit must be locked first, see {@link #tryLockQueue(String)}
+     *
+     * @param queueId the queue to pick from
+     * @param limit   the maximum number of jobs to pick
+     * @param lease   the lease to take on the jobs, or null to expire the claims after the jobs' timeouts
+     * @param direct  whether to pick from the due scheduled, failed and retryable jobs as well as the available jobs
+     * @return the picked jobs, ordered by when they were scheduled
+     */
+    List<Job> pickAllFromQueue(@Param("queueId") String queueId,
+                               @Param("limit") int limit,
+                               @Param("lease") JobLease lease,
+                               @Param("direct") boolean direct);
+
+    /**
+     * Reclaim the executing jobs whose lease has expired
+     *
+     * @return the number of jobs reclaimed
+     */
+    int reclaimExpiredLeases();
+
+    /**
+     * Make claimed jobs available again if they are still executing under the fencing token they were claimed with
+     *
+     * @param jobs the claimed jobs
+     * @return the number of jobs released
+     */
+    int release(@Param("jobs") List<Job> jobs);
+
+    /**
+     * Extend the lease on the executing jobs held by the lease's owner
+     *
+     * @param lease the lease to renew
+     * @return the number of jobs renewed
+     */
+    int renewLeases(@Param("lease") JobLease lease);
+
+    /**
+     * Lock a queue until the end of the transaction, without waiting for another picker holding it
+     *
+     * @param queueId the queue to lock
+     * @return true if the queue was locked
+     */
+    boolean tryLockQueue(@Param("queueId") String queueId);
+
+    /**
+     * Lock the queues with a concurrency limit that have jobs to pick until the end of the transaction,
+     * skipping the queues held by another picker
+     *
+     * @param direct whether the due scheduled, failed and retryable jobs can be picked as well as the available jobs
+     * @return the ids of the locked queues
+     */
+    List<String> tryLockLimitedQueues(@Param("direct") boolean direct);
 
     /**
      * Update a job
+     * If the job carries a fencing token then it is only updated if the token is still current
      *
      * @param job the job to update
+     * @return the number of jobs updated
      */
-    void update(@Param("job") Job job);
+    int update(@Param("job") Job job);
 
 }
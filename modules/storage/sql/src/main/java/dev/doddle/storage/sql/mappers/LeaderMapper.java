@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql.mappers;
+
+import dev.doddle.storage.common.domain.Leader;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaderMapper {
+
+    /**
+     * Remove the leader record if it was written by the session running the statement
+     *
+     * @param name the name of the leadership
+     * @return the number of records removed
+     */
+    int delete(@Param("name") String name);
+
+    /**
+     * Terminate the session of a leader whose lease has expired, so its session level lock is released
+     *
+     * @param name the name of the leadership
+     * @return the ids of the nodes whose session was terminated
+     */
+    List<String> evictExpired(@Param("name") String name);
+
+    /**
+     * Get the leader whose lease has not expired
+     *
+     * @param name the name of the leadership
+     * @return the leader if found
+     */
+    Optional<Leader> getByName(@Param("name") String name);
+
+    /**
+     * Record the session running the statement as the leader, keeping the election date if it already was
+     *
+     * @param name        the name of the leadership
+     * @param nodeId      the id of the node
+     * @param leaseMillis how long the leadership lasts before it must be renewed, in milliseconds
+     * @return the number of records written
+     */
+    int record(@Param("name") String name, @Param("nodeId") String nodeId, @Param("leaseMillis") long leaseMillis);
+
+    /**
+     * Take the session level advisory lock without waiting
+     *
+     * @param key the lock key
+     * @return true if the session holds the lock
+     */
+    boolean tryLock(@Param("key") long key);
+
+    /**
+     * Release the session level advisory lock
+     *
+     * @param key the lock key
+     * @return true if the session held the lock
+     */
+    boolean unlock(@Param("key") long key);
+}
@@ -1,41 +1,48 @@
--- noinspection SqlResolveForFile @ object-type/"doddle_job_state"
-
 /**
  * Create a new postgres enum type for the job state
  */
-CREATE TYPE doddle_job_state AS ENUM (
-    'available',
-    'scheduled',
-    'executing',
-    'retryable',
-    'completed',
-    'discarded',
-    'failed'
-);
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'doddle_job_state') THEN
+        CREATE TYPE doddle_job_state AS ENUM (
+            'available',
+            'scheduled',
+            'executing',
+            'retryable',
+            'completed',
+            'discarded',
+            'failed'
+        );
+    END IF;
+END $$;
 
-CREATE TYPE doddle_job_category AS ENUM (
-    'standard',
-    'scheduled'
-);
+/**
+ * Create a new postgres enum type for the job category
+ */
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_type WHERE typname = 'doddle_job_category') THEN
+        CREATE TYPE doddle_job_category AS ENUM (
+            'standard',
+            'scheduled'
+        );
+    END IF;
+END $$;
 
 /**
  * Represents a queue in the system
  */
- CREATE TABLE IF NOT EXISTS doddle_queue (
-    id        VARCHAR(36) NOT NULL PRIMARY KEY,
-    name      VARCHAR(100) NOT NULL,
-    priority  NUMERIC (3, 2) NOT NULL,
+CREATE TABLE IF NOT EXISTS doddle_queue
+(
+    id        VARCHAR(36)    NOT NULL PRIMARY KEY,
+    name      VARCHAR(100)   NOT NULL,
+    priority  NUMERIC(3, 2)  NOT NULL,
     locked_at TIMESTAMP
 );
 
 /**
  * Represents a job in the system
  */
-CREATE UNIQUE INDEX IF NOT EXISTS doddle_job_id_uidx ON doddle_job (id);
-
-/**
- * Create an index for the job primary key
- */
 CREATE TABLE IF NOT EXISTS doddle_job
 (
     id                     VARCHAR(36)          NOT NULL PRIMARY KEY,
@@ -63,19 +70,10 @@ CREATE TABLE IF NOT EXISTS doddle_job
     error_stack_trace      TEXT
 );
 
-/**
- * Create an index for the job state
- */
 CREATE INDEX IF NOT EXISTS doddle_job_state_idx ON doddle_job (state);
 
-/**
- * Create an index for the job category
- */
 CREATE INDEX IF NOT EXISTS doddle_job_category_idx ON doddle_job (category);
 
-/**
- * Create an index for the job scheduled_at
- */
 CREATE INDEX IF NOT EXISTS doddle_job_scheduled_at_idx ON doddle_job (scheduled_at);
 
 /**
@@ -93,21 +91,20 @@ CREATE TABLE IF NOT EXISTS doddle_job_message
     error_stack_trace TEXT
 );
 
-
 /**
-  Represents a cron job
+ * Represents a cron job
  */
 CREATE TABLE IF NOT EXISTS doddle_cron_job
 (
-    id          VARCHAR(36)     NOT NULL PRIMARY KEY,
-    name        VARCHAR(100)    NOT NULL,
+    id          VARCHAR(36)  NOT NULL PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
     description VARCHAR(1000),
-    expression  VARCHAR(100)    NOT NULL,
+    expression  VARCHAR(100) NOT NULL,
     next_run_at TIMESTAMP,
-    handler     VARCHAR(128)    NOT NULL,
-    created_at  TIMESTAMP       NOT NULL DEFAULT NOW(),
-    enabled     BOOLEAN         NOT NULL DEFAULT TRUE,
-    timeout     BIGINT          NOT NULL,
-    max_retries                 INTEGER NOT NULL,
-    queue_id                    VARCHAR(36) NOT NULL REFERENCES doddle_queue (id) ON DELETE CASCADE
+    handler     VARCHAR(128) NOT NULL,
+    created_at  TIMESTAMP    NOT NULL DEFAULT NOW(),
+    enabled     BOOLEAN      NOT NULL DEFAULT TRUE,
+    timeout     BIGINT       NOT NULL,
+    max_retries INTEGER      NOT NULL,
+    queue_id    VARCHAR(36)  NOT NULL REFERENCES doddle_queue (id) ON DELETE CASCADE
 );
@@ -0,0 +1,6 @@
+/**
+ * The maximum number of jobs from a queue that can execute at once and its share of the claimed jobs
+ */
+ALTER TABLE doddle_queue
+    ADD COLUMN IF NOT EXISTS max_concurrency INTEGER,
+    ADD COLUMN IF NOT EXISTS weight          INTEGER NOT NULL DEFAULT 1;
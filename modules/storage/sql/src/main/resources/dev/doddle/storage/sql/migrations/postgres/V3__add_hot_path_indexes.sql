@@ -0,0 +1,46 @@
+-- non-transactional
+/**
+ * Picking: the available jobs in the order they were scheduled
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_available_idx;
+CREATE INDEX CONCURRENTLY doddle_job_available_idx
+    ON doddle_job (scheduled_at)
+    WHERE state = 'available';
+
+/**
+ * Picking from a single queue when the claims are shared between the queues
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_queue_available_idx;
+CREATE INDEX CONCURRENTLY doddle_job_queue_available_idx
+    ON doddle_job (queue_id, scheduled_at)
+    WHERE state = 'available';
+
+/**
+ * Counting the jobs executing in a queue when enforcing its concurrency limit
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_queue_executing_idx;
+CREATE INDEX CONCURRENTLY doddle_job_queue_executing_idx
+    ON doddle_job (queue_id)
+    WHERE state = 'executing';
+
+/**
+ * Enqueueing: the scheduled, failed and retryable jobs that are due
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_schedulable_idx;
+CREATE INDEX CONCURRENTLY doddle_job_schedulable_idx
+    ON doddle_job (scheduled_at)
+    WHERE state IN ('scheduled', 'failed', 'retryable');
+
+/**
+ * Filtering the jobs by tags with the containment operator
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_tags_idx;
+CREATE INDEX CONCURRENTLY doddle_job_tags_idx
+    ON doddle_job USING GIN (tags);
+
+/**
+ * Listing the messages for a job
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_message_job_id_idx;
+CREATE INDEX CONCURRENTLY doddle_job_message_job_id_idx
+    ON doddle_job_message (job_id, created_at);
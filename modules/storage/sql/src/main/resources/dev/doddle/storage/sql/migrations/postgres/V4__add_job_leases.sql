@@ -0,0 +1,24 @@
+-- non-transactional
+/**
+ * The lease held by the node that claimed a job, and the fencing token of the claim
+ */
+ALTER TABLE doddle_job
+    ADD COLUMN IF NOT EXISTS owner            VARCHAR(250),
+    ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP,
+    ADD COLUMN IF NOT EXISTS lease_token      BIGINT NOT NULL DEFAULT 0;
+
+/**
+ * Reclaiming the executing jobs whose lease has expired
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_lease_expires_at_idx;
+CREATE INDEX CONCURRENTLY doddle_job_lease_expires_at_idx
+    ON doddle_job (lease_expires_at)
+    WHERE state = 'executing';
+
+/**
+ * Renewing the leases held by a node
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_owner_idx;
+CREATE INDEX CONCURRENTLY doddle_job_owner_idx
+    ON doddle_job (owner)
+    WHERE state = 'executing';
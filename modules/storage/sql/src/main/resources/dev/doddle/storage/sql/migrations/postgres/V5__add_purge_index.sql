@@ -0,0 +1,8 @@
+-- non-transactional
+/**
+ * Purging the completed jobs in batches, oldest first
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_completed_idx;
+CREATE INDEX CONCURRENTLY doddle_job_completed_idx
+    ON doddle_job (completed_at)
+    WHERE state = 'completed';
@@ -0,0 +1,8 @@
+-- non-transactional
+/**
+ * Picking the due jobs directly from a single queue when the claims are shared between the queues
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_job_queue_schedulable_idx;
+CREATE INDEX CONCURRENTLY doddle_job_queue_schedulable_idx
+    ON doddle_job (queue_id, scheduled_at)
+    WHERE state IN ('scheduled', 'failed', 'retryable');
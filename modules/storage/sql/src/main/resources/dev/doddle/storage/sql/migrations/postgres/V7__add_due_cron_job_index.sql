@@ -0,0 +1,7 @@
+-- non-transactional
+/**
+ * Scheduling: the enabled cron jobs that are due to run
+ */
+DROP INDEX CONCURRENTLY IF EXISTS doddle_cron_job_due_idx;
+CREATE INDEX CONCURRENTLY doddle_cron_job_due_idx
+    ON doddle_cron_job (enabled, next_run_at);
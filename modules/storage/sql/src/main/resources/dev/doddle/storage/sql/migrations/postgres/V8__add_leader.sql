@@ -0,0 +1,12 @@
+/**
+ * Represents the node elected to run the singleton scheduling commands
+ * The election itself is decided by an advisory lock, the row only records who holds it
+ */
+CREATE TABLE IF NOT EXISTS doddle_leader
+(
+    name       VARCHAR(100) NOT NULL PRIMARY KEY,
+    node_id    VARCHAR(255) NOT NULL,
+    pid        INTEGER      NOT NULL,
+    elected_at TIMESTAMP    NOT NULL,
+    expires_at TIMESTAMP    NOT NULL
+);
@@ -0,0 +1,6 @@
+/**
+ * Payloads written in a binary format are stored as bytes, text payloads stay in the payload column
+ * A job only ever has one of the two set
+ */
+ALTER TABLE doddle_job
+    ADD COLUMN IF NOT EXISTS payload_binary BYTEA;
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresLeaderElectionTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:10.4");
+
+    private static HikariDataSource dataSource;
+
+    @BeforeAll
+    static void setUp() {
+        final HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(container.getJdbcUrl());
+        config.setUsername(container.getUsername());
+        config.setPassword(container.getPassword());
+        dataSource = new HikariDataSource(config);
+        new PostgresStorageProvider(dataSource).migrate();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("it should elect a single leader and fail over once it resigns or its lease expires")
+    void it_should_elect_a_single_leader_and_fail_over_once_it_resigns_or_its_lease_expires() throws InterruptedException {
+        final PostgresStorageProvider first = new PostgresStorageProvider(dataSource);
+        final PostgresStorageProvider second = new PostgresStorageProvider(dataSource);
+        assertTrue(first.electLeader("node-1", Duration.ofSeconds(30)));
+        assertTrue(first.electLeader("node-1", Duration.ofSeconds(30)));
+        assertFalse(second.electLeader("node-2", Duration.ofSeconds(30)));
+        assertEquals("node-1", second.getLeader().orElseThrow().getNodeId());
+
+        first.resignLeader("node-1");
+        assertTrue(second.getLeader().isEmpty());
+        assertTrue(second.electLeader("node-2", Duration.ofMillis(1)));
+
+        // node-2 stops renewing, so node-1 evicts it once its lease has expired
+        Thread.sleep(10);
+        boolean elected = first.electLeader("node-1", Duration.ofSeconds(30));
+        for (int attempt = 0; !elected && attempt < 50; attempt++) {
+            Thread.sleep(100);
+            elected = first.electLeader("node-1", Duration.ofSeconds(30));
+        }
+        assertTrue(elected);
+        assertFalse(second.electLeader("node-2", Duration.ofSeconds(30)));
+        assertEquals("node-1", second.getLeader().orElseThrow().getNodeId());
+        first.resignLeader("node-1");
+    }
+
+    @Test
+    @DisplayName("it should hand over the leadership once the leader is closed")
+    void it_should_hand_over_the_leadership_once_the_leader_is_closed() {
+        final PostgresStorageProvider first = new PostgresStorageProvider(dataSource);
+        final PostgresStorageProvider second = new PostgresStorageProvider(dataSource);
+        assertTrue(first.electLeader("node-1", Duration.ofSeconds(30)));
+        assertFalse(second.electLeader("node-2", Duration.ofSeconds(30)));
+
+        first.close();
+        assertTrue(second.electLeader("node-2", Duration.ofSeconds(30)));
+        assertEquals("node-2", first.getLeader().orElseThrow().getNodeId());
+        second.resignLeader("node-2");
+    }
+}
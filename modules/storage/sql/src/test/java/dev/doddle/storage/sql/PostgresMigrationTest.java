@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.doddle.storage.common.domain.JobFilter;
+import dev.doddle.storage.sql.mappers.JobMapper;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:10.4");
+
+    private static HikariDataSource        dataSource;
+    private static PostgresStorageProvider provider;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        final HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(container.getJdbcUrl());
+        config.setUsername(container.getUsername());
+        config.setPassword(container.getPassword());
+        dataSource = new HikariDataSource(config);
+        provider = new PostgresStorageProvider(dataSource);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), provider.migrate());
+        execute(
+            "INSERT INTO doddle_queue (id, name, priority) VALUES ('q0', 'busy', 0.5), ('q1', 'default', 0.5)",
+            // q1 holds a small share of the jobs in every state, so only the queue indexes find its jobs without a filter
+            "INSERT INTO doddle_job (id, queue_id, name, category, handler, state, scheduled_at, max_retries, timeout, tags) " +
+                "SELECT 'job-' || i, CASE WHEN (i / 1000) % 50 = 0 THEN 'q1' ELSE 'q0' END, 'job', 'standard', 'handler', " +
+                "CASE WHEN i % 1000 = 0 THEN 'available' WHEN i % 1000 = 1 THEN 'scheduled' " +
+                "WHEN i % 1000 = 2 THEN 'executing' ELSE 'completed' END::doddle_job_state, " +
+                "NOW() - (i || ' seconds')::interval, 3, 60000, " +
+                "CASE WHEN i % 1000 = 0 THEN ARRAY['mailer'] ELSE ARRAY['report'] END " +
+                "FROM generate_series(1, 1000000) AS i",
+            "ANALYZE doddle_job"
+        );
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("it should not reapply migrations")
+    void it_should_not_reapply_migrations() {
+        assertTrue(provider.migrate().isEmpty());
+    }
+
+    @Test
+    @DisplayName("it should build the indexes concurrently outside of the migration transaction")
+    void it_should_build_the_indexes_concurrently_outside_of_the_migration_transaction() throws SQLException {
+        execute("DELETE FROM doddle_schema_version WHERE version = 5");
+        assertEquals(List.of(5), provider.migrate());
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement statement = connection.prepareStatement(
+                 "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = ?")) {
+            statement.setString(1, "doddle_job_completed_idx");
+            try (final ResultSet results = statement.executeQuery()) {
+                assertTrue(results.next());
+                assertTrue(results.getBoolean(1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("it should use the available index when picking jobs")
+    void it_should_use_the_available_index_when_picking_jobs() throws SQLException {
+        final String single = explain("pick", Map.of("queueIds", List.of("q1"), "direct", false));
+        assertTrue(single.contains("doddle_job_available_idx"), single);
+        final String batch = explain("pickAll", Map.of("queueIds", List.of("q1"), "limit", 10, "direct", false));
+        assertTrue(batch.contains("doddle_job_available_idx"), batch);
+    }
+
+    @Test
+    @DisplayName("it should use the queue indexes when picking jobs from a queue")
+    void it_should_use_the_queue_indexes_when_picking_jobs_from_a_queue() throws SQLException {
+        final String plan = explain("pickAllFromQueue", Map.of("queueId", "q1", "limit", 10, "direct", false));
+        assertTrue(plan.contains("doddle_job_queue_available_idx"), plan);
+        assertTrue(plan.contains("doddle_job_queue_executing_idx"), plan);
+    }
+
+    @Test
+    @DisplayName("it should use the schedulable index when enqueuing jobs")
+    void it_should_use_the_schedulable_index_when_enqueuing_jobs() throws SQLException {
+        final String plan = explain("enqueue", Map.of());
+        assertTrue(plan.contains("doddle_job_schedulable_idx"), plan);
+    }
+
+    @Test
+    @DisplayName("it should use the queue schedulable index when picking due jobs directly from a queue")
+    void it_should_use_the_queue_schedulable_index_when_picking_due_jobs_directly_from_a_queue() throws SQLException {
+        final String plan = explain("pickAllFromQueue", Map.of("queueId", "q1", "limit", 10, "direct", true));
+        assertTrue(plan.contains("doddle_job_queue_schedulable_idx"), plan);
+    }
+
+    @Test
+    @DisplayName("it should use the gin index when filtering by tags")
+    void it_should_use_the_gin_index_when_filtering_by_tags() throws SQLException {
+        final JobFilter filter = new JobFilter();
+        filter.setTags(List.of("mailer"));
+        final String plan = explain("countAll", Map.of("filter", filter));
+        assertTrue(plan.contains("Bitmap Index Scan on doddle_job_tags_idx"), plan);
+    }
+
+    private static void execute(final String... sql) throws SQLException {
+        try (final Connection connection = dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            for (final String query : sql) {
+                statement.execute(query);
+            }
+        }
+    }
+
+    /**
+     * Explain a statement of the job mapper, bound with the given parameters just as MyBatis runs it
+     *
+     * @param id         the id of the statement
+     * @param parameters the parameters of the statement
+     * @return the query plan
+     */
+    private static String explain(final String id, final Map<String, Object> parameters) throws SQLException {
+        final Configuration configuration = provider.buildConfiguration("postgres", provider.buildEnvironment(dataSource));
+        final MappedStatement statement = configuration.getMappedStatement(JobMapper.class.getName() + "." + id);
+        final Map<String, Object> bound = new HashMap<>(parameters);
+        final BoundSql sql = statement.getBoundSql(bound);
+        final StringBuilder plan = new StringBuilder();
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql.getSql())) {
+            configuration.newParameterHandler(statement, bound, sql).setParameters(explain);
+            try (final ResultSet results = explain.executeQuery()) {
+                while (results.next()) {
+                    plan.append(results.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
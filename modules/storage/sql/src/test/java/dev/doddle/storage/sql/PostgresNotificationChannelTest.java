@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.doddle.storage.common.builders.JobBuilder;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.JobState;
+import dev.doddle.storage.common.domain.Queue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static dev.doddle.storage.common.domain.JobCategory.STANDARD;
+import static dev.doddle.storage.common.domain.JobState.AVAILABLE;
+import static dev.doddle.storage.common.domain.JobState.SCHEDULED;
+import static java.time.LocalDateTime.now;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresNotificationChannelTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:10.4");
+
+    private static HikariDataSource        dataSource;
+    private static PostgresStorageProvider provider;
+    private static BlockingQueue<String>   notifications;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        final HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(container.getJdbcUrl());
+        config.setUsername(container.getUsername());
+        config.setPassword(container.getPassword());
+        dataSource = new HikariDataSource(config);
+        provider = new PostgresStorageProvider(dataSource, true);
+        provider.migrate();
+        try (final Connection connection = dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO doddle_queue (id, name, priority) VALUES ('q1', 'default', 0.5)");
+        }
+        notifications = new LinkedBlockingQueue<>();
+        provider.subscribe(notifications::add);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        provider.close();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("it should wake the subscribers when a due job is created")
+    void it_should_wake_the_subscribers_when_a_due_job_is_created() throws InterruptedException {
+        notifications.clear();
+        final Job job = provider.createJob(createJob(SCHEDULED));
+        assertEquals("default", notifications.poll(10, SECONDS));
+        assertEquals(AVAILABLE, provider.getJobById(job.getId()).orElseThrow().getState());
+    }
+
+    @Test
+    @DisplayName("it should not wake the subscribers when a job is created for later")
+    void it_should_not_wake_the_subscribers_when_a_job_is_created_for_later() throws InterruptedException {
+        notifications.clear();
+        final Job job = createJob(SCHEDULED);
+        job.setScheduledAt(now().plusHours(1));
+        provider.createJob(job);
+        assertNull(notifications.poll(2, SECONDS));
+    }
+
+    @Test
+    @DisplayName("it should wake the subscribers once per queue when jobs are created in bulk")
+    void it_should_wake_the_subscribers_once_per_queue_when_jobs_are_created_in_bulk() throws InterruptedException {
+        notifications.clear();
+        final List<Job> jobs = provider.createJobs(List.of(createJob(SCHEDULED), createJob(AVAILABLE), createJob(SCHEDULED)));
+        assertEquals("default", notifications.poll(10, SECONDS));
+        assertNull(notifications.poll(2, SECONDS));
+        for (final Job job : jobs) {
+            assertEquals(AVAILABLE, provider.getJobById(job.getId()).orElseThrow().getState());
+        }
+    }
+
+    private Job createJob(final JobState state) {
+        final Queue queue = provider.getQueueByName("default").orElseThrow();
+        return JobBuilder.newBuilder()
+            .queue(queue)
+            .name("email.registration")
+            .category(STANDARD)
+            .handler("sendEmail")
+            .timeout(45000)
+            .state(state)
+            .scheduledAt(now())
+            .maxRetries(3)
+            .retries(0)
+            .tags(singletonList("mailer"))
+            .build();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.storage.sql;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.doddle.storage.common.domain.Job;
+import dev.doddle.storage.common.domain.Queue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static dev.doddle.storage.common.domain.JobState.EXECUTING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresStorageProviderTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:10.4");
+
+    private static HikariDataSource        dataSource;
+    private static PostgresStorageProvider provider;
+
+    @BeforeAll
+    static void setUp() {
+        final HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(container.getJdbcUrl());
+        config.setUsername(container.getUsername());
+        config.setPassword(container.getPassword());
+        dataSource = new HikariDataSource(config);
+        provider = new PostgresStorageProvider(dataSource);
+        provider.migrate();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("it should pick the due scheduled jobs directly when enabled")
+    void it_should_pick_the_due_scheduled_jobs_directly_when_enabled() throws SQLException {
+        execute(
+            "INSERT INTO doddle_queue (id, name, priority) VALUES ('q2', 'direct', 0.5)",
+            "INSERT INTO doddle_job (id, queue_id, name, category, handler, state, scheduled_at, max_retries, timeout) " +
+                "VALUES ('direct-1', 'q2', 'job', 'standard', 'handler', 'scheduled', NOW() - INTERVAL '1 minute', 3, 60000), " +
+                "('direct-2', 'q2', 'job', 'standard', 'handler', 'scheduled', NOW() + INTERVAL '1 hour', 3, 60000)"
+        );
+        final Queue queue = provider.getQueueById("q2").orElseThrow();
+        assertTrue(provider.pickJobs(queue, 10).isEmpty());
+
+        final PostgresStorageProvider direct = new PostgresStorageProvider(dataSource, false, true);
+        final List<Job> jobs = direct.pickJobs(queue, 10);
+        assertEquals(1, jobs.size());
+        assertEquals("direct-1", jobs.get(0).getId());
+        assertEquals(EXECUTING, jobs.get(0).getState());
+        assertTrue(direct.pickJobs(queue, 10).isEmpty());
+    }
+
+    private static void execute(final String... sql) throws SQLException {
+        try (final Connection connection = dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            for (final String query : sql) {
+                statement.execute(query);
+            }
+        }
+    }
+}
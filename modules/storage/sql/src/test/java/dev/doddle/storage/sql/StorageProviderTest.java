@@ -23,6 +23,7 @@
  */
 package dev.doddle.storage.sql;
 
+import dev.doddle.storage.common.JobLeaseLostException;
 import dev.doddle.storage.common.StorageProvider;
 import dev.doddle.storage.common.builders.*;
 import dev.doddle.storage.common.domain.*;
@@ -31,9 +32,14 @@ import org.junit.jupiter.api.TestTemplate;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.InjectionContextProvider;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
 
 import static dev.doddle.storage.common.domain.JobCategory.STANDARD;
 import static dev.doddle.storage.common.domain.JobState.*;
@@ -153,6 +159,57 @@ class StorageProviderTest {
         });
     }
 
+    @TestTemplate
+    @DisplayName("it should create a new job with a binary payload")
+    void it_should_create_a_new_job_with_a_binary_payload(StorageProvider adapter) {
+        final Queue queue = adapter.getQueueByName("high").orElseThrow();
+        final byte[] payload = new byte[]{':', ')', '\n', 0x05, (byte) 0xfa, 0x00, 0x7f};
+        final Job job = JobBuilder.newBuilder()
+            .queue(queue)
+            .name("email.registration")
+            .category(STANDARD)
+            .handler("sendEmail")
+            .binaryData(payload)
+            .state(SCHEDULED)
+            .scheduledAt(now())
+            .timeout(45000)
+            .maxRetries(10)
+            .retries(0)
+            .build();
+        adapter.saveJob(job);
+        final Job createdJob = adapter.getJobById(job.getId()).orElseThrow();
+        assertNull(createdJob.getData());
+        assertArrayEquals(payload, createdJob.getBinaryData());
+    }
+
+    @TestTemplate
+    @DisplayName("it should create many jobs at once")
+    void it_should_create_many_jobs_at_once(StorageProvider adapter) {
+        final Queue queue = adapter.getQueueByName("high").orElseThrow();
+        final Long count = adapter.countJobs();
+        final List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            jobs.add(JobBuilder.newBuilder()
+                .queue(queue)
+                .name("email.registration")
+                .category(STANDARD)
+                .handler("sendEmail")
+                .timeout(45000)
+                .data("{ \"message\": \"Hello world\" }")
+                .state(SCHEDULED)
+                .scheduledAt(now())
+                .maxRetries(10)
+                .retries(0)
+                .tags(singletonList("mailer"))
+                .build());
+        }
+        final List<Job> createdJobs = adapter.createJobs(jobs);
+        assertEquals(2500, createdJobs.size());
+        assertEquals(count + 2500, adapter.countJobs());
+        createdJobs.forEach(job -> assertNotNull(job.getId()));
+        assertTrue(adapter.getJobById(createdJobs.get(2499).getId()).isPresent());
+    }
+
     @TestTemplate
     @DisplayName("it should create a new message for a job")
     void it_should_create_a_new_message_for_a_job(StorageProvider adapter) {
@@ -168,6 +225,20 @@ class StorageProviderTest {
         assertNotNull(createdJobMessage.getId());
     }
 
+    @TestTemplate
+    @DisplayName("it should create messages for many jobs at once")
+    void it_should_create_messages_for_many_jobs_at_once(StorageProvider adapter) {
+        final Job job = adapter.getJobById("1f4c7f90-7cc6-11ea-bc55-0242ac130003").orElseThrow();
+        final Integer count = adapter.countAllMessagesForJob(job);
+        final List<JobMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            messages.add(JobMessageBuilder.newBuilder().level("INFO").message("Message " + i).build());
+        }
+        adapter.createMessages(Map.of(job, messages));
+        assertEquals(count + 1500, adapter.countAllMessagesForJob(job));
+        messages.forEach(message -> assertNotNull(message.getId()));
+    }
+
     @TestTemplate
     @DisplayName("it should create a queue")
     void it_should_create_a_queue(StorageProvider adapter) {
@@ -185,6 +256,20 @@ class StorageProviderTest {
         assertNotNull(createdQueue.getLockedAt());
     }
 
+    @TestTemplate
+    @DisplayName("it should get the enabled cron jobs that are due")
+    void it_should_get_the_enabled_cron_jobs_that_are_due(StorageProvider adapter) {
+        final LocalDateTime date = LocalDateTime.of(2021, 2, 1, 14, 0);
+        assertEquals(3, adapter.getDueCronJobs(date, 10).size());
+        assertEquals(2, adapter.getDueCronJobs(date, 2).size());
+        assertTrue(adapter.getDueCronJobs(LocalDateTime.of(2021, 2, 1, 13, 0), 10).isEmpty());
+
+        final CronJob job = adapter.getCronJobById("4d075677-174a-4485-ab85-d02ea94bb4dd").orElseThrow();
+        job.setEnabled(false);
+        adapter.saveCronJob(job);
+        assertEquals(2, adapter.getDueCronJobs(date, 10).size());
+    }
+
     @TestTemplate
     @DisplayName("it should delete a cron job")
     void it_should_delete_a_cron_job(StorageProvider adapter) {
@@ -422,6 +507,171 @@ class StorageProviderTest {
         assertTrue(adapter.pickJob().isEmpty());
     }
 
+    @TestTemplate
+    @DisplayName("it should pick a batch of jobs for processing")
+    void it_should_pick_a_batch_of_jobs_for_processing(StorageProvider adapter) {
+        final List<Job> jobs = adapter.pickJobs(10);
+        assertEquals(1, jobs.size());
+        assertEquals("18cf1f10-63b4-4eec-a1c5-cdcaba624b22", jobs.get(0).getId());
+        assertEquals(EXECUTING, jobs.get(0).getState());
+        assertTrue(adapter.pickJobs(10).isEmpty());
+    }
+
+    @TestTemplate
+    @DisplayName("it should not pick more jobs from a queue than its max concurrency allows")
+    void it_should_not_pick_more_jobs_from_a_queue_than_its_max_concurrency_allows(StorageProvider adapter) {
+        final Job available = adapter.getJobById("18cf1f10-63b4-4eec-a1c5-cdcaba624b22").orElseThrow();
+        final Queue queue = adapter.getQueueById(available.getQueue().getId()).orElseThrow();
+        final JobFilter filter = new JobFilter(List.of(EXECUTING));
+        filter.setQueues(List.of(queue.getName()));
+        queue.setMaxConcurrency(adapter.countJobs(filter).intValue());
+        adapter.saveQueue(queue);
+        assertTrue(adapter.pickJobs(queue, 10).isEmpty());
+
+        queue.setMaxConcurrency(null);
+        adapter.saveQueue(queue);
+        final List<Job> jobs = adapter.pickJobs(queue, 10);
+        assertEquals(1, jobs.size());
+        assertEquals(available.getId(), jobs.get(0).getId());
+    }
+
+    @TestTemplate
+    @DisplayName("it should not exceed the max concurrency of a queue when pickers race")
+    void it_should_not_exceed_the_max_concurrency_of_a_queue_when_pickers_race(StorageProvider adapter) throws Exception {
+        final Queue queue = adapter.saveQueue(QueueBuilder.newBuilder()
+            .name("limited")
+            .priority(0.1f)
+            .maxConcurrency(1)
+            .build());
+        final List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jobs.add(JobBuilder.newBuilder()
+                .queue(queue)
+                .name("email.registration")
+                .category(STANDARD)
+                .handler("sendEmail")
+                .timeout(45000)
+                .state(AVAILABLE)
+                .scheduledAt(now().minusMinutes(1))
+                .maxRetries(3)
+                .retries(0)
+                .tags(singletonList("mailer"))
+                .build());
+        }
+        adapter.createJobs(jobs);
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Callable<List<Job>> picker = () -> {
+                barrier.await(5, TimeUnit.SECONDS);
+                return adapter.pickJobs(10);
+            };
+            final Future<List<Job>> first = executor.submit(picker);
+            final Future<List<Job>> second = executor.submit(picker);
+            final long picked = Stream.concat(first.get().stream(), second.get().stream())
+                .filter(job -> queue.getId().equals(job.getQueue().getId()))
+                .count();
+            assertEquals(1, picked);
+        } finally {
+            executor.shutdownNow();
+        }
+        final JobFilter filter = new JobFilter(List.of(EXECUTING));
+        filter.setQueues(List.of(queue.getName()));
+        assertEquals(1, adapter.countJobs(filter));
+        assertTrue(adapter.pickJobs(queue, 10).isEmpty());
+    }
+
+    @TestTemplate
+    @DisplayName("it should reclaim a job whose lease expired and fence the previous owner")
+    void it_should_reclaim_a_job_whose_lease_expired_and_fence_the_previous_owner(StorageProvider adapter) throws InterruptedException {
+        final JobLease lease = new JobLease("node-1", Duration.ofMillis(1));
+        final Job job = adapter.pickJob(lease).orElseThrow();
+        assertEquals("node-1", job.getOwner());
+        assertNotNull(job.getLeaseExpiresAt());
+        Thread.sleep(50);
+
+        assertTrue(adapter.reclaimExpiredLeases() >= 1);
+        final Job reclaimed = adapter.getJobById(job.getId()).orElseThrow();
+        assertEquals(RETRYABLE, reclaimed.getState());
+        assertEquals(job.getRetries() + 1, reclaimed.getRetries());
+
+        job.setState(COMPLETED);
+        assertThrows(JobLeaseLostException.class, () -> adapter.saveJob(job));
+        assertEquals(RETRYABLE, adapter.getJobById(job.getId()).orElseThrow().getState());
+    }
+
+    @TestTemplate
+    @DisplayName("it should release claimed jobs that are still held under their fencing token")
+    void it_should_release_claimed_jobs_that_are_still_held_under_their_fencing_token(StorageProvider adapter) {
+        final JobLease lease = new JobLease("node-1", Duration.ofMinutes(5));
+        final Job job = adapter.pickJob(lease).orElseThrow();
+        assertEquals(1, adapter.releaseJobs(singletonList(job)));
+        final Job released = adapter.getJobById(job.getId()).orElseThrow();
+        assertEquals(AVAILABLE, released.getState());
+        assertNull(released.getOwner());
+        // the token changed when the job was released, so releasing it again does nothing
+        assertEquals(0, adapter.releaseJobs(singletonList(job)));
+    }
+
+    @TestTemplate
+    @DisplayName("it should renew the lease on the jobs held by an owner")
+    void it_should_renew_the_lease_on_the_jobs_held_by_an_owner(StorageProvider adapter) {
+        final JobLease lease = new JobLease("node-1", Duration.ofMinutes(5));
+        final Job job = adapter.pickJob(lease).orElseThrow();
+        assertEquals(1, adapter.renewLeases(lease));
+        assertEquals(0, adapter.renewLeases(new JobLease("node-2", Duration.ofMinutes(5))));
+
+        job.setState(COMPLETED);
+        adapter.saveJob(job);
+        assertEquals(0, adapter.renewLeases(lease));
+    }
+
+    @TestTemplate
+    @DisplayName("it should discard the jobs matching a filter")
+    void it_should_discard_the_jobs_matching_a_filter(StorageProvider adapter) {
+        final JobFilter filter = new JobFilter(singletonList(SCHEDULED));
+        assertEquals(2, adapter.discardJobs(filter));
+        assertEquals(0, adapter.discardJobs(filter));
+        assertEquals(2, adapter.countJobs(new JobFilter(singletonList(DISCARDED))));
+    }
+
+    @TestTemplate
+    @DisplayName("it should retry the jobs matching a filter")
+    void it_should_retry_the_jobs_matching_a_filter(StorageProvider adapter) {
+        final LocalDateTime when = now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        assertEquals(2, adapter.retryJobs(new JobFilter(singletonList(SCHEDULED)), when));
+        assertEquals(0, adapter.retryJobs(new JobFilter(singletonList(COMPLETED)), when));
+        final List<Job> jobs = adapter.getJobs(new JobFilter(singletonList(RETRYABLE)), new Pageable());
+        assertEquals(2, jobs.size());
+        jobs.forEach(job -> assertEquals(when, job.getScheduledAt()));
+    }
+
+    @TestTemplate
+    @DisplayName("it should purge the completed jobs in batches")
+    void it_should_purge_the_completed_jobs_in_batches(StorageProvider adapter) {
+        final JobFilter filter = new JobFilter(singletonList(COMPLETED));
+        final long completed = adapter.countJobs(filter);
+        assertEquals(0, adapter.purgeCompletedBefore(now().minusYears(100), 1));
+        assertEquals(completed, adapter.purgeCompletedBefore(now().plusDays(1), 1));
+        assertEquals(0, adapter.countJobs(filter));
+    }
+
+    @TestTemplate
+    @DisplayName("it should pass each batch of purged jobs to the consumer")
+    void it_should_pass_each_batch_of_purged_jobs_to_the_consumer(StorageProvider adapter) {
+        final long completed = adapter.countJobs(new JobFilter(singletonList(COMPLETED)));
+        final List<Job> purged = new ArrayList<>();
+        assertEquals(completed, adapter.purgeCompletedBefore(now().plusDays(1), 1, batch -> {
+            assertEquals(1, batch.size());
+            purged.addAll(batch);
+        }));
+        assertEquals(completed, purged.size());
+        purged.forEach(job -> {
+            assertNotNull(job.getId());
+            assertEquals(COMPLETED, job.getState());
+        });
+    }
+
     @TestTemplate
     @DisplayName("it should update a cron job")
     void it_should_update_a_cron_job(StorageProvider adapter) {
@@ -4,7 +4,9 @@ CREATE TABLE IF NOT EXISTS doddle_queue (
     id        VARCHAR(36) NOT NULL PRIMARY KEY,
     name      VARCHAR(100) NOT NULL,
     priority  NUMERIC (3, 2) NOT NULL,
-    locked_at TIMESTAMP
+    locked_at TIMESTAMP,
+    max_concurrency INTEGER,
+    weight    INTEGER NOT NULL DEFAULT 1
 );
 
 CREATE TABLE IF NOT EXISTS doddle_job (
@@ -13,6 +15,7 @@ CREATE TABLE IF NOT EXISTS doddle_job (
     category               ENUM('standard', 'scheduled')  NOT NULL,
     handler                VARCHAR(128)                   NOT NULL,
     payload                TEXT,
+    payload_binary         LONGBLOB,
     state                  ENUM ('available', 'scheduled','executing', 'retryable', 'completed', 'discarded', 'failed') NOT NULL,
     created_at             TIMESTAMP                      NOT NULL DEFAULT NOW(),
     completed_at           TIMESTAMP,
@@ -29,6 +32,9 @@ CREATE TABLE IF NOT EXISTS doddle_job (
     error_message          VARCHAR(2000),
     error_throwable        VARCHAR(1000),
     error_stack_trace      TEXT,
+    owner                  VARCHAR(250),
+    lease_expires_at       TIMESTAMP NULL,
+    lease_token            BIGINT                         NOT NULL DEFAULT 0,
     INDEX doddle_job_state_idx (state),
     INDEX doddle_job_category_idx (category),
     INDEX doddle_job_scheduled_at_idx (scheduled_at)
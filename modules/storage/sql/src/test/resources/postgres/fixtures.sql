@@ -134,7 +134,7 @@ INSERT INTO doddle_job (id,
                         tags)
 VALUES ('18cf1f10-63b4-4eec-a1c5-cdcaba624b22',
         'email.forgot-password',
-        'b9c5133a-b62b-11eb-8529-0242ac130003',
+        'b9c511b4-b62b-11eb-8529-0242ac130003',
         'standard',
         'mailer.send',
         '{ "message": "Hello world" }',
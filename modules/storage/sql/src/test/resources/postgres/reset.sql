@@ -3,5 +3,7 @@ DROP TABLE IF EXISTS doddle_job;
 DROP TABLE IF EXISTS doddle_cron_job;
 DROP TABLE IF EXISTS doddle_queue;
 DROP TABLE IF EXISTS doddle_metric;
+DROP TABLE IF EXISTS doddle_leader;
+DROP TABLE IF EXISTS doddle_schema_version;
 DROP TYPE IF EXISTS doddle_job_state;
 DROP TYPE IF EXISTS doddle_job_category;
\ No newline at end of file
@@ -23,10 +23,11 @@
  */
 package dev.doddle.web.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import dev.doddle.core.DoddleClient;
+import dev.doddle.core.engine.mapper.SmileMapperAdapter;
 import dev.doddle.core.exceptions.DoddleException;
 import dev.doddle.storage.common.domain.Job;
 import dev.doddle.storage.common.domain.JobState;
@@ -41,9 +42,13 @@ import dev.doddle.web.http.HttpResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Base64;
 import java.util.List;
 
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
 import static dev.doddle.web.http.HttpStatus.CREATED;
+import static java.lang.Boolean.TRUE;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -51,6 +56,7 @@ import static java.util.stream.Collectors.toList;
 public class JobController {
 
     private static final Logger       logger = LoggerFactory.getLogger(JobController.class);
+    private static final ObjectMapper smile  = new ObjectMapper(new SmileFactory()).configure(FAIL_ON_UNKNOWN_PROPERTIES, false);
     private final        DoddleClient client;
 
     /**
@@ -88,9 +94,9 @@ public class JobController {
         ).stream().map(job -> {
             try {
                 final ObjectMapper mapper = response.mapper();
-                final JobDataDto data = mapper.readValue(job.getData(), JobDataDto.class);
+                final JobDataDto data = readData(mapper, job);
                 return new JobDto(job, data);
-            } catch (JsonProcessingException e) {
+            } catch (IOException e) {
                 throw new DoddleException("Unable to decode data");
             }
         }).collect(toList());
@@ -159,9 +165,9 @@ public class JobController {
                     .task(dto.getHandler());
                 return wizard;
             });
-            final JobDataDto data = response.mapper().readValue(job.getData(), JobDataDto.class);
+            final JobDataDto data = readData(response.mapper(), job);
             response.status(CREATED).json(new JobDto(job, data));
-        } catch (DoddleException | JsonProcessingException exception) {
+        } catch (DoddleException | IOException exception) {
             throw new BadRequestException(exception.getMessage());
         }
     }
@@ -227,9 +233,9 @@ public class JobController {
             if (job == null) {
                 throw new NotFoundException(format("Job not found for id: %s", id));
             }
-            final JobDataDto data = response.mapper().readValue(job.getData(), JobDataDto.class);
+            final JobDataDto data = readData(response.mapper(), job);
             response.json(new JobDto(job, data));
-        } catch (DoddleException | JsonProcessingException exception) {
+        } catch (DoddleException | IOException exception) {
             throw new BadRequestException(exception.getMessage());
         }
     }
@@ -290,5 +296,29 @@ public class JobController {
         response.json(statistics);
     }
 
+    private JobDataDto readData(final ObjectMapper mapper, final Job job) throws IOException {
+        final byte[] binaryData = job.getBinaryData();
+        final JobDataDto data = binaryData == null
+            ? mapper.readValue(job.getData(), JobDataDto.class)
+            : (SmileMapperAdapter.isSmile(binaryData) ? smile : mapper).readValue(binaryData, JobDataDto.class);
+        if (data != null && data.getArguments() != null) {
+            data.getArguments().forEach(this::describeValue);
+        }
+        return data;
+    }
+
+    /**
+     * Replace the values that cannot be shown as they are with a placeholder
+     * Stored values are not fetched and compressed values are not decompressed just to be listed
+     *
+     * @param argument the argument
+     */
+    private void describeValue(final JobArgumentDto argument) {
+        if (argument.getReference() != null) {
+            argument.setValue("(stored)");
+        } else if (TRUE.equals(argument.getCompressed()) && argument.getValue() != null) {
+            argument.setValue(format("(compressed, %d bytes)", Base64.getDecoder().decode(argument.getValue()).length));
+        }
+    }
 
 }
@@ -102,8 +102,13 @@ public class QueueController {
             final HttpResponse response = request.response();
             final QueueCreateDto dto = request.body(QueueCreateDto.class);
             final Queue queue = client.queues().create(wizard -> {
-                return wizard.name(dto.getName())
-                    .priority(dto.getPriority());
+                wizard.name(dto.getName())
+                    .priority(dto.getPriority())
+                    .maxConcurrency(dto.getMaxConcurrency());
+                if (dto.getWeight() != null) {
+                    wizard.weight(dto.getWeight());
+                }
+                return wizard;
             });
             response.status(CREATED).json(new QueueDto(queue));
         } catch (DoddleException exception) {
@@ -210,8 +215,13 @@ public class QueueController {
             final QueueUpdateDto dto = request.body(QueueUpdateDto.class);
             this.client.queues().id(id).ifPresentOrElse(ignore -> {
                 client.queues().update(id, wizard -> {
-                    return wizard.name(dto.getName())
-                        .priority(dto.getPriority());
+                    wizard.name(dto.getName())
+                        .priority(dto.getPriority())
+                        .maxConcurrency(dto.getMaxConcurrency());
+                    if (dto.getWeight() != null) {
+                        wizard.weight(dto.getWeight());
+                    }
+                    return wizard;
                 });
                 this.client.queues().id(id).ifPresent(queue -> response.json(new QueueDto(queue)));
             }, () -> {
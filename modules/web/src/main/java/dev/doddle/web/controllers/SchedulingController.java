@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022 Jamie Hall
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.doddle.web.controllers;
+
+import dev.doddle.core.DoddleClient;
+import dev.doddle.storage.common.domain.Leader;
+import dev.doddle.web.dtos.LeaderDto;
+import dev.doddle.web.exceptions.NotFoundException;
+import dev.doddle.web.http.HttpRequest;
+import dev.doddle.web.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+public class SchedulingController {
+
+    private static final Logger       logger = LoggerFactory.getLogger(SchedulingController.class);
+    private final        DoddleClient client;
+
+    /**
+     * Create a new scheduling controller
+     *
+     * @param client the doddle client
+     */
+    public SchedulingController(final DoddleClient client) {
+        this.client = requireNonNull(client, "client cannot be null");
+    }
+
+    /**
+     * Get the node elected to run the singleton scheduling commands
+     *
+     * @param request the http request
+     */
+    public void leader(final HttpRequest request) {
+        logger.debug("Fetching the scheduling leader");
+        final HttpResponse response = request.response();
+        final Leader leader = client.scheduling().getLeader()
+            .orElseThrow(() -> new NotFoundException("No scheduling leader has been elected"));
+        response.json(new LeaderDto(leader));
+    }
+
+}
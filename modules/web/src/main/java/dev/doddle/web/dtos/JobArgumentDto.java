@@ -23,11 +23,18 @@
  */
 package dev.doddle.web.dtos;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import static com.fasterxml.jackson.annotation.JsonProperty.Access.WRITE_ONLY;
+
 public class JobArgumentDto {
 
     private String  name;
     private String  value;
     private Boolean encrypted;
+    private Boolean compressed;
+    @JsonProperty(access = WRITE_ONLY)
+    private String  reference;
 
     public String getName() {
         return name;
@@ -55,4 +62,20 @@ public class JobArgumentDto {
     public void setEncrypted(Boolean encrypted) {
         this.encrypted = encrypted;
     }
+
+    public Boolean getCompressed() {
+        return compressed;
+    }
+
+    public void setCompressed(Boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
 }
@@ -34,12 +34,16 @@ public class QueueDto {
     private final String        name;
     private final Float         priority;
     private final LocalDateTime lockedAt;
+    private final Integer       maxConcurrency;
+    private final Integer       weight;
 
     public QueueDto(final Queue queue) {
         this.id = queue.getId();
         this.name = queue.getName();
         this.priority = queue.getPriority();
         this.lockedAt = queue.getLockedAt();
+        this.maxConcurrency = queue.getMaxConcurrency();
+        this.weight = queue.getWeight();
     }
 
     public String getId() {
@@ -50,6 +54,10 @@ public class QueueDto {
         return lockedAt;
     }
 
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
     public String getName() {
         return name;
     }
@@ -57,4 +65,8 @@ public class QueueDto {
     public Float getPriority() {
         return priority;
     }
+
+    public Integer getWeight() {
+        return weight;
+    }
 }
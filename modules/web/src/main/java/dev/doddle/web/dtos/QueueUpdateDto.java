@@ -28,6 +28,8 @@ public class QueueUpdateDto {
 
     private String  name;
     private Float   priority;
+    private Integer maxConcurrency;
+    private Integer weight;
     private Boolean lockedAt;
 
     public QueueUpdateDto() {
@@ -42,6 +44,14 @@ public class QueueUpdateDto {
         this.lockedAt = lockedAt;
     }
 
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
     public String getName() {
         return name;
     }
@@ -58,4 +68,12 @@ public class QueueUpdateDto {
         this.priority = priority;
     }
 
+    public Integer getWeight() {
+        return weight;
+    }
+
+    public void setWeight(Integer weight) {
+        this.weight = weight;
+    }
+
 }
@@ -28,6 +28,7 @@ import dev.doddle.core.DoddleClient;
 import dev.doddle.web.controllers.CronJobController;
 import dev.doddle.web.controllers.JobController;
 import dev.doddle.web.controllers.QueueController;
+import dev.doddle.web.controllers.SchedulingController;
 import dev.doddle.web.controllers.TaskController;
 import dev.doddle.web.routing.Router;
 import dev.doddle.web.routing.RouterProvider;
@@ -51,7 +52,8 @@ public class DoddleVertxHandler implements Handler<RoutingContext> {
             new JobController(client),
             new CronJobController(client),
             new TaskController(client),
-            new QueueController(client)
+            new QueueController(client),
+            new SchedulingController(client)
         );
     }
 
@@ -68,22 +70,25 @@ public class DoddleVertxHandler implements Handler<RoutingContext> {
     /**
      * Create a new router
      *
-     * @param jobController     the job controller for mapping job API requests
-     * @param cronJobController the cron job controller for mapping cron job API requests
-     * @param taskController    the task controller for mapping task API requests
-     * @param queueController   the queue controller for mapping queue API requests
+     * @param jobController        the job controller for mapping job API requests
+     * @param cronJobController    the cron job controller for mapping cron job API requests
+     * @param taskController       the task controller for mapping task API requests
+     * @param queueController      the queue controller for mapping queue API requests
+     * @param schedulingController the scheduling controller for mapping scheduling API requests
      * @return a new router
      */
     private Router createRouter(final JobController jobController,
                                 final CronJobController cronJobController,
                                 final TaskController taskController,
-                                final QueueController queueController) {
+                                final QueueController queueController,
+                                final SchedulingController schedulingController) {
         final RouterProvider provider = new RouterProvider(
             this.prefix,
             jobController,
             cronJobController,
             taskController,
-            queueController
+            queueController,
+            schedulingController
         );
         return provider.apply();
     }
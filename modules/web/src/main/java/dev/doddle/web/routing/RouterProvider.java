@@ -27,6 +27,7 @@ import dev.doddle.common.support.NotNull;
 import dev.doddle.web.controllers.CronJobController;
 import dev.doddle.web.controllers.JobController;
 import dev.doddle.web.controllers.QueueController;
+import dev.doddle.web.controllers.SchedulingController;
 import dev.doddle.web.controllers.TaskController;
 import dev.doddle.web.http.HttpResponse;
 
@@ -34,38 +35,43 @@ import static java.util.Objects.requireNonNull;
 
 public class RouterProvider {
 
-    private final String            prefix;
-    private final JobController     jobController;
-    private final CronJobController cronJobController;
-    private final TaskController    taskController;
-    private final QueueController   queueController;
+    private final String               prefix;
+    private final JobController        jobController;
+    private final CronJobController    cronJobController;
+    private final TaskController       taskController;
+    private final QueueController      queueController;
+    private final SchedulingController schedulingController;
 
     /**
      * Create a new router provider
      *
-     * @param prefix            if the routes require a prefix
-     * @param jobController     the job controller
-     * @param cronJobController the cron job controller
-     * @param taskController    the task controller
-     * @param queueController   the queue controller
+     * @param prefix               if the routes require a prefix
+     * @param jobController        the job controller
+     * @param cronJobController    the cron job controller
+     * @param taskController       the task controller
+     * @param queueController      the queue controller
+     * @param schedulingController the scheduling controller
      */
     public RouterProvider(@NotNull final String prefix,
                           @NotNull final JobController jobController,
                           @NotNull final CronJobController cronJobController,
                           @NotNull final TaskController taskController,
-                          @NotNull final QueueController queueController) {
+                          @NotNull final QueueController queueController,
+                          @NotNull final SchedulingController schedulingController) {
         this.prefix = requireNonNull(prefix, "prefix cannot be null");
         this.jobController = requireNonNull(jobController, "jobController cannot be null");
         this.cronJobController = requireNonNull(cronJobController, "cronJobController cannot be null");
         this.taskController = requireNonNull(taskController, "taskController cannot be null");
         this.queueController = queueController;
+        this.schedulingController = requireNonNull(schedulingController, "schedulingController cannot be null");
     }
 
     public RouterProvider(@NotNull final JobController jobController,
                           @NotNull final CronJobController cronJobController,
                           @NotNull final TaskController taskController,
-                          @NotNull final QueueController queueController) {
-        this("", jobController, cronJobController, taskController, queueController);
+                          @NotNull final QueueController queueController,
+                          @NotNull final SchedulingController schedulingController) {
+        this("", jobController, cronJobController, taskController, queueController, schedulingController);
     }
 
     /**
@@ -112,6 +118,8 @@ public class RouterProvider {
         router.put("/api/queues/:id/_unlock", queueController::unlock);
         router.put("/api/queues/:id/_lock", queueController::lock);
         router.get("/api/queues/_count", queueController::count);
+        // scheduling operations
+        router.get("/api/scheduling/_leader", schedulingController::leader);
 
         return router;
     }